@@ -0,0 +1,50 @@
+package ninja.trek.mc.goldgolem.bench;
+
+import net.minecraft.util.math.BlockPos;
+import ninja.trek.mc.goldgolem.sim.SimulationHarness;
+import ninja.trek.mc.goldgolem.terraforming.AlphaShape;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One terraforming shell layer from a lobed skeleton outline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlphaShapeBenchmark {
+    @Param({"1", "3", "5", "10"})
+    public int alpha;
+
+    @Param({"64", "512"})
+    public int points;
+
+    private List<BlockPos> skeleton;
+
+    @Setup
+    public void setUp() {
+        SimulationHarness.bootstrap();
+        skeleton = BenchFixtures.lobedOutline(points);
+    }
+
+    @Benchmark
+    public Set<BlockPos> generateShell() {
+        return AlphaShape.generateShell(skeleton, alpha, BenchFixtures.ORIGIN.getY());
+    }
+}
@@ -0,0 +1,116 @@
+package ninja.trek.mc.goldgolem.bench;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import ninja.trek.mc.goldgolem.sim.VoxelWorld;
+import ninja.trek.mc.goldgolem.terraforming.TerraformingScanner;
+import ninja.trek.mc.goldgolem.wall.WallScanner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic inputs shared by the benchmarks. Everything is built in a {@link VoxelWorld},
+ * so the registries must be bootstrapped first.
+ */
+public final class BenchFixtures {
+    public static final BlockPos ORIGIN = new BlockPos(0, 64, 0);
+
+    private BenchFixtures() {}
+
+    /**
+     * A flat wall with exactly {@link WallScanner#MAX_VOXELS} blocks, gold marker at {@link #ORIGIN}.
+     */
+    public static VoxelWorld wallAtMaxVoxels() {
+        VoxelWorld world = new VoxelWorld();
+        int height = 128;
+        int length = WallScanner.MAX_VOXELS / height;
+        world.fill(ORIGIN, ORIGIN.add(length - 1, height - 1, 0), Blocks.STONE_BRICKS.getDefaultState());
+        world.setBlockState(ORIGIN, Blocks.GOLD_BLOCK.getDefaultState());
+        return world;
+    }
+
+    /**
+     * A 3x3 gold platform at {@link #ORIGIN} with spokes out to stacked square rings, as many
+     * layers as fit under {@link TerraformingScanner#MAX_VOXELS}.
+     */
+    public static VoxelWorld terraformAtMaxVoxels() {
+        VoxelWorld world = new VoxelWorld();
+        int radius = 20;
+        world.fill(ORIGIN.add(-1, 0, -1), ORIGIN.add(1, 0, 1), Blocks.GOLD_BLOCK.getDefaultState());
+        BlockState skeleton = Blocks.STONE_BRICKS.getDefaultState();
+        int spokes = 0;
+        for (int r = 2; r < radius; r++) {
+            for (Direction dir : Direction.Type.HORIZONTAL) {
+                world.setBlockState(ORIGIN.offset(dir, r), skeleton);
+                spokes++;
+            }
+        }
+        int layers = (TerraformingScanner.MAX_VOXELS - spokes) / (8 * radius);
+        for (int dy = 0; dy < layers; dy++) {
+            for (int i = -radius; i <= radius; i++) {
+                world.setBlockState(ORIGIN.add(i, dy, -radius), skeleton);
+                world.setBlockState(ORIGIN.add(i, dy, radius), skeleton);
+                world.setBlockState(ORIGIN.add(-radius, dy, i), skeleton);
+                world.setBlockState(ORIGIN.add(radius, dy, i), skeleton);
+            }
+        }
+        return world;
+    }
+
+    /**
+     * An irregular closed outline of {@code count} points around {@link #ORIGIN} at its Y,
+     * with a five-lobed radius so the alpha shape has concavities to fill.
+     */
+    public static List<BlockPos> lobedOutline(int count) {
+        List<BlockPos> points = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double angle = 2 * Math.PI * i / count;
+            double r = 24 + 8 * Math.sin(5 * angle);
+            points.add(ORIGIN.add((int) Math.round(r * Math.cos(angle)), 0, (int) Math.round(r * Math.sin(angle))));
+        }
+        return points;
+    }
+
+    /**
+     * An oak tree module (trunk and leaf blob) standing on a gold block at {@link #ORIGIN}.
+     */
+    public static void placeTreeModule(VoxelWorld world) {
+        BlockState log = Blocks.OAK_LOG.getDefaultState();
+        BlockState leaves = Blocks.OAK_LEAVES.getDefaultState();
+        world.setBlockState(ORIGIN, Blocks.GOLD_BLOCK.getDefaultState());
+        for (int dy = 1; dy <= 6; dy++) {
+            world.setBlockState(ORIGIN.up(dy), log);
+        }
+        for (int dy = 4; dy <= 8; dy++) {
+            for (int dx = -2; dx <= 2; dx++) {
+                for (int dz = -2; dz <= 2; dz++) {
+                    BlockPos pos = ORIGIN.add(dx, dy, dz);
+                    if (dx * dx + dz * dz + (dy - 6) * (dy - 6) <= 6 && world.getBlockState(pos).isAir()) {
+                        world.setBlockState(pos, leaves);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A wool trunk with three tiers of branches at {@code base}, for the WFC builder to grow over.
+     */
+    public static void placeSketch(VoxelWorld world, BlockPos base, int height) {
+        BlockState sketch = Blocks.WHITE_WOOL.getDefaultState();
+        for (int dy = 0; dy < height; dy++) {
+            world.setBlockState(base.up(dy), sketch);
+        }
+        for (int tier = 1; tier <= 3; tier++) {
+            BlockPos branchBase = base.up(height * tier / 4);
+            for (Direction dir : Direction.Type.HORIZONTAL) {
+                for (int i = 1; i <= height / 4; i++) {
+                    world.setBlockState(branchBase.offset(dir, i), sketch);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ninja.trek.mc.goldgolem.bench;
+
+import net.minecraft.util.math.Vec3d;
+import ninja.trek.mc.goldgolem.sim.SimulationHarness;
+import ninja.trek.mc.goldgolem.world.entity.strategy.path.LineSeg;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Path segment construction, which rasterizes the segment's cells.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineSegBenchmark {
+    @Param({"16", "128", "1024"})
+    public int length;
+
+    private Vec3d start;
+    private Vec3d end;
+
+    @Setup
+    public void setUp() {
+        SimulationHarness.bootstrap();
+        start = new Vec3d(0.5, 64, 0.5);
+        // Shallow diagonal, so both axes step
+        end = new Vec3d(length + 0.5, 64, length * 0.37 + 0.5);
+    }
+
+    @Benchmark
+    public LineSeg cells() {
+        return new LineSeg(start, end);
+    }
+}
@@ -0,0 +1,49 @@
+package ninja.trek.mc.goldgolem.bench;
+
+import ninja.trek.mc.goldgolem.sim.SimulationHarness;
+import ninja.trek.mc.goldgolem.sim.VoxelWorld;
+import ninja.trek.mc.goldgolem.terraforming.TerraformingScanner;
+import ninja.trek.mc.goldgolem.wall.WallScanner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summon-time flood fills on inputs at the scanners' voxel limit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScannerBenchmark {
+    private VoxelWorld wallWorld;
+    private VoxelWorld terraformWorld;
+
+    @Setup
+    public void setUp() {
+        SimulationHarness.bootstrap();
+        wallWorld = BenchFixtures.wallAtMaxVoxels();
+        terraformWorld = BenchFixtures.terraformAtMaxVoxels();
+    }
+
+    @Benchmark
+    public WallScanner.Result wallScan() {
+        return WallScanner.scan(wallWorld, BenchFixtures.ORIGIN, null);
+    }
+
+    @Benchmark
+    public TerraformingScanner.Result terraformScan() {
+        return TerraformingScanner.scan(terraformWorld, BenchFixtures.ORIGIN, null);
+    }
+}
@@ -0,0 +1,82 @@
+package ninja.trek.mc.goldgolem.bench;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import ninja.trek.mc.goldgolem.sim.SimulationHarness;
+import ninja.trek.mc.goldgolem.sim.VoxelWorld;
+import ninja.trek.mc.goldgolem.tree.TileMemoryBudget;
+import ninja.trek.mc.goldgolem.tree.TilingPreset;
+import ninja.trek.mc.goldgolem.tree.TreeDefinition;
+import ninja.trek.mc.goldgolem.tree.TreeScanner;
+import ninja.trek.mc.goldgolem.tree.TreeTileCache;
+import ninja.trek.mc.goldgolem.tree.TreeTileExtractor;
+import ninja.trek.mc.goldgolem.tree.TreeWFCBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tile extraction from an oak module and WFC growth over a wool sketch, per tiling preset.
+ * {@link #wfcSteps} measures a fresh builder running {@value #WFC_STEPS} steps (or until it
+ * finishes), which is one tick's step budget in the tree strategy.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TreeBenchmark {
+    private static final int WFC_STEPS = 4096;
+    private static final BlockPos SKETCH = BenchFixtures.ORIGIN.add(48, 0, 0);
+    private static final long SEED = 0x601D601DL;
+
+    @Param({"SMALL_3x3", "LARGE_5x5"})
+    public TilingPreset preset;
+
+    private VoxelWorld world;
+    private TreeDefinition def;
+    private List<Map<BlockPos, BlockState>> snapshot;
+    private TreeTileCache cache;
+
+    @Setup
+    public void setUp() {
+        SimulationHarness.bootstrap();
+        world = new VoxelWorld();
+        BenchFixtures.placeTreeModule(world);
+        BenchFixtures.placeSketch(world, SKETCH, 32);
+        var res = TreeScanner.scan(world, BenchFixtures.ORIGIN, null);
+        if (!res.ok()) {
+            throw new IllegalStateException("Tree scan failed: " + res.error());
+        }
+        def = res.def();
+        snapshot = TreeTileExtractor.snapshotModules(world, def, BenchFixtures.ORIGIN, null);
+        cache = TreeTileExtractor.extract(def, preset, snapshot, TileMemoryBudget.unlimited());
+    }
+
+    @Benchmark
+    public TreeTileCache extract() {
+        return TreeTileExtractor.extract(def, preset, snapshot, TileMemoryBudget.unlimited());
+    }
+
+    @Benchmark
+    public int wfcSteps() {
+        TreeWFCBuilder builder = new TreeWFCBuilder(cache, world, SKETCH, Set.of(Blocks.GOLD_BLOCK), new Random(SEED));
+        return builder.runUntilComplete(WFC_STEPS);
+    }
+}
@@ -0,0 +1,111 @@
+package ninja.trek.mc.goldgolem.world.entity.strategy;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import ninja.trek.mc.goldgolem.sim.SimGolem;
+import ninja.trek.mc.goldgolem.sim.SimulationHarness;
+import ninja.trek.mc.goldgolem.sim.VoxelWorld;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PlacementPlanner#selectNextBlock()} and {@link PlacementPlanner#findPlacementResult}
+ * on 1k/10k/50k pending blocks, driving a {@link SimGolem} over a {@link VoxelWorld}.
+ * <p>
+ * Each call moves the golem to the next query point and advances its clock one tick, as a
+ * strategy tick would; the selected block is put back so the queue size stays fixed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlacementPlannerBenchmark {
+    private static final int SPAN = 128;
+    private static final int BASE_Y = 64;
+    private static final int QUERIES = 256;
+
+    @Param({"1000", "10000", "50000"})
+    public int queueSize;
+
+    private SimGolem golem;
+    private PlacementPlanner planner;
+    private double[] queryX;
+    private double[] queryZ;
+    private BlockPos[] targets;
+    private int cursor = 0;
+
+    @Setup
+    public void setUp() {
+        SimulationHarness.bootstrap();
+        Random random = new Random(42);
+        VoxelWorld world = new VoxelWorld();
+        world.fill(new BlockPos(-8, BASE_Y - 1, -8), new BlockPos(SPAN + 8, BASE_Y - 1, SPAN + 8), Blocks.STONE.getDefaultState());
+
+        // Pending blocks fill a slab tall enough to stay sparse; every other one already
+        // stands in the world, as on a half-built layer
+        int height = Math.max(4, queueSize / 4096 + 1);
+        BlockState built = Blocks.COBBLESTONE.getDefaultState();
+        Set<BlockPos> pending = new LinkedHashSet<>();
+        while (pending.size() < queueSize) {
+            BlockPos pos = new BlockPos(random.nextInt(SPAN), BASE_Y + random.nextInt(height), random.nextInt(SPAN));
+            if (pending.add(pos) && random.nextBoolean()) {
+                world.setBlockState(pos, built);
+            }
+        }
+        List<BlockPos> targetList = new ArrayList<>(pending);
+
+        queryX = new double[QUERIES];
+        queryZ = new double[QUERIES];
+        targets = new BlockPos[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queryX[i] = random.nextInt(SPAN) + 0.5;
+            queryZ[i] = random.nextInt(SPAN) + 0.5;
+            targets[i] = targetList.get(random.nextInt(targetList.size()));
+        }
+
+        golem = new SimGolem(world, new BlockPos(SPAN / 2, BASE_Y, SPAN / 2));
+        planner = new PlacementPlanner(golem);
+        planner.setBlocks(targetList);
+    }
+
+    private int next() {
+        int i = cursor++ & (QUERIES - 1);
+        golem.setPosition(queryX[i], BASE_Y, queryZ[i]);
+        golem.tick();
+        return i;
+    }
+
+    @Benchmark
+    public BlockPos selectNextBlock() {
+        next();
+        BlockPos selected = planner.selectNextBlock();
+        if (selected != null) {
+            planner.requeue(selected);
+        }
+        return selected;
+    }
+
+    @Benchmark
+    public Object findPlacementResult() {
+        return planner.findPlacementResult(targets[next()]);
+    }
+}
@@ -2,10 +2,16 @@ package ninja.trek.mc.goldgolem;
 
 import net.fabricmc.api.ModInitializer;
 import net.minecraft.util.Identifier;
+import ninja.trek.mc.goldgolem.command.GoldGolemCommands;
 import ninja.trek.mc.goldgolem.registry.ModScreenHandlers;
 import ninja.trek.mc.goldgolem.registry.GoldGolemEntities;
 import ninja.trek.mc.goldgolem.net.NetworkInit;
 import ninja.trek.mc.goldgolem.summon.PumpkinSummoning;
+import ninja.trek.mc.goldgolem.util.OreBlocks;
+import ninja.trek.mc.goldgolem.world.entity.GolemMetrics;
+import ninja.trek.mc.goldgolem.world.entity.GolemThroughput;
+import ninja.trek.mc.goldgolem.world.entity.GolemTickScheduler;
+import ninja.trek.mc.goldgolem.world.entity.SnapshotWriter;
 
 public class GoldGolem implements ModInitializer {
     public static final String MOD_ID = "gold-golem";
@@ -20,5 +26,11 @@ public class GoldGolem implements ModInitializer {
         ModScreenHandlers.init();
         NetworkInit.register();
         PumpkinSummoning.register();
+        OreBlocks.register();
+        SnapshotWriter.register();
+        GolemThroughput.register();
+        GolemTickScheduler.register();
+        GolemMetrics.register();
+        GoldGolemCommands.register();
     }
 }
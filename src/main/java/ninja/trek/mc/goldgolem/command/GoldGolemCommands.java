@@ -0,0 +1,127 @@
+package ninja.trek.mc.goldgolem.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+import ninja.trek.mc.goldgolem.world.entity.GolemMetrics;
+import ninja.trek.mc.goldgolem.world.entity.GolemThroughput;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Operator commands under {@code /goldgolem}: the throughput controller's status and config
+ * reload, and the golem metrics readout.
+ */
+public final class GoldGolemCommands {
+    private static final int OP_LEVEL = 2;
+    private static final int MAX_GOLEM_LINES = 10;
+
+    private GoldGolemCommands() {}
+
+    public static void register() {
+        CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> registerCommands(dispatcher));
+    }
+
+    private static void registerCommands(CommandDispatcher<ServerCommandSource> dispatcher) {
+        dispatcher.register(CommandManager.literal("goldgolem")
+                .requires(source -> source.hasPermissionLevel(OP_LEVEL))
+                .then(CommandManager.literal("throughput")
+                        .executes(GoldGolemCommands::throughputStatus)
+                        .then(CommandManager.literal("reload")
+                                .executes(GoldGolemCommands::throughputReload)))
+                .then(CommandManager.literal("stats")
+                        .executes(GoldGolemCommands::stats)
+                        .then(CommandManager.literal("enable")
+                                .executes(ctx -> setStatsEnabled(ctx, true)))
+                        .then(CommandManager.literal("disable")
+                                .executes(ctx -> setStatsEnabled(ctx, false)))
+                        .then(CommandManager.literal("reset")
+                                .executes(GoldGolemCommands::statsReset))));
+    }
+
+    private static int throughputStatus(CommandContext<ServerCommandSource> ctx) {
+        GolemThroughput.Config config = GolemThroughput.config();
+        String header = String.format(Locale.ROOT, "Golem throughput: scale %.2f (%s, %.2f-%.2f), %.1f mspt (raise below %.1f, lower above %.1f)",
+                GolemThroughput.scale(), config.adaptive ? "adaptive" : "fixed", config.minScale, config.maxScale,
+                GolemThroughput.lastMspt(), config.raiseBelowMspt, config.lowerAboveMspt);
+        String pacing = String.format(Locale.ROOT, "Place every %d ticks, %d pathfinds/tick, path cache %d ticks, WFC %d steps/%.2f ms, swing every %d ticks, shared budget %.2f ms",
+                GolemThroughput.placementInterval(), GolemThroughput.pathfindsPerTick(), GolemThroughput.pathCacheTtlTicks(),
+                GolemThroughput.wfcStepsPerTick(), GolemThroughput.wfcTickBudgetNanos() / 1_000_000.0,
+                GolemThroughput.miningSwingInterval(), GolemThroughput.schedulerBudgetNanos() / 1_000_000.0);
+        ctx.getSource().sendFeedback(() -> Text.literal(header), false);
+        ctx.getSource().sendFeedback(() -> Text.literal(pacing), false);
+        return 1;
+    }
+
+    private static int throughputReload(CommandContext<ServerCommandSource> ctx) {
+        GolemThroughput.reload();
+        ctx.getSource().sendFeedback(() -> Text.literal("Reloaded gold golem throughput config"), true);
+        return throughputStatus(ctx);
+    }
+
+    private static int stats(CommandContext<ServerCommandSource> ctx) {
+        ServerCommandSource source = ctx.getSource();
+        if (!GolemMetrics.isEnabled()) {
+            source.sendFeedback(() -> Text.literal("Golem metrics are off; turn them on with /goldgolem stats enable"), false);
+            return 0;
+        }
+        List<GolemMetrics.Snapshot> modes = GolemMetrics.modeSnapshots();
+        List<GolemMetrics.Snapshot> golems = GolemMetrics.golemSnapshots();
+        if (modes.isEmpty()) {
+            source.sendFeedback(() -> Text.literal("No golem work recorded yet"), false);
+            return 0;
+        }
+        source.sendFeedback(() -> Text.literal("Golem metrics by mode:"), false);
+        for (GolemMetrics.Snapshot mode : modes) {
+            source.sendFeedback(() -> Text.literal(formatStats(mode.name(), mode)), false);
+        }
+        source.sendFeedback(() -> Text.literal("Busiest golems:"), false);
+        for (int i = 0; i < Math.min(MAX_GOLEM_LINES, golems.size()); i++) {
+            GolemMetrics.Snapshot golem = golems.get(i);
+            source.sendFeedback(() -> Text.literal(formatStats(golem.name() + " (" + golem.mode().name() + ")", golem)), false);
+        }
+        return modes.size();
+    }
+
+    private static String formatStats(String label, GolemMetrics.Snapshot snapshot) {
+        GolemMetrics.Stats stats = snapshot.stats();
+        double minutes = Math.max(1, snapshot.coveredTicks()) / (20.0 * 60.0);
+        double avgMicros = stats.ticks() > 0 ? stats.tickNanos() / 1000.0 / stats.ticks() : 0.0;
+        double hitRate = stats.pathCacheLookups() > 0 ? 100.0 * stats.pathCacheHits() / stats.pathCacheLookups() : 0.0;
+        return String.format(Locale.ROOT,
+                "%s: %d ticks (%d skipped), avg %.0f us, p50 %s, p99 %s, max %s | %.1f placed/min, %.1f mined/min, %d teleports | %d pathfinds, cache %.0f%% of %d, %d stand searches",
+                label, stats.ticks(), stats.skippedTicks(), avgMicros,
+                formatBound(stats.percentileNanos(0.5)), formatBound(stats.percentileNanos(0.99)), formatNanos(stats.maxTickNanos()),
+                stats.blocksPlaced() / minutes, stats.blocksMined() / minutes, stats.teleports(),
+                stats.pathfinds(), hitRate, stats.pathCacheLookups(), stats.standSearches());
+    }
+
+    private static String formatBound(long nanos) {
+        return nanos == Long.MAX_VALUE ? "over 16 ms" : "<" + formatNanos(nanos);
+    }
+
+    private static String formatNanos(long nanos) {
+        return nanos >= 1_000_000L
+                ? String.format(Locale.ROOT, "%.1f ms", nanos / 1_000_000.0)
+                : String.format(Locale.ROOT, "%d us", nanos / 1000);
+    }
+
+    private static int setStatsEnabled(CommandContext<ServerCommandSource> ctx, boolean on) {
+        GolemMetrics.setRequested(on);
+        boolean enabled = GolemMetrics.isEnabled();
+        String message = on ? "Golem metrics enabled"
+                : enabled ? "Golem metrics stay on while a JFR recording collects them" : "Golem metrics disabled";
+        ctx.getSource().sendFeedback(() -> Text.literal(message), true);
+        return 1;
+    }
+
+    private static int statsReset(CommandContext<ServerCommandSource> ctx) {
+        GolemMetrics.reset();
+        ctx.getSource().sendFeedback(() -> Text.literal("Golem metrics reset"), true);
+        return 1;
+    }
+}
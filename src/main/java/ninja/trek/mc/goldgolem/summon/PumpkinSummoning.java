@@ -18,6 +18,7 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import ninja.trek.mc.goldgolem.BuildMode;
 import ninja.trek.mc.goldgolem.registry.GoldGolemEntities;
+import ninja.trek.mc.goldgolem.world.BlockAccess;
 import ninja.trek.mc.goldgolem.world.entity.GoldGolemEntity;
 
 public class PumpkinSummoning {
@@ -242,7 +243,7 @@ public class PumpkinSummoning {
             return ActionResult.SUCCESS;
         } else if (terraformingMode) {
             // Terraforming Mode: scan skeleton structure touching 3x3 gold platform
-            var res = ninja.trek.mc.goldgolem.terraforming.TerraformingScanner.scan(world, below, player);
+            var res = ninja.trek.mc.goldgolem.terraforming.TerraformingScanner.scan(BlockAccess.of(world), below, player);
             if (!res.ok()) {
                 if (player instanceof net.minecraft.server.network.ServerPlayerEntity sp) {
                     sp.sendMessage(net.minecraft.text.Text.literal("[Gold Golem] Terraforming mode summon failed: " + res.error()), true);
@@ -273,7 +274,7 @@ public class PumpkinSummoning {
             return ActionResult.SUCCESS;
         } else if (treeMode) {
             // Tree Mode: scan for input modules separated by gold blocks
-            var res = ninja.trek.mc.goldgolem.tree.TreeScanner.scan(world, secondGoldPos, player);
+            var res = ninja.trek.mc.goldgolem.tree.TreeScanner.scan(BlockAccess.of(world), secondGoldPos, player);
             if (!res.ok()) {
                 if (player instanceof net.minecraft.server.network.ServerPlayerEntity sp) {
                     sp.sendMessage(net.minecraft.text.Text.literal("[Gold Golem] Tree mode summon failed: " + res.error()), true);
@@ -355,7 +356,7 @@ public class PumpkinSummoning {
             }
 
             // Scan the module structure from all gold block positions
-            var res = ninja.trek.mc.goldgolem.tower.TowerScanner.scan(world, goldBlockPositions, bottomGold, player);
+            var res = ninja.trek.mc.goldgolem.tower.TowerScanner.scan(BlockAccess.of(world), goldBlockPositions, bottomGold, player);
             if (!res.ok()) {
                 if (player instanceof net.minecraft.server.network.ServerPlayerEntity sp) {
                     sp.sendMessage(net.minecraft.text.Text.literal("[Gold Golem] Tower mode summon failed: " + res.error()), true);
@@ -414,7 +415,7 @@ public class PumpkinSummoning {
             return ActionResult.SUCCESS;
         } else if (wallMode) {
             // Scan combined module per spec
-            var res = ninja.trek.mc.goldgolem.wall.WallScanner.scan(world, below, player);
+            var res = ninja.trek.mc.goldgolem.wall.WallScanner.scan(BlockAccess.of(world), below, player);
             if (!res.ok()) {
                 if (player instanceof net.minecraft.server.network.ServerPlayerEntity sp) {
                     sp.sendMessage(net.minecraft.text.Text.literal("[Gold Golem] Wall mode summon failed: " + res.error()), true);
@@ -424,7 +425,7 @@ public class PumpkinSummoning {
             var def = res.def();
             // Debug output removed
             // Validate join slices across all gold markers per spec
-            var validation = ninja.trek.mc.goldgolem.wall.WallModuleValidator.validate(world, def.origin, def.voxels, def.goldMarkers, below);
+            var validation = ninja.trek.mc.goldgolem.wall.WallModuleValidator.validate(BlockAccess.of(world), def.origin, def.voxels, def.goldMarkers, below);
             if (!validation.ok()) {
                 if (player instanceof net.minecraft.server.network.ServerPlayerEntity sp) {
                     sp.sendMessage(net.minecraft.text.Text.literal("[Gold Golem] Wall validation failed: " + validation.error()), true);
@@ -452,7 +453,7 @@ public class PumpkinSummoning {
                 jsonRel = null;
             }
             // Extract modules and enforce uniqueness + size/count limits
-            var extraction = ninja.trek.mc.goldgolem.wall.WallModuleExtractor.extract(world, def.origin, def.voxels, def.goldMarkers, below);
+            var extraction = ninja.trek.mc.goldgolem.wall.WallModuleExtractor.extract(BlockAccess.of(world), def.origin, def.voxels, def.goldMarkers, below);
             if (!extraction.ok()) {
                 if (player instanceof net.minecraft.server.network.ServerPlayerEntity sp) {
                     sp.sendMessage(net.minecraft.text.Text.literal("[Gold Golem] Wall module extraction failed: " + extraction.error()), true);
@@ -489,11 +490,11 @@ public class PumpkinSummoning {
                     : ninja.trek.mc.goldgolem.wall.WallJoinSlice.Axis.Z_THICK;
             ninja.trek.mc.goldgolem.wall.WallJoinSlice best = null;
             for (var g : def.goldMarkers) {
-                var s = ninja.trek.mc.goldgolem.wall.WallJoinSlice.from(world, def.origin, def.voxels, g, preferred).orElse(null);
+                var s = ninja.trek.mc.goldgolem.wall.WallJoinSlice.from(BlockAccess.of(world), def.origin, def.voxels, g, preferred).orElse(null);
                 if (s == null && preferred == ninja.trek.mc.goldgolem.wall.WallJoinSlice.Axis.X_THICK) {
-                    s = ninja.trek.mc.goldgolem.wall.WallJoinSlice.from(world, def.origin, def.voxels, g, ninja.trek.mc.goldgolem.wall.WallJoinSlice.Axis.Z_THICK).orElse(null);
+                    s = ninja.trek.mc.goldgolem.wall.WallJoinSlice.from(BlockAccess.of(world), def.origin, def.voxels, g, ninja.trek.mc.goldgolem.wall.WallJoinSlice.Axis.Z_THICK).orElse(null);
                 } else if (s == null) {
-                    s = ninja.trek.mc.goldgolem.wall.WallJoinSlice.from(world, def.origin, def.voxels, g, ninja.trek.mc.goldgolem.wall.WallJoinSlice.Axis.X_THICK).orElse(null);
+                    s = ninja.trek.mc.goldgolem.wall.WallJoinSlice.from(BlockAccess.of(world), def.origin, def.voxels, g, ninja.trek.mc.goldgolem.wall.WallJoinSlice.Axis.X_THICK).orElse(null);
                 }
                 if (s != null) {
                     if (best == null || s.points.size() > best.points.size()) best = s;
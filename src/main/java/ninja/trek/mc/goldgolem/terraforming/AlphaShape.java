@@ -7,6 +7,9 @@ import java.util.*;
 /**
  * Alpha shape / concave hull generator for 2D point sets.
  * Used to wrap a surface around skeleton points on each Y level.
+ * <p>
+ * Layers are independent and the generator keeps no shared state, so different
+ * layers can be generated concurrently.
  */
 public class AlphaShape {
 
@@ -19,98 +22,125 @@ public class AlphaShape {
      * @return Set of positions that form the shell (surface blocks)
      */
     public static Set<BlockPos> generateShell(List<BlockPos> skeletonPoints, int alpha, int y) {
+        return new HashSet<>(generateShellLayer(skeletonPoints, alpha, y));
+    }
+
+    /**
+     * Same as {@link #generateShell} but returns the shell as a list in X-then-Z order,
+     * without building an intermediate set.
+     */
+    public static List<BlockPos> generateShellLayer(List<BlockPos> skeletonPoints, int alpha, int y) {
         if (skeletonPoints.isEmpty()) {
-            return new HashSet<>();
+            return new ArrayList<>();
         }
 
-        // Extract 2D points (X, Z)
-        Set<Point2D> points2D = new HashSet<>();
-        for (BlockPos pos : skeletonPoints) {
-            points2D.add(new Point2D(pos.getX(), pos.getZ()));
+        // Find bounding box
+        int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
+        int minZ = Integer.MAX_VALUE, maxZ = Integer.MIN_VALUE;
+        for (BlockPos p : skeletonPoints) {
+            minX = Math.min(minX, p.getX());
+            maxX = Math.max(maxX, p.getX());
+            minZ = Math.min(minZ, p.getZ());
+            maxZ = Math.max(maxZ, p.getZ());
         }
 
-        // For small point sets, use convex hull
-        if (points2D.size() < 4) {
-            return fillConvexHull(points2D, y);
+        // Stamp the skeleton onto a bitmap to get the distinct 2D points
+        int width = maxX - minX + 1;
+        int depth = maxZ - minZ + 1;
+        long[] skeletonBits = new long[(width * depth + 63) >>> 6];
+        int distinct = 0;
+        for (BlockPos p : skeletonPoints) {
+            int idx = (p.getX() - minX) * depth + (p.getZ() - minZ);
+            long mask = 1L << (idx & 63);
+            if ((skeletonBits[idx >>> 6] & mask) == 0) {
+                skeletonBits[idx >>> 6] |= mask;
+                distinct++;
+            }
         }
 
-        // Generate concave hull using alpha shape approach
-        Set<Point2D> shellPoints2D = generateConcaveHull(points2D, alpha);
-
-        // Convert back to 3D BlockPos and fill interior
-        Set<BlockPos> shell = new HashSet<>();
-        for (Point2D p : shellPoints2D) {
-            shell.add(new BlockPos(p.x, y, p.z));
+        // For small point sets, use convex hull
+        if (distinct < 4) {
+            return fillConvexHull(minX, maxX, minZ, maxZ, y);
         }
 
-        return shell;
+        return generateConcaveHull(skeletonBits, minX, minZ, width, depth, alpha, y);
     }
 
     /**
-     * Simplified concave hull algorithm.
-     * Creates a boundary by connecting nearby points and filling the interior.
+     * Simplified concave hull: every cell within alpha (Euclidean) of a skeleton point.
+     * Each skeleton point stamps a precomputed disc onto a bitmap of the alpha-expanded
+     * bounding box, so the cost is O(points * alpha^2) rather than O(area * points).
      */
-    private static Set<Point2D> generateConcaveHull(Set<Point2D> points, int alpha) {
-        Set<Point2D> result = new HashSet<>();
-
-        // Find bounding box
-        int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
-        int minZ = Integer.MAX_VALUE, maxZ = Integer.MIN_VALUE;
-
-        for (Point2D p : points) {
-            minX = Math.min(minX, p.x);
-            maxX = Math.max(maxX, p.x);
-            minZ = Math.min(minZ, p.z);
-            maxZ = Math.max(maxZ, p.z);
+    private static List<BlockPos> generateConcaveHull(long[] skeletonBits, int minX, int minZ,
+                                                      int width, int depth, int alpha, int y) {
+        int r = Math.max(0, alpha);
+        int outWidth = width + 2 * r;
+        int outDepth = depth + 2 * r;
+        long[] shellBits = new long[(outWidth * outDepth + 63) >>> 6];
+
+        // Half-width of the disc row at each dx: largest dz with dx^2 + dz^2 <= alpha^2
+        int alphaSq = r * r;
+        int[] halfSpan = new int[r + 1];
+        for (int dx = 0; dx <= r; dx++) {
+            halfSpan[dx] = (int) Math.floor(Math.sqrt(alphaSq - dx * dx));
         }
 
-        // Expand by alpha to create shell boundary
-        int expandedMinX = minX - alpha;
-        int expandedMaxX = maxX + alpha;
-        int expandedMinZ = minZ - alpha;
-        int expandedMaxZ = maxZ + alpha;
-
-        // Scan all positions in expanded bounding box
-        for (int x = expandedMinX; x <= expandedMaxX; x++) {
-            for (int z = expandedMinZ; z <= expandedMaxZ; z++) {
-                Point2D candidate = new Point2D(x, z);
-
-                // Check if this point is within alpha distance of any skeleton point
-                boolean nearSkeleton = false;
-                for (Point2D skelPoint : points) {
-                    if (distanceSquared(candidate, skelPoint) <= alpha * alpha) {
-                        nearSkeleton = true;
-                        break;
-                    }
+        for (int sx = 0; sx < width; sx++) {
+            for (int sz = 0; sz < depth; sz++) {
+                int idx = sx * depth + sz;
+                if ((skeletonBits[idx >>> 6] & (1L << (idx & 63))) == 0) {
+                    continue;
                 }
-
-                if (nearSkeleton) {
-                    result.add(candidate);
+                int cx = sx + r;
+                int cz = sz + r;
+                for (int dx = -r; dx <= r; dx++) {
+                    int span = halfSpan[Math.abs(dx)];
+                    int rowBase = (cx + dx) * outDepth;
+                    setRange(shellBits, rowBase + cz - span, rowBase + cz + span);
                 }
             }
         }
 
+        List<BlockPos> result = new ArrayList<>();
+        int originX = minX - r;
+        int originZ = minZ - r;
+        for (int word = 0; word < shellBits.length; word++) {
+            long bits = shellBits[word];
+            while (bits != 0) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int idx = (word << 6) + bit;
+                result.add(new BlockPos(originX + idx / outDepth, y, originZ + idx % outDepth));
+            }
+        }
         return result;
     }
 
+    /** Set bits [from, to] inclusive. */
+    private static void setRange(long[] bits, int from, int to) {
+        if (from > to) {
+            return;
+        }
+        int startWord = from >>> 6;
+        int endWord = to >>> 6;
+        long startMask = -1L << (from & 63);
+        long endMask = -1L >>> (63 - (to & 63));
+        if (startWord == endWord) {
+            bits[startWord] |= startMask & endMask;
+            return;
+        }
+        bits[startWord] |= startMask;
+        for (int w = startWord + 1; w < endWord; w++) {
+            bits[w] = -1L;
+        }
+        bits[endWord] |= endMask;
+    }
+
     /**
      * Fallback for small point sets: create a simple filled convex hull.
      */
-    private static Set<BlockPos> fillConvexHull(Set<Point2D> points, int y) {
-        Set<BlockPos> result = new HashSet<>();
-
-        if (points.isEmpty()) return result;
-
-        // Find bounding box
-        int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
-        int minZ = Integer.MAX_VALUE, maxZ = Integer.MIN_VALUE;
-
-        for (Point2D p : points) {
-            minX = Math.min(minX, p.x);
-            maxX = Math.max(maxX, p.x);
-            minZ = Math.min(minZ, p.z);
-            maxZ = Math.max(maxZ, p.z);
-        }
+    private static List<BlockPos> fillConvexHull(int minX, int maxX, int minZ, int maxZ, int y) {
+        List<BlockPos> result = new ArrayList<>();
 
         // Simple rectangular fill
         for (int x = minX; x <= maxX; x++) {
@@ -121,35 +151,4 @@ public class AlphaShape {
 
         return result;
     }
-
-    private static int distanceSquared(Point2D a, Point2D b) {
-        int dx = a.x - b.x;
-        int dz = a.z - b.z;
-        return dx * dx + dz * dz;
-    }
-
-    /**
-     * Simple 2D point for XZ plane calculations.
-     */
-    private static class Point2D {
-        final int x;
-        final int z;
-
-        Point2D(int x, int z) {
-            this.x = x;
-            this.z = z;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (!(o instanceof Point2D p)) return false;
-            return x == p.x && z == p.z;
-        }
-
-        @Override
-        public int hashCode() {
-            return 31 * x + z;
-        }
-    }
 }
@@ -0,0 +1,125 @@
+package ninja.trek.mc.goldgolem.terraforming;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
+import it.unimi.dsi.fastutil.ints.IntSets;
+import net.minecraft.util.math.BlockPos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One background run of shell generation over a skeleton.
+ * <p>
+ * The skeleton is grouped by Y once on the calling thread, then every layer is generated
+ * as an independent job. Each finished layer is published into {@link #layers()} and
+ * {@link #volume()} as a whole, so readers see either nothing or the complete layer and can
+ * start building the low layers while the high ones are still running. A superseded run is
+ * {@link #cancel() cancelled}; jobs that have not started yet are skipped and late results
+ * only land in this discarded object.
+ */
+public final class ShellGeneration {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShellGeneration.class);
+
+    private final Map<Integer, List<BlockPos>> layers = new ConcurrentHashMap<>();
+    private final Map<Integer, List<BlockPos>> layersView = Collections.unmodifiableMap(layers);
+    private final ShellVolume volume = new ShellVolume();
+    private final IntSet skeletonLayers;
+    private final AtomicInteger remaining;
+    private volatile boolean cancelled = false;
+
+    private ShellGeneration(IntSet skeletonLayers) {
+        this.skeletonLayers = skeletonLayers;
+        this.remaining = new AtomicInteger(skeletonLayers.size());
+    }
+
+    /**
+     * Start generating the shell for every skeleton layer on the given executor.
+     */
+    public static ShellGeneration start(List<BlockPos> skeleton, int alpha, Executor executor) {
+        Int2ObjectOpenHashMap<List<BlockPos>> byLayer = new Int2ObjectOpenHashMap<>();
+        for (BlockPos pos : skeleton) {
+            List<BlockPos> layer = byLayer.get(pos.getY());
+            if (layer == null) {
+                layer = new ArrayList<>();
+                byLayer.put(pos.getY(), layer);
+            }
+            layer.add(pos.toImmutable());
+        }
+
+        ShellGeneration generation = new ShellGeneration(IntSets.unmodifiable(new IntOpenHashSet(byLayer.keySet())));
+        for (var entry : byLayer.int2ObjectEntrySet()) {
+            int y = entry.getIntKey();
+            List<BlockPos> points = entry.getValue();
+            executor.execute(() -> generation.runLayer(points, alpha, y));
+        }
+        return generation;
+    }
+
+    private void runLayer(List<BlockPos> points, int alpha, int y) {
+        try {
+            if (cancelled) {
+                return;
+            }
+            List<BlockPos> shell = AlphaShape.generateShellLayer(points, alpha, y);
+            // Volume first, so a layer that is visible in the map always has its occupancy
+            volume.putLayer(y, shell);
+            layers.put(y, Collections.unmodifiableList(shell));
+        } catch (RuntimeException e) {
+            LOGGER.error("Shell generation failed for layer {}", y, e);
+            layers.put(y, List.of());
+        } finally {
+            remaining.decrementAndGet();
+        }
+    }
+
+    /**
+     * Generated shell layers keyed by Y. Grows while generation runs; layers without
+     * skeleton blocks never appear.
+     */
+    public Map<Integer, List<BlockPos>> layers() {
+        return layersView;
+    }
+
+    /**
+     * Occupancy of the layers generated so far.
+     */
+    public ShellVolume volume() {
+        return volume;
+    }
+
+    /**
+     * True when the layer at y is final: either generated or known to have no skeleton.
+     */
+    public boolean isLayerReady(int y) {
+        return !skeletonLayers.contains(y) || layers.containsKey(y);
+    }
+
+    /**
+     * True when every layer in [fromY, toY] is final.
+     */
+    public boolean areLayersReady(int fromY, int toY) {
+        for (int y = fromY; y <= toY; y++) {
+            if (!isLayerReady(y)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isDone() {
+        return remaining.get() <= 0;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+}
@@ -0,0 +1,186 @@
+package ninja.trek.mc.goldgolem.terraforming;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Layer-indexed occupancy of the terraforming skeleton plus its generated shell.
+ *
+ * Each Y layer keeps a 2D prefix-sum table over its own XZ bounding box, so membership
+ * and "how many occupied cells in this rectangle" are O(1). Neighbourhood slope counts
+ * for gradient selection then cost one rectangle lookup per layer instead of a
+ * list scan per neighbour.
+ * <p>
+ * Layers can be added one at a time with {@link #putLayer} from worker threads while the
+ * tick thread is reading; a layer becomes visible only once it is fully built.
+ */
+public final class ShellVolume {
+    private final Map<Integer, Layer> layers = new ConcurrentHashMap<>();
+
+    /**
+     * Build the volume from skeleton positions and shell layers. Positions present in both
+     * are counted once.
+     */
+    public static ShellVolume build(Collection<BlockPos> skeleton, Map<Integer, ? extends Collection<BlockPos>> shellByLayer) {
+        Int2ObjectOpenHashMap<LayerBuilder> builders = new Int2ObjectOpenHashMap<>();
+        if (skeleton != null) {
+            for (BlockPos pos : skeleton) {
+                builderFor(builders, pos.getY()).add(pos);
+            }
+        }
+        if (shellByLayer != null) {
+            for (Collection<BlockPos> layer : shellByLayer.values()) {
+                for (BlockPos pos : layer) {
+                    builderFor(builders, pos.getY()).add(pos);
+                }
+            }
+        }
+        ShellVolume volume = new ShellVolume();
+        for (var entry : builders.int2ObjectEntrySet()) {
+            volume.layers.put(entry.getIntKey(), entry.getValue().build());
+        }
+        return volume;
+    }
+
+    private static LayerBuilder builderFor(Int2ObjectOpenHashMap<LayerBuilder> builders, int y) {
+        LayerBuilder builder = builders.get(y);
+        if (builder == null) {
+            builder = new LayerBuilder();
+            builders.put(y, builder);
+        }
+        return builder;
+    }
+
+    /**
+     * Build and publish the occupancy of a single layer, replacing any previous one.
+     * Safe to call from any thread.
+     */
+    public void putLayer(int y, Collection<BlockPos> cells) {
+        if (cells.isEmpty()) {
+            layers.remove(y);
+            return;
+        }
+        LayerBuilder builder = new LayerBuilder();
+        for (BlockPos pos : cells) {
+            builder.add(pos);
+        }
+        layers.put(y, builder.build());
+    }
+
+    public boolean contains(int x, int y, int z) {
+        Layer layer = layers.get(y);
+        return layer != null && layer.count(x, z, x, z) > 0;
+    }
+
+    /**
+     * Number of occupied cells in the inclusive XZ rectangle on layer y.
+     */
+    public int countRect(int y, int x0, int z0, int x1, int z1) {
+        Layer layer = layers.get(y);
+        return layer == null ? 0 : layer.count(x0, z0, x1, z1);
+    }
+
+    /**
+     * Count occupied neighbours of {@code pos} within a cube of the given radius, split by
+     * dominant axis: a neighbour is vertical when |dy| is strictly larger than both |dx| and
+     * |dz|, horizontal otherwise. The centre cell is not counted.
+     *
+     * @param out receives {vertical, horizontal}; returned for convenience
+     */
+    public int[] countNeighbours(BlockPos pos, int radius, int[] out) {
+        int x = pos.getX();
+        int y = pos.getY();
+        int z = pos.getZ();
+
+        int total = 0;
+        for (int dy = -radius; dy <= radius; dy++) {
+            total += countRect(y + dy, x - radius, z - radius, x + radius, z + radius);
+        }
+        if (contains(x, y, z)) {
+            total--;
+        }
+
+        // Vertical neighbours at |dy| = d lie in the (2d-1)^2 square centred above/below pos
+        int vertical = 0;
+        for (int d = 1; d <= radius; d++) {
+            int h = d - 1;
+            vertical += countRect(y + d, x - h, z - h, x + h, z + h);
+            vertical += countRect(y - d, x - h, z - h, x + h, z + h);
+        }
+
+        out[0] = vertical;
+        out[1] = total - vertical;
+        return out;
+    }
+
+    private static final class Layer {
+        final int minX;
+        final int minZ;
+        final int width;
+        final int depth;
+        // (width + 1) x (depth + 1) inclusive prefix sums, row-major by x
+        final int[] prefix;
+
+        Layer(int minX, int minZ, int width, int depth, int[] prefix) {
+            this.minX = minX;
+            this.minZ = minZ;
+            this.width = width;
+            this.depth = depth;
+            this.prefix = prefix;
+        }
+
+        int count(int x0, int z0, int x1, int z1) {
+            int lx0 = Math.max(x0 - minX, 0);
+            int lz0 = Math.max(z0 - minZ, 0);
+            int lx1 = Math.min(x1 - minX, width - 1);
+            int lz1 = Math.min(z1 - minZ, depth - 1);
+            if (lx0 > lx1 || lz0 > lz1) {
+                return 0;
+            }
+            int stride = depth + 1;
+            return prefix[(lx1 + 1) * stride + (lz1 + 1)]
+                    - prefix[lx0 * stride + (lz1 + 1)]
+                    - prefix[(lx1 + 1) * stride + lz0]
+                    + prefix[lx0 * stride + lz0];
+        }
+    }
+
+    private static final class LayerBuilder {
+        private final LongArrayList cells = new LongArrayList();
+        private int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
+        private int minZ = Integer.MAX_VALUE, maxZ = Integer.MIN_VALUE;
+
+        void add(BlockPos pos) {
+            cells.add(pos.asLong());
+            minX = Math.min(minX, pos.getX());
+            maxX = Math.max(maxX, pos.getX());
+            minZ = Math.min(minZ, pos.getZ());
+            maxZ = Math.max(maxZ, pos.getZ());
+        }
+
+        Layer build() {
+            int width = maxX - minX + 1;
+            int depth = maxZ - minZ + 1;
+            int stride = depth + 1;
+            int[] prefix = new int[(width + 1) * stride];
+            for (int i = 0; i < cells.size(); i++) {
+                long packed = cells.getLong(i);
+                int lx = BlockPos.unpackLongX(packed) - minX;
+                int lz = BlockPos.unpackLongZ(packed) - minZ;
+                prefix[(lx + 1) * stride + (lz + 1)] = 1; // Duplicates collapse to one cell
+            }
+            for (int lx = 1; lx <= width; lx++) {
+                for (int lz = 1; lz <= depth; lz++) {
+                    int idx = lx * stride + lz;
+                    prefix[idx] += prefix[idx - stride] + prefix[idx - 1] - prefix[idx - stride - 1];
+                }
+            }
+            return new Layer(minX, minZ, width, depth, prefix);
+        }
+    }
+}
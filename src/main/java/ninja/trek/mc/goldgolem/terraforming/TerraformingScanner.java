@@ -7,7 +7,7 @@ import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.registry.Registries;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
-import net.minecraft.world.World;
+import ninja.trek.mc.goldgolem.world.BlockAccess;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -38,7 +38,7 @@ public final class TerraformingScanner {
      * @param summoner The player who summoned the golem
      * @return Result containing skeleton data or error
      */
-    public static Result scan(World world, BlockPos centerGoldPos, PlayerEntity summoner) {
+    public static Result scan(BlockAccess world, BlockPos centerGoldPos, PlayerEntity summoner) {
         // First, verify the 3x3 gold platform exists
         List<BlockPos> platformPositions = new ArrayList<>();
         for (int dx = -1; dx <= 1; dx++) {
@@ -165,7 +165,7 @@ public final class TerraformingScanner {
     }
 
     public static Path writeJson(Path baseDir, UUID owner, TerraformingDefinition def) throws IOException {
-        Path folder = baseDir.resolve("GoldGolemModules");
+        Path folder = baseDir.resolve("GoldGolemModules").resolve("scans");
         Files.createDirectories(folder);
         String fname = String.format(Locale.ROOT,
                 "terraforming_%d_%d_%d_%d.json",
@@ -1,5 +1,7 @@
 package ninja.trek.mc.goldgolem.tower;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.block.BlockState;
 import net.minecraft.util.math.BlockPos;
 
@@ -11,6 +13,8 @@ import java.util.List;
  * Template for a tower module.
  * Contains all voxels (blocks) that make up one instance of the module,
  * stored relative to the origin position.
+ * Voxels are also indexed by relative Y and by relative position, so layer slicing and
+ * state lookups do not scan the whole module.
  */
 public final class TowerModuleTemplate {
     public static final class Voxel {
@@ -24,10 +28,76 @@ public final class TowerModuleTemplate {
     public final int maxY; // max relative Y within module (for top reference)
     public final int moduleHeight; // Y-height of the module
 
+    private final Int2ObjectOpenHashMap<List<Voxel>> voxelsByY; // relative Y -> voxels on that layer
+    private final Long2ObjectOpenHashMap<BlockState> stateByRel; // packed relative pos -> state
+
     public TowerModuleTemplate(List<Voxel> voxels, int minY, int maxY) {
         this.voxels = Collections.unmodifiableList(new ArrayList<>(voxels));
         this.minY = minY;
         this.maxY = maxY;
         this.moduleHeight = maxY - minY + 1;
+
+        this.voxelsByY = new Int2ObjectOpenHashMap<>();
+        this.stateByRel = new Long2ObjectOpenHashMap<>(this.voxels.size());
+        for (Voxel voxel : this.voxels) {
+            int y = voxel.rel.getY();
+            List<Voxel> layer = voxelsByY.get(y);
+            if (layer == null) {
+                layer = new ArrayList<>();
+                voxelsByY.put(y, layer);
+            }
+            layer.add(voxel);
+            // First voxel wins if a position was captured twice
+            stateByRel.putIfAbsent(voxel.rel.asLong(), voxel.state);
+        }
+        for (var entry : voxelsByY.int2ObjectEntrySet()) {
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+    }
+
+    /**
+     * Voxels at the given relative Y, in capture order. Empty if the layer has none.
+     */
+    public List<Voxel> getLayer(int relY) {
+        List<Voxel> layer = voxelsByY.get(relY);
+        return layer != null ? layer : List.of();
+    }
+
+    /**
+     * Captured state at the given relative position, or null if the module has no block there.
+     */
+    public BlockState getState(int relX, int relY, int relZ) {
+        return stateByRel.get(BlockPos.asLong(relX, relY, relZ));
+    }
+
+    /**
+     * Absolute positions of tower layer {@code layerY} (0 = bottom of the first module) for a
+     * tower stacked from {@code origin}. Empty if the module has no blocks on that layer.
+     */
+    public List<BlockPos> layerPositions(BlockPos origin, int layerY) {
+        if (moduleHeight <= 0) return new ArrayList<>();
+
+        // Determine which module repetition we're in and the Y offset within that module
+        int moduleIndex = layerY / moduleHeight;
+        int relYTarget = minY + layerY % moduleHeight;
+        int absoluteY = origin.getY() + (moduleIndex * moduleHeight) + relYTarget;
+
+        List<Voxel> layer = getLayer(relYTarget);
+        List<BlockPos> positions = new ArrayList<>(layer.size());
+        for (Voxel voxel : layer) {
+            positions.add(new BlockPos(origin.getX() + voxel.rel.getX(), absoluteY, origin.getZ() + voxel.rel.getZ()));
+        }
+        return positions;
+    }
+
+    /**
+     * Captured state for an absolute position in a tower stacked from {@code origin}, wrapping
+     * Y into the module. Null if the module has no block there.
+     */
+    public BlockState stateAt(BlockPos origin, BlockPos pos) {
+        if (moduleHeight <= 0) return null;
+        int relY = pos.getY() - origin.getY();
+        int yWithinModule = Math.floorMod(relY - minY, moduleHeight) + minY;
+        return getState(pos.getX() - origin.getX(), yWithinModule, pos.getZ() - origin.getZ());
     }
 }
@@ -7,7 +7,7 @@ import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.registry.Registries;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
-import net.minecraft.world.World;
+import ninja.trek.mc.goldgolem.world.BlockAccess;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -40,7 +40,7 @@ public final class TowerScanner {
      * @param summoner The player who summoned the golem
      * @return Result containing the tower definition or error message
      */
-    public static Result scan(World world, List<BlockPos> goldBlockPositions, BlockPos origin, PlayerEntity summoner) {
+    public static Result scan(BlockAccess world, List<BlockPos> goldBlockPositions, BlockPos origin, PlayerEntity summoner) {
         // Determine the block the player is standing on (one below feet)
         BlockPos playerGround = summoner == null ? null : summoner.getBlockPos().down();
         Set<BlockPos> summonGoldBlocks = new HashSet<>(goldBlockPositions);
@@ -168,7 +168,7 @@ public final class TowerScanner {
     }
 
     public static Path writeJson(Path baseDir, UUID owner, TowerDefinition def) throws IOException {
-        Path folder = baseDir.resolve("GoldGolemModules");
+        Path folder = baseDir.resolve("GoldGolemModules").resolve("scans");
         Files.createDirectories(folder);
         String fname = String.format(Locale.ROOT,
                 "tower_%d_%d_%d_%d.json",
@@ -0,0 +1,298 @@
+package ninja.trek.mc.goldgolem.tree;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dense copy of one input module over its bounding box, one palette index per voxel.
+ * <p>
+ * Lets tile extraction read a window with plain array indexing and hash every NxNxN window
+ * of the module with a separable rolling polynomial hash (one pass per axis) instead of
+ * rehashing N^3 states per window.
+ */
+final class ModuleGrid {
+    // Odd multipliers for the per-axis polynomial hash (mod 2^64)
+    private static final long HASH_X = 0x9E3779B97F4A7C15L;
+    private static final long HASH_Y = 0xC2B2AE3D27D4EB4FL;
+    private static final long HASH_Z = 0x165667B19E3779F9L;
+
+    final int minX, minY, minZ;
+    final int width, height, depth;
+    final short[] cells; // palette index at ((x * height) + y) * depth + z
+
+    private ModuleGrid(int minX, int minY, int minZ, int width, int height, int depth) {
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.width = width;
+        this.height = height;
+        this.depth = depth;
+        this.cells = new short[width * height * depth];
+    }
+
+    /**
+     * Lay the module's block states into a grid over the bounding box of its voxels. Cells
+     * without a state are air (palette index 0). Returns null for an empty module.
+     */
+    static ModuleGrid build(Set<BlockPos> voxels, Map<BlockPos, BlockState> blocks, Palette palette) {
+        if (voxels.isEmpty()) {
+            return null;
+        }
+        int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
+        int minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
+        int minZ = Integer.MAX_VALUE, maxZ = Integer.MIN_VALUE;
+        for (BlockPos p : voxels) {
+            minX = Math.min(minX, p.getX());
+            maxX = Math.max(maxX, p.getX());
+            minY = Math.min(minY, p.getY());
+            maxY = Math.max(maxY, p.getY());
+            minZ = Math.min(minZ, p.getZ());
+            maxZ = Math.max(maxZ, p.getZ());
+        }
+        ModuleGrid grid = new ModuleGrid(minX, minY, minZ, maxX - minX + 1, maxY - minY + 1, maxZ - minZ + 1);
+        for (Map.Entry<BlockPos, BlockState> entry : blocks.entrySet()) {
+            BlockPos p = entry.getKey();
+            int lx = p.getX() - minX;
+            int ly = p.getY() - minY;
+            int lz = p.getZ() - minZ;
+            if (lx < 0 || lx >= grid.width || ly < 0 || ly >= grid.height || lz < 0 || lz >= grid.depth) {
+                continue;
+            }
+            grid.cells[grid.index(lx, ly, lz)] = palette.idFor(entry.getValue());
+        }
+        return grid;
+    }
+
+    int index(int lx, int ly, int lz) {
+        return (lx * height + ly) * depth + lz;
+    }
+
+    /** Number of window origins along each axis for windows of size n (0 if the module is smaller). */
+    int windowsX(int n) { return Math.max(0, width - n + 1); }
+    int windowsY(int n) { return Math.max(0, height - n + 1); }
+    int windowsZ(int n) { return Math.max(0, depth - n + 1); }
+
+    /**
+     * Rough peak memory for building a grid of this size and hashing its windows:
+     * the short grid, three long hash passes and the int prefix counts.
+     */
+    static long estimatedBytes(int width, int height, int depth) {
+        long cellCount = (long) (width + 1) * (height + 1) * (depth + 1);
+        return cellCount * (2 + 8 * 3 + 4);
+    }
+
+    /**
+     * Hash of every n^3 window, indexed by ((wx * windowsY) + wy) * windowsZ + wz.
+     * Equal to {@link #patternHash} of the window contents.
+     */
+    long[] windowHashes(int n) {
+        int wx = windowsX(n), wy = windowsY(n), wz = windowsZ(n);
+        if (wx == 0 || wy == 0 || wz == 0) {
+            return new long[0];
+        }
+        long powZ = pow(HASH_Z, n - 1);
+        long powY = pow(HASH_Y, n - 1);
+        long powX = pow(HASH_X, n - 1);
+
+        // Pass 1: roll along z for every (x, y) column
+        long[] hz = new long[width * height * wz];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                int src = (x * height + y) * depth;
+                int dst = (x * height + y) * wz;
+                long h = 0;
+                for (int k = 0; k < n; k++) {
+                    h = h * HASH_Z + value(cells[src + k]);
+                }
+                hz[dst] = h;
+                for (int z = 1; z < wz; z++) {
+                    h = (h - value(cells[src + z - 1]) * powZ) * HASH_Z + value(cells[src + z + n - 1]);
+                    hz[dst + z] = h;
+                }
+            }
+        }
+
+        // Pass 2: roll along y
+        long[] hy = new long[width * wy * wz];
+        for (int x = 0; x < width; x++) {
+            for (int z = 0; z < wz; z++) {
+                long h = 0;
+                for (int k = 0; k < n; k++) {
+                    h = h * HASH_Y + hz[(x * height + k) * wz + z];
+                }
+                hy[(x * wy) * wz + z] = h;
+                for (int y = 1; y < wy; y++) {
+                    h = (h - hz[(x * height + y - 1) * wz + z] * powY) * HASH_Y + hz[(x * height + y + n - 1) * wz + z];
+                    hy[(x * wy + y) * wz + z] = h;
+                }
+            }
+        }
+
+        // Pass 3: roll along x
+        long[] hashes = new long[wx * wy * wz];
+        int plane = wy * wz;
+        for (int yz = 0; yz < plane; yz++) {
+            long h = 0;
+            for (int k = 0; k < n; k++) {
+                h = h * HASH_X + hy[k * plane + yz];
+            }
+            hashes[yz] = h;
+            for (int x = 1; x < wx; x++) {
+                h = (h - hy[(x - 1) * plane + yz] * powX) * HASH_X + hy[(x + n - 1) * plane + yz];
+                hashes[x * plane + yz] = h;
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * Whether each n^3 window contains at least one non-air block, indexed like
+     * {@link #windowHashes}. Uses a 3D prefix count of non-air cells.
+     */
+    boolean[] nonEmptyWindows(int n, Palette palette) {
+        int wx = windowsX(n), wy = windowsY(n), wz = windowsZ(n);
+        if (wx == 0 || wy == 0 || wz == 0) {
+            return new boolean[0];
+        }
+        int sy = depth + 1;
+        int sx = (height + 1) * sy;
+        int[] prefix = new int[(width + 1) * sx];
+        for (int x = 1; x <= width; x++) {
+            for (int y = 1; y <= height; y++) {
+                for (int z = 1; z <= depth; z++) {
+                    int cell = palette.isAir(cells[index(x - 1, y - 1, z - 1)]) ? 0 : 1;
+                    int i = x * sx + y * sy + z;
+                    prefix[i] = cell
+                            + prefix[i - sx] + prefix[i - sy] + prefix[i - 1]
+                            - prefix[i - sx - sy] - prefix[i - sx - 1] - prefix[i - sy - 1]
+                            + prefix[i - sx - sy - 1];
+                }
+            }
+        }
+        boolean[] result = new boolean[wx * wy * wz];
+        int dX = n * sx, dY = n * sy;
+        for (int x = 0; x < wx; x++) {
+            for (int y = 0; y < wy; y++) {
+                for (int z = 0; z < wz; z++) {
+                    int i = x * sx + y * sy + z; // low corner (exclusive)
+                    int count = prefix[i + dX + dY + n]
+                            - prefix[i + dY + n] - prefix[i + dX + n] - prefix[i + dX + dY]
+                            + prefix[i + dX] + prefix[i + dY] + prefix[i + n]
+                            - prefix[i];
+                    result[(x * wy + y) * wz + z] = count > 0;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Copy the n^3 window at local origin (lx, ly, lz) into out, in [x][y][z] order.
+     */
+    void copyWindow(int lx, int ly, int lz, int n, short[] out) {
+        int i = 0;
+        for (int dx = 0; dx < n; dx++) {
+            for (int dy = 0; dy < n; dy++) {
+                int base = index(lx + dx, ly + dy, lz);
+                for (int dz = 0; dz < n; dz++) {
+                    out[i++] = cells[base + dz];
+                }
+            }
+        }
+    }
+
+    /**
+     * Polynomial hash of an n^3 pattern in [x][y][z] order, matching {@link #windowHashes}.
+     */
+    static long patternHash(short[] pattern, int n) {
+        long h = 0;
+        int i = 0;
+        for (int dx = 0; dx < n; dx++) {
+            long hyAcc = 0;
+            for (int dy = 0; dy < n; dy++) {
+                long hzAcc = 0;
+                for (int dz = 0; dz < n; dz++) {
+                    hzAcc = hzAcc * HASH_Z + value(pattern[i++]);
+                }
+                hyAcc = hyAcc * HASH_Y + hzAcc;
+            }
+            h = h * HASH_X + hyAcc;
+        }
+        return h;
+    }
+
+    /**
+     * Rotate an n^3 pattern 90 degrees clockwise around Y, as {@link TreeTile#rotateY} does.
+     */
+    static short[] rotate90(short[] pattern, int n) {
+        short[] out = new short[pattern.length];
+        for (int x = 0; x < n; x++) {
+            for (int y = 0; y < n; y++) {
+                for (int z = 0; z < n; z++) {
+                    // (x, y, z) -> (z, y, n-1-x)
+                    out[(z * n + y) * n + (n - 1 - x)] = pattern[(x * n + y) * n + z];
+                }
+            }
+        }
+        return out;
+    }
+
+    private static long value(short paletteId) {
+        return (paletteId & 0xFFFF) + 1L;
+    }
+
+    private static long pow(long base, int exp) {
+        long result = 1;
+        for (int i = 0; i < exp; i++) {
+            result *= base;
+        }
+        return result;
+    }
+
+    /**
+     * Block-state palette shared by all modules of one extraction. Index 0 is plain air.
+     */
+    static final class Palette {
+        private final Reference2IntOpenHashMap<BlockState> ids = new Reference2IntOpenHashMap<>();
+        private final List<BlockState> states = new ArrayList<>();
+        private boolean[] air = new boolean[16];
+
+        Palette() {
+            ids.defaultReturnValue(-1);
+            idFor(Blocks.AIR.getDefaultState());
+        }
+
+        short idFor(BlockState state) {
+            int id = ids.getInt(state);
+            if (id < 0) {
+                id = states.size();
+                if (id > 0xFFFF) {
+                    throw new IllegalArgumentException("Tree uses more than 65536 distinct block states");
+                }
+                ids.put(state, id);
+                states.add(state);
+                if (id == air.length) {
+                    air = Arrays.copyOf(air, id * 2);
+                }
+                air[id] = state.isAir();
+            }
+            return (short) id;
+        }
+
+        BlockState state(short id) {
+            return states.get(id & 0xFFFF);
+        }
+
+        boolean isAir(short id) {
+            return air[id & 0xFFFF];
+        }
+    }
+}
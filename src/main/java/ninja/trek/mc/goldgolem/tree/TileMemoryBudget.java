@@ -0,0 +1,88 @@
+package ninja.trek.mc.goldgolem.tree;
+
+/**
+ * Rough accounting of the memory held by tile extraction, so an oversized tree definition
+ * fails with a clear error instead of exhausting the heap.
+ * <p>
+ * Sizes are estimates (compressed references, typical object headers), not measurements;
+ * the limit is a fraction of the heap that was free when extraction started.
+ */
+public final class TileMemoryBudget {
+    // Share of the currently free heap a single extraction may claim
+    private static final int HEAP_FRACTION = 4;
+    private static final long MIN_LIMIT_BYTES = 16L * 1024 * 1024;
+
+    // Approximate retained sizes of the structures extraction creates
+    private static final long ARRAY_HEADER_BYTES = 16;
+    private static final long TILE_OBJECT_BYTES = 32 + 64; // TreeTile fields + id string
+    private static final long RULE_BYTES = 16;              // packed long in an open hash set, with slack
+
+    private final long limitBytes;
+    private long usedBytes = 0;
+
+    public TileMemoryBudget(long limitBytes) {
+        this.limitBytes = limitBytes;
+    }
+
+    /**
+     * Budget sized from the heap that is free right now.
+     */
+    public static TileMemoryBudget fromHeap() {
+        Runtime rt = Runtime.getRuntime();
+        long used = rt.totalMemory() - rt.freeMemory();
+        long free = rt.maxMemory() - used;
+        return new TileMemoryBudget(Math.max(MIN_LIMIT_BYTES, free / HEAP_FRACTION));
+    }
+
+    /**
+     * Budget that never fails.
+     */
+    public static TileMemoryBudget unlimited() {
+        return new TileMemoryBudget(Long.MAX_VALUE);
+    }
+
+    /**
+     * Estimated size of one NxNxN tile including its nested state arrays.
+     */
+    public static long tileBytes(int tileSize) {
+        long refs = (long) tileSize * tileSize * tileSize * 4;
+        long headers = (1L + tileSize + (long) tileSize * tileSize) * ARRAY_HEADER_BYTES;
+        return TILE_OBJECT_BYTES + refs + headers;
+    }
+
+    public void chargeTiles(int count, int tileSize) {
+        charge(count * tileBytes(tileSize), "tiles");
+    }
+
+    public void chargeRules(int count) {
+        charge(count * RULE_BYTES, "adjacency rules");
+    }
+
+    /**
+     * @throws ExceededException when the running total passes the limit
+     */
+    public void charge(long bytes, String what) {
+        usedBytes += bytes;
+        if (usedBytes > limitBytes) {
+            throw new ExceededException("Tree tile extraction needs more than "
+                    + (limitBytes >> 20) + " MB (at " + what + ") - tree is too complex for this preset");
+        }
+    }
+
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public long getLimitBytes() {
+        return limitBytes;
+    }
+
+    /**
+     * Thrown when extraction would exceed its memory budget.
+     */
+    public static final class ExceededException extends RuntimeException {
+        public ExceededException(String message) {
+            super(message);
+        }
+    }
+}
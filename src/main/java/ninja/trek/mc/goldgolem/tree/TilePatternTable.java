@@ -0,0 +1,57 @@
+package ninja.trek.mc.goldgolem.tree;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import java.util.Arrays;
+
+/**
+ * Tile patterns seen during one extraction, keyed by their 64-bit window hash.
+ * <p>
+ * A hash hit only counts when the full palette pattern matches; patterns whose hashes
+ * collide are chained under the same key and never merged.
+ */
+final class TilePatternTable {
+    private final Long2ObjectOpenHashMap<Entry> entries = new Long2ObjectOpenHashMap<>();
+
+    /**
+     * Tile of an identical pattern seen before, or -1.
+     */
+    int find(long hash, short[] pattern) {
+        Entry e = entry(hash, pattern);
+        return e == null ? -1 : e.tile;
+    }
+
+    /**
+     * Map a pattern to a tile, replacing the tile of an identical pattern already present.
+     * The table keeps the array; callers must not modify it afterwards.
+     */
+    void put(long hash, short[] pattern, int tile) {
+        Entry existing = entry(hash, pattern);
+        if (existing != null) {
+            existing.tile = tile;
+        } else {
+            entries.put(hash, new Entry(pattern, tile, entries.get(hash)));
+        }
+    }
+
+    private Entry entry(long hash, short[] pattern) {
+        for (Entry e = entries.get(hash); e != null; e = e.next) {
+            if (Arrays.equals(e.pattern, pattern)) {
+                return e;
+            }
+        }
+        return null;
+    }
+
+    private static final class Entry {
+        final short[] pattern;
+        int tile;
+        final Entry next;
+
+        Entry(short[] pattern, int tile, Entry next) {
+            this.pattern = pattern;
+            this.tile = tile;
+            this.next = next;
+        }
+    }
+}
@@ -7,7 +7,7 @@ import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.registry.Registries;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
-import net.minecraft.world.World;
+import ninja.trek.mc.goldgolem.world.BlockAccess;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -31,7 +31,7 @@ public final class TreeScanner {
         public boolean ok() { return def != null && (error == null || error.isEmpty()); }
     }
 
-    public static Result scan(World world, BlockPos secondGoldPos, PlayerEntity summoner) {
+    public static Result scan(BlockAccess world, BlockPos secondGoldPos, PlayerEntity summoner) {
         // Determine the block the player is standing on (one below feet)
         BlockPos playerGround = summoner == null ? null : summoner.getBlockPos().down();
 
@@ -180,7 +180,7 @@ public final class TreeScanner {
      * Writes the scan result to a JSON file for debugging/export.
      */
     public static Path writeJson(Path baseDir, UUID owner, TreeDefinition def) throws IOException {
-        Path folder = baseDir.resolve("GoldGolemModules");
+        Path folder = baseDir.resolve("GoldGolemModules").resolve("scans");
         Files.createDirectories(folder);
         String fname = String.format(Locale.ROOT,
                 "tree_%d_%d_%d_%d.json",
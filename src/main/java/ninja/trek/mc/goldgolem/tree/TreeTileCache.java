@@ -7,53 +7,106 @@ import java.util.*;
 /**
  * Cache of extracted tiles and their adjacency constraints for WFC algorithm.
  * Stores tiles along with rules about which tiles can be placed adjacent to each other.
+ * <p>
+ * Tiles are identified by their index in {@link #tiles}. Adjacency is stored as one bitset
+ * over tile indices per (tile, direction), which the WFC core consumes directly.
  */
 public final class TreeTileCache {
+    private static final Direction[] DIRECTIONS = Direction.values();
+
     public final int tileSize; // 3 or 5
     public final List<TreeTile> tiles; // all extracted tiles (including rotations)
     public final Map<String, Integer> tileIdToIndex; // tile ID -> index in tiles list
-    // E1: Fixed hash collision - use nested maps instead of encoded long keys
-    private final Map<String, Map<Direction, Set<String>>> adjacencyRules; // tileId -> direction -> valid neighbor tile IDs
 
-    public TreeTileCache(int tileSize, List<TreeTile> tiles, Map<String, Map<Direction, Set<String>>> adjacencyRules) {
+    // Rotation group of each tile: rotated variants of one base pattern share a group
+    private final int[] rotationGroup;
+    // Bitset over tile indices per (tile, direction), stored at [tileIndex * 6 + direction.ordinal()]
+    private final int maskWords;
+    private final long[][] compatibility;
+    // Per direction, the union of every tile's mask (used while a cell is still unconstrained)
+    private final long[][] anyCompatibility;
+
+    /**
+     * Build from precompiled tables.
+     *
+     * @param rotationGroup group id per tile index
+     * @param compatibility bitset per [tileIndex * 6 + direction.ordinal()], each
+     *                      {@link #maskWordsFor maskWordsFor(tiles.size())} longs; not copied
+     */
+    public TreeTileCache(int tileSize, List<TreeTile> tiles, int[] rotationGroup, long[][] compatibility) {
         this.tileSize = tileSize;
         this.tiles = Collections.unmodifiableList(new ArrayList<>(tiles));
+        this.tileIdToIndex = buildIndex(this.tiles);
+        this.rotationGroup = rotationGroup.clone();
+        this.maskWords = maskWordsFor(tiles.size());
+        this.compatibility = compatibility;
+        this.anyCompatibility = unionByDirection(compatibility, tiles.size(), maskWords);
+    }
 
-        // Deep copy the adjacency rules to make them immutable
-        Map<String, Map<Direction, Set<String>>> rulesCopy = new HashMap<>();
-        for (Map.Entry<String, Map<Direction, Set<String>>> entry : adjacencyRules.entrySet()) {
-            Map<Direction, Set<String>> dirMapCopy = new EnumMap<>(Direction.class);
-            for (Map.Entry<Direction, Set<String>> dirEntry : entry.getValue().entrySet()) {
-                dirMapCopy.put(dirEntry.getKey(), Collections.unmodifiableSet(new HashSet<>(dirEntry.getValue())));
-            }
-            rulesCopy.put(entry.getKey(), Collections.unmodifiableMap(dirMapCopy));
-        }
-        this.adjacencyRules = Collections.unmodifiableMap(rulesCopy);
-
-        // Build index
+    private static Map<String, Integer> buildIndex(List<TreeTile> tiles) {
         Map<String, Integer> index = new HashMap<>();
         for (int i = 0; i < tiles.size(); i++) {
             index.put(tiles.get(i).id, i);
         }
-        this.tileIdToIndex = Collections.unmodifiableMap(index);
+        return Collections.unmodifiableMap(index);
+    }
+
+    private static long[][] unionByDirection(long[][] compatibility, int tileCount, int words) {
+        long[][] any = new long[DIRECTIONS.length][words];
+        for (int t = 0; t < tileCount; t++) {
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                long[] mask = compatibility[t * DIRECTIONS.length + d];
+                for (int w = 0; w < words; w++) {
+                    any[d][w] |= mask[w];
+                }
+            }
+        }
+        return any;
+    }
+
+    /**
+     * Number of longs in a bitset over the given number of tiles.
+     */
+    public static int maskWordsFor(int tileCount) {
+        return Math.max(1, (tileCount + 63) >>> 6);
     }
 
     /**
-     * Gets the set of tile IDs that can be placed adjacent to the given tile in the given direction.
+     * Number of longs in every tile bitset returned by this cache.
      */
-    public Set<String> getValidNeighbors(String tileId, Direction direction) {
-        Map<Direction, Set<String>> dirMap = adjacencyRules.get(tileId);
-        if (dirMap == null) return Collections.emptySet();
-        Set<String> neighbors = dirMap.get(direction);
-        return neighbors != null ? neighbors : Collections.emptySet();
+    public int maskWords() {
+        return maskWords;
     }
 
     /**
-     * Checks if two tiles can be adjacent in the given direction.
+     * Bitset over tile indices that may be placed next to the given tile in the given direction.
+     * The returned array is shared and must not be modified.
      */
-    public boolean canBeAdjacent(String fromTileId, Direction direction, String toTileId) {
-        Set<String> validNeighbors = getValidNeighbors(fromTileId, direction);
-        return validNeighbors.contains(toTileId);
+    public long[] getCompatibilityMask(int tileIndex, Direction direction) {
+        return compatibility[tileIndex * DIRECTIONS.length + direction.ordinal()];
+    }
+
+    /**
+     * Union of {@link #getCompatibilityMask} over all tiles for the given direction.
+     * The returned array is shared and must not be modified.
+     */
+    public long[] getAnyCompatibilityMask(Direction direction) {
+        return anyCompatibility[direction.ordinal()];
+    }
+
+    /**
+     * Rotation group of a tile; rotated variants of the same pattern share a group.
+     */
+    public int getRotationGroup(int tileIndex) {
+        return rotationGroup[tileIndex];
+    }
+
+    /**
+     * Index of a tile by ID, or -1 if unknown.
+     */
+    public int indexOf(String tileId) {
+        Integer index = tileIdToIndex.get(tileId);
+        return index != null ? index : -1;
     }
 
     /**
@@ -71,17 +124,6 @@ public final class TreeTileCache {
         return tileIdToIndex.keySet();
     }
 
-    /**
-     * Adds an adjacency rule. Used during tile extraction.
-     * Note: This modifies the rules map, so should only be used with a mutable builder map.
-     */
-    public static void addAdjacencyRule(Map<String, Map<Direction, Set<String>>> rules,
-                                        String fromTileId, Direction direction, String toTileId) {
-        rules.computeIfAbsent(fromTileId, k -> new EnumMap<>(Direction.class))
-             .computeIfAbsent(direction, k -> new HashSet<>())
-             .add(toTileId);
-    }
-
     /**
      * Gets the number of tiles in this cache.
      */
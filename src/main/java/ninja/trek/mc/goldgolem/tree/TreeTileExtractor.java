@@ -1,132 +1,182 @@
 package ninja.trek.mc.goldgolem.tree;
 
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.block.BlockState;
-import net.minecraft.block.Blocks;
 import net.minecraft.registry.Registries;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
-import net.minecraft.world.World;
+import ninja.trek.mc.goldgolem.world.BlockAccess;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Extracts NxNxN tiles from input modules using a sliding window approach.
  * Generates rotated variants and builds adjacency constraints for WFC.
+ * <p>
+ * Extraction itself only reads an immutable snapshot of the module block states, so it can
+ * run on a worker thread; {@link #snapshotModules} is the only part that touches the world.
  */
 public final class TreeTileExtractor {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    // ROTATED_DIRECTION[q][d]: ordinal of direction d turned q quarter turns clockwise around Y
+    private static final int[][] ROTATED_DIRECTION = new int[4][DIRECTIONS.length];
+
+    static {
+        for (int quarter = 0; quarter < 4; quarter++) {
+            for (Direction dir : DIRECTIONS) {
+                ROTATED_DIRECTION[quarter][dir.ordinal()] = rotateDirection(dir, quarter * 90).ordinal();
+            }
+        }
+    }
 
     /**
      * Extracts tiles from the given definition using the specified tiling preset.
      * Returns a TreeTileCache containing all tiles and adjacency rules.
      */
-    public static TreeTileCache extract(World world, TreeDefinition def, TilingPreset preset, BlockPos origin) {
+    public static TreeTileCache extract(BlockAccess world, TreeDefinition def, TilingPreset preset, BlockPos origin) {
         return extract(world, def, preset, origin, null);
     }
 
     /**
      * Extracts tiles using stored block states when available (for resurrection snapshots).
      */
-    public static TreeTileCache extract(World world, TreeDefinition def, TilingPreset preset, BlockPos origin,
+    public static TreeTileCache extract(BlockAccess world, TreeDefinition def, TilingPreset preset, BlockPos origin,
                                         List<Map<BlockPos, BlockState>> storedModuleBlocks) {
-        int tileSize = preset.getSize();
-        List<TreeTile> allTiles = new ArrayList<>();
-        // E1: Use nested map structure instead of encoded long keys to avoid hash collisions
-        Map<String, Map<Direction, Set<String>>> adjacencyRules = new HashMap<>();
-        Map<Integer, String> patternToTileId = new HashMap<>(); // de-duplicate identical patterns
-        int tileCounter = 0;
+        return extract(def, preset, snapshotModules(world, def, origin, storedModuleBlocks), TileMemoryBudget.fromHeap());
+    }
 
-        // Process each module separately (no cross-module adjacency)
+    /**
+     * Starts extraction on the given executor. The module snapshot must already be taken
+     * (see {@link #snapshotModules}); the job never touches the world.
+     */
+    public static CompletableFuture<TreeTileCache> extractAsync(TreeDefinition def, TilingPreset preset,
+                                                                List<Map<BlockPos, BlockState>> moduleSnapshot,
+                                                                Executor executor) {
+        return CompletableFuture.supplyAsync(
+                () -> extract(def, preset, moduleSnapshot, TileMemoryBudget.fromHeap()), executor);
+    }
+
+    /**
+     * Captures the block states of every module as immutable maps keyed by relative position.
+     * Stored states are used when available, otherwise the world is read; must run on the
+     * thread that owns the world.
+     */
+    public static List<Map<BlockPos, BlockState>> snapshotModules(BlockAccess world, TreeDefinition def, BlockPos origin,
+                                                                  List<Map<BlockPos, BlockState>> storedModuleBlocks) {
+        List<Map<BlockPos, BlockState>> snapshot = new ArrayList<>(def.modules.size());
         for (int moduleIdx = 0; moduleIdx < def.modules.size(); moduleIdx++) {
             TreeModule module = def.modules.get(moduleIdx);
-
-            // Build a map of relative positions to block states for quick lookup
-            Map<BlockPos, BlockState> moduleBlocks = new HashMap<>();
             if (storedModuleBlocks != null && moduleIdx < storedModuleBlocks.size()) {
                 Map<BlockPos, BlockState> stored = storedModuleBlocks.get(moduleIdx);
                 if (stored != null && !stored.isEmpty()) {
-                    moduleBlocks.putAll(stored);
+                    snapshot.add(Map.copyOf(stored));
+                    continue;
                 }
             }
-            if (moduleBlocks.isEmpty()) {
-                for (BlockPos relPos : module.voxels) {
-                    BlockPos absPos = origin.add(relPos);
-                    BlockState state = world.getBlockState(absPos);
-                    moduleBlocks.put(relPos, state);
-                }
+            Map<BlockPos, BlockState> moduleBlocks = new HashMap<>();
+            for (BlockPos relPos : module.voxels) {
+                BlockPos absPos = origin.add(relPos);
+                moduleBlocks.put(relPos, world.getBlockState(absPos));
             }
+            snapshot.add(Map.copyOf(moduleBlocks));
+        }
+        return Collections.unmodifiableList(snapshot);
+    }
 
-            // Find bounds of this module
-            int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE;
-            int minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
-            int minZ = Integer.MAX_VALUE, maxZ = Integer.MIN_VALUE;
-            for (BlockPos p : module.voxels) {
-                minX = Math.min(minX, p.getX());
-                maxX = Math.max(maxX, p.getX());
-                minY = Math.min(minY, p.getY());
-                maxY = Math.max(maxY, p.getY());
-                minZ = Math.min(minZ, p.getZ());
-                maxZ = Math.max(maxZ, p.getZ());
-            }
+    /**
+     * Extracts tiles from an immutable module snapshot. Safe to run off the server thread.
+     *
+     * @throws TileMemoryBudget.ExceededException if the estimated memory use passes the budget
+     */
+    public static TreeTileCache extract(TreeDefinition def, TilingPreset preset,
+                                        List<Map<BlockPos, BlockState>> moduleSnapshot, TileMemoryBudget budget) {
+        int tileSize = preset.getSize();
+        int volume = tileSize * tileSize * tileSize;
+        List<TreeTile> allTiles = new ArrayList<>();
+        // Rotation group of each tile, and each group's tile index per quarter turn (-1 when
+        // that rotation duplicated an earlier one)
+        IntArrayList tileGroup = new IntArrayList();
+        List<int[]> groupRotations = new ArrayList<>();
+        // Observed neighbour pairs, packed by packRule
+        LongOpenHashSet observedRules = new LongOpenHashSet();
+        // De-duplicate identical patterns; hash hits are confirmed by comparing full contents
+        TilePatternTable patternToTile = new TilePatternTable();
+        ModuleGrid.Palette palette = new ModuleGrid.Palette();
+        short[] window = new short[volume];
+        int tileCounter = 0;
 
-            // Extract tiles using sliding window
-            Map<BlockPos, String> positionToTileId = new HashMap<>(); // track which tile is at each position
-
-            for (int x = minX; x <= maxX - tileSize + 1; x++) {
-                for (int y = minY; y <= maxY - tileSize + 1; y++) {
-                    for (int z = minZ; z <= maxZ - tileSize + 1; z++) {
-                        BlockPos tileOrigin = new BlockPos(x, y, z);
-
-                        // Extract NxNxN cube
-                        BlockState[][][] blocks = new BlockState[tileSize][tileSize][tileSize];
-                        boolean hasNonAir = false;
-                        for (int dx = 0; dx < tileSize; dx++) {
-                            for (int dy = 0; dy < tileSize; dy++) {
-                                for (int dz = 0; dz < tileSize; dz++) {
-                                    BlockPos pos = tileOrigin.add(dx, dy, dz);
-                                    BlockState state = moduleBlocks.getOrDefault(pos, Blocks.AIR.getDefaultState());
-                                    blocks[dx][dy][dz] = state;
-                                    if (!state.isAir()) hasNonAir = true;
-                                }
-                            }
-                        }
+        // Process each module separately (no cross-module adjacency)
+        for (int moduleIdx = 0; moduleIdx < def.modules.size(); moduleIdx++) {
+            TreeModule module = def.modules.get(moduleIdx);
+            Map<BlockPos, BlockState> moduleBlocks = moduleIdx < moduleSnapshot.size()
+                    ? moduleSnapshot.get(moduleIdx) : Map.of();
+
+            // Dense palette-indexed copy of the module over its bounding box
+            ModuleGrid grid = ModuleGrid.build(module.voxels, moduleBlocks, palette);
+            if (grid == null) continue;
+            budget.charge(ModuleGrid.estimatedBytes(grid.width, grid.height, grid.depth), "module grid");
+
+            // Hash every window in three rolling passes, and find the ones with any non-air block
+            long[] windowHashes = grid.windowHashes(tileSize);
+            boolean[] nonEmpty = grid.nonEmptyWindows(tileSize, palette);
+            int windowsX = grid.windowsX(tileSize);
+            int windowsY = grid.windowsY(tileSize);
+            int windowsZ = grid.windowsZ(tileSize);
+
+            // Extract tiles using sliding window, tracking which tile is at each window (-1 = empty)
+            budget.charge(windowHashes.length * 4L, "tile positions");
+            int[] windowTile = new int[windowHashes.length];
+            Arrays.fill(windowTile, -1);
+
+            for (int wx = 0; wx < windowsX; wx++) {
+                for (int wy = 0; wy < windowsY; wy++) {
+                    for (int wz = 0; wz < windowsZ; wz++) {
+                        int windowIndex = (wx * windowsY + wy) * windowsZ + wz;
 
                         // Skip empty tiles
-                        if (!hasNonAir) continue;
+                        if (!nonEmpty[windowIndex]) continue;
 
-                        // Create base tile (rotation 0)
-                        String baseTileId = "tile_m" + moduleIdx + "_" + tileCounter + "_r0";
-                        TreeTile baseTile = new TreeTile(baseTileId, tileSize, blocks, 0);
+                        grid.copyWindow(wx, wy, wz, tileSize, window);
 
                         // Check if we've seen this pattern before
-                        int patternHash = baseTile.patternHash();
-                        String existingTileId = patternToTileId.get(patternHash);
-                        if (existingTileId != null) {
+                        long patternHash = windowHashes[windowIndex];
+                        int existing = patternToTile.find(patternHash, window);
+                        if (existing >= 0) {
                             // Reuse existing tile
-                            positionToTileId.put(tileOrigin, existingTileId);
+                            windowTile[windowIndex] = existing;
                             continue;
                         }
 
-                        // New unique tile - add it and its rotations
-                        allTiles.add(baseTile);
-                        positionToTileId.put(tileOrigin, baseTileId);
-                        patternToTileId.put(patternHash, baseTileId);
-
-                        // Generate rotated variants (90, 180, 270 degrees)
-                        TreeTile rot90 = baseTile.rotateY(90);
-                        TreeTile rot180 = baseTile.rotateY(180);
-                        TreeTile rot270 = baseTile.rotateY(270);
-
-                        // Only add rotations if they're not identical to base or each other
-                        Set<Integer> seenHashes = new HashSet<>();
-                        seenHashes.add(patternHash);
-
-                        for (TreeTile rotated : Arrays.asList(rot90, rot180, rot270)) {
-                            int rotHash = rotated.patternHash();
-                            if (!seenHashes.contains(rotHash)) {
-                                allTiles.add(rotated);
-                                patternToTileId.put(rotHash, rotated.id);
-                                seenHashes.add(rotHash);
-                            }
+                        // New unique tile (rotation 0) - add it and its rotations
+                        budget.chargeTiles(4, tileSize);
+                        int group = groupRotations.size();
+                        int[] rotations = {-1, -1, -1, -1};
+                        groupRotations.add(rotations);
+
+                        String baseTileId = "tile_m" + moduleIdx + "_" + tileCounter + "_r0";
+                        short[] basePattern = window.clone();
+                        TreeTile baseTile = new TreeTile(baseTileId, tileSize, toBlocks(basePattern, tileSize, palette), 0);
+                        int baseIndex = addTile(allTiles, tileGroup, baseTile, group);
+                        rotations[0] = baseIndex;
+                        windowTile[windowIndex] = baseIndex;
+                        patternToTile.put(patternHash, basePattern, baseIndex);
+
+                        // Generate rotated variants (90, 180, 270 degrees), only adding those
+                        // that are not identical to the base or to each other
+                        List<short[]> seenPatterns = new ArrayList<>(4);
+                        seenPatterns.add(basePattern);
+                        short[] rotatedPattern = basePattern;
+                        for (int quarter = 1; quarter < 4; quarter++) {
+                            rotatedPattern = ModuleGrid.rotate90(rotatedPattern, tileSize);
+                            if (containsPattern(seenPatterns, rotatedPattern)) continue;
+                            seenPatterns.add(rotatedPattern);
+                            int rotatedIndex = addTile(allTiles, tileGroup, baseTile.rotateY(quarter * 90), group);
+                            rotations[quarter] = rotatedIndex;
+                            patternToTile.put(ModuleGrid.patternHash(rotatedPattern, tileSize), rotatedPattern, rotatedIndex);
                         }
 
                         tileCounter++;
@@ -134,97 +184,99 @@ public final class TreeTileExtractor {
                 }
             }
 
-            // Build adjacency rules for this module
-            buildAdjacencyRules(positionToTileId, tileSize, adjacencyRules, allTiles);
+            // Record which tiles were neighbors in this module (tiles overlap, so offset is 1, not tileSize)
+            for (int wx = 0; wx < windowsX; wx++) {
+                for (int wy = 0; wy < windowsY; wy++) {
+                    for (int wz = 0; wz < windowsZ; wz++) {
+                        int tile = windowTile[(wx * windowsY + wy) * windowsZ + wz];
+                        if (tile < 0) continue;
+                        for (Direction dir : DIRECTIONS) {
+                            int nx = wx + dir.getOffsetX();
+                            int ny = wy + dir.getOffsetY();
+                            int nz = wz + dir.getOffsetZ();
+                            if (nx < 0 || nx >= windowsX || ny < 0 || ny >= windowsY || nz < 0 || nz >= windowsZ) continue;
+                            int neighbor = windowTile[(nx * windowsY + ny) * windowsZ + nz];
+                            if (neighbor >= 0 && observedRules.add(packRule(tile, dir.ordinal(), neighbor))) {
+                                budget.chargeRules(1);
+                            }
+                        }
+                    }
+                }
+            }
         }
 
-        return new TreeTileCache(tileSize, allTiles, adjacencyRules);
+        long[][] compatibility = buildAdjacencyTables(observedRules, allTiles.size(), tileGroup, groupRotations, budget);
+        return new TreeTileCache(tileSize, allTiles, tileGroup.toIntArray(), compatibility);
+    }
+
+    private static int addTile(List<TreeTile> allTiles, IntArrayList tileGroup, TreeTile tile, int group) {
+        allTiles.add(tile);
+        tileGroup.add(group);
+        return allTiles.size() - 1;
+    }
+
+    private static long packRule(int fromTile, int direction, int toTile) {
+        return ((long) (fromTile * DIRECTIONS.length + direction) << 32) | (toTile & 0xFFFFFFFFL);
     }
 
     /**
-     * Builds adjacency rules by checking which tiles were neighbors in the input.
-     * E1: Updated to use nested map structure instead of encoded long keys to avoid hash collisions.
+     * Builds adjacency bitsets from the observed neighbor pairs in one pass.
+     * If tile A was seen next to tile B in direction d, then for every quarter turn q the
+     * q-rotated variant of A's pattern may have the q-rotated variant of B's pattern next to
+     * it in direction d rotated by q. Rotations are looked up by group and quarter index.
      */
-    private static void buildAdjacencyRules(Map<BlockPos, String> positionToTileId, int tileSize,
-                                           Map<String, Map<Direction, Set<String>>> adjacencyRules, List<TreeTile> allTiles) {
-        // For each tile position, check neighbors in each direction
-        for (Map.Entry<BlockPos, String> entry : positionToTileId.entrySet()) {
-            BlockPos pos = entry.getKey();
-            String tileId = entry.getValue();
-
-            for (Direction dir : Direction.values()) {
-                // Calculate neighbor position (tiles overlap, so offset is 1, not tileSize)
-                BlockPos neighborPos = pos.offset(dir, 1);
-                String neighborTileId = positionToTileId.get(neighborPos);
-
-                if (neighborTileId != null) {
-                    // Record that tileId can have neighborTileId in direction dir
-                    TreeTileCache.addAdjacencyRule(adjacencyRules, tileId, dir, neighborTileId);
+    private static long[][] buildAdjacencyTables(LongOpenHashSet observedRules, int tileCount, IntArrayList tileGroup,
+                                                 List<int[]> groupRotations, TileMemoryBudget budget) {
+        int words = TreeTileCache.maskWordsFor(tileCount);
+        budget.charge((long) tileCount * DIRECTIONS.length * (words * 8L + 16), "adjacency tables");
+        long[][] compatibility = new long[tileCount * DIRECTIONS.length][words];
+
+        LongIterator it = observedRules.iterator();
+        while (it.hasNext()) {
+            long rule = it.nextLong();
+            int key = (int) (rule >>> 32);
+            int from = key / DIRECTIONS.length;
+            int dir = key % DIRECTIONS.length;
+            int to = (int) rule;
+            setBit(compatibility[key], to);
+
+            int[] fromRotations = groupRotations.get(tileGroup.getInt(from));
+            int[] toRotations = groupRotations.get(tileGroup.getInt(to));
+            for (int quarter = 0; quarter < 4; quarter++) {
+                int rotatedFrom = fromRotations[quarter];
+                int rotatedTo = toRotations[quarter];
+                if (rotatedFrom >= 0 && rotatedTo >= 0) {
+                    setBit(compatibility[rotatedFrom * DIRECTIONS.length + ROTATED_DIRECTION[quarter][dir]], rotatedTo);
                 }
             }
         }
+        return compatibility;
+    }
 
-        // Add adjacency rules for rotated variants based on base tiles
-        // This is important: if tile A can be adjacent to tile B, then rotated A should be able to be adjacent to rotated B
-        Map<String, TreeTile> tileMap = new HashMap<>();
-        for (TreeTile tile : allTiles) {
-            tileMap.put(tile.id, tile);
-        }
-
-        // Build rotation mappings
-        Map<String, Map<Integer, String>> rotationMappings = new HashMap<>();
-        for (TreeTile tile : allTiles) {
-            String baseId = tile.id.replaceFirst("_r\\d+$", "");
-            rotationMappings.computeIfAbsent(baseId, k -> new HashMap<>()).put(tile.rotation, tile.id);
-        }
-
-        // Propagate adjacency rules through rotations
-        // Collect new rules to add (to avoid modifying while iterating)
-        Map<String, Map<Direction, Set<String>>> newRules = new HashMap<>();
-
-        for (Map.Entry<String, Map<Direction, Set<String>>> tileEntry : adjacencyRules.entrySet()) {
-            String fromTileId = tileEntry.getKey();
-            TreeTile fromTile = tileMap.get(fromTileId);
-            if (fromTile == null) continue;
-
-            String baseFromId = fromTileId.replaceFirst("_r\\d+$", "");
-
-            for (Map.Entry<Direction, Set<String>> dirEntry : tileEntry.getValue().entrySet()) {
-                Direction dir = dirEntry.getKey();
-
-                // For each valid neighbor in the original rule
-                for (String toTileId : dirEntry.getValue()) {
-                    String baseToId = toTileId.replaceFirst("_r\\d+$", "");
-
-                    // Apply the same rotation to both tiles and direction
-                    Map<Integer, String> fromRotations = rotationMappings.get(baseFromId);
-                    Map<Integer, String> toRotations = rotationMappings.get(baseToId);
+    private static void setBit(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << (index & 63);
+    }
 
-                    if (fromRotations != null && toRotations != null) {
-                        for (int rot : Arrays.asList(0, 90, 180, 270)) {
-                            String rotatedFromId = fromRotations.get(rot);
-                            String rotatedToId = toRotations.get(rot);
-                            if (rotatedFromId != null && rotatedToId != null) {
-                                // Rotate the direction as well
-                                Direction rotatedDir = rotateDirection(dir, rot);
-                                TreeTileCache.addAdjacencyRule(newRules, rotatedFromId, rotatedDir, rotatedToId);
-                            }
-                        }
-                    }
-                }
+    private static boolean containsPattern(List<short[]> patterns, short[] pattern) {
+        for (short[] p : patterns) {
+            if (Arrays.equals(p, pattern)) {
+                return true;
             }
         }
+        return false;
+    }
 
-        // Merge new rules back
-        for (Map.Entry<String, Map<Direction, Set<String>>> tileEntry : newRules.entrySet()) {
-            String tileId = tileEntry.getKey();
-            for (Map.Entry<Direction, Set<String>> dirEntry : tileEntry.getValue().entrySet()) {
-                Direction dir = dirEntry.getKey();
-                for (String neighborId : dirEntry.getValue()) {
-                    TreeTileCache.addAdjacencyRule(adjacencyRules, tileId, dir, neighborId);
+    private static BlockState[][][] toBlocks(short[] pattern, int n, ModuleGrid.Palette palette) {
+        BlockState[][][] blocks = new BlockState[n][n][n];
+        int i = 0;
+        for (int dx = 0; dx < n; dx++) {
+            for (int dy = 0; dy < n; dy++) {
+                for (int dz = 0; dz < n; dz++) {
+                    blocks[dx][dy][dz] = palette.state(pattern[i++]);
                 }
             }
         }
+        return blocks;
     }
 
     /**
@@ -1,11 +1,12 @@
 package ninja.trek.mc.goldgolem.tree;
 
+import it.unimi.dsi.fastutil.ints.IntArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
-import net.minecraft.block.Blocks;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
-import net.minecraft.world.World;
+import ninja.trek.mc.goldgolem.world.BlockAccess;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,44 +15,61 @@ import java.util.*;
 /**
  * Implements Wave Function Collapse as a flood-fill algorithm for Tree Mode.
  * Starts from a seed position and expands outward, stopping at boundaries (air/gold/ground).
+ * <p>
+ * Tiles are handled by their index in {@link TreeTileCache#tiles}. Each cell's possible tiles
+ * are a bitset stored in one shared long[] (cell-major, {@link TreeTileCache#maskWords()} longs
+ * per cell), constraints come from the cache's precompiled per-direction masks, and the
+ * frontier is an indexed min-heap on possibility count so priority updates are O(log n).
  */
 public final class TreeWFCBuilder {
     private static final Logger LOGGER = LoggerFactory.getLogger(TreeWFCBuilder.class);
 
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int INITIAL_CELLS = 256;
+
     private final TreeTileCache tileCache;
-    private final World world;
+    private final BlockAccess world;
     private final Set<Block> stopBlocks; // blocks that act as boundaries
     private final Random random;
-
-    // Wave function: for each position, track possible tile IDs
-    private final Map<BlockPos, Set<String>> waveFunction;
-
-    // E5: Priority queue for entropy search - positions with lowest entropy at front
-    // Using a Set for O(1) contains checks, and rebuilding priority when needed
-    private final Set<BlockPos> frontierSet;
-    private final PriorityQueue<BlockPos> frontierQueue;
-
-    // Already collapsed/placed positions
-    private final Map<BlockPos, String> collapsed;
-
-    // Queue of positions to process for building
-    private final ArrayDeque<BlockPos> buildQueue;
-
-    public TreeWFCBuilder(TreeTileCache tileCache, World world, BlockPos startPos, Set<Block> stopBlocks, Random random) {
+    private final int words;
+    private final int tileCount;
+
+    // Cells: every position that has been constrained, collapsed or probed
+    private final Long2IntOpenHashMap cellIndex = new Long2IntOpenHashMap();
+    private long[] cellPos = new long[INITIAL_CELLS];
+    // Wave function: possible tiles per cell; a count of 0 means no wave (unconstrained or contradiction)
+    private long[] waves;
+    private int[] counts = new int[INITIAL_CELLS];
+    // Already collapsed/placed tile index per cell, -1 if not collapsed
+    private int[] collapsedTile = new int[INITIAL_CELLS];
+    private int cellCount = 0;
+    private int collapsedCount = 0;
+
+    // Frontier: indexed binary min-heap of cells ordered by possibility count (entropy)
+    private int[] heap = new int[INITIAL_CELLS];
+    private int[] heapSlot = new int[INITIAL_CELLS]; // -1 when not in the frontier
+    private int heapSize = 0;
+
+    // Propagation scratch: worklist of cells and a per-wave stamp to deduplicate entries
+    private final IntArrayFIFOQueue worklist = new IntArrayFIFOQueue();
+    private int[] queuedStamp = new int[INITIAL_CELLS];
+    private int stamp = 0;
+    private final long[] validScratch;
+    private final BlockPos.Mutable probe = new BlockPos.Mutable();
+
+    // Queue of cells to process for building
+    private final IntArrayFIFOQueue buildQueue = new IntArrayFIFOQueue();
+
+    public TreeWFCBuilder(TreeTileCache tileCache, BlockAccess world, BlockPos startPos, Set<Block> stopBlocks, Random random) {
         this.tileCache = tileCache;
         this.world = world;
         this.stopBlocks = new HashSet<>(stopBlocks);
         this.random = random;
-
-        this.waveFunction = new HashMap<>();
-        this.frontierSet = new HashSet<>();
-        // E5: Priority queue comparator - lower entropy (fewer possible tiles) = higher priority
-        this.frontierQueue = new PriorityQueue<>(Comparator.comparingInt(pos -> {
-            Set<String> tiles = waveFunction.get(pos);
-            return tiles != null ? tiles.size() : Integer.MAX_VALUE;
-        }));
-        this.collapsed = new HashMap<>();
-        this.buildQueue = new ArrayDeque<>();
+        this.words = tileCache.maskWords();
+        this.tileCount = tileCache.size();
+        this.waves = new long[INITIAL_CELLS * words];
+        this.validScratch = new long[words];
+        this.cellIndex.defaultReturnValue(-1);
 
         // Initialize with start position
         initialize(startPos);
@@ -61,241 +79,212 @@ public final class TreeWFCBuilder {
      * Initializes the WFC algorithm with the starting position.
      */
     private void initialize(BlockPos startPos) {
-        // Start position can have any tile
-        Set<String> allTiles = new HashSet<>(tileCache.getAllTileIds());
-        waveFunction.put(startPos, allTiles);
-        addToFrontier(startPos);
-    }
-
-    /**
-     * E5: Add a position to the frontier (both set and priority queue).
-     */
-    private void addToFrontier(BlockPos pos) {
-        if (frontierSet.add(pos)) {
-            frontierQueue.add(pos);
+        if (tileCount == 0) {
+            return;
         }
-    }
-
-    /**
-     * E5: Remove a position from the frontier.
-     */
-    private void removeFromFrontier(BlockPos pos) {
-        if (frontierSet.remove(pos)) {
-            frontierQueue.remove(pos);
-        }
-    }
-
-    /**
-     * E5: Update frontier priority for a position (when its entropy changes).
-     */
-    private void updateFrontierPriority(BlockPos pos) {
-        if (frontierSet.contains(pos)) {
-            frontierQueue.remove(pos);
-            frontierQueue.add(pos);
+        // Start position can have any tile
+        int cell = cellFor(startPos.asLong());
+        int base = cell * words;
+        for (int t = 0; t < tileCount; t++) {
+            waves[base + (t >>> 6)] |= 1L << (t & 63);
         }
+        counts[cell] = tileCount;
+        heapPush(cell);
     }
 
     /**
      * Performs one step of the WFC algorithm.
      * Returns true if there's more work to do, false if finished or failed.
-     * E3: Fixed ConcurrentModificationException by collecting positions to remove first.
-     * E5: Uses priority queue for O(log n) entropy search instead of O(n) linear scan.
      */
     public boolean step() {
-        if (frontierSet.isEmpty()) {
+        if (heapSize == 0) {
             return false; // Done
         }
 
-        // E3: Collect positions to remove first (those with no valid tiles)
-        List<BlockPos> toRemove = new ArrayList<>();
-        BlockPos minEntropyPos = null;
-
-        // E5: Use priority queue to find minimum entropy position
-        // First, clean up any invalid positions from the queue
-        while (!frontierQueue.isEmpty()) {
-            BlockPos candidate = frontierQueue.peek();
-
-            // Check if still in frontier set (may have been removed)
-            if (!frontierSet.contains(candidate)) {
-                frontierQueue.poll();
-                continue;
-            }
-
-            Set<String> possibleTiles = waveFunction.get(candidate);
-            if (possibleTiles == null || possibleTiles.isEmpty()) {
-                // Contradiction - this position has no valid tiles, mark for removal
-                frontierQueue.poll();
-                toRemove.add(candidate);
-                continue;
-            }
-
-            // This is our minimum entropy position
-            minEntropyPos = frontierQueue.poll();
-            break;
-        }
-
-        // E3: Remove invalid positions after iteration
-        for (BlockPos pos : toRemove) {
-            frontierSet.remove(pos);
-        }
-
-        if (minEntropyPos == null) {
-            return !frontierSet.isEmpty(); // May have more work if queue was just out of sync
-        }
-
-        // Remove from frontier set
-        frontierSet.remove(minEntropyPos);
+        // Contradicted cells leave the frontier immediately, so the top always has tiles left
+        int cell = heapPoll();
 
         // Collapse this position
-        collapse(minEntropyPos);
+        int chosenTile = collapse(cell);
 
-        // E2: Propagate constraints using iterative arc consistency
-        String chosenTile = collapsed.get(minEntropyPos);
-        propagate(minEntropyPos, chosenTile);
+        // Propagate constraints using iterative arc consistency
+        propagate(cell, chosenTile);
 
         // Expand frontier
-        expandFrontier(minEntropyPos);
+        expandFrontier(cell);
 
         return true;
     }
 
     /**
-     * Collapses a position by randomly selecting one of its possible tiles.
+     * Collapses a cell by randomly selecting one of its possible tiles.
+     * @return the chosen tile index
      */
-    private void collapse(BlockPos pos) {
-        Set<String> possibleTiles = waveFunction.get(pos);
-        if (possibleTiles == null || possibleTiles.isEmpty()) {
-            return; // Can't collapse
-        }
-
+    private int collapse(int cell) {
         // Pick a random tile (TODO: could weight by frequency in input)
-        List<String> tileList = new ArrayList<>(possibleTiles);
-        String chosenTile = tileList.get(random.nextInt(tileList.size()));
+        int base = cell * words;
+        int chosenTile = nthSetBit(base, random.nextInt(counts[cell]));
 
         // Collapse to this single tile
-        collapsed.put(pos, chosenTile);
-        waveFunction.put(pos, Collections.singleton(chosenTile));
+        Arrays.fill(waves, base, base + words, 0L);
+        waves[base + (chosenTile >>> 6)] = 1L << (chosenTile & 63);
+        counts[cell] = 1;
+        collapsedTile[cell] = chosenTile;
+        collapsedCount++;
 
         // Add to build queue
-        buildQueue.add(pos);
+        buildQueue.enqueue(cell);
+        return chosenTile;
     }
 
     /**
-     * E2: Propagates constraints from a collapsed position using iterative arc consistency.
+     * Propagates constraints from a collapsed cell using iterative arc consistency.
      * Uses a worklist algorithm to propagate changes until no more constraints can be applied.
      */
-    private void propagate(BlockPos collapsedPos, String chosenTile) {
-        if (chosenTile == null) return;
-
-        // E2: Use a worklist for iterative arc consistency
-        Queue<BlockPos> worklist = new LinkedList<>();
-        worklist.add(collapsedPos);
-
-        // Track which positions we've already processed in this propagation wave
-        // to avoid redundant processing
-        Set<BlockPos> inWorklist = new HashSet<>();
-        inWorklist.add(collapsedPos);
+    private void propagate(int collapsedCell, int chosenTile) {
+        // Track which cells are already queued in this propagation wave
+        if (++stamp == 0) {
+            Arrays.fill(queuedStamp, 0);
+            stamp = 1;
+        }
+        worklist.clear();
+        worklist.enqueue(collapsedCell);
+        queuedStamp[collapsedCell] = stamp;
 
         while (!worklist.isEmpty()) {
-            BlockPos current = worklist.poll();
-            inWorklist.remove(current);
-
-            // Get the tile(s) at current position
-            String currentTile = collapsed.get(current);
-            Set<String> currentPossible = null;
-            if (currentTile == null) {
-                currentPossible = waveFunction.get(current);
-                if (currentPossible == null || currentPossible.isEmpty()) {
-                    continue;
-                }
+            int current = worklist.dequeueInt();
+            queuedStamp[current] = 0;
+
+            int currentTile = collapsedTile[current];
+            if (currentTile < 0 && counts[current] == 0) {
+                continue;
             }
+            long currentPos = cellPos[current];
 
             // Check each neighbor
-            for (Direction dir : Direction.values()) {
-                BlockPos neighborPos = current.offset(dir);
+            for (Direction dir : DIRECTIONS) {
+                long neighborPos = BlockPos.offset(currentPos, dir);
+                int neighbor = cellIndex.get(neighborPos);
 
                 // Skip if already collapsed
-                if (collapsed.containsKey(neighborPos)) continue;
+                if (neighbor >= 0 && collapsedTile[neighbor] >= 0) continue;
 
                 // Skip if it's a stop block
                 if (isStopBlock(neighborPos)) continue;
 
                 // Compute valid neighbors based on current position's possibilities
-                Set<String> validNeighbors = new HashSet<>();
-                if (currentTile != null) {
-                    // Collapsed position - single tile
-                    validNeighbors.addAll(tileCache.getValidNeighbors(currentTile, dir));
-                } else {
-                    // Uncollapsed position - union of all possible tiles' neighbors
-                    for (String possibleTile : currentPossible) {
-                        validNeighbors.addAll(tileCache.getValidNeighbors(possibleTile, dir));
-                    }
-                }
-
-                if (validNeighbors.isEmpty()) {
+                if (!computeValidNeighbors(current, currentTile, dir)) {
                     // No valid tiles in this direction - don't expand here
                     continue;
                 }
 
-                // Update wave function for neighbor
-                Set<String> neighborPossible = waveFunction.get(neighborPos);
-                if (neighborPossible == null) {
+                if (neighbor < 0) {
+                    neighbor = cellFor(neighborPos);
+                }
+                int base = neighbor * words;
+                if (counts[neighbor] == 0) {
                     // First constraint for this position
-                    waveFunction.put(neighborPos, new HashSet<>(validNeighbors));
-                } else {
-                    int sizeBefore = neighborPossible.size();
-                    neighborPossible.retainAll(validNeighbors);
-
-                    if (neighborPossible.isEmpty()) {
-                        // Contradiction - remove from wave function and log warning
-                        waveFunction.remove(neighborPos);
-                        removeFromFrontier(neighborPos);
-                        LOGGER.debug("WFC contradiction at {} - no valid tiles remain", neighborPos);
-                    } else if (neighborPossible.size() < sizeBefore) {
-                        // Constraints changed - add to worklist to propagate further
-                        if (!inWorklist.contains(neighborPos)) {
-                            worklist.add(neighborPos);
-                            inWorklist.add(neighborPos);
-                        }
-                        // E5: Update priority since entropy changed
-                        updateFrontierPriority(neighborPos);
+                    int count = 0;
+                    for (int w = 0; w < words; w++) {
+                        waves[base + w] = validScratch[w];
+                        count += Long.bitCount(validScratch[w]);
+                    }
+                    counts[neighbor] = count;
+                    continue;
+                }
+
+                int sizeBefore = counts[neighbor];
+                int count = 0;
+                for (int w = 0; w < words; w++) {
+                    long bits = waves[base + w] & validScratch[w];
+                    waves[base + w] = bits;
+                    count += Long.bitCount(bits);
+                }
+                counts[neighbor] = count;
+
+                if (count == 0) {
+                    // Contradiction - drop the wave and take it out of the frontier
+                    heapRemove(neighbor);
+                    if (LOGGER.isDebugEnabled()) {
+                        LOGGER.debug("WFC contradiction at {} - no valid tiles remain", BlockPos.fromLong(neighborPos));
                     }
+                } else if (count < sizeBefore) {
+                    // Constraints changed - add to worklist to propagate further
+                    if (queuedStamp[neighbor] != stamp) {
+                        worklist.enqueue(neighbor);
+                        queuedStamp[neighbor] = stamp;
+                    }
+                    // Fewer possibilities means lower entropy
+                    heapDecreased(neighbor);
                 }
             }
         }
     }
 
     /**
-     * Expands the frontier by adding neighboring positions.
-     * E5: Uses the new addToFrontier method for priority queue management.
+     * Fill {@link #validScratch} with the tiles allowed next to {@code cell} in {@code dir}.
+     * @return false if no tile is allowed
      */
-    private void expandFrontier(BlockPos pos) {
-        for (Direction dir : Direction.values()) {
-            BlockPos neighborPos = pos.offset(dir);
+    private boolean computeValidNeighbors(int cell, int cellTile, Direction dir) {
+        long[] valid = validScratch;
+        if (cellTile >= 0) {
+            // Collapsed position - single tile
+            System.arraycopy(tileCache.getCompatibilityMask(cellTile, dir), 0, valid, 0, words);
+        } else if (counts[cell] == tileCount) {
+            // Unconstrained position - every tile is possible
+            System.arraycopy(tileCache.getAnyCompatibilityMask(dir), 0, valid, 0, words);
+        } else {
+            // Uncollapsed position - union of all possible tiles' neighbors
+            Arrays.fill(valid, 0L);
+            int base = cell * words;
+            for (int w = 0; w < words; w++) {
+                long bits = waves[base + w];
+                while (bits != 0) {
+                    int tile = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    long[] mask = tileCache.getCompatibilityMask(tile, dir);
+                    for (int i = 0; i < words; i++) {
+                        valid[i] |= mask[i];
+                    }
+                }
+            }
+        }
+        for (int w = 0; w < words; w++) {
+            if (valid[w] != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-            // Skip if already collapsed or in frontier
-            if (collapsed.containsKey(neighborPos) || frontierSet.contains(neighborPos)) {
+    /**
+     * Expands the frontier by adding neighboring positions.
+     */
+    private void expandFrontier(int cell) {
+        long pos = cellPos[cell];
+        for (Direction dir : DIRECTIONS) {
+            int neighbor = cellIndex.get(BlockPos.offset(pos, dir));
+
+            // Only positions with valid tiles can join; skip if already collapsed or in frontier
+            if (neighbor < 0 || counts[neighbor] == 0
+                    || collapsedTile[neighbor] >= 0 || heapSlot[neighbor] >= 0) {
                 continue;
             }
 
             // Skip if it's a stop block
-            if (isStopBlock(neighborPos)) {
+            if (isStopBlock(cellPos[neighbor])) {
                 continue;
             }
 
-            // Add to frontier if it has valid tiles
-            Set<String> possibleTiles = waveFunction.get(neighborPos);
-            if (possibleTiles != null && !possibleTiles.isEmpty()) {
-                addToFrontier(neighborPos);
-            }
+            heapPush(neighbor);
         }
     }
 
     /**
      * Checks if a position contains a stop block (boundary).
      */
-    private boolean isStopBlock(BlockPos pos) {
-        BlockState state = world.getBlockState(pos);
+    private boolean isStopBlock(long pos) {
+        BlockState state = world.getBlockState(probe.set(pos));
         Block block = state.getBlock();
 
         // Air is always a stop block
@@ -305,18 +294,150 @@ public final class TreeWFCBuilder {
         return stopBlocks.contains(block);
     }
 
+    private int nthSetBit(int base, int n) {
+        for (int w = 0; w < words; w++) {
+            long bits = waves[base + w];
+            int bitCount = Long.bitCount(bits);
+            if (n < bitCount) {
+                for (int i = 0; i < n; i++) {
+                    bits &= bits - 1;
+                }
+                return (w << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            n -= bitCount;
+        }
+        throw new IllegalStateException("Tile bitset has fewer bits than its count");
+    }
+
+    // ========== Cells ==========
+
+    private int cellFor(long pos) {
+        int cell = cellIndex.get(pos);
+        if (cell >= 0) {
+            return cell;
+        }
+        cell = cellCount++;
+        if (cell == cellPos.length) {
+            growCells();
+        }
+        cellPos[cell] = pos;
+        counts[cell] = 0;
+        collapsedTile[cell] = -1;
+        heapSlot[cell] = -1;
+        queuedStamp[cell] = 0;
+        cellIndex.put(pos, cell);
+        return cell;
+    }
+
+    private void growCells() {
+        int capacity = cellPos.length * 2;
+        cellPos = Arrays.copyOf(cellPos, capacity);
+        waves = Arrays.copyOf(waves, capacity * words);
+        counts = Arrays.copyOf(counts, capacity);
+        collapsedTile = Arrays.copyOf(collapsedTile, capacity);
+        heapSlot = Arrays.copyOf(heapSlot, capacity);
+        queuedStamp = Arrays.copyOf(queuedStamp, capacity);
+        heap = Arrays.copyOf(heap, capacity);
+    }
+
+    // ========== Frontier heap ==========
+
+    private void heapPush(int cell) {
+        heap[heapSize] = cell;
+        heapSlot[cell] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private int heapPoll() {
+        int top = heap[0];
+        heapRemoveAt(0);
+        return top;
+    }
+
+    private void heapRemove(int cell) {
+        int slot = heapSlot[cell];
+        if (slot >= 0) {
+            heapRemoveAt(slot);
+        }
+    }
+
+    private void heapDecreased(int cell) {
+        int slot = heapSlot[cell];
+        if (slot >= 0) {
+            siftUp(slot);
+        }
+    }
+
+    private void heapRemoveAt(int slot) {
+        int removed = heap[slot];
+        heapSlot[removed] = -1;
+        int last = heap[--heapSize];
+        if (slot == heapSize) {
+            return;
+        }
+        heap[slot] = last;
+        heapSlot[last] = slot;
+        siftDown(slot);
+        siftUp(heapSlot[last]);
+    }
+
+    private void siftUp(int slot) {
+        int cell = heap[slot];
+        int key = counts[cell];
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            int parentCell = heap[parent];
+            if (counts[parentCell] <= key) break;
+            heap[slot] = parentCell;
+            heapSlot[parentCell] = slot;
+            slot = parent;
+        }
+        heap[slot] = cell;
+        heapSlot[cell] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int cell = heap[slot];
+        int key = counts[cell];
+        while (true) {
+            int child = 2 * slot + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && counts[heap[child + 1]] < counts[heap[child]]) {
+                child++;
+            }
+            int childCell = heap[child];
+            if (counts[childCell] >= key) break;
+            heap[slot] = childCell;
+            heapSlot[childCell] = slot;
+            slot = child;
+        }
+        heap[slot] = cell;
+        heapSlot[cell] = slot;
+    }
+
+    // ========== Accessors ==========
+
     /**
      * Gets the next block position to build, or null if none available.
      */
     public BlockPos getNextBuildPosition() {
-        return buildQueue.poll();
+        return buildQueue.isEmpty() ? null : BlockPos.fromLong(cellPos[buildQueue.dequeueInt()]);
     }
 
     /**
      * Gets the tile ID for a collapsed position.
      */
     public String getCollapsedTile(BlockPos pos) {
-        return collapsed.get(pos);
+        int tile = getCollapsedTileIndex(pos);
+        return tile >= 0 ? tileCache.tiles.get(tile).id : null;
+    }
+
+    /**
+     * Gets the tile index for a collapsed position, or -1 if it is not collapsed.
+     */
+    public int getCollapsedTileIndex(BlockPos pos) {
+        int cell = cellIndex.get(pos.asLong());
+        return cell >= 0 ? collapsedTile[cell] : -1;
     }
 
     /**
@@ -330,7 +451,7 @@ public final class TreeWFCBuilder {
      * Checks if the builder has finished (frontier is empty).
      */
     public boolean isFinished() {
-        return frontierSet.isEmpty();
+        return heapSize == 0;
     }
 
     /**
@@ -344,7 +465,7 @@ public final class TreeWFCBuilder {
      * Gets the total number of collapsed positions.
      */
     public int getCollapsedCount() {
-        return collapsed.size();
+        return collapsedCount;
     }
 
     /**
@@ -353,7 +474,7 @@ public final class TreeWFCBuilder {
      */
     public int runUntilComplete(int maxSteps) {
         int steps = 0;
-        while (step() && steps < maxSteps) {
+        while (steps < maxSteps && step()) {
             steps++;
         }
         return steps;
@@ -0,0 +1,52 @@
+package ninja.trek.mc.goldgolem.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Shared background thread pools for work that must not run on the server tick thread.
+ * <p>
+ * Threads are daemons so a stuck job never keeps the JVM alive, and run below normal
+ * priority so they yield to the tick thread. Jobs submitted here must only read immutable
+ * snapshots - never the live world or entity state.
+ */
+public final class GolemWorkers {
+
+    private static final ForkJoinPool COMPUTE = new ForkJoinPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("GoldGolem-Compute-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                thread.setPriority(Thread.NORM_PRIORITY - 1);
+                return thread;
+            },
+            null,
+            false);
+
+    private static final ExecutorService IO = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "GoldGolem-IO");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+
+    private GolemWorkers() {}
+
+    /**
+     * Fork-join pool for CPU-bound generation work (shell layers, tile extraction, WFC).
+     */
+    public static ForkJoinPool compute() {
+        return COMPUTE;
+    }
+
+    /**
+     * Single writer thread for file persistence (snapshots, counters). Jobs run in
+     * submission order, so later writes to a file always land after earlier ones.
+     */
+    public static ExecutorService io() {
+        return IO;
+    }
+}
@@ -206,14 +206,16 @@ public class GradientGroupManager {
         // Save group count
         nbt.putInt(prefix + "GroupCount", groupSlots.size());
 
-        // Save each group's data
+        // Save windows and noise scales, one packed entry per group
+        nbt.putIntArray(prefix + "GroupWindows", PackedNbt.packFloats(groupWindows));
+        int[] noiseScales = new int[groupNoiseScales.size()];
+        for (int g = 0; g < noiseScales.length; g++) noiseScales[g] = groupNoiseScales.get(g);
+        nbt.putIntArray(prefix + "GroupNoiseScales", noiseScales);
+
+        // Save each group's slots
         for (int g = 0; g < groupSlots.size(); g++) {
             String gPrefix = prefix + "Group" + g;
 
-            // Save window and noise scale
-            nbt.putFloat(gPrefix + "Window", groupWindows.get(g));
-            nbt.putInt(gPrefix + "NoiseScale", groupNoiseScales.get(g));
-
             // Save slots
             String[] slots = groupSlots.get(g);
             for (int s = 0; s < GRADIENT_SIZE; s++) {
@@ -223,12 +225,14 @@ public class GradientGroupManager {
 
         // Save block-to-group mappings
         nbt.putInt(prefix + "BlockMapCount", blockGroups.size());
+        int[] groupIndices = new int[blockGroups.size()];
         int i = 0;
         for (Map.Entry<String, Integer> entry : blockGroups.entrySet()) {
             nbt.putString(prefix + "BlockMapKey" + i, entry.getKey());
-            nbt.putInt(prefix + "BlockMapVal" + i, entry.getValue());
+            groupIndices[i] = entry.getValue();
             i++;
         }
+        nbt.putIntArray(prefix + "BlockMapVals", groupIndices);
     }
 
     /**
@@ -239,6 +243,9 @@ public class GradientGroupManager {
 
         // Read group count
         int groupCount = nbt.getInt(prefix + "GroupCount", 0);
+        // Packed per-group settings; absent in saves that used one key per group
+        int[] windows = nbt.getIntArray(prefix + "GroupWindows").orElse(null);
+        int[] noiseScales = nbt.getIntArray(prefix + "GroupNoiseScales").orElse(null);
 
         // Read each group's data
         for (int g = 0; g < groupCount; g++) {
@@ -246,8 +253,8 @@ public class GradientGroupManager {
 
             String[] slots = new String[GRADIENT_SIZE];
             groupSlots.add(slots);
-            groupWindows.add(nbt.getFloat(gPrefix + "Window", 1.0f));
-            groupNoiseScales.add(nbt.getInt(gPrefix + "NoiseScale", 1));
+            groupWindows.add(windows != null ? PackedNbt.unpackFloat(windows, g, 1.0f) : nbt.getFloat(gPrefix + "Window", 1.0f));
+            groupNoiseScales.add(noiseScales != null ? PackedNbt.intAt(noiseScales, g, 1) : nbt.getInt(gPrefix + "NoiseScale", 1));
 
             // Read slots
             for (int s = 0; s < GRADIENT_SIZE; s++) {
@@ -257,9 +264,10 @@ public class GradientGroupManager {
 
         // Read block-to-group mappings
         int mapCount = nbt.getInt(prefix + "BlockMapCount", 0);
+        int[] groupIndices = nbt.getIntArray(prefix + "BlockMapVals").orElse(null);
         for (int i = 0; i < mapCount; i++) {
             String key = nbt.getString(prefix + "BlockMapKey" + i, "");
-            int val = nbt.getInt(prefix + "BlockMapVal" + i, 0);
+            int val = groupIndices != null ? PackedNbt.intAt(groupIndices, i, 0) : nbt.getInt(prefix + "BlockMapVal" + i, 0);
             if (!key.isEmpty()) {
                 blockGroups.put(key, val);
             }
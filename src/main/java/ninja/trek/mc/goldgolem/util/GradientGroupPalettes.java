@@ -0,0 +1,64 @@
+package ninja.trek.mc.goldgolem.util;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled form of a mode's gradient groups: one {@link GradientPalette} per group and a
+ * direct block-to-group lookup, so sampling a template block needs no registry id string.
+ * <p>
+ * Immutable; rebuilt by the owner after any group slot or block mapping change.
+ */
+public final class GradientGroupPalettes {
+    public static final GradientGroupPalettes EMPTY = compile(List.of(), Map.of());
+
+    private final GradientPalette[] palettes;
+    private final Reference2IntOpenHashMap<Block> groupByBlock;
+
+    private GradientGroupPalettes(GradientPalette[] palettes, Reference2IntOpenHashMap<Block> groupByBlock) {
+        this.palettes = palettes;
+        this.groupByBlock = groupByBlock;
+    }
+
+    /**
+     * @param groupSlots  slot array per group
+     * @param blockGroups block id -> group index; ids that are not registered blocks and
+     *                    indices outside the group list are dropped
+     */
+    public static GradientGroupPalettes compile(List<String[]> groupSlots, Map<String, Integer> blockGroups) {
+        GradientPalette[] palettes = new GradientPalette[groupSlots.size()];
+        for (int g = 0; g < palettes.length; g++) {
+            palettes[g] = GradientPalette.compile(groupSlots.get(g));
+        }
+        Reference2IntOpenHashMap<Block> groupByBlock = new Reference2IntOpenHashMap<>(blockGroups.size());
+        groupByBlock.defaultReturnValue(-1);
+        for (Map.Entry<String, Integer> entry : blockGroups.entrySet()) {
+            Integer group = entry.getValue();
+            if (group == null || group < 0 || group >= palettes.length) continue;
+            Identifier id = Identifier.tryParse(entry.getKey());
+            if (id == null || !Registries.BLOCK.containsId(id)) continue;
+            groupByBlock.put(Registries.BLOCK.get(id), group.intValue());
+        }
+        return new GradientGroupPalettes(palettes, groupByBlock);
+    }
+
+    /**
+     * Group the block is mapped to, or -1 if it has none.
+     */
+    public int groupOf(Block block) {
+        return groupByBlock.getInt(block);
+    }
+
+    public GradientPalette palette(int group) {
+        return group >= 0 && group < palettes.length ? palettes[group] : GradientPalette.EMPTY;
+    }
+
+    public int groupCount() {
+        return palettes.length;
+    }
+}
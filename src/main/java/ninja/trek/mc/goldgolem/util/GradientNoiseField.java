@@ -0,0 +1,102 @@
+package ninja.trek.mc.goldgolem.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.util.math.noise.SimplexNoiseSampler;
+import net.minecraft.util.math.random.Random;
+
+/**
+ * Gradient jitter noise for one world seed, memoized per (scale, chunk section).
+ * <p>
+ * Values are {@code (simplex(x/s, y/s, z/s) + 1) / 2} clamped to [0, 1], computed with
+ * exactly the same expression as a direct per-block sample, so memoized results are
+ * bit-identical to it. Each section keeps a 16^3 value array plus a bitmap of the cells
+ * computed so far; cells are only evaluated when asked for, so a block costs one evaluation
+ * however often it is sampled while planning and placing. The least recently used sections
+ * are evicted past {@link #MAX_SECTIONS}.
+ * <p>
+ * Not thread-safe; owned by a single golem on the server thread.
+ */
+public final class GradientNoiseField {
+    private static final int MAX_SECTIONS = 32;
+    // Scales are folded into the memo key; larger ones bypass the memo
+    private static final int MAX_MEMO_SCALE = 0xFF;
+
+    private final long seed;
+    private final SimplexNoiseSampler sampler;
+    private final Long2ObjectLinkedOpenHashMap<Section> sections = new Long2ObjectLinkedOpenHashMap<>();
+    // Last section hit, to skip the map for runs of neighbouring blocks
+    private long lastKey = Long.MIN_VALUE;
+    private Section lastSection = null;
+
+    public GradientNoiseField(long seed) {
+        this.seed = seed;
+        this.sampler = new SimplexNoiseSampler(Random.create(seed));
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * Noise in [0, 1] at one block.
+     */
+    public double sample01(int x, int y, int z, int scale) {
+        int s = Math.max(1, scale);
+        if (s > MAX_MEMO_SCALE) {
+            return compute(x, y, z, s);
+        }
+        Section section = section(x >> 4, y >> 4, z >> 4, s);
+        return section.get(x, y, z, this, s);
+    }
+
+    /**
+     * Drop all memoized sections.
+     */
+    public void clear() {
+        sections.clear();
+        lastKey = Long.MIN_VALUE;
+        lastSection = null;
+    }
+
+    private double compute(int x, int y, int z, int s) {
+        double d = (double) s;
+        double n = sampler.sample((double) x / d, (double) y / d, (double) z / d);
+        double u01 = (n + 1.0) * 0.5;
+        if (u01 < 0.0) return 0.0;
+        if (u01 > 1.0) return 1.0;
+        return u01;
+    }
+
+    private Section section(int sx, int sy, int sz, int s) {
+        long key = ((long) (sx & 0x3FFFFF) << 42) | ((long) (sz & 0x3FFFFF) << 20) | ((long) (sy & 0xFFF) << 8) | s;
+        if (key == lastKey) {
+            return lastSection;
+        }
+        Section section = sections.getAndMoveToLast(key);
+        if (section == null) {
+            section = new Section();
+            sections.putAndMoveToLast(key, section);
+            if (sections.size() > MAX_SECTIONS) {
+                sections.removeFirst();
+            }
+        }
+        lastKey = key;
+        lastSection = section;
+        return section;
+    }
+
+    private static final class Section {
+        final double[] values = new double[4096];
+        final long[] computed = new long[64];
+
+        double get(int x, int y, int z, GradientNoiseField field, int s) {
+            int i = ((x & 15) << 8) | ((y & 15) << 4) | (z & 15);
+            long bit = 1L << (i & 63);
+            if ((computed[i >>> 6] & bit) == 0) {
+                values[i] = field.compute(x, y, z, s);
+                computed[i >>> 6] |= bit;
+            }
+            return values[i];
+        }
+    }
+}
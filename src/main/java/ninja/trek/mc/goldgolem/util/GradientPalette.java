@@ -0,0 +1,103 @@
+package ninja.trek.mc.goldgolem.util;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+
+/**
+ * A gradient slot array resolved once into blocks and mine actions.
+ * <p>
+ * Gradient sampling runs for every block a golem places, so the slot strings are parsed and
+ * looked up in the registry here instead of on each sample. Palettes are immutable: the owner
+ * drops its cached palette when a slot changes and compiles a new one on next use.
+ */
+public final class GradientPalette {
+    public static final GradientPalette EMPTY = compile(new String[0]);
+
+    private final String[] ids;
+    private final Block[] blocks;
+    private final boolean[] mine;
+    private final int length;
+
+    private GradientPalette(String[] ids, Block[] blocks, boolean[] mine, int length) {
+        this.ids = ids;
+        this.blocks = blocks;
+        this.mine = mine;
+        this.length = length;
+    }
+
+    /**
+     * Resolve a slot array. Null slots are treated as empty; the array is not retained.
+     */
+    public static GradientPalette compile(String[] slots) {
+        int n = slots == null ? 0 : slots.length;
+        String[] ids = new String[n];
+        Block[] blocks = new Block[n];
+        boolean[] mine = new boolean[n];
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            String id = slots[i] == null ? "" : slots[i];
+            ids[i] = id;
+            if (id.isEmpty()) continue;
+            length = i + 1;
+            mine[i] = GradientSlotUtil.isMineAction(id);
+            blocks[i] = resolve(id);
+        }
+        return new GradientPalette(ids, blocks, mine, length);
+    }
+
+    private static Block resolve(String id) {
+        try {
+            Identifier ident = Identifier.tryParse(id);
+            return ident == null ? null : Registries.BLOCK.get(ident);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Effective gradient length G: one past the last non-empty slot, 0 if all are empty.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Number of slots, including trailing empty ones.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean isEmpty(int index) {
+        return index < 0 || index >= ids.length || ids[index].isEmpty();
+    }
+
+    public boolean isMineAction(int index) {
+        return index >= 0 && index < ids.length && mine[index];
+    }
+
+    /**
+     * Block the slot names, or null if the slot is empty or its id does not parse.
+     * Mine-action slots resolve like any other id; callers check {@link #isMineAction} first.
+     */
+    public Block block(int index) {
+        return index >= 0 && index < ids.length ? blocks[index] : null;
+    }
+
+    /**
+     * Default state of {@link #block}, or null.
+     */
+    public BlockState state(int index) {
+        Block block = block(index);
+        return block == null ? null : block.getDefaultState();
+    }
+
+    /**
+     * Raw slot string ("" when empty).
+     */
+    public String id(int index) {
+        return index >= 0 && index < ids.length ? ids[index] : "";
+    }
+}
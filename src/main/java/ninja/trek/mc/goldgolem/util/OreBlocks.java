@@ -0,0 +1,61 @@
+package ninja.trek.mc.goldgolem.util;
+
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.registry.Registries;
+
+import java.util.Set;
+
+/**
+ * Which blocks the mining golems treat as ore.
+ * <p>
+ * The id rule ({@code _ore}, ancient debris, gilded blackstone) is applied once to every
+ * registered block when the server starts, so classifying a block during a scan is a set
+ * lookup instead of an id string build and substring search. Modded ores that follow the
+ * {@code _ore} naming are picked up the same way as before.
+ */
+public final class OreBlocks {
+    private static volatile Set<Block> ores = null;
+
+    private OreBlocks() {}
+
+    /**
+     * Build the ore set when a server starts; all blocks are registered by then.
+     */
+    public static void register() {
+        ServerLifecycleEvents.SERVER_STARTING.register(server -> rebuild());
+    }
+
+    /**
+     * Whether a block id names an ore. Used for item ids and as the source rule for the set.
+     */
+    public static boolean matchesId(String blockId) {
+        return blockId.contains("_ore") || blockId.contains("ancient_debris") ||
+               blockId.equals("minecraft:gilded_blackstone");
+    }
+
+    public static boolean isOre(BlockState state) {
+        return isOre(state.getBlock());
+    }
+
+    public static boolean isOre(Block block) {
+        Set<Block> set = ores;
+        if (set == null) {
+            set = rebuild();
+        }
+        return set.contains(block);
+    }
+
+    private static Set<Block> rebuild() {
+        ReferenceOpenHashSet<Block> set = new ReferenceOpenHashSet<>();
+        for (Block block : Registries.BLOCK) {
+            if (matchesId(Registries.BLOCK.getId(block).toString())) {
+                set.add(block);
+            }
+        }
+        ores = set;
+        return set;
+    }
+}
@@ -0,0 +1,74 @@
+package ninja.trek.mc.goldgolem.util;
+
+import net.minecraft.util.math.BlockPos;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Packed int-array encodings for per-position and per-slot collections in golem NBT.
+ * <p>
+ * One array tag replaces a key per element (or three per position), which keeps entity data
+ * small and saves fast for large templates. Everything packs into ints because
+ * {@code WriteView} has no long-array setter: positions as x, y, z triples, floats as their
+ * raw bits, doubles as high/low halves of their raw bits. Readers fall back to the old keyed
+ * layout when the packed key is missing.
+ */
+public final class PackedNbt {
+    private PackedNbt() {}
+
+    public static int[] packPositions(Collection<BlockPos> positions) {
+        int[] data = new int[positions.size() * 3];
+        int i = 0;
+        for (BlockPos pos : positions) {
+            data[i++] = pos.getX();
+            data[i++] = pos.getY();
+            data[i++] = pos.getZ();
+        }
+        return data;
+    }
+
+    public static List<BlockPos> unpackPositions(int[] data) {
+        List<BlockPos> positions = new ArrayList<>(data.length / 3);
+        for (int i = 0; i + 2 < data.length; i += 3) {
+            positions.add(new BlockPos(data[i], data[i + 1], data[i + 2]));
+        }
+        return positions;
+    }
+
+    public static int[] packFloats(List<Float> values) {
+        int[] data = new int[values.size()];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = Float.floatToRawIntBits(values.get(i));
+        }
+        return data;
+    }
+
+    public static float unpackFloat(int[] data, int index, float fallback) {
+        return index < data.length ? Float.intBitsToFloat(data[index]) : fallback;
+    }
+
+    public static int[] packDoubles(double[] values) {
+        int[] data = new int[values.length * 2];
+        for (int i = 0; i < values.length; i++) {
+            long bits = Double.doubleToRawLongBits(values[i]);
+            data[2 * i] = (int) (bits >>> 32);
+            data[2 * i + 1] = (int) bits;
+        }
+        return data;
+    }
+
+    public static double[] unpackDoubles(int[] data) {
+        double[] values = new double[data.length / 2];
+        for (int i = 0; i < values.length; i++) {
+            long bits = ((long) data[2 * i] << 32) | (data[2 * i + 1] & 0xFFFFFFFFL);
+            values[i] = Double.longBitsToDouble(bits);
+        }
+        return values;
+    }
+
+    public static int intAt(int[] data, int index, int fallback) {
+        return index < data.length ? data[index] : fallback;
+    }
+}
@@ -4,7 +4,7 @@ import net.minecraft.block.Blocks;
 import net.minecraft.registry.Registries;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
-import net.minecraft.world.World;
+import ninja.trek.mc.goldgolem.world.BlockAccess;
 
 import java.util.*;
 
@@ -30,11 +30,11 @@ public final class WallJoinSlice {
     }
 
     /** Build a slice from the plane through goldRel (relative to originAbs) along the given axis. */
-    public static Optional<WallJoinSlice> from(World world, BlockPos originAbs, Set<BlockPos> voxelsRel, BlockPos goldRel, Axis axis) {
+    public static Optional<WallJoinSlice> from(BlockAccess world, BlockPos originAbs, Set<BlockPos> voxelsRel, BlockPos goldRel, Axis axis) {
         return fromIgnoring(world, originAbs, voxelsRel, goldRel, axis, null);
     }
 
-    public static Optional<WallJoinSlice> fromIgnoring(World world, BlockPos originAbs, Set<BlockPos> voxelsRel, BlockPos goldRel, Axis axis, BlockPos ignoreAbs) {
+    public static Optional<WallJoinSlice> fromIgnoring(BlockAccess world, BlockPos originAbs, Set<BlockPos> voxelsRel, BlockPos goldRel, Axis axis, BlockPos ignoreAbs) {
         int planeCoord = (axis == Axis.X_THICK) ? goldRel.getX() : goldRel.getZ();
 
         // Collect all rel voxels lying in the plane
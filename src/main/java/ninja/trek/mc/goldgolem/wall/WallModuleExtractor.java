@@ -2,7 +2,7 @@ package ninja.trek.mc.goldgolem.wall;
 
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
-import net.minecraft.world.World;
+import ninja.trek.mc.goldgolem.world.BlockAccess;
 
 import java.util.*;
 
@@ -26,7 +26,7 @@ public final class WallModuleExtractor {
             Direction.UP, Direction.DOWN, Direction.NORTH, Direction.SOUTH, Direction.EAST, Direction.WEST
     };
 
-    public static ExtractResult extract(World world, BlockPos originAbs, Set<BlockPos> voxelsRel, List<BlockPos> goldMarkersRel, @org.jetbrains.annotations.Nullable BlockPos summonGoldAbs) {
+    public static ExtractResult extract(BlockAccess world, BlockPos originAbs, Set<BlockPos> voxelsRel, List<BlockPos> goldMarkersRel, @org.jetbrains.annotations.Nullable BlockPos summonGoldAbs) {
         // Compute slice for each marker; if both orientations exist, choose a preferred plane
         int n = goldMarkersRel.size();
         if (n % 2 != 0) return new ExtractResult(null, "Odd number of gold markers; cannot pair");
@@ -194,7 +194,7 @@ public final class WallModuleExtractor {
         return new ExtractResult(modules, null);
     }
 
-    private static Set<BlockPos> sliceComponentPositions(World world, BlockPos originAbs, Set<BlockPos> voxelsRel, BlockPos goldRel, WallJoinSlice.Axis axis) {
+    private static Set<BlockPos> sliceComponentPositions(BlockAccess world, BlockPos originAbs, Set<BlockPos> voxelsRel, BlockPos goldRel, WallJoinSlice.Axis axis) {
         // Recompute in-plane component positions similar to WallJoinSlice.from, but return rel positions
         int planeCoord = (axis == WallJoinSlice.Axis.X_THICK) ? goldRel.getX() : goldRel.getZ();
         Map<Long, BlockPos> index = new HashMap<>();
@@ -1,7 +1,7 @@
 package ninja.trek.mc.goldgolem.wall;
 
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.world.World;
+import ninja.trek.mc.goldgolem.world.BlockAccess;
 
 import java.util.*;
 
@@ -15,7 +15,7 @@ public final class WallModuleValidator {
         public boolean ok() { return signature != null && (error == null || error.isEmpty()); }
     }
 
-    public static Validation validate(World world, BlockPos originAbs, Set<BlockPos> voxelsRel, List<BlockPos> goldMarkersRel, @org.jetbrains.annotations.Nullable BlockPos summonGoldAbs) {
+    public static Validation validate(BlockAccess world, BlockPos originAbs, Set<BlockPos> voxelsRel, List<BlockPos> goldMarkersRel, @org.jetbrains.annotations.Nullable BlockPos summonGoldAbs) {
         if (goldMarkersRel == null || goldMarkersRel.size() < 2) return new Validation(null, null, 0, "Need at least two gold markers");
         // Heuristic preferred axis: choose slice plane perpendicular to the dominant horizontal extent of the combined module
         int minX = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, minZ = Integer.MAX_VALUE, maxZ = Integer.MIN_VALUE;
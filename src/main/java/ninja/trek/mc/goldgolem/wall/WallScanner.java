@@ -7,7 +7,7 @@ import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.registry.Registries;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
-import net.minecraft.world.World;
+import ninja.trek.mc.goldgolem.world.BlockAccess;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -32,7 +32,7 @@ public final class WallScanner {
         public boolean ok() { return def != null && (error == null || error.isEmpty()); }
     }
 
-    public static Result scan(World world, BlockPos goldPos, PlayerEntity summoner) {
+    public static Result scan(BlockAccess world, BlockPos goldPos, PlayerEntity summoner) {
         // Determine the block the player is standing on (one below feet)
         BlockPos playerGround = summoner == null ? null : summoner.getBlockPos().down();
 
@@ -120,7 +120,7 @@ public final class WallScanner {
     }
 
     public static Path writeJson(Path baseDir, UUID owner, WallDefinition def) throws IOException {
-        Path folder = baseDir.resolve("GoldGolemModules");
+        Path folder = baseDir.resolve("GoldGolemModules").resolve("scans");
         Files.createDirectories(folder);
         String fname = String.format(Locale.ROOT,
                 "wall_%d_%d_%d_%d.json",
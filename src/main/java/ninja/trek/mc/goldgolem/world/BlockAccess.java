@@ -0,0 +1,21 @@
+package ninja.trek.mc.goldgolem.world;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.BlockView;
+
+/**
+ * Read-only block lookup used by the summon scanners, template extractors and planners.
+ * <p>
+ * These only ever ask for block states, so they take this instead of a {@code World}: in game
+ * it wraps the server world via {@link #of}, and headless runs pass an in-memory world
+ * (see {@code ninja.trek.mc.goldgolem.sim.VoxelWorld}).
+ */
+@FunctionalInterface
+public interface BlockAccess {
+    BlockState getBlockState(BlockPos pos);
+
+    static BlockAccess of(BlockView view) {
+        return view::getBlockState;
+    }
+}
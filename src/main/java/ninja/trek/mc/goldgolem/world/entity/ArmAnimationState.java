@@ -250,7 +250,7 @@ public class ArmAnimationState {
      * Increment placement tick counter and toggle active hand.
      */
     public void incrementPlacementCounter() {
-        placementTickCounter = (placementTickCounter + 1) % 2;
+        placementTickCounter = (placementTickCounter + 1) % GolemThroughput.placementInterval();
     }
 
     /**
@@ -23,15 +23,12 @@ import net.minecraft.inventory.SimpleInventory;
 import net.minecraft.item.ItemStack;
 import net.minecraft.item.Items;
 import net.minecraft.nbt.NbtCompound;
-import net.minecraft.nbt.NbtHelper;
 import net.minecraft.text.Text;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.particle.ParticleTypes;
-import net.minecraft.util.math.noise.SimplexNoiseSampler;
-import net.minecraft.util.math.random.Random;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.util.ActionResult;
 import net.minecraft.world.World;
@@ -39,9 +36,7 @@ import ninja.trek.mc.goldgolem.screen.GolemScreens;
 import net.minecraft.entity.data.DataTracker;
 import net.minecraft.entity.data.TrackedData;
 import net.minecraft.entity.data.TrackedDataHandlerRegistry;
-import net.minecraft.block.ShulkerBoxBlock;
 import net.minecraft.component.DataComponentTypes;
-import net.minecraft.component.type.ContainerComponent;
 import net.fabricmc.loader.api.FabricLoader;
 import net.minecraft.registry.Registries;
 import net.minecraft.state.property.Property;
@@ -64,8 +59,6 @@ import java.util.Objects;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import ninja.trek.mc.goldgolem.BuildMode;
@@ -97,8 +90,10 @@ public class GoldGolemEntity extends PathAwareEntity {
     private static final int OWNER_CACHE_DURATION = 100; // 5 seconds (100 ticks)
 
     private static final String SNAPSHOT_FOLDER = "GoldGolemModules";
-    private static final int SNAPSHOT_VERSION = 2;
     private static final String GOLEM_COUNTER_FILE = "golem_counters.json";
+    // Beside the name index, so saving counters leaves the snapshot folder's timestamp alone
+    private static final String GOLEM_COUNTER_FOLDER = "index";
+    private static final Gson SNAPSHOT_GSON = new GsonBuilder().setPrettyPrinting().create();
 
     // Golem counter system for sequential naming (thread-safe for multiplayer)
     private static final java.util.Map<BuildMode, Integer> golemCounters = new java.util.HashMap<>();
@@ -120,12 +115,17 @@ public class GoldGolemEntity extends PathAwareEntity {
     private static final TrackedData<ItemStack> RIGHT_MINING_TOOL = DataTracker.registerData(GoldGolemEntity.class, TrackedDataHandlerRegistry.ITEM_STACK);
 
     private final SimpleInventory inventory = new SimpleInventory(INVENTORY_SIZE);
+    private final GolemInventoryIndex inventoryIndex = new GolemInventoryIndex(inventory);
     private final String[] gradient = new String[GRADIENT_SIZE];
     private final String[] stepGradient = new String[GRADIENT_SIZE];
     private final String[] surfaceGradient = new String[GRADIENT_SIZE];
     // Gradient copy caching
     private String[] cachedGradientCopy = null;
     private boolean gradientCopyDirty = true;
+    // Compiled palettes, rebuilt lazily after a slot change (null = stale)
+    private ninja.trek.mc.goldgolem.util.GradientPalette gradientPalette = null;
+    private ninja.trek.mc.goldgolem.util.GradientPalette stepGradientPalette = null;
+    private ninja.trek.mc.goldgolem.util.GradientPalette surfaceGradientPalette = null;
     private float gradientWindow = 1.0f; // window width in slot units (0..9)
     private float stepGradientWindow = 1.0f; // window width for step gradient
     private float surfaceGradientWindow = 1.0f; // window width for surface gradient
@@ -134,8 +134,9 @@ public class GoldGolemEntity extends PathAwareEntity {
     private int gradientNoiseScaleSurface = 1; // simplex noise scale (1..16)
     private int pathWidth = 3;
     private boolean buildingPaths = false;
-    private long gradientNoiseSeedCache = Long.MIN_VALUE;
-    private SimplexNoiseSampler gradientNoiseSampler;
+    // Noise memo for the world it was built for; the seed is resolved once per world
+    private ninja.trek.mc.goldgolem.util.GradientNoiseField gradientNoiseField;
+    private World gradientNoiseWorld;
 
     // Strategy pattern for build modes
     private BuildStrategy activeStrategy = null;
@@ -165,6 +166,7 @@ public class GoldGolemEntity extends PathAwareEntity {
     private final java.util.List<Float> wallGroupWindows = new java.util.ArrayList<>();
     private final java.util.List<Integer> wallGroupNoiseScales = new java.util.ArrayList<>();
     private final java.util.Map<String, Integer> wallBlockGroup = new java.util.HashMap<>();
+    private ninja.trek.mc.goldgolem.util.GradientGroupPalettes wallGroupPalettes = null; // null = stale
 
     // Tower-mode captured data
     private java.util.List<String> towerUniqueBlockIds = java.util.Collections.emptyList();
@@ -178,6 +180,7 @@ public class GoldGolemEntity extends PathAwareEntity {
     private final java.util.List<Float> towerGroupWindows = new java.util.ArrayList<>();
     private final java.util.List<Integer> towerGroupNoiseScales = new java.util.ArrayList<>();
     private final java.util.Map<String, Integer> towerBlockGroup = new java.util.HashMap<>();
+    private ninja.trek.mc.goldgolem.util.GradientGroupPalettes towerGroupPalettes = null; // null = stale
     // Tower building state
     private int towerCurrentY = 0; // current Y layer being placed (0 = bottom)
     private int towerPlacementCursor = 0; // cursor within current Y layer
@@ -194,6 +197,9 @@ public class GoldGolemEntity extends PathAwareEntity {
     private final String[] terraformingGradientVertical = new String[GRADIENT_SIZE]; // steep/cliff surfaces
     private final String[] terraformingGradientHorizontal = new String[GRADIENT_SIZE]; // flat surfaces
     private final String[] terraformingGradientSloped = new String[GRADIENT_SIZE]; // diagonal surfaces
+    private ninja.trek.mc.goldgolem.util.GradientPalette terraformingVerticalPalette = null;
+    private ninja.trek.mc.goldgolem.util.GradientPalette terraformingHorizontalPalette = null;
+    private ninja.trek.mc.goldgolem.util.GradientPalette terraformingSlopedPalette = null;
     private int terraformingGradientVerticalWindow = 1; // window for vertical gradient (0..9)
     private int terraformingGradientHorizontalWindow = 1; // window for horizontal gradient (0..9)
     private int terraformingGradientSlopedWindow = 1; // window for sloped gradient (0..9)
@@ -212,6 +218,7 @@ public class GoldGolemEntity extends PathAwareEntity {
     private final java.util.List<Float> treeGroupWindows = new java.util.ArrayList<>();
     private final java.util.List<Integer> treeGroupNoiseScales = new java.util.ArrayList<>();
     private final java.util.Map<String, Integer> treeBlockGroup = new java.util.HashMap<>();
+    private ninja.trek.mc.goldgolem.util.GradientGroupPalettes treeGroupPalettes = null; // null = stale
 
     // Shared tracking fields (used by PATH and WALL modes)
     private Vec3d trackStart = null;
@@ -248,7 +255,7 @@ public class GoldGolemEntity extends PathAwareEntity {
     private int armSwingTimer = 0;         // Timer counting down from SWING_DURATION_TICKS
 
     // Block placement animation (new system)
-    private int placementTickCounter = 0;  // 0-1 tick counter (places every 2 ticks)
+    private int placementTickCounter = 0;  // Placement cycle counter (places when 0, see GolemThroughput)
     private boolean leftHandActive = true; // Which hand places next
     private Vec3d leftArmTargetBlock = null;  // Block position left arm points at
     private Vec3d rightArmTargetBlock = null; // Block position right arm points at
@@ -457,6 +464,7 @@ public class GoldGolemEntity extends PathAwareEntity {
         this.wallJoinTemplate = list;
     }
     public void initWallGroups(java.util.List<String> uniqueBlocks) {
+        wallGroupPalettes = null;
         wallGroupSlots.clear(); wallGroupWindows.clear(); wallGroupNoiseScales.clear(); wallBlockGroup.clear();
         // default: one group per unique; if gold present, merge it with first non-gold
         int idx = 0;
@@ -485,6 +493,12 @@ public class GoldGolemEntity extends PathAwareEntity {
     public java.util.List<Integer> getWallGroupNoiseScales() { return new java.util.ArrayList<>(wallGroupNoiseScales); }
     public java.util.List<String[]> getWallGroupSlots() { return wallGroupSlots; }
     public java.util.Map<String, Integer> getWallBlockGroup() { return wallBlockGroup; }
+    public ninja.trek.mc.goldgolem.util.GradientGroupPalettes getWallGroupPalettes() {
+        if (wallGroupPalettes == null) wallGroupPalettes = ninja.trek.mc.goldgolem.util.GradientGroupPalettes.compile(wallGroupSlots, wallBlockGroup);
+        return wallGroupPalettes;
+    }
+    public float getWallGroupWindow(int group) { return (group >= 0 && group < wallGroupWindows.size()) ? wallGroupWindows.get(group) : 1.0f; }
+    public int getWallGroupNoiseScale(int group) { return (group >= 0 && group < wallGroupNoiseScales.size()) ? wallGroupNoiseScales.get(group) : 1; }
     public java.util.List<String> getWallGroupFlatSlots() {
         java.util.ArrayList<String> out = new java.util.ArrayList<>(wallGroupSlots.size() * 9);
         for (String[] arr : wallGroupSlots) {
@@ -502,6 +516,7 @@ public class GoldGolemEntity extends PathAwareEntity {
             return;
         }
         wallBlockGroup.put(blockId, group);
+        wallGroupPalettes = null;
     }
     public void setWallGroupWindow(int group, float window) {
         if (group < 0 || group >= wallGroupWindows.size()) return;
@@ -516,6 +531,7 @@ public class GoldGolemEntity extends PathAwareEntity {
         if (slot < 0 || slot >= 9) return;
         String[] arr = wallGroupSlots.get(group);
         arr[slot] = (id == null) ? "" : id;
+        wallGroupPalettes = null;
     }
 
     // Tower mode methods
@@ -558,6 +574,7 @@ public class GoldGolemEntity extends PathAwareEntity {
     }
 
     public void initTowerGroups(java.util.List<String> uniqueBlocks) {
+        towerGroupPalettes = null;
         towerGroupSlots.clear(); towerGroupWindows.clear(); towerGroupNoiseScales.clear(); towerBlockGroup.clear();
         // Default: one group per unique block type
         int idx = 0;
@@ -579,6 +596,12 @@ public class GoldGolemEntity extends PathAwareEntity {
     public java.util.List<Integer> getTowerGroupNoiseScales() { return new java.util.ArrayList<>(towerGroupNoiseScales); }
     public java.util.List<String[]> getTowerGroupSlots() { return towerGroupSlots; }
     public java.util.Map<String, Integer> getTowerBlockGroup() { return towerBlockGroup; }
+    public ninja.trek.mc.goldgolem.util.GradientGroupPalettes getTowerGroupPalettes() {
+        if (towerGroupPalettes == null) towerGroupPalettes = ninja.trek.mc.goldgolem.util.GradientGroupPalettes.compile(towerGroupSlots, towerBlockGroup);
+        return towerGroupPalettes;
+    }
+    public float getTowerGroupWindow(int group) { return (group >= 0 && group < towerGroupWindows.size()) ? towerGroupWindows.get(group) : 1.0f; }
+    public int getTowerGroupNoiseScale(int group) { return (group >= 0 && group < towerGroupNoiseScales.size()) ? towerGroupNoiseScales.get(group) : 1; }
     public BlockPos getTowerOrigin() { return towerOrigin; }
     public void setTowerOrigin(BlockPos origin) {
         this.towerOrigin = origin;
@@ -603,6 +626,7 @@ public class GoldGolemEntity extends PathAwareEntity {
             return;
         }
         towerBlockGroup.put(blockId, group);
+        towerGroupPalettes = null;
     }
     public void setTowerGroupWindow(int group, float window) {
         if (group < 0 || group >= towerGroupWindows.size()) return;
@@ -617,6 +641,7 @@ public class GoldGolemEntity extends PathAwareEntity {
         if (slot < 0 || slot >= 9) return;
         String[] arr = towerGroupSlots.get(group);
         arr[slot] = (id == null) ? "" : id;
+        towerGroupPalettes = null;
     }
 
     // Tree mode configuration
@@ -670,7 +695,7 @@ public class GoldGolemEntity extends PathAwareEntity {
         }
     }
 
-    private static String sanitizeJsonBaseName(String name) {
+    static String sanitizeJsonBaseName(String name) {
         if (name == null || name.isEmpty()) return "golem";
 
         StringBuilder sb = new StringBuilder(name.length());
@@ -699,50 +724,19 @@ public class GoldGolemEntity extends PathAwareEntity {
         return result.isEmpty() ? "golem" : result;
     }
 
-    private static Path resolveSnapshotPath(Path folder, String baseName) throws IOException {
-        Files.createDirectories(folder);
-        Path targetPath = folder.resolve(baseName + ".json");
-        int suffix = 2;
-        while (Files.exists(targetPath)) {
-            targetPath = folder.resolve(baseName + "_" + suffix + ".json");
-            suffix++;
-        }
-        return targetPath;
-    }
-
     public static Path findSnapshotPath(String desiredName) {
         String baseName = sanitizeJsonBaseName(desiredName);
         if (baseName == null) return null;
         Path folder = FabricLoader.getInstance().getGameDir().resolve(SNAPSHOT_FOLDER);
-        Path direct = folder.resolve(baseName + ".json");
+        // A save still queued on the writer is newer than anything on disk
+        Path queued = SnapshotWriter.pendingSnapshot(folder, baseName);
+        if (queued != null) return queued;
+        Path direct = folder.resolve(baseName + SnapshotCodec.EXTENSION);
         if (Files.exists(direct)) return direct;
+        Path legacy = folder.resolve(baseName + ".json");
+        if (Files.exists(legacy)) return legacy;
         if (!Files.isDirectory(folder)) return null;
-        long bestTime = Long.MIN_VALUE;
-        Path best = null;
-        try (var stream = Files.list(folder)) {
-            for (Path p : stream.filter(f -> f.getFileName().toString().toLowerCase(java.util.Locale.ROOT).endsWith(".json")).toList()) {
-                try {
-                    String json = Files.readString(p);
-                    JsonElement parsed = JsonParser.parseString(json);
-                    if (!parsed.isJsonObject()) continue;
-                    JsonObject root = parsed.getAsJsonObject();
-                    String name = root.has("golemName") ? root.get("golemName").getAsString() : "";
-                    if (!baseName.equals(sanitizeJsonBaseName(name))) continue;
-                    long savedAt = root.has("savedAt") ? root.get("savedAt").getAsLong() : 0L;
-                    if (savedAt > bestTime) {
-                        bestTime = savedAt;
-                        best = p;
-                    }
-                } catch (IOException e) {
-                    LOGGER.warn("Failed to read snapshot file {}: {}", p, e.getMessage());
-                } catch (com.google.gson.JsonSyntaxException e) {
-                    LOGGER.warn("Invalid JSON in snapshot file {}: {}", p, e.getMessage());
-                }
-            }
-        } catch (IOException e) {
-            LOGGER.warn("Failed to list snapshot folder {}: {}", folder, e.getMessage());
-        }
-        return best;
+        return SnapshotNameIndex.find(folder, baseName);
     }
 
     /**
@@ -753,7 +747,11 @@ public class GoldGolemEntity extends PathAwareEntity {
         countersLoaded = true;
 
         Path gameDir = FabricLoader.getInstance().getGameDir();
-        Path counterFile = gameDir.resolve(SNAPSHOT_FOLDER).resolve(GOLEM_COUNTER_FILE);
+        Path counterFile = gameDir.resolve(SNAPSHOT_FOLDER).resolve(GOLEM_COUNTER_FOLDER).resolve(GOLEM_COUNTER_FILE);
+        if (!Files.exists(counterFile)) {
+            // Older versions kept the counters in the snapshot folder itself
+            counterFile = gameDir.resolve(SNAPSHOT_FOLDER).resolve(GOLEM_COUNTER_FILE);
+        }
 
         if (!Files.exists(counterFile)) {
             // Initialize all counters to 1
@@ -784,25 +782,20 @@ public class GoldGolemEntity extends PathAwareEntity {
     }
 
     /**
-     * Save golem counters to persistent storage
+     * Queue a save of the golem counters (must be called within synchronized block).
+     * Saves coalesce, so a burst of new golems writes the file once.
      */
     private static void saveGolemCounters() {
-        Path gameDir = FabricLoader.getInstance().getGameDir();
-        Path folder = gameDir.resolve(SNAPSHOT_FOLDER);
-        Path counterFile = folder.resolve(GOLEM_COUNTER_FILE);
-
-        try {
-            Files.createDirectories(folder);
-
+        Path counterFile = FabricLoader.getInstance().getGameDir().resolve(SNAPSHOT_FOLDER)
+                .resolve(GOLEM_COUNTER_FOLDER).resolve(GOLEM_COUNTER_FILE);
+        java.util.Map<BuildMode, Integer> counters = new java.util.HashMap<>(golemCounters);
+        SnapshotWriter.submit(GOLEM_COUNTER_FILE, counterFile, false, () -> {
             JsonObject root = new JsonObject();
-            for (java.util.Map.Entry<BuildMode, Integer> entry : golemCounters.entrySet()) {
+            for (java.util.Map.Entry<BuildMode, Integer> entry : counters.entrySet()) {
                 root.addProperty(entry.getKey().name().toLowerCase(), entry.getValue());
             }
-
-            Files.writeString(counterFile, new GsonBuilder().setPrettyPrinting().create().toJson(root));
-        } catch (IOException e) {
-            LOGGER.error("Failed to save golem counters", e);
-        }
+            return SNAPSHOT_GSON.toJson(root).getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        }, null);
     }
 
     /**
@@ -821,58 +814,6 @@ public class GoldGolemEntity extends PathAwareEntity {
         }
     }
 
-    private static JsonObject serializeBlockState(BlockState state) {
-        JsonObject out = new JsonObject();
-        String id = Registries.BLOCK.getId(state.getBlock()).toString();
-        out.addProperty("id", id);
-        JsonObject props = new JsonObject();
-        for (Property<?> prop : state.getProperties()) {
-            Comparable<?> value = state.get(prop);
-            @SuppressWarnings({"rawtypes", "unchecked"})
-            Property raw = (Property) prop;
-            props.addProperty(prop.getName(), raw.name(value));
-        }
-        out.add("props", props);
-        return out;
-    }
-
-    private static BlockState deserializeBlockState(JsonObject obj) {
-        if (obj == null) return null;
-        String id = obj.has("id") ? obj.get("id").getAsString() : "";
-        if (id.isEmpty()) return null;
-        var block = Registries.BLOCK.get(Identifier.of(id));
-        BlockState state = block.getDefaultState();
-        if (obj.has("props") && obj.get("props").isJsonObject()) {
-            JsonObject props = obj.getAsJsonObject("props");
-            for (var entry : props.entrySet()) {
-                String propName = entry.getKey();
-                String propValue = entry.getValue().getAsString();
-                Property<?> prop = block.getStateManager().getProperty(propName);
-                if (prop == null) continue;
-                @SuppressWarnings({"rawtypes", "unchecked"})
-                Property raw = (Property) prop;
-                Optional parsed = raw.parse(propValue);
-                if (parsed.isPresent()) {
-                    state = state.with(raw, (Comparable) parsed.get());
-                }
-            }
-        }
-        return state;
-    }
-
-    private static JsonArray serializeVec(BlockPos pos) {
-        JsonArray arr = new JsonArray();
-        arr.add(pos.getX());
-        arr.add(pos.getY());
-        arr.add(pos.getZ());
-        return arr;
-    }
-
-    private static BlockPos deserializeVec(JsonArray arr) {
-        if (arr == null || arr.size() < 3) return BlockPos.ORIGIN;
-        return new BlockPos(arr.get(0).getAsInt(), arr.get(1).getAsInt(), arr.get(2).getAsInt());
-    }
-
     private NbtCompound buildSnapshotNbt(ServerWorld world) {
         NbtWriteView view = NbtWriteView.create(ErrorReporter.EMPTY, world.getRegistryManager());
         writeCustomData(view);
@@ -882,154 +823,48 @@ public class GoldGolemEntity extends PathAwareEntity {
         return view.getNbt();
     }
 
-    private JsonObject buildSnapshotJson(ServerWorld world, String desiredName, NbtCompound nbt) {
-        JsonObject root = new JsonObject();
-        root.addProperty("version", SNAPSHOT_VERSION);
-        root.addProperty("savedAt", System.currentTimeMillis());
-        root.addProperty("golemName", desiredName == null ? "" : desiredName);
-        root.addProperty("mode", getBuildMode().name());
-        root.addProperty("nbt", NbtHelper.toNbtProviderString(nbt));
-
-        JsonArray wallTemplatesJson = new JsonArray();
-        for (var tpl : wallTemplates) {
-            JsonObject t = new JsonObject();
-            t.add("a", serializeVec(tpl.aMarker));
-            t.add("b", serializeVec(tpl.bMarker));
-            t.addProperty("minY", tpl.minY);
-            JsonArray voxels = new JsonArray();
-            for (var v : tpl.voxels) {
-                JsonObject vj = new JsonObject();
-                vj.add("rel", serializeVec(v.rel));
-                vj.add("state", serializeBlockState(v.state));
-                voxels.add(vj);
-            }
-            t.add("voxels", voxels);
-            wallTemplatesJson.add(t);
-        }
-        root.add("wallTemplates", wallTemplatesJson);
-
-        if (towerTemplate != null) {
-            JsonObject tower = new JsonObject();
-            tower.addProperty("minY", towerTemplate.minY);
-            tower.addProperty("maxY", towerTemplate.maxY);
-            JsonArray voxels = new JsonArray();
-            for (var v : towerTemplate.voxels) {
-                JsonObject vj = new JsonObject();
-                vj.add("rel", serializeVec(v.rel));
-                vj.add("state", serializeBlockState(v.state));
-                voxels.add(vj);
-            }
-            tower.add("voxels", voxels);
-            root.add("towerTemplate", tower);
-        }
-
-        JsonArray treeModulesJson = new JsonArray();
+    /**
+     * Capture what a snapshot needs from the golem. Templates are immutable and tree modules
+     * are copied, so the result can be serialized off the tick thread.
+     */
+    private SnapshotData captureSnapshot(ServerWorld world) {
+        java.util.List<java.util.Map<BlockPos, BlockState>> treeStates = new java.util.ArrayList<>(treeModuleBlockStates.size());
         for (var module : treeModuleBlockStates) {
-            JsonArray voxels = new JsonArray();
-            for (var entry : module.entrySet()) {
-                JsonObject vj = new JsonObject();
-                vj.add("rel", serializeVec(entry.getKey()));
-                vj.add("state", serializeBlockState(entry.getValue()));
-                voxels.add(vj);
-            }
-            treeModulesJson.add(voxels);
+            treeStates.add(new java.util.HashMap<>(module));
         }
-        root.add("treeModuleStates", treeModulesJson);
-
-        return root;
+        return new SnapshotData(buildSnapshotNbt(world), java.util.List.copyOf(wallTemplates), towerTemplate, treeStates);
     }
 
     private static SnapshotData readSnapshot(ServerWorld world, Path path) throws IOException {
-        String json = Files.readString(path);
-        JsonElement parsed = JsonParser.parseString(json);
-        if (!parsed.isJsonObject()) return null;
-        JsonObject root = parsed.getAsJsonObject();
-        String nbtStr = root.has("nbt") ? root.get("nbt").getAsString() : "";
-        if (nbtStr.isEmpty()) return null;
-        NbtCompound nbt;
-        try {
-            nbt = NbtHelper.fromNbtProviderString(nbtStr);
-        } catch (Exception e) {
-            return null;
+        byte[] queued = SnapshotWriter.pendingContent(path);
+        if (queued != null) {
+            // Not written yet; decode what the writer is about to put there
+            return SnapshotCodec.read(queued);
         }
-
-        java.util.List<ninja.trek.mc.goldgolem.wall.WallModuleTemplate> wallTemplates = new java.util.ArrayList<>();
-        if (root.has("wallTemplates") && root.get("wallTemplates").isJsonArray()) {
-            JsonArray arr = root.getAsJsonArray("wallTemplates");
-            for (JsonElement el : arr) {
-                if (!el.isJsonObject()) continue;
-                JsonObject t = el.getAsJsonObject();
-                BlockPos a = deserializeVec(t.getAsJsonArray("a"));
-                BlockPos b = deserializeVec(t.getAsJsonArray("b"));
-                int minY = t.has("minY") ? t.get("minY").getAsInt() : 0;
-                java.util.List<ninja.trek.mc.goldgolem.wall.WallModuleTemplate.Voxel> voxels = new java.util.ArrayList<>();
-                if (t.has("voxels") && t.get("voxels").isJsonArray()) {
-                    for (JsonElement ve : t.getAsJsonArray("voxels")) {
-                        if (!ve.isJsonObject()) continue;
-                        JsonObject vj = ve.getAsJsonObject();
-                        BlockPos rel = deserializeVec(vj.getAsJsonArray("rel"));
-                        BlockState state = deserializeBlockState(vj.getAsJsonObject("state"));
-                        if (state != null) {
-                            voxels.add(new ninja.trek.mc.goldgolem.wall.WallModuleTemplate.Voxel(rel, state));
-                        }
-                    }
-                }
-                wallTemplates.add(new ninja.trek.mc.goldgolem.wall.WallModuleTemplate(a, b, voxels, minY));
-            }
-        }
-
-        ninja.trek.mc.goldgolem.tower.TowerModuleTemplate towerTemplate = null;
-        if (root.has("towerTemplate") && root.get("towerTemplate").isJsonObject()) {
-            JsonObject tower = root.getAsJsonObject("towerTemplate");
-            int minY = tower.has("minY") ? tower.get("minY").getAsInt() : 0;
-            int maxY = tower.has("maxY") ? tower.get("maxY").getAsInt() : 0;
-            java.util.List<ninja.trek.mc.goldgolem.tower.TowerModuleTemplate.Voxel> voxels = new java.util.ArrayList<>();
-            if (tower.has("voxels") && tower.get("voxels").isJsonArray()) {
-                for (JsonElement ve : tower.getAsJsonArray("voxels")) {
-                    if (!ve.isJsonObject()) continue;
-                    JsonObject vj = ve.getAsJsonObject();
-                    BlockPos rel = deserializeVec(vj.getAsJsonArray("rel"));
-                    BlockState state = deserializeBlockState(vj.getAsJsonObject("state"));
-                    if (state != null) {
-                        voxels.add(new ninja.trek.mc.goldgolem.tower.TowerModuleTemplate.Voxel(rel, state));
-                    }
-                }
-            }
-            towerTemplate = new ninja.trek.mc.goldgolem.tower.TowerModuleTemplate(voxels, minY, maxY);
-        }
-
-        java.util.List<java.util.Map<BlockPos, BlockState>> treeModuleStates = new java.util.ArrayList<>();
-        if (root.has("treeModuleStates") && root.get("treeModuleStates").isJsonArray()) {
-            for (JsonElement moduleEl : root.getAsJsonArray("treeModuleStates")) {
-                if (!moduleEl.isJsonArray()) continue;
-                java.util.Map<BlockPos, BlockState> module = new java.util.HashMap<>();
-                for (JsonElement ve : moduleEl.getAsJsonArray()) {
-                    if (!ve.isJsonObject()) continue;
-                    JsonObject vj = ve.getAsJsonObject();
-                    BlockPos rel = deserializeVec(vj.getAsJsonArray("rel"));
-                    BlockState state = deserializeBlockState(vj.getAsJsonObject("state"));
-                    if (state != null) {
-                        module.put(rel, state);
-                    }
-                }
-                treeModuleStates.add(module);
-            }
+        if (SnapshotCodec.isBinary(path)) {
+            return SnapshotCodec.read(path);
         }
-
-        return new SnapshotData(nbt, wallTemplates, towerTemplate, treeModuleStates);
+        return SnapshotCodec.readLegacy(path);
     }
 
+    /**
+     * Save a snapshot under the name and point the golem at it. The file name is reserved
+     * now; serialization and the write happen on the I/O thread, and a newer snapshot of
+     * this golem under the same name queued before that runs replaces it.
+     */
     private Path writeSnapshotForName(String desiredName) {
         String baseName = sanitizeJsonBaseName(desiredName);
         if (baseName == null) return null;
         if (!(getEntityWorld() instanceof ServerWorld world)) return null;
         Path folder = FabricLoader.getInstance().getGameDir().resolve(SNAPSHOT_FOLDER);
         try {
-            NbtCompound nbt = buildSnapshotNbt(world);
-            JsonObject root = buildSnapshotJson(world, desiredName, nbt);
-            Path out = resolveSnapshotPath(folder, baseName);
-            Gson gson = new GsonBuilder().setPrettyPrinting().create();
-            Files.writeString(out, gson.toJson(root));
+            SnapshotData data = captureSnapshot(world);
+            BuildMode mode = getBuildMode();
+            long savedAt = System.currentTimeMillis();
+            Path out = SnapshotWriter.reserve(getUuid(), folder, baseName, SnapshotCodec.EXTENSION);
+            SnapshotWriter.submit(getUuid(), out, true,
+                    () -> SnapshotCodec.encode(data, desiredName, mode.name(), savedAt),
+                    () -> SnapshotNameIndex.recordWrite(folder, out, desiredName, savedAt));
             String rel = FabricLoader.getInstance().getGameDir().relativize(out).toString();
             setJsonFileForMode(getBuildMode(), rel);
             return out;
@@ -1086,7 +921,7 @@ public class GoldGolemEntity extends PathAwareEntity {
         return true;
     }
 
-    private record SnapshotData(
+    record SnapshotData(
             NbtCompound nbt,
             java.util.List<ninja.trek.mc.goldgolem.wall.WallModuleTemplate> wallTemplates,
             ninja.trek.mc.goldgolem.tower.TowerModuleTemplate towerTemplate,
@@ -1106,6 +941,7 @@ public class GoldGolemEntity extends PathAwareEntity {
     }
 
     public void initTreeGroups(java.util.List<String> uniqueBlocks) {
+        treeGroupPalettes = null;
         treeGroupSlots.clear(); treeGroupWindows.clear(); treeGroupNoiseScales.clear(); treeBlockGroup.clear();
         // Default: one group per unique block type
         int idx = 0;
@@ -1142,6 +978,7 @@ public class GoldGolemEntity extends PathAwareEntity {
             return;
         }
         treeBlockGroup.put(blockId, group);
+        treeGroupPalettes = null;
     }
     public void setTreeGroupWindow(int group, float window) {
         if (group < 0 || group >= treeGroupWindows.size()) return;
@@ -1156,10 +993,17 @@ public class GoldGolemEntity extends PathAwareEntity {
         if (slot < 0 || slot >= 9) return;
         String[] arr = treeGroupSlots.get(group);
         arr[slot] = (id == null) ? "" : id;
+        treeGroupPalettes = null;
     }
     public BlockPos getTreeOrigin() { return treeOrigin; }
     public java.util.Map<String, Integer> getTreeBlockGroup() { return treeBlockGroup; }
     public java.util.List<String[]> getTreeGroupSlots() { return treeGroupSlots; }
+    public ninja.trek.mc.goldgolem.util.GradientGroupPalettes getTreeGroupPalettes() {
+        if (treeGroupPalettes == null) treeGroupPalettes = ninja.trek.mc.goldgolem.util.GradientGroupPalettes.compile(treeGroupSlots, treeBlockGroup);
+        return treeGroupPalettes;
+    }
+    public float getTreeGroupWindow(int group) { return (group >= 0 && group < treeGroupWindows.size()) ? treeGroupWindows.get(group) : 1.0f; }
+    public int getTreeGroupNoiseScale(int group) { return (group >= 0 && group < treeGroupNoiseScales.size()) ? treeGroupNoiseScales.get(group) : 1; }
 
     // Strategy-based group manager accessors (for future migration to strategy-owned groups)
     /**
@@ -1518,8 +1362,8 @@ public class GoldGolemEntity extends PathAwareEntity {
 
         if (this.getEntityWorld().isClient()) return;
         if (buildingPaths) {
-            // Increment placement tick counter (2-tick cycle)
-            placementTickCounter = (placementTickCounter + 1) % 2;
+            // Increment placement tick counter (cycle length follows server load)
+            placementTickCounter = (placementTickCounter + 1) % GolemThroughput.placementInterval();
 
             // Initialize strategy if needed
             if (activeStrategy == null || activeStrategy.getMode() != getBuildMode()) {
@@ -1535,14 +1379,31 @@ public class GoldGolemEntity extends PathAwareEntity {
                         this.getLookControl().lookAt(owner, 30.0f, 30.0f);
                     }
                 }
-                activeStrategy.tick(this, owner);
+                // Strategy work shares the server-wide budget; a golem without a slot this
+                // tick keeps moving and waits for the next one
+                if (GolemTickScheduler.acquire(this)) {
+                    long sliceStart = System.nanoTime();
+                    long sliceNanos;
+                    try {
+                        activeStrategy.tick(this, owner);
+                    } finally {
+                        // Settle the slot even if the strategy throws, so the budget stays balanced
+                        sliceNanos = System.nanoTime() - sliceStart;
+                        GolemTickScheduler.release(this, sliceNanos);
+                    }
+                    GolemMetrics.strategyTick(this, sliceNanos);
 
-                // Check if strategy has completed its work
-                if (activeStrategy.isComplete()) {
-                    stopBuilding();
+                    // Check if strategy has completed its work
+                    if (activeStrategy.isComplete()) {
+                        stopBuilding();
+                    }
+                } else {
+                    GolemMetrics.strategySkipped(this);
                 }
             }
         }
+        // Shulker box takes from this tick are written back in one go
+        inventoryIndex.flushShulkers();
 
         advanceHandAnimationTicks();
     }
@@ -1804,6 +1665,7 @@ public class GoldGolemEntity extends PathAwareEntity {
      * Adds a small Y offset (0.1) to prevent clipping into ground blocks.
      */
     public void teleportWithParticles(BlockPos target) {
+        GolemMetrics.teleport(this);
         if (this.getEntityWorld() instanceof ServerWorld sw) {
             sw.spawnParticles(ParticleTypes.PORTAL,
                     this.getX(), this.getY() + 0.5, this.getZ(),
@@ -1865,7 +1727,7 @@ public class GoldGolemEntity extends PathAwareEntity {
             }
         }
         if (currentModulePlacement != null) {
-            // Place 1 block every 2 ticks, alternating hands (same as path mode)
+            // Place 1 block per placement cycle, alternating hands (same as path mode)
             if (placementTickCounter == 0) {
                 // For wall mode, we'll place blocks but without specific position tracking for now
                 // This maintains the alternating hand animation
@@ -1951,8 +1813,7 @@ public class GoldGolemEntity extends PathAwareEntity {
     }
 
     private boolean isOreBlock(String blockId) {
-        return blockId.contains("_ore") || blockId.contains("ancient_debris") ||
-               blockId.equals("minecraft:gilded_blackstone");
+        return ninja.trek.mc.goldgolem.util.OreBlocks.matchesId(blockId);
     }
 
     private boolean isGravityBlock(net.minecraft.block.Block block) {
@@ -2041,14 +1902,15 @@ public class GoldGolemEntity extends PathAwareEntity {
         if (wouldBlockOverlapSelf(pos)) return false;
 
         // Try to consume block from inventory
-        String blockId = net.minecraft.registry.Registries.BLOCK.getId(finalState.getBlock()).toString();
-        if (!consumeBlockFromInventory(blockId)) {
+        if (!consumeBlockFromInventory(finalState.getBlock())) {
+            String blockId = net.minecraft.registry.Registries.BLOCK.getId(finalState.getBlock()).toString();
             LOGGER.warn("GoldGolem placement failed: missing blockId={} at pos={}", blockId, pos);
             handleMissingBuildingBlock();
             return false;
         }
 
         this.getEntityWorld().setBlockState(pos, finalState);
+        GolemMetrics.blockPlaced(this);
 
         // Explicitly update the block state to ensure proper connections (e.g. walls/fences)
         // This fixes issues where simulatePlayerPlacement might miss connections or when replacing blocks
@@ -2224,63 +2086,17 @@ public class GoldGolemEntity extends PathAwareEntity {
         };
     }
 
-    private boolean consumeFromShulkerBox(ItemStack shulkerBox, String blockId) {
-        // Get the container component from the shulker box
-        ContainerComponent container = shulkerBox.get(DataComponentTypes.CONTAINER);
-        if (container == null) return false;
-
-        // Convert stream to list for easier manipulation
-        java.util.List<ItemStack> contents = new java.util.ArrayList<>(container.stream().toList());
-
-        // Search through the shulker box contents
-        for (int i = 0; i < contents.size(); i++) {
-            ItemStack stack = contents.get(i);
-            if (stack.isEmpty()) continue;
-
-            if (stack.getItem() instanceof net.minecraft.item.BlockItem bi) {
-                String stackId = net.minecraft.registry.Registries.BLOCK.getId(bi.getBlock()).toString();
-                if (stackId.equals(blockId)) {
-                    // Decrement this stack and write back an updated immutable container component.
-                    ItemStack modifiedStack = stack.copy();
-                    modifiedStack.decrement(1);
-                    contents.set(i, modifiedStack);
-
-                    shulkerBox.set(DataComponentTypes.CONTAINER, ContainerComponent.fromStacks(contents));
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
     public boolean consumeBlockFromInventory(String blockId) {
-        // Search inventory for matching block
-        for (int i = 0; i < inventory.size(); i++) {
-            ItemStack stack = inventory.getStack(i);
-            if (stack.isEmpty()) continue;
-            if (stack.getItem() instanceof net.minecraft.item.BlockItem bi) {
-                String stackId = net.minecraft.registry.Registries.BLOCK.getId(bi.getBlock()).toString();
-                if (stackId.equals(blockId)) {
-                    stack.decrement(1);
-                    return true;
-                }
-            }
-        }
-
-        // If not found in regular inventory, check shulker boxes
-        for (int i = 0; i < inventory.size(); i++) {
-            ItemStack stack = inventory.getStack(i);
-            if (stack.isEmpty()) continue;
-
-            // Check if this is a shulker box
-            if (stack.getItem() instanceof net.minecraft.item.BlockItem bi && bi.getBlock() instanceof ShulkerBoxBlock) {
-                if (consumeFromShulkerBox(stack, blockId)) {
-                    return true;
-                }
-            }
-        }
+        net.minecraft.util.Identifier id = net.minecraft.util.Identifier.tryParse(blockId);
+        if (id == null || !net.minecraft.registry.Registries.BLOCK.containsId(id)) return false;
+        return consumeBlockFromInventory(net.minecraft.registry.Registries.BLOCK.get(id));
+    }
 
-        return false;
+    /**
+     * Take one item that places the block, from a slot or, failing that, a carried shulker box.
+     */
+    public boolean consumeBlockFromInventory(net.minecraft.block.Block block) {
+        return inventoryIndex.consumeBlock(block);
     }
 
     public BlockState getBlockStateFromId(String blockId) {
@@ -2324,6 +2140,7 @@ public class GoldGolemEntity extends PathAwareEntity {
             view.putString("F" + i, val);
         }
 
+        inventoryIndex.flushShulkers();
         DefaultedList<ItemStack> stacks = DefaultedList.ofSize(INVENTORY_SIZE, ItemStack.EMPTY);
         for (int i = 0; i < INVENTORY_SIZE; i++) stacks.set(i, inventory.getStack(i));
         Inventories.writeData(view.get("Inventory"), stacks, true);
@@ -2350,31 +2167,29 @@ public class GoldGolemEntity extends PathAwareEntity {
         view.putInt("WallJoinU", this.wallJoinUSize);
         view.putInt("WallModCount", this.wallModuleCount);
         view.putInt("WallModLongest", this.wallLongestModule);
-        // Join template
-        view.putInt("WallJoinTplCount", wallJoinTemplate == null ? 0 : wallJoinTemplate.size());
-        for (int i = 0; wallJoinTemplate != null && i < wallJoinTemplate.size(); i++) {
-            var e = wallJoinTemplate.get(i);
-            view.putInt("WJT_dy" + i, e.dy);
-            view.putInt("WJT_du" + i, e.du);
-            view.putString("WJT_id" + i, e.id);
+        // Join template: (dy, du, palette index) triples plus an id palette
+        java.util.List<JoinEntry> joinTpl = wallJoinTemplate == null ? java.util.Collections.emptyList() : wallJoinTemplate;
+        java.util.List<String> joinPalette = new java.util.ArrayList<>();
+        java.util.Map<String, Integer> joinPaletteIndex = new java.util.HashMap<>();
+        int[] joinPacked = new int[joinTpl.size() * 3];
+        for (int i = 0; i < joinTpl.size(); i++) {
+            var e = joinTpl.get(i);
+            joinPacked[3 * i] = e.dy;
+            joinPacked[3 * i + 1] = e.du;
+            joinPacked[3 * i + 2] = joinPaletteIndex.computeIfAbsent(e.id, id -> {
+                joinPalette.add(id);
+                return joinPalette.size() - 1;
+            });
+        }
+        view.putIntArray("WallJoinTpl", joinPacked);
+        view.putInt("WallJoinTplPalCount", joinPalette.size());
+        for (int i = 0; i < joinPalette.size(); i++) {
+            view.putString("WallJoinTplPal" + i, joinPalette.get(i));
         }
         // Wall groups persistence
         view.putInt("WallGroupCount", wallGroupSlots.size());
-        for (int g = 0; g < wallGroupSlots.size(); g++) {
-            view.putFloat("WallGW" + g, (g < wallGroupWindows.size()) ? wallGroupWindows.get(g) : 1.0f);
-            view.putInt("WallGNS" + g, (g < wallGroupNoiseScales.size()) ? wallGroupNoiseScales.get(g) : 1);
-            String[] arr = wallGroupSlots.get(g);
-            for (int i = 0; i < 9; i++) {
-                String v = (arr != null && i < arr.length && arr[i] != null) ? arr[i] : "";
-                view.putString("WallGS" + g + "_" + i, v);
-            }
-        }
-        // Mapping for unique ids → group index
-        for (int i = 0; i < wallUniqueBlockIds.size(); i++) {
-            String id = wallUniqueBlockIds.get(i);
-            int grp = wallBlockGroup.getOrDefault(id, 0);
-            view.putInt("WallGM" + i, grp);
-        }
+        writeGroupSettings(view, "Wall", wallGroupSlots.size(), wallGroupWindows, wallGroupNoiseScales, wallUniqueBlockIds, wallBlockGroup);
+        writeSlotTable(view, "WallGroupSlots", wallGroupSlots);
 
         // Tower-mode persisted bits
         if (this.towerOrigin != null) {
@@ -2395,32 +2210,21 @@ public class GoldGolemEntity extends PathAwareEntity {
         // Tower block counts
         if (this.towerBlockCounts != null && !this.towerBlockCounts.isEmpty()) {
             view.putInt("TowerCountsSize", this.towerBlockCounts.size());
+            int[] counts = new int[this.towerBlockCounts.size()];
             int idx = 0;
             for (var entry : this.towerBlockCounts.entrySet()) {
                 view.putString("TowerC_id" + idx, entry.getKey());
-                view.putInt("TowerC_cnt" + idx, entry.getValue());
+                counts[idx] = entry.getValue();
                 idx++;
             }
+            view.putIntArray("TowerCounts", counts);
         } else {
             view.putInt("TowerCountsSize", 0);
         }
         // Tower groups persistence
         view.putInt("TowerGroupCount", towerGroupSlots.size());
-        for (int g = 0; g < towerGroupSlots.size(); g++) {
-            view.putFloat("TowerGW" + g, (g < towerGroupWindows.size()) ? towerGroupWindows.get(g) : 1.0f);
-            view.putInt("TowerGNS" + g, (g < towerGroupNoiseScales.size()) ? towerGroupNoiseScales.get(g) : 1);
-            String[] arr = towerGroupSlots.get(g);
-            for (int i = 0; i < 9; i++) {
-                String v = (arr != null && i < arr.length && arr[i] != null) ? arr[i] : "";
-                view.putString("TowerGS" + g + "_" + i, v);
-            }
-        }
-        // Mapping for unique ids → group index
-        for (int i = 0; i < towerUniqueBlockIds.size(); i++) {
-            String id = towerUniqueBlockIds.get(i);
-            int grp = towerBlockGroup.getOrDefault(id, 0);
-            view.putInt("TowerGM" + i, grp);
-        }
+        writeGroupSettings(view, "Tower", towerGroupSlots.size(), towerGroupWindows, towerGroupNoiseScales, towerUniqueBlockIds, towerBlockGroup);
+        writeSlotTable(view, "TowerGroupSlots", towerGroupSlots);
 
         // Strategy state persisted via polymorphic dispatch (Mining, Excavation modes)
         if (activeStrategy != null) {
@@ -2431,18 +2235,7 @@ public class GoldGolemEntity extends PathAwareEntity {
         view.putInt("TFormScanRadius", this.terraformingScanRadius);
         view.putInt("TFormAlpha", this.terraformingAlpha);
         // Terraforming gradients
-        for (int i = 0; i < 9; i++) {
-            String v = (terraformingGradientVertical != null && i < terraformingGradientVertical.length && terraformingGradientVertical[i] != null) ? terraformingGradientVertical[i] : "";
-            view.putString("TFormGV" + i, v);
-        }
-        for (int i = 0; i < 9; i++) {
-            String h = (terraformingGradientHorizontal != null && i < terraformingGradientHorizontal.length && terraformingGradientHorizontal[i] != null) ? terraformingGradientHorizontal[i] : "";
-            view.putString("TFormGH" + i, h);
-        }
-        for (int i = 0; i < 9; i++) {
-            String s = (terraformingGradientSloped != null && i < terraformingGradientSloped.length && terraformingGradientSloped[i] != null) ? terraformingGradientSloped[i] : "";
-            view.putString("TFormGS" + i, s);
-        }
+        writeSlotTable(view, "TFormGradients", java.util.Arrays.asList(terraformingGradientVertical, terraformingGradientHorizontal, terraformingGradientSloped));
         view.putInt("TFormGVWindow", this.terraformingGradientVerticalWindow);
         view.putInt("TFormGHWindow", this.terraformingGradientHorizontalWindow);
         view.putInt("TFormGSWindow", this.terraformingGradientSlopedWindow);
@@ -2476,32 +2269,113 @@ public class GoldGolemEntity extends PathAwareEntity {
         view.putInt("TreeModuleCount", this.treeModules.size());
         for (int m = 0; m < this.treeModules.size(); m++) {
             ninja.trek.mc.goldgolem.tree.TreeModule module = this.treeModules.get(m);
-            view.putInt("TreeMod" + m + "Size", module.voxels.size());
-            int vIdx = 0;
-            for (net.minecraft.util.math.BlockPos pos : module.voxels) {
-                view.putInt("TreeMod" + m + "V" + vIdx + "X", pos.getX());
-                view.putInt("TreeMod" + m + "V" + vIdx + "Y", pos.getY());
-                view.putInt("TreeMod" + m + "V" + vIdx + "Z", pos.getZ());
-                vIdx++;
-            }
+            view.putIntArray("TreeMod" + m + "Voxels", ninja.trek.mc.goldgolem.util.PackedNbt.packPositions(module.voxels));
         }
 
         // Tree groups persistence
         view.putInt("TreeGroupCount", treeGroupSlots.size());
-        for (int g = 0; g < treeGroupSlots.size(); g++) {
-            view.putFloat("TreeGW" + g, (g < treeGroupWindows.size()) ? treeGroupWindows.get(g) : 1.0f);
-            view.putInt("TreeGNS" + g, (g < treeGroupNoiseScales.size()) ? treeGroupNoiseScales.get(g) : 1);
-            String[] arr = treeGroupSlots.get(g);
+        writeGroupSettings(view, "Tree", treeGroupSlots.size(), treeGroupWindows, treeGroupNoiseScales, treeUniqueBlockIds, treeBlockGroup);
+        writeSlotTable(view, "TreeGroupSlots", treeGroupSlots);
+    }
+
+    /**
+     * Per-group windows and noise scales, and the unique-id to group mapping, as packed arrays.
+     */
+    private static void writeGroupSettings(WriteView view, String prefix, int groupCount, java.util.List<Float> windows,
+                                           java.util.List<Integer> noiseScales, java.util.List<String> uniqueIds,
+                                           java.util.Map<String, Integer> blockGroup) {
+        int[] packedWindows = new int[groupCount];
+        int[] packedScales = new int[groupCount];
+        for (int g = 0; g < groupCount; g++) {
+            packedWindows[g] = Float.floatToRawIntBits(g < windows.size() ? windows.get(g) : 1.0f);
+            packedScales[g] = g < noiseScales.size() ? noiseScales.get(g) : 1;
+        }
+        view.putIntArray(prefix + "GroupWindows", packedWindows);
+        view.putIntArray(prefix + "GroupNoise", packedScales);
+        int[] mapping = new int[uniqueIds.size()];
+        for (int i = 0; i < mapping.length; i++) {
+            mapping[i] = blockGroup.getOrDefault(uniqueIds.get(i), 0);
+        }
+        view.putIntArray(prefix + "GroupMap", mapping);
+    }
+
+    /**
+     * Rows of nine slot block ids as one array of indices into a string table of the distinct ids.
+     */
+    private static void writeSlotTable(WriteView view, String key, java.util.List<String[]> rows) {
+        java.util.List<String> palette = new java.util.ArrayList<>();
+        java.util.Map<String, Integer> paletteIndex = new java.util.HashMap<>();
+        int[] packed = new int[rows.size() * 9];
+        for (int g = 0; g < rows.size(); g++) {
+            String[] arr = rows.get(g);
             for (int i = 0; i < 9; i++) {
                 String v = (arr != null && i < arr.length && arr[i] != null) ? arr[i] : "";
-                view.putString("TreeGS" + g + "_" + i, v);
+                packed[9 * g + i] = paletteIndex.computeIfAbsent(v, id -> {
+                    palette.add(id);
+                    return palette.size() - 1;
+                });
             }
         }
-        // Mapping for unique ids → group index
-        for (int i = 0; i < treeUniqueBlockIds.size(); i++) {
-            String id = treeUniqueBlockIds.get(i);
-            int grp = treeBlockGroup.getOrDefault(id, 0);
-            view.putInt("TreeGM" + i, grp);
+        view.putIntArray(key, packed);
+        view.putInt(key + "PalCount", palette.size());
+        for (int i = 0; i < palette.size(); i++) {
+            view.putString(key + "Pal" + i, palette.get(i));
+        }
+    }
+
+    /**
+     * Reader for {@link #writeSlotTable}; {@link #read} returns null for saves from before it.
+     */
+    private record SlotTable(int[] packed, String[] palette) {
+        static SlotTable read(ReadView view, String key) {
+            int[] packed = view.getOptionalIntArray(key).orElse(null);
+            if (packed == null) return null;
+            String[] palette = new String[view.getInt(key + "PalCount", 0)];
+            for (int i = 0; i < palette.length; i++) palette[i] = view.getString(key + "Pal" + i, "");
+            return new SlotTable(packed, palette);
+        }
+
+        String[] row(int g) {
+            String[] arr = new String[9];
+            for (int i = 0; i < 9; i++) {
+                int index = ninja.trek.mc.goldgolem.util.PackedNbt.intAt(packed, 9 * g + i, -1);
+                arr[i] = index >= 0 && index < palette.length ? palette[index] : "";
+            }
+            return arr;
+        }
+    }
+
+    /**
+     * Reader for {@link #writeGroupSettings} and the group slot table, falling back to the keyed
+     * {@code <prefix>GW<g>}, {@code <prefix>GNS<g>}, {@code <prefix>GM<i>} and
+     * {@code <prefix>GS<g>_<i>} layout of older saves.
+     */
+    private record GroupSettings(String prefix, int[] windows, int[] noiseScales, int[] mapping, SlotTable slots) {
+        static GroupSettings read(ReadView view, String prefix) {
+            return new GroupSettings(prefix,
+                    view.getOptionalIntArray(prefix + "GroupWindows").orElse(null),
+                    view.getOptionalIntArray(prefix + "GroupNoise").orElse(null),
+                    view.getOptionalIntArray(prefix + "GroupMap").orElse(null),
+                    SlotTable.read(view, prefix + "GroupSlots"));
+        }
+
+        String[] slots(ReadView view, int g) {
+            if (slots != null) return slots.row(g);
+            String[] arr = new String[9];
+            for (int i = 0; i < 9; i++) arr[i] = view.getString(prefix + "GS" + g + "_" + i, "");
+            return arr;
+        }
+
+        float window(ReadView view, int g) {
+            return windows != null ? ninja.trek.mc.goldgolem.util.PackedNbt.unpackFloat(windows, g, 1.0f) : view.getFloat(prefix + "GW" + g, 1.0f);
+        }
+
+        int noiseScale(ReadView view, int g) {
+            return noiseScales != null ? ninja.trek.mc.goldgolem.util.PackedNbt.intAt(noiseScales, g, 1) : view.getInt(prefix + "GNS" + g, 1);
+        }
+
+        int group(ReadView view, int i) {
+            return mapping != null ? ninja.trek.mc.goldgolem.util.PackedNbt.intAt(mapping, i, 0) : view.getInt(prefix + "GM" + i, 0);
         }
     }
 
@@ -2534,6 +2408,9 @@ public class GoldGolemEntity extends PathAwareEntity {
         for (int i = 0; i < 9; i++) {
             surfaceGradient[i] = view.getString("F" + i, "");
         }
+        gradientPalette = null;
+        stepGradientPalette = null;
+        surfaceGradientPalette = null;
 
         DefaultedList<ItemStack> stacks = DefaultedList.ofSize(INVENTORY_SIZE, ItemStack.EMPTY);
         Inventories.readData(view.getReadView("Inventory"), stacks);
@@ -2563,8 +2440,19 @@ public class GoldGolemEntity extends PathAwareEntity {
         this.wallJoinUSize = Math.max(1, view.getInt("WallJoinU", 1));
         this.wallModuleCount = view.getInt("WallModCount", 0);
         this.wallLongestModule = view.getInt("WallModLongest", 0);
+        int[] joinPacked = view.getOptionalIntArray("WallJoinTpl").orElse(null);
         int jt = view.getInt("WallJoinTplCount", 0);
-        if (jt > 0) {
+        if (joinPacked != null) {
+            String[] palette = new String[view.getInt("WallJoinTplPalCount", 0)];
+            for (int i = 0; i < palette.length; i++) palette[i] = view.getString("WallJoinTplPal" + i, "");
+            java.util.ArrayList<JoinEntry> list = new java.util.ArrayList<>(joinPacked.length / 3);
+            for (int i = 0; i + 2 < joinPacked.length; i += 3) {
+                int pal = joinPacked[i + 2];
+                list.add(new JoinEntry(joinPacked[i], joinPacked[i + 1], pal >= 0 && pal < palette.length ? palette[pal] : ""));
+            }
+            this.wallJoinTemplate = list.isEmpty() ? java.util.Collections.emptyList() : list;
+        } else if (jt > 0) {
+            // Keyed layout from older saves
             java.util.ArrayList<JoinEntry> list = new java.util.ArrayList<>(jt);
             for (int i = 0; i < jt; i++) {
                 int dy = view.getInt("WJT_dy" + i, 0);
@@ -2577,19 +2465,19 @@ public class GoldGolemEntity extends PathAwareEntity {
             this.wallJoinTemplate = java.util.Collections.emptyList();
         }
         // Wall groups
+        wallGroupPalettes = null;
         wallGroupSlots.clear(); wallGroupWindows.clear(); wallGroupNoiseScales.clear(); wallBlockGroup.clear();
         int gc = view.getInt("WallGroupCount", 0);
+        GroupSettings wallSettings = GroupSettings.read(view, "Wall");
         for (int g = 0; g < gc; g++) {
-            float w = view.getFloat("WallGW" + g, 1.0f);
+            float w = wallSettings.window(view, g);
             wallGroupWindows.add(Math.max(0.0f, Math.min(9.0f, w)));
-            int ns = view.getInt("WallGNS" + g, 1);
+            int ns = wallSettings.noiseScale(view, g);
             wallGroupNoiseScales.add(Math.max(1, Math.min(16, ns)));
-            String[] arr = new String[9];
-            for (int i = 0; i < 9; i++) arr[i] = view.getString("WallGS" + g + "_" + i, "");
-            wallGroupSlots.add(arr);
+            wallGroupSlots.add(wallSettings.slots(view, g));
         }
         for (int i = 0; i < wallUniqueBlockIds.size(); i++) {
-            int grp = view.getInt("WallGM" + i, 0);
+            int grp = wallSettings.group(view, i);
             String id = wallUniqueBlockIds.get(i);
             wallBlockGroup.put(id, Math.max(0, Math.min(Math.max(0, wallGroupSlots.size() - 1), grp)));
         }
@@ -2614,9 +2502,10 @@ public class GoldGolemEntity extends PathAwareEntity {
         int tcs = view.getInt("TowerCountsSize", 0);
         if (tcs > 0) {
             java.util.HashMap<String, Integer> counts = new java.util.HashMap<>();
+            int[] packedCounts = view.getOptionalIntArray("TowerCounts").orElse(null);
             for (int i = 0; i < tcs; i++) {
                 String id = view.getString("TowerC_id" + i, "");
-                int cnt = view.getInt("TowerC_cnt" + i, 0);
+                int cnt = packedCounts != null ? ninja.trek.mc.goldgolem.util.PackedNbt.intAt(packedCounts, i, 0) : view.getInt("TowerC_cnt" + i, 0);
                 if (!id.isEmpty()) counts.put(id, cnt);
             }
             this.towerBlockCounts = counts;
@@ -2624,19 +2513,19 @@ public class GoldGolemEntity extends PathAwareEntity {
             this.towerBlockCounts = java.util.Collections.emptyMap();
         }
         // Tower groups
+        towerGroupPalettes = null;
         towerGroupSlots.clear(); towerGroupWindows.clear(); towerGroupNoiseScales.clear(); towerBlockGroup.clear();
         int tgc = view.getInt("TowerGroupCount", 0);
+        GroupSettings towerSettings = GroupSettings.read(view, "Tower");
         for (int g = 0; g < tgc; g++) {
-            float w = view.getFloat("TowerGW" + g, 1.0f);
+            float w = towerSettings.window(view, g);
             towerGroupWindows.add(Math.max(0.0f, Math.min(9.0f, w)));
-            int ns = view.getInt("TowerGNS" + g, 1);
+            int ns = towerSettings.noiseScale(view, g);
             towerGroupNoiseScales.add(Math.max(1, Math.min(16, ns)));
-            String[] arr = new String[9];
-            for (int i = 0; i < 9; i++) arr[i] = view.getString("TowerGS" + g + "_" + i, "");
-            towerGroupSlots.add(arr);
+            towerGroupSlots.add(towerSettings.slots(view, g));
         }
         for (int i = 0; i < towerUniqueBlockIds.size(); i++) {
-            int grp = view.getInt("TowerGM" + i, 0);
+            int grp = towerSettings.group(view, i);
             String id = towerUniqueBlockIds.get(i);
             towerBlockGroup.put(id, Math.max(0, Math.min(Math.max(0, towerGroupSlots.size() - 1), grp)));
         }
@@ -2651,15 +2540,21 @@ public class GoldGolemEntity extends PathAwareEntity {
         this.terraformingScanRadius = view.getInt("TFormScanRadius", 2);
         this.terraformingAlpha = view.getInt("TFormAlpha", 3);
         // Terraforming gradients
-        for (int i = 0; i < 9; i++) {
-            terraformingGradientVertical[i] = view.getString("TFormGV" + i, "");
-        }
-        for (int i = 0; i < 9; i++) {
-            terraformingGradientHorizontal[i] = view.getString("TFormGH" + i, "");
-        }
-        for (int i = 0; i < 9; i++) {
-            terraformingGradientSloped[i] = view.getString("TFormGS" + i, "");
+        SlotTable gradients = SlotTable.read(view, "TFormGradients");
+        if (gradients != null) {
+            System.arraycopy(gradients.row(0), 0, terraformingGradientVertical, 0, 9);
+            System.arraycopy(gradients.row(1), 0, terraformingGradientHorizontal, 0, 9);
+            System.arraycopy(gradients.row(2), 0, terraformingGradientSloped, 0, 9);
+        } else {
+            for (int i = 0; i < 9; i++) {
+                terraformingGradientVertical[i] = view.getString("TFormGV" + i, "");
+                terraformingGradientHorizontal[i] = view.getString("TFormGH" + i, "");
+                terraformingGradientSloped[i] = view.getString("TFormGS" + i, "");
+            }
         }
+        terraformingVerticalPalette = null;
+        terraformingHorizontalPalette = null;
+        terraformingSlopedPalette = null;
         this.terraformingGradientVerticalWindow = view.getInt("TFormGVWindow", 1);
         this.terraformingGradientHorizontalWindow = view.getInt("TFormGHWindow", 1);
         this.terraformingGradientSlopedWindow = view.getInt("TFormGSWindow", 1);
@@ -2701,8 +2596,12 @@ public class GoldGolemEntity extends PathAwareEntity {
         if (treeModCount > 0) {
             this.treeModules = new java.util.ArrayList<>();
             for (int m = 0; m < treeModCount; m++) {
-                int voxelSize = view.getInt("TreeMod" + m + "Size", 0);
+                int[] packedVoxels = view.getOptionalIntArray("TreeMod" + m + "Voxels").orElse(null);
+                int voxelSize = packedVoxels != null ? 0 : view.getInt("TreeMod" + m + "Size", 0);
                 java.util.Set<net.minecraft.util.math.BlockPos> voxels = new java.util.HashSet<>();
+                if (packedVoxels != null) {
+                    voxels.addAll(ninja.trek.mc.goldgolem.util.PackedNbt.unpackPositions(packedVoxels));
+                }
                 for (int v = 0; v < voxelSize; v++) {
                     int vx = view.getInt("TreeMod" + m + "V" + v + "X", 0);
                     int vy = view.getInt("TreeMod" + m + "V" + v + "Y", 0);
@@ -2719,25 +2618,23 @@ public class GoldGolemEntity extends PathAwareEntity {
 
         // Tree groups persistence
         int treeGroupCount = view.getInt("TreeGroupCount", 0);
+        this.treeGroupPalettes = null;
         this.treeGroupSlots.clear();
         this.treeGroupWindows.clear();
         this.treeGroupNoiseScales.clear();
         this.treeBlockGroup.clear();
+        GroupSettings treeSettings = GroupSettings.read(view, "Tree");
         for (int g = 0; g < treeGroupCount; g++) {
-            float window = view.getFloat("TreeGW" + g, 1.0f);
+            float window = treeSettings.window(view, g);
             this.treeGroupWindows.add(window);
-            int ns = view.getInt("TreeGNS" + g, 1);
+            int ns = treeSettings.noiseScale(view, g);
             this.treeGroupNoiseScales.add(Math.max(1, Math.min(16, ns)));
-            String[] arr = new String[9];
-            for (int i = 0; i < 9; i++) {
-                arr[i] = view.getString("TreeGS" + g + "_" + i, "");
-            }
-            this.treeGroupSlots.add(arr);
+            this.treeGroupSlots.add(treeSettings.slots(view, g));
         }
         // Restore group mappings
         for (int i = 0; i < treeUniqueBlockIds.size(); i++) {
             String id = treeUniqueBlockIds.get(i);
-            int grp = view.getInt("TreeGM" + i, 0);
+            int grp = treeSettings.group(view, i);
             this.treeBlockGroup.put(id, grp);
         }
 
@@ -2750,6 +2647,7 @@ public class GoldGolemEntity extends PathAwareEntity {
     }
 
     public Inventory getInventory() { return inventory; }
+    public GolemInventoryIndex getInventoryIndex() { return inventoryIndex; }
 
     public int getPathWidth() { return pathWidth; }
     public void setPathWidth(int width) {
@@ -2783,22 +2681,22 @@ public class GoldGolemEntity extends PathAwareEntity {
     }
 
     public double sampleGradientNoise01(int x, int y, int z, int scale) {
-        SimplexNoiseSampler sampler = getGradientNoiseSampler();
-        double s = (double) Math.max(1, scale);
-        double n = sampler.sample((double) x / s, (double) y / s, (double) z / s);
-        double u01 = (n + 1.0) * 0.5;
-        if (u01 < 0.0) return 0.0;
-        if (u01 > 1.0) return 1.0;
-        return u01;
+        return getGradientNoiseField().sample01(x, y, z, scale);
     }
 
-    private SimplexNoiseSampler getGradientNoiseSampler() {
-        long seed = resolveWorldSeed();
-        if (gradientNoiseSampler == null || gradientNoiseSeedCache != seed) {
-            gradientNoiseSeedCache = seed;
-            gradientNoiseSampler = new SimplexNoiseSampler(Random.create(seed));
+    /**
+     * Memoized gradient noise for this golem's world; repeated samples of a block are lookups.
+     */
+    public ninja.trek.mc.goldgolem.util.GradientNoiseField getGradientNoiseField() {
+        World world = this.getEntityWorld();
+        if (gradientNoiseField == null || gradientNoiseWorld != world) {
+            long seed = resolveWorldSeed();
+            if (gradientNoiseField == null || gradientNoiseField.seed() != seed) {
+                gradientNoiseField = new ninja.trek.mc.goldgolem.util.GradientNoiseField(seed);
+            }
+            gradientNoiseWorld = world;
         }
-        return gradientNoiseSampler;
+        return gradientNoiseField;
     }
 
     private long resolveWorldSeed() {
@@ -2896,17 +2794,20 @@ public class GoldGolemEntity extends PathAwareEntity {
         String value = (id == null || id.isEmpty()) ? "" : id;
         gradient[idx] = value;
         gradientCopyDirty = true;
+        gradientPalette = null;
     }
     public void setGradient(int idx, String value) {
         if (idx < 0 || idx >= 9) return;
         gradient[idx] = value;
         gradientCopyDirty = true;
+        gradientPalette = null;
     }
     public void setStepGradientSlot(int idx, String id) {
         if (idx < 0 || idx >= 9) return;
         String value = (id == null || id.isEmpty()) ? "" : id;
 
         stepGradient[idx] = value;
+        stepGradientPalette = null;
     }
     public String[] getSurfaceGradientCopy() {
         String[] copy = new String[9];
@@ -2919,6 +2820,21 @@ public class GoldGolemEntity extends PathAwareEntity {
         if (idx < 0 || idx >= 9) return;
         String value = (id == null || id.isEmpty()) ? "" : id;
         surfaceGradient[idx] = value;
+        surfaceGradientPalette = null;
+    }
+
+    // Compiled gradients for sampling; recompiled only after a slot changes
+    public ninja.trek.mc.goldgolem.util.GradientPalette getGradientPalette() {
+        if (gradientPalette == null) gradientPalette = ninja.trek.mc.goldgolem.util.GradientPalette.compile(gradient);
+        return gradientPalette;
+    }
+    public ninja.trek.mc.goldgolem.util.GradientPalette getStepGradientPalette() {
+        if (stepGradientPalette == null) stepGradientPalette = ninja.trek.mc.goldgolem.util.GradientPalette.compile(stepGradient);
+        return stepGradientPalette;
+    }
+    public ninja.trek.mc.goldgolem.util.GradientPalette getSurfaceGradientPalette() {
+        if (surfaceGradientPalette == null) surfaceGradientPalette = ninja.trek.mc.goldgolem.util.GradientPalette.compile(surfaceGradient);
+        return surfaceGradientPalette;
     }
 
     // Terraforming gradient getters/setters
@@ -2950,18 +2866,36 @@ public class GoldGolemEntity extends PathAwareEntity {
         if (idx < 0 || idx >= 9) return;
         String value = (id == null || id.isEmpty()) ? "" : id;
         terraformingGradientVertical[idx] = value;
+        terraformingVerticalPalette = null;
     }
 
     public void setTerraformingGradientHorizontalSlot(int idx, String id) {
         if (idx < 0 || idx >= 9) return;
         String value = (id == null || id.isEmpty()) ? "" : id;
         terraformingGradientHorizontal[idx] = value;
+        terraformingHorizontalPalette = null;
     }
 
     public void setTerraformingGradientSlopedSlot(int idx, String id) {
         if (idx < 0 || idx >= 9) return;
         String value = (id == null || id.isEmpty()) ? "" : id;
         terraformingGradientSloped[idx] = value;
+        terraformingSlopedPalette = null;
+    }
+
+    public ninja.trek.mc.goldgolem.util.GradientPalette getTerraformingGradientVerticalPalette() {
+        if (terraformingVerticalPalette == null) terraformingVerticalPalette = ninja.trek.mc.goldgolem.util.GradientPalette.compile(terraformingGradientVertical);
+        return terraformingVerticalPalette;
+    }
+
+    public ninja.trek.mc.goldgolem.util.GradientPalette getTerraformingGradientHorizontalPalette() {
+        if (terraformingHorizontalPalette == null) terraformingHorizontalPalette = ninja.trek.mc.goldgolem.util.GradientPalette.compile(terraformingGradientHorizontal);
+        return terraformingHorizontalPalette;
+    }
+
+    public ninja.trek.mc.goldgolem.util.GradientPalette getTerraformingGradientSlopedPalette() {
+        if (terraformingSlopedPalette == null) terraformingSlopedPalette = ninja.trek.mc.goldgolem.util.GradientPalette.compile(terraformingGradientSloped);
+        return terraformingSlopedPalette;
     }
 
     public int getTerraformingGradientVerticalWindow() { return terraformingGradientVerticalWindow; }
@@ -3164,6 +3098,7 @@ public class GoldGolemEntity extends PathAwareEntity {
         if (!(this.getEntityWorld() instanceof ServerWorld world)) return;
 
         // Drop all items from the inventory
+        inventoryIndex.flushShulkers();
         for (int i = 0; i < this.inventory.size(); ++i) {
             ItemStack itemStack = this.inventory.getStack(i);
             if (!itemStack.isEmpty()) {
@@ -3180,7 +3115,7 @@ public class GoldGolemEntity extends PathAwareEntity {
         if (dropName == null || dropName.isBlank()) {
             String jsonName = getCurrentJsonName();
             if (jsonName != null && !jsonName.isBlank()) {
-                dropName = jsonName.endsWith(".json") ? jsonName.substring(0, jsonName.length() - 5) : jsonName;
+                dropName = SnapshotCodec.stripExtension(jsonName);
             }
         }
         if (dropName == null || dropName.isBlank()) {
@@ -3188,12 +3123,7 @@ public class GoldGolemEntity extends PathAwareEntity {
         }
         Path snapshot = writeSnapshotForName(dropName);
         if (snapshot == null) return;
-        String fname = snapshot.getFileName().toString();
-        if (fname.toLowerCase(java.util.Locale.ROOT).endsWith(".json")) {
-            dropName = fname.substring(0, fname.length() - 5);
-        } else {
-            dropName = fname;
-        }
+        dropName = SnapshotCodec.stripExtension(snapshot.getFileName().toString());
         ItemStack pumpkin = new ItemStack(Items.CARVED_PUMPKIN);
         pumpkin.set(DataComponentTypes.CUSTOM_NAME, Text.literal(dropName));
         this.dropStack(world, pumpkin);
@@ -3268,13 +3198,13 @@ public class GoldGolemEntity extends PathAwareEntity {
             if (!st.isAir() && st.isFullCube(world, test)) { groundY = yy; break; }
         }
         if (groundY == null) return;
-        int gIdx = sampleGradientIndex(w, j, bx, groundY, bz, getGradientNoiseScaleMain());
+        var palette = getGradientPalette();
+        int gIdx = sampleGradientIndex(palette.length(), this.gradientWindow, w, j, bx, groundY, bz, getGradientNoiseScaleMain());
         if (gIdx < 0) return;
-        String id = gradient[gIdx] == null ? "" : gradient[gIdx];
-        if (id.isEmpty()) return;
+        if (palette.isEmpty(gIdx)) return;
 
         // Check for mine action in main gradient
-        if (ninja.trek.mc.goldgolem.util.GradientSlotUtil.isMineAction(id)) {
+        if (palette.isMineAction(gIdx)) {
             // Mine the surface block at this column
             for (int dy = -1; dy <= 1; dy++) {
                 BlockPos rp = new BlockPos(bx, groundY + dy, bz);
@@ -3289,9 +3219,7 @@ public class GoldGolemEntity extends PathAwareEntity {
             return; // don't process surface/step when main is mine
         }
 
-        var ident = net.minecraft.util.Identifier.tryParse(id);
-        if (ident == null) return;
-        var block = net.minecraft.registry.Registries.BLOCK.get(ident);
+        var block = palette.block(gIdx);
         if (block == null) return;
         // Replace only exposed surface within a 3-block vertical window
         for (int dy = -1; dy <= 1; dy++) {
@@ -3316,6 +3244,7 @@ public class GoldGolemEntity extends PathAwareEntity {
                 break;
             }
             world.setBlockState(rp, block.getDefaultState(), 3);
+            GolemMetrics.blockPlaced(this);
             var stInv = inventory.getStack(invSlot);
             stInv.decrement(1);
             inventory.setStack(invSlot, stInv);
@@ -3324,10 +3253,8 @@ public class GoldGolemEntity extends PathAwareEntity {
         }
 
         // Surface gradient placement (decorations on top of ground surface)
-        boolean hasSurfaceSlots = false;
-        for (int i = 0; i < surfaceGradient.length; i++) {
-            if (surfaceGradient[i] != null && !surfaceGradient[i].isEmpty()) { hasSurfaceSlots = true; break; }
-        }
+        var surfacePalette = getSurfaceGradientPalette();
+        boolean hasSurfaceSlots = surfacePalette.length() > 0;
         if (hasSurfaceSlots && groundY != null) {
             Integer topY = null;
             for (int yy = groundY + 4; yy >= groundY - 4; yy--) {
@@ -3338,12 +3265,11 @@ public class GoldGolemEntity extends PathAwareEntity {
                 BlockPos abovePos = new BlockPos(bx, topY + 1, bz);
                 BlockState aboveState = world.getBlockState(abovePos);
                 if (!aboveState.isFullCube(world, abovePos)) {
-                    int sIdx = sampleSurfaceGradientIndex(w, j, bx, topY, bz, gradientNoiseScaleSurface);
+                    int sIdx = sampleGradientIndex(surfacePalette.length(), this.surfaceGradientWindow, w, j, bx, topY, bz, gradientNoiseScaleSurface);
                     if (sIdx >= 0) {
-                        String sid = surfaceGradient[sIdx] == null ? "" : surfaceGradient[sIdx];
-                        if (!sid.isEmpty()) {
+                        if (!surfacePalette.isEmpty(sIdx)) {
                             // Surface gradient mine action: shovel special case → dirt path
-                            if (ninja.trek.mc.goldgolem.util.GradientSlotUtil.isMineAction(sid)) {
+                            if (surfacePalette.isMineAction(sIdx)) {
                                 BlockPos surfaceBlock = new BlockPos(bx, topY, bz);
                                 BlockState surfState = world.getBlockState(surfaceBlock);
                                 if (surfState.isOf(net.minecraft.block.Blocks.GRASS_BLOCK) || surfState.isOf(net.minecraft.block.Blocks.DIRT)) {
@@ -3353,27 +3279,25 @@ public class GoldGolemEntity extends PathAwareEntity {
                                     enqueuePathMine(surfaceBlock);
                                 }
                             } else {
-                                var sIdent = net.minecraft.util.Identifier.tryParse(sid);
-                                if (sIdent != null) {
-                                    var sBlock = net.minecraft.registry.Registries.BLOCK.get(sIdent);
-                                    if (sBlock != null) {
-                                        long surfKey = abovePos.asLong();
-                                        if (recordPlaced(surfKey)) {
-                                            int invSlot3 = findItem(sBlock.asItem());
-                                            if (invSlot3 >= 0) {
-                                                if (!wouldBlockOverlapSelf(abovePos)) {
-                                                    world.setBlockState(abovePos, sBlock.getDefaultState(), 3);
-                                                    var st3 = inventory.getStack(invSlot3);
-                                                    st3.decrement(1);
-                                                    inventory.setStack(invSlot3, st3);
-                                                } else {
-                                                    unrecordPlaced(surfKey);
-                                                }
+                                var sBlock = surfacePalette.block(sIdx);
+                                if (sBlock != null) {
+                                    long surfKey = abovePos.asLong();
+                                    if (recordPlaced(surfKey)) {
+                                        int invSlot3 = findItem(sBlock.asItem());
+                                        if (invSlot3 >= 0) {
+                                            if (!wouldBlockOverlapSelf(abovePos)) {
+                                                world.setBlockState(abovePos, sBlock.getDefaultState(), 3);
+                                                GolemMetrics.blockPlaced(this);
+                                                var st3 = inventory.getStack(invSlot3);
+                                                st3.decrement(1);
+                                                inventory.setStack(invSlot3, st3);
                                             } else {
                                                 unrecordPlaced(surfKey);
-                                                handleMissingBuildingBlock();
-                                                return;
                                             }
+                                        } else {
+                                            unrecordPlaced(surfKey);
+                                            handleMissingBuildingBlock();
+                                            return;
                                         }
                                     }
                                 }
@@ -3407,51 +3331,49 @@ public class GoldGolemEntity extends PathAwareEntity {
                 BlockPos above = stepPos.up();
                 var as = world.getBlockState(above);
                 if (!as.isFullCube(world, above)) {
-                    int gIdxStep = sampleStepGradientIndex(w, j, bx, yStep, bz, getGradientNoiseScaleStep());
+                    var stepPalette = getStepGradientPalette();
+                    int gIdxStep = sampleGradientIndex(stepPalette.length(), this.stepGradientWindow, w, j, bx, yStep, bz, getGradientNoiseScaleStep());
                     if (gIdxStep >= 0) {
-                        String sid = stepGradient[gIdxStep] == null ? "" : stepGradient[gIdxStep];
-                        if (!sid.isEmpty()) {
+                        if (!stepPalette.isEmpty(gIdxStep)) {
                             // Step gradient mine action: mine the step position
-                            if (ninja.trek.mc.goldgolem.util.GradientSlotUtil.isMineAction(sid)) {
+                            if (stepPalette.isMineAction(gIdxStep)) {
                                 // Step is air, mine the block below it (ground)
                                 enqueuePathMine(new BlockPos(bx, groundY, bz));
                                 return;
                             }
-                            var sIdent = net.minecraft.util.Identifier.tryParse(sid);
-                            if (sIdent != null) {
-                                var sBlock = net.minecraft.registry.Registries.BLOCK.get(sIdent);
-                                if (sBlock != null) {
-                                    // Avoid double consumption if step block equals base block
-                                    if (sBlock.asItem() == block.asItem()) return;
-                                    long key2 = stepPos.asLong();
-                                    if (recordPlaced(key2)) {
-                                        int invSlot2 = findItem(sBlock.asItem());
-                                        if (invSlot2 >= 0) {
-                                            var placeState = sBlock.getDefaultState();
-                                            if (sBlock instanceof net.minecraft.block.StairsBlock) {
-                                                try { placeState = placeState.with(net.minecraft.state.property.Properties.HORIZONTAL_FACING, travelDir); } catch (IllegalArgumentException ignored) {}
-                                                try { placeState = placeState.with(net.minecraft.state.property.Properties.FACING, travelDir); } catch (IllegalArgumentException ignored) {}
-                                                try { placeState = placeState.with(net.minecraft.state.property.Properties.STAIR_SHAPE, net.minecraft.block.enums.StairShape.STRAIGHT); } catch (IllegalArgumentException ignored) {}
-                                                try { placeState = placeState.with(net.minecraft.state.property.Properties.WATERLOGGED, Boolean.FALSE); } catch (IllegalArgumentException ignored) {}
-                                            } else if (sBlock instanceof net.minecraft.block.SlabBlock) {
-                                                try { placeState = placeState.with(net.minecraft.state.property.Properties.SLAB_TYPE, net.minecraft.block.enums.SlabType.BOTTOM); } catch (IllegalArgumentException ignored) {}
-                                                try { placeState = placeState.with(net.minecraft.state.property.Properties.WATERLOGGED, Boolean.FALSE); } catch (IllegalArgumentException ignored) {}
-                                            }
-                                            // Prevent placing blocks inside self to avoid suffocation damage
-                                            if (wouldBlockOverlapSelf(stepPos)) {
-                                                unrecordPlaced(key2);
-                                                return;
-                                            }
-                                            world.setBlockState(stepPos, placeState, 3);
-                                            var st2 = inventory.getStack(invSlot2);
-                                            st2.decrement(1);
-                                            inventory.setStack(invSlot2, st2);
-
-                                        } else {
+                            var sBlock = stepPalette.block(gIdxStep);
+                            if (sBlock != null) {
+                                // Avoid double consumption if step block equals base block
+                                if (sBlock.asItem() == block.asItem()) return;
+                                long key2 = stepPos.asLong();
+                                if (recordPlaced(key2)) {
+                                    int invSlot2 = findItem(sBlock.asItem());
+                                    if (invSlot2 >= 0) {
+                                        var placeState = sBlock.getDefaultState();
+                                        if (sBlock instanceof net.minecraft.block.StairsBlock) {
+                                            try { placeState = placeState.with(net.minecraft.state.property.Properties.HORIZONTAL_FACING, travelDir); } catch (IllegalArgumentException ignored) {}
+                                            try { placeState = placeState.with(net.minecraft.state.property.Properties.FACING, travelDir); } catch (IllegalArgumentException ignored) {}
+                                            try { placeState = placeState.with(net.minecraft.state.property.Properties.STAIR_SHAPE, net.minecraft.block.enums.StairShape.STRAIGHT); } catch (IllegalArgumentException ignored) {}
+                                            try { placeState = placeState.with(net.minecraft.state.property.Properties.WATERLOGGED, Boolean.FALSE); } catch (IllegalArgumentException ignored) {}
+                                        } else if (sBlock instanceof net.minecraft.block.SlabBlock) {
+                                            try { placeState = placeState.with(net.minecraft.state.property.Properties.SLAB_TYPE, net.minecraft.block.enums.SlabType.BOTTOM); } catch (IllegalArgumentException ignored) {}
+                                            try { placeState = placeState.with(net.minecraft.state.property.Properties.WATERLOGGED, Boolean.FALSE); } catch (IllegalArgumentException ignored) {}
+                                        }
+                                        // Prevent placing blocks inside self to avoid suffocation damage
+                                        if (wouldBlockOverlapSelf(stepPos)) {
                                             unrecordPlaced(key2);
-                                            handleMissingBuildingBlock();
                                             return;
                                         }
+                                        world.setBlockState(stepPos, placeState, 3);
+                                        GolemMetrics.blockPlaced(this);
+                                        var st2 = inventory.getStack(invSlot2);
+                                        st2.decrement(1);
+                                        inventory.setStack(invSlot2, st2);
+
+                                    } else {
+                                        unrecordPlaced(key2);
+                                        handleMissingBuildingBlock();
+                                        return;
                                     }
                                 }
                             }
@@ -3479,13 +3401,11 @@ public class GoldGolemEntity extends PathAwareEntity {
                 if (!st.isAir() && st.isFullCube(world, test)) { groundY = yy; break; }
             }
             if (groundY == null) continue;
-            int gIdx = sampleGradientIndex(w, j, bx, groundY, bz, getGradientNoiseScaleMain());
+            var palette = getGradientPalette();
+            int gIdx = sampleGradientIndex(palette.length(), this.gradientWindow, w, j, bx, groundY, bz, getGradientNoiseScaleMain());
             if (gIdx < 0) continue;
-            String id = gradient[gIdx] == null ? "" : gradient[gIdx];
-            if (id.isEmpty()) continue;
-            var ident = net.minecraft.util.Identifier.tryParse(id);
-            if (ident == null) continue;
-            var block = net.minecraft.registry.Registries.BLOCK.get(ident);
+            if (palette.isEmpty(gIdx)) continue;
+            var block = palette.block(gIdx);
             if (block == null) continue;
             // Replace only exposed surface within a 3-block vertical window
             for (int dy = -1; dy <= 1; dy++) {
@@ -3510,6 +3430,7 @@ public class GoldGolemEntity extends PathAwareEntity {
                     break;
                 }
                 world.setBlockState(rp2, block.getDefaultState(), 3);
+                GolemMetrics.blockPlaced(this);
                 var stInv = inventory.getStack(invSlot);
                 stInv.decrement(1);
                 inventory.setStack(invSlot, stInv);
@@ -3519,11 +3440,8 @@ public class GoldGolemEntity extends PathAwareEntity {
         }
     }
 
-    private int sampleGradientIndex(int stripWidth, int j, int bx, int by, int bz, int noiseScale) {
-        int G = 0;
-        for (int i = gradient.length - 1; i >= 0; i--) {
-            if (gradient[i] != null && !gradient[i].isEmpty()) { G = i + 1; break; }
-        }
+    // G is the palette length (last non-empty slot + 1); window is the jitter width in slots
+    private int sampleGradientIndex(int G, float window, int stripWidth, int j, int bx, int by, int bz, int noiseScale) {
         if (G <= 0) return -1;
 
         // Map based on distance from center: left GUI slot = center, right = edges (either side)
@@ -3532,7 +3450,7 @@ public class GoldGolemEntity extends PathAwareEntity {
         int denom = Math.max(1, half);
         double s = (double) dist / (double) denom * (double) (G - 1);
 
-        float Wcap = Math.min(this.gradientWindow, G);
+        float Wcap = Math.min(window, G);
         double W = (double) Wcap;
         if (W == 0.0) {
             int idx = (int) Math.round(s);
@@ -3556,85 +3474,8 @@ public class GoldGolemEntity extends PathAwareEntity {
         return MathHelper.clamp(idx, 0, G - 1);
     }
 
-    private int sampleStepGradientIndex(int stripWidth, int j, int bx, int by, int bz, int noiseScale) {
-        int G = 0;
-        for (int i = stepGradient.length - 1; i >= 0; i--) {
-            if (stepGradient[i] != null && !stepGradient[i].isEmpty()) { G = i + 1; break; }
-        }
-        if (G <= 0) return -1;
-
-        int half = (stripWidth - 1) / 2;
-        int dist = Math.abs(j);
-        int denom = Math.max(1, half);
-        double s = (double) dist / (double) denom * (double) (G - 1);
-
-        float Wcap = Math.min(this.stepGradientWindow, G);
-        double W = (double) Wcap;
-        if (W == 0.0) {
-            int idx = (int) Math.round(s);
-            return MathHelper.clamp(idx, 0, G - 1);
-        }
-
-        double u01 = sampleGradientNoise01(bx, by, bz, noiseScale);
-        double u = (u01 * W) - (W * 0.5);
-        double sprime = s + u;
-
-        double a = -0.5;
-        double b = (double) G - 0.5;
-        double L = b - a;
-        double y = (sprime - a) % (2.0 * L);
-        if (y < 0) y += 2.0 * L;
-        double r = (y <= L) ? y : (2.0 * L - y);
-        double sref = a + r;
-
-        int idx = (int) Math.round(sref);
-        return MathHelper.clamp(idx, 0, G - 1);
-    }
-
-    private int sampleSurfaceGradientIndex(int stripWidth, int j, int bx, int by, int bz, int noiseScale) {
-        int G = 0;
-        for (int i = surfaceGradient.length - 1; i >= 0; i--) {
-            if (surfaceGradient[i] != null && !surfaceGradient[i].isEmpty()) { G = i + 1; break; }
-        }
-        if (G <= 0) return -1;
-
-        int half = (stripWidth - 1) / 2;
-        int dist = Math.abs(j);
-        int denom = Math.max(1, half);
-        double s = (double) dist / (double) denom * (double) (G - 1);
-
-        float Wcap = Math.min(this.surfaceGradientWindow, G);
-        double W = (double) Wcap;
-        if (W == 0.0) {
-            int idx = (int) Math.round(s);
-            return MathHelper.clamp(idx, 0, G - 1);
-        }
-
-        double u01 = sampleGradientNoise01(bx, by, bz, noiseScale);
-        double u = (u01 * W) - (W * 0.5);
-        double sprime = s + u;
-
-        double a = -0.5;
-        double b = (double) G - 0.5;
-        double L = b - a;
-        double y = (sprime - a) % (2.0 * L);
-        if (y < 0) y += 2.0 * L;
-        double r = (y <= L) ? y : (2.0 * L - y);
-        double sref = a + r;
-
-        int idx = (int) Math.round(sref);
-        return MathHelper.clamp(idx, 0, G - 1);
-    }
-
-    public int sampleWallGradient(String[] slots, float window, int noiseScale, int moduleHeight, int relY, BlockPos pos) {
-        // Count non-empty gradient slots
-        int G = 0;
-        for (int i = 8; i >= 0; i--) {
-            if (slots[i] != null && !slots[i].isEmpty()) {
-                G = i + 1;
-                break;
-            }
-        }
+    public int sampleWallGradient(ninja.trek.mc.goldgolem.util.GradientPalette palette, float window, int noiseScale, int moduleHeight, int relY, BlockPos pos) {
+        int G = palette.length();
         if (G == 0) return -1;
 
         // Map Y position within module to gradient space [0, G-1]
@@ -3758,6 +3599,7 @@ public class GoldGolemEntity extends PathAwareEntity {
             return;
         }
         world.setBlockState(pos, place, 3);
+        GolemMetrics.blockPlaced(this);
         var st = inventory.getStack(invSlot);
         st.decrement(1);
         inventory.setStack(invSlot, st);
@@ -3795,6 +3637,7 @@ public class GoldGolemEntity extends PathAwareEntity {
             int moduleMinY = tpl.minY;
             int moduleMaxY = tpl.voxels.stream().mapToInt(v -> v.rel.getY()).max().orElse(moduleMinY);
             int moduleHeight = Math.max(1, moduleMaxY - moduleMinY + 1);
+            var groupPalettes = golem.getWallGroupPalettes();
 
             while (cursor < voxels.size() && ops < maxOps) {
                 var v = voxels.get(cursor++);
@@ -3808,19 +3651,17 @@ public class GoldGolemEntity extends PathAwareEntity {
 
                 // Apply gradient sampling for wall mode
                 BlockState stateToPlace = v.state;
-                String blockId = net.minecraft.registry.Registries.BLOCK.getId(v.state.getBlock()).toString();
-                Integer groupIdx = wallBlockGroup.get(blockId);
-                if (groupIdx != null && groupIdx >= 0 && groupIdx < wallGroupSlots.size()) {
-                    String[] slots = wallGroupSlots.get(groupIdx);
-                    float window = (groupIdx < wallGroupWindows.size()) ? wallGroupWindows.get(groupIdx) : 1.0f;
-                    int noiseScale = (groupIdx < wallGroupNoiseScales.size()) ? wallGroupNoiseScales.get(groupIdx) : 1;
+                int groupIdx = groupPalettes.groupOf(v.state.getBlock());
+                if (groupIdx >= 0) {
+                    var palette = groupPalettes.palette(groupIdx);
+                    float window = getWallGroupWindow(groupIdx);
+                    int noiseScale = getWallGroupNoiseScale(groupIdx);
                     // Calculate relative Y position within module (0 at bottom)
                     int relY = ry - moduleMinY;
-                    int sampledIndex = golem.sampleWallGradient(slots, window, noiseScale, moduleHeight, relY, new BlockPos(wx, wy, wz));
+                    int sampledIndex = golem.sampleWallGradient(palette, window, noiseScale, moduleHeight, relY, new BlockPos(wx, wy, wz));
                     if (sampledIndex >= 0 && sampledIndex < 9) {
-                        String sampledId = slots[sampledIndex];
-                        if (sampledId != null && !sampledId.isEmpty()) {
-                            BlockState sampledState = golem.getBlockStateFromId(sampledId);
+                        if (!palette.isEmpty(sampledIndex)) {
+                            BlockState sampledState = palette.state(sampledIndex);
                             if (sampledState != null) {
                                 stateToPlace = sampledState;
                             }
@@ -0,0 +1,235 @@
+package ninja.trek.mc.goldgolem.world.entity;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.ShulkerBoxBlock;
+import net.minecraft.component.DataComponentTypes;
+import net.minecraft.component.type.ContainerComponent;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.inventory.InventoryChangedListener;
+import net.minecraft.inventory.SimpleInventory;
+import net.minecraft.item.BlockItem;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Slot index over a golem's inventory: item and block to slot bitsets, the occupied slots,
+ * and the contents of every shulker box it carries.
+ * <p>
+ * The index listens to the inventory and rebuilds on the next query after any
+ * {@code markDirty}. Much of the golem code changes stack counts in place without marking
+ * the inventory dirty. Those edits never change which item a slot holds, so lookups only
+ * re-check the candidate slots (a slot emptied in place is dropped from its bitsets on the
+ * way). Counts are therefore read from the stacks rather than cached, except shulker
+ * contents, which only change through this class between rebuilds.
+ * <p>
+ * Taking a block out of a shulker box edits a mutable copy of its contents. The immutable
+ * {@link ContainerComponent} is written back once per tick by {@link #flushShulkers()} rather
+ * than once per block. Any inventory change also flushes first, so a box the player moves
+ * carries its up-to-date contents.
+ */
+public class GolemInventoryIndex implements InventoryChangedListener {
+    private final SimpleInventory inventory;
+
+    private boolean dirty = true;
+    private int version = 0;
+    private final BitSet occupied = new BitSet();
+    private final Reference2ObjectOpenHashMap<Item, BitSet> slotsByItem = new Reference2ObjectOpenHashMap<>();
+    private final Reference2ObjectOpenHashMap<Block, BitSet> slotsByBlock = new Reference2ObjectOpenHashMap<>();
+
+    // Shulker box slot -> mutable copy of its contents
+    private final Reference2ObjectOpenHashMap<ItemStack, List<ItemStack>> shulkerContents = new Reference2ObjectOpenHashMap<>();
+    private final List<ItemStack> shulkerStacks = new ArrayList<>();
+    private final Reference2IntOpenHashMap<Block> shulkerBlockCounts = new Reference2IntOpenHashMap<>();
+    private final List<ItemStack> pendingShulkerWrites = new ArrayList<>();
+
+    public GolemInventoryIndex(SimpleInventory inventory) {
+        this.inventory = inventory;
+        inventory.addListener(this);
+    }
+
+    @Override
+    public void onInventoryChanged(Inventory sender) {
+        flushShulkers();
+        dirty = true;
+        version++;
+    }
+
+    /**
+     * Bumped on every inventory change notification; cheap staleness check for caches.
+     */
+    public int version() {
+        return version;
+    }
+
+    // ==================== Lookups ====================
+
+    /**
+     * First slot holding the item, or -1.
+     */
+    public int firstSlot(Item item) {
+        ensureBuilt();
+        return firstValid(slotsByItem.get(item), stack -> stack.getItem() == item);
+    }
+
+    /**
+     * First slot holding a block item that places the block, or -1.
+     */
+    public int firstBlockSlot(Block block) {
+        ensureBuilt();
+        return firstValid(slotsByBlock.get(block),
+            stack -> stack.getItem() instanceof BlockItem bi && bi.getBlock() == block);
+    }
+
+    /**
+     * Number of items of the block in the inventory, including inside shulker boxes.
+     */
+    public int countBlock(Block block) {
+        ensureBuilt();
+        int total = shulkerBlockCounts.getInt(block);
+        BitSet slots = slotsByBlock.get(block);
+        if (slots != null) {
+            for (int i = slots.nextSetBit(0); i >= 0; i = slots.nextSetBit(i + 1)) {
+                total += inventory.getStack(i).getCount();
+            }
+        }
+        return total;
+    }
+
+    public int emptySlotCount() {
+        ensureBuilt();
+        int occupiedCount = 0;
+        for (int i = occupied.nextSetBit(0); i >= 0; i = occupied.nextSetBit(i + 1)) {
+            if (inventory.getStack(i).isEmpty()) {
+                occupied.clear(i);
+            } else {
+                occupiedCount++;
+            }
+        }
+        return inventory.size() - occupiedCount;
+    }
+
+    /**
+     * Whether any non-empty slot matches, visiting occupied slots only.
+     */
+    public boolean anyOccupied(Predicate<ItemStack> filter) {
+        ensureBuilt();
+        for (int i = occupied.nextSetBit(0); i >= 0; i = occupied.nextSetBit(i + 1)) {
+            ItemStack stack = inventory.getStack(i);
+            if (stack.isEmpty()) {
+                occupied.clear(i);
+            } else if (filter.test(stack)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ==================== Consumption ====================
+
+    /**
+     * Remove one item of the block from the inventory, falling back to shulker boxes.
+     */
+    public boolean consumeBlock(Block block) {
+        int slot = firstBlockSlot(block);
+        if (slot >= 0) {
+            inventory.getStack(slot).decrement(1);
+            return true;
+        }
+        return takeFromShulker(block);
+    }
+
+    private boolean takeFromShulker(Block block) {
+        if (shulkerBlockCounts.getInt(block) <= 0) return false;
+        for (ItemStack shulker : shulkerStacks) {
+            List<ItemStack> contents = shulkerContents.get(shulker);
+            for (int i = 0; i < contents.size(); i++) {
+                ItemStack stack = contents.get(i);
+                if (!stack.isEmpty() && stack.getItem() instanceof BlockItem bi && bi.getBlock() == block) {
+                    stack.decrement(1);
+                    shulkerBlockCounts.addTo(block, -1);
+                    if (!pendingShulkerWrites.contains(shulker)) {
+                        pendingShulkerWrites.add(shulker);
+                    }
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Write changed shulker contents back to their item components.
+     */
+    public void flushShulkers() {
+        if (pendingShulkerWrites.isEmpty()) return;
+        for (ItemStack shulker : pendingShulkerWrites) {
+            List<ItemStack> contents = shulkerContents.get(shulker);
+            if (contents != null) {
+                // fromStacks copies, so the mutable working list stays ours
+                shulker.set(DataComponentTypes.CONTAINER, ContainerComponent.fromStacks(contents));
+            }
+        }
+        pendingShulkerWrites.clear();
+    }
+
+    // ==================== Index maintenance ====================
+
+    private int firstValid(BitSet slots, Predicate<ItemStack> matches) {
+        if (slots == null) return -1;
+        for (int i = slots.nextSetBit(0); i >= 0; i = slots.nextSetBit(i + 1)) {
+            ItemStack stack = inventory.getStack(i);
+            if (!stack.isEmpty() && matches.test(stack)) {
+                return i;
+            }
+            slots.clear(i);
+        }
+        return -1;
+    }
+
+    private void ensureBuilt() {
+        if (!dirty) return;
+        dirty = false;
+        flushShulkers();
+        occupied.clear();
+        slotsByItem.clear();
+        slotsByBlock.clear();
+        shulkerContents.clear();
+        shulkerStacks.clear();
+        shulkerBlockCounts.clear();
+        pendingShulkerWrites.clear();
+
+        for (int i = 0; i < inventory.size(); i++) {
+            ItemStack stack = inventory.getStack(i);
+            if (stack.isEmpty()) continue;
+            occupied.set(i);
+            slotsByItem.computeIfAbsent(stack.getItem(), k -> new BitSet()).set(i);
+            if (stack.getItem() instanceof BlockItem bi) {
+                slotsByBlock.computeIfAbsent(bi.getBlock(), k -> new BitSet()).set(i);
+                if (bi.getBlock() instanceof ShulkerBoxBlock) {
+                    indexShulker(stack);
+                }
+            }
+        }
+    }
+
+    private void indexShulker(ItemStack shulker) {
+        ContainerComponent container = shulker.get(DataComponentTypes.CONTAINER);
+        if (container == null) return;
+        List<ItemStack> contents = new ArrayList<>();
+        container.stream().forEach(stack -> contents.add(stack.copy()));
+        shulkerContents.put(shulker, contents);
+        shulkerStacks.add(shulker);
+        for (ItemStack stack : contents) {
+            if (!stack.isEmpty() && stack.getItem() instanceof BlockItem bi) {
+                shulkerBlockCounts.addTo(bi.getBlock(), stack.getCount());
+            }
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package ninja.trek.mc.goldgolem.world.entity;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import ninja.trek.mc.goldgolem.BuildMode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-golem and per-mode performance counters.
+ * <p>
+ * Hot paths report strategy tick times, pathfinds, path cache lookups, stand searches,
+ * placements, mined blocks and teleports. Each report is attributed to the golem and to its
+ * current build mode. While metrics are off, every report returns after one static field
+ * read. Counters accumulate in a one-minute window. At the end of each window a
+ * {@link GolemStatsEvent} is committed per golem and per mode, and the window is folded into
+ * the running totals that {@code /goldgolem stats} shows.
+ * <p>
+ * Metrics are on when {@code metrics} is set in the config, when switched on by command, or
+ * while a JFR recording has the stats event enabled. Runs on the server thread only.
+ */
+public final class GolemMetrics {
+    static final int WINDOW_TICKS = 20 * 60;
+    // Golems not heard from for this long are dropped from the totals
+    private static final int STALE_TICKS = WINDOW_TICKS * 5;
+    // Tick time buckets: bucket 0 is below 16 µs, each next bucket doubles the upper bound
+    private static final int BUCKET_SHIFT = 14;
+    static final int HISTOGRAM_BUCKETS = 12;
+
+    /**
+     * Counters for one golem or one mode, over a window or since metrics were enabled.
+     */
+    public static final class Stats {
+        long ticks;
+        long skippedTicks;
+        long tickNanos;
+        long maxTickNanos;
+        final long[] histogram = new long[HISTOGRAM_BUCKETS];
+        long pathfinds;
+        long pathCacheHits;
+        long pathCacheLookups;
+        long standSearches;
+        long blocksPlaced;
+        long blocksMined;
+        long teleports;
+
+        void recordTick(long nanos) {
+            ticks++;
+            tickNanos += nanos;
+            maxTickNanos = Math.max(maxTickNanos, nanos);
+            histogram[bucket(nanos)]++;
+        }
+
+        void add(Stats other) {
+            ticks += other.ticks;
+            skippedTicks += other.skippedTicks;
+            tickNanos += other.tickNanos;
+            maxTickNanos = Math.max(maxTickNanos, other.maxTickNanos);
+            for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+                histogram[i] += other.histogram[i];
+            }
+            pathfinds += other.pathfinds;
+            pathCacheHits += other.pathCacheHits;
+            pathCacheLookups += other.pathCacheLookups;
+            standSearches += other.standSearches;
+            blocksPlaced += other.blocksPlaced;
+            blocksMined += other.blocksMined;
+            teleports += other.teleports;
+        }
+
+        void clear() {
+            ticks = skippedTicks = tickNanos = maxTickNanos = 0;
+            Arrays.fill(histogram, 0);
+            pathfinds = pathCacheHits = pathCacheLookups = standSearches = 0;
+            blocksPlaced = blocksMined = teleports = 0;
+        }
+
+        /**
+         * Upper bound of the histogram bucket holding the given percentile (0-1) of ticks,
+         * or {@link Long#MAX_VALUE} if it falls in the open-ended last bucket.
+         */
+        public long percentileNanos(double percentile) {
+            long rank = (long) Math.ceil(ticks * percentile);
+            long seen = 0;
+            for (int i = 0; i < HISTOGRAM_BUCKETS - 1; i++) {
+                seen += histogram[i];
+                if (seen >= rank) {
+                    return 1L << (BUCKET_SHIFT + i);
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+
+        public long ticks() { return ticks; }
+        public long skippedTicks() { return skippedTicks; }
+        public long tickNanos() { return tickNanos; }
+        public long maxTickNanos() { return maxTickNanos; }
+        public long pathfinds() { return pathfinds; }
+        public long pathCacheHits() { return pathCacheHits; }
+        public long pathCacheLookups() { return pathCacheLookups; }
+        public long standSearches() { return standSearches; }
+        public long blocksPlaced() { return blocksPlaced; }
+        public long blocksMined() { return blocksMined; }
+        public long teleports() { return teleports; }
+    }
+
+    /**
+     * Totals for one golem or mode as of now, with the ticks they cover.
+     */
+    public record Snapshot(String name, BuildMode mode, Stats stats, long coveredTicks) {}
+
+    private static final class GolemEntry {
+        String label;
+        BuildMode mode;
+        final long firstTick;
+        long lastTick;
+        final Stats window = new Stats();
+        final Stats total = new Stats();
+
+        GolemEntry(long firstTick) {
+            this.firstTick = firstTick;
+        }
+    }
+
+    private static final BuildMode[] MODES = BuildMode.values();
+    private static final Object2ObjectOpenHashMap<UUID, GolemEntry> golems = new Object2ObjectOpenHashMap<>();
+    private static final Stats[] modeWindows = newStats();
+    private static final Stats[] modeTotals = newStats();
+
+    private static boolean enabled = false;
+    private static boolean requested = false;
+    private static long tick = 0;
+    private static long enabledSinceTick = 0;
+
+    private GolemMetrics() {}
+
+    private static Stats[] newStats() {
+        Stats[] stats = new Stats[MODES.length];
+        for (int i = 0; i < stats.length; i++) {
+            stats[i] = new Stats();
+        }
+        return stats;
+    }
+
+    /**
+     * Count server ticks, close windows, and follow the config on server start.
+     */
+    public static void register() {
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> setRequested(GolemThroughput.config().metrics));
+        ServerTickEvents.END_SERVER_TICK.register(server -> endTick());
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            setRequested(false);
+            tick = 0;
+        });
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Switch metrics on or off. A running JFR recording of the stats event keeps them on.
+     */
+    public static void setRequested(boolean on) {
+        requested = on;
+        updateEnabled();
+    }
+
+    /**
+     * Drop all counters and start the totals over.
+     */
+    public static void reset() {
+        golems.clear();
+        for (int i = 0; i < MODES.length; i++) {
+            modeWindows[i].clear();
+            modeTotals[i].clear();
+        }
+        enabledSinceTick = tick;
+    }
+
+    private static void updateEnabled() {
+        boolean on = requested || new GolemStatsEvent().isEnabled();
+        if (on && !enabled) {
+            reset();
+        }
+        enabled = on;
+    }
+
+    private static void endTick() {
+        tick++;
+        if (tick % WINDOW_TICKS != 0) {
+            return;
+        }
+        if (enabled) {
+            closeWindow();
+        }
+        updateEnabled();
+    }
+
+    private static void closeWindow() {
+        Iterator<GolemEntry> it = golems.values().iterator();
+        while (it.hasNext()) {
+            GolemEntry entry = it.next();
+            if (entry.window.ticks > 0 || entry.window.skippedTicks > 0) {
+                commit("golem", entry.label, entry.mode, entry.window);
+            }
+            entry.total.add(entry.window);
+            entry.window.clear();
+            if (tick - entry.lastTick > STALE_TICKS) {
+                it.remove();
+            }
+        }
+        for (int i = 0; i < MODES.length; i++) {
+            Stats window = modeWindows[i];
+            if (window.ticks > 0 || window.skippedTicks > 0) {
+                commit("mode", "", MODES[i], window);
+            }
+            modeTotals[i].add(window);
+            window.clear();
+        }
+    }
+
+    private static void commit(String scope, String golem, BuildMode mode, Stats stats) {
+        GolemStatsEvent event = new GolemStatsEvent();
+        if (!event.shouldCommit()) {
+            return;
+        }
+        event.scope = scope;
+        event.golem = golem;
+        event.mode = mode.name();
+        event.ticks = stats.ticks;
+        event.skippedTicks = stats.skippedTicks;
+        event.tickNanos = stats.tickNanos;
+        event.p50TickNanos = stats.percentileNanos(0.5);
+        event.p99TickNanos = stats.percentileNanos(0.99);
+        event.maxTickNanos = stats.maxTickNanos;
+        event.pathfinds = stats.pathfinds;
+        event.pathCacheHits = stats.pathCacheHits;
+        event.pathCacheLookups = stats.pathCacheLookups;
+        event.standSearches = stats.standSearches;
+        event.blocksPlaced = stats.blocksPlaced;
+        event.blocksMined = stats.blocksMined;
+        event.teleports = stats.teleports;
+        event.commit();
+    }
+
+    private static int bucket(long nanos) {
+        int bucket = 64 - Long.numberOfLeadingZeros(nanos >>> BUCKET_SHIFT);
+        return Math.min(bucket, HISTOGRAM_BUCKETS - 1);
+    }
+
+    private static GolemEntry entry(GoldGolemEntity golem) {
+        GolemEntry entry = golems.get(golem.getUuid());
+        if (entry == null) {
+            entry = new GolemEntry(tick);
+            golems.put(golem.getUuid(), entry);
+        }
+        if (entry.lastTick != tick || entry.label == null) {
+            entry.lastTick = tick;
+            entry.label = golem.getName().getString();
+            entry.mode = golem.getBuildMode();
+        }
+        return entry;
+    }
+
+    private static Stats modeWindow(GolemEntry entry) {
+        return modeWindows[entry.mode.ordinal()];
+    }
+
+    // ==================== Recording ====================
+
+    public static void strategyTick(GoldGolemEntity golem, long nanos) {
+        if (!enabled) return;
+        GolemEntry entry = entry(golem);
+        entry.window.recordTick(nanos);
+        modeWindow(entry).recordTick(nanos);
+    }
+
+    public static void strategySkipped(GoldGolemEntity golem) {
+        if (!enabled) return;
+        GolemEntry entry = entry(golem);
+        entry.window.skippedTicks++;
+        modeWindow(entry).skippedTicks++;
+    }
+
+    public static void pathfind(GoldGolemEntity golem) {
+        if (!enabled) return;
+        GolemEntry entry = entry(golem);
+        entry.window.pathfinds++;
+        modeWindow(entry).pathfinds++;
+    }
+
+    public static void pathCacheLookup(GoldGolemEntity golem, boolean hit) {
+        if (!enabled) return;
+        GolemEntry entry = entry(golem);
+        Stats mode = modeWindow(entry);
+        entry.window.pathCacheLookups++;
+        mode.pathCacheLookups++;
+        if (hit) {
+            entry.window.pathCacheHits++;
+            mode.pathCacheHits++;
+        }
+    }
+
+    public static void standSearch(GoldGolemEntity golem) {
+        if (!enabled) return;
+        GolemEntry entry = entry(golem);
+        entry.window.standSearches++;
+        modeWindow(entry).standSearches++;
+    }
+
+    public static void blockPlaced(GoldGolemEntity golem) {
+        if (!enabled) return;
+        GolemEntry entry = entry(golem);
+        entry.window.blocksPlaced++;
+        modeWindow(entry).blocksPlaced++;
+    }
+
+    public static void blockMined(GoldGolemEntity golem) {
+        if (!enabled) return;
+        GolemEntry entry = entry(golem);
+        entry.window.blocksMined++;
+        modeWindow(entry).blocksMined++;
+    }
+
+    public static void teleport(GoldGolemEntity golem) {
+        if (!enabled) return;
+        GolemEntry entry = entry(golem);
+        entry.window.teleports++;
+        modeWindow(entry).teleports++;
+    }
+
+    // ==================== Readout ====================
+
+    /**
+     * Totals per build mode that saw any work, in mode order.
+     */
+    public static List<Snapshot> modeSnapshots() {
+        List<Snapshot> out = new ArrayList<>();
+        for (int i = 0; i < MODES.length; i++) {
+            Stats stats = new Stats();
+            stats.add(modeTotals[i]);
+            stats.add(modeWindows[i]);
+            if (stats.ticks > 0 || stats.skippedTicks > 0) {
+                out.add(new Snapshot(MODES[i].name(), MODES[i], stats, tick - enabledSinceTick));
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Totals per golem, most strategy time first.
+     */
+    public static List<Snapshot> golemSnapshots() {
+        List<Snapshot> out = new ArrayList<>(golems.size());
+        for (GolemEntry entry : golems.values()) {
+            Stats stats = new Stats();
+            stats.add(entry.total);
+            stats.add(entry.window);
+            out.add(new Snapshot(entry.label, entry.mode, stats, tick - Math.max(entry.firstTick, enabledSinceTick)));
+        }
+        out.sort(Comparator.comparingLong((Snapshot s) -> s.stats().tickNanos).reversed());
+        return out;
+    }
+}
@@ -0,0 +1,70 @@
+package ninja.trek.mc.goldgolem.world.entity;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * One minute of golem work, committed by {@link GolemMetrics} per golem and per build mode.
+ */
+@Name("ninja.trek.goldgolem.GolemStats")
+@Label("Gold Golem Stats")
+@Category("Gold Golem")
+@Description("Strategy tick time and build activity over the last metrics window")
+class GolemStatsEvent extends Event {
+    @Label("Scope")
+    @Description("\"golem\" for a single golem, \"mode\" for all golems in a build mode")
+    String scope;
+
+    @Label("Golem")
+    String golem;
+
+    @Label("Mode")
+    String mode;
+
+    @Label("Strategy Ticks")
+    long ticks;
+
+    @Label("Skipped Ticks")
+    long skippedTicks;
+
+    @Label("Strategy Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long tickNanos;
+
+    @Label("Median Tick")
+    @Timespan(Timespan.NANOSECONDS)
+    long p50TickNanos;
+
+    @Label("99th Percentile Tick")
+    @Timespan(Timespan.NANOSECONDS)
+    long p99TickNanos;
+
+    @Label("Longest Tick")
+    @Timespan(Timespan.NANOSECONDS)
+    long maxTickNanos;
+
+    @Label("Pathfinds")
+    long pathfinds;
+
+    @Label("Path Cache Hits")
+    long pathCacheHits;
+
+    @Label("Path Cache Lookups")
+    long pathCacheLookups;
+
+    @Label("Stand Searches")
+    long standSearches;
+
+    @Label("Blocks Placed")
+    long blocksPlaced;
+
+    @Label("Blocks Mined")
+    long blocksMined;
+
+    @Label("Teleports")
+    long teleports;
+}
@@ -0,0 +1,219 @@
+package ninja.trek.mc.goldgolem.world.entity;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.loader.api.FabricLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Scales golem pacing to server load.
+ * <p>
+ * The controller times every server tick and, once per sample window, compares the average
+ * against two MSPT thresholds. Above the upper one the throughput scale drops
+ * multiplicatively; below the lower one it climbs back additively. Between the two nothing
+ * changes, and a move needs several windows in a row past a threshold, so the scale does not
+ * flap around a single busy tick. Pacing values (placement interval, WFC steps and time,
+ * pathfinds, path cache lifetime, mining swing interval, the shared scheduler budget) are
+ * derived from their defaults and the current scale.
+ * <p>
+ * Settings live in {@code config/gold-golem.json}, written with defaults on first start and
+ * reloaded by {@link #reload()}. Without a server (simulation, benchmarks) the scale stays
+ * at 1 and every value is its default.
+ */
+public final class GolemThroughput {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GolemThroughput.class);
+    private static final String CONFIG_FILE = "gold-golem.json";
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    // Defaults the scale is applied to
+    private static final int BASE_PLACEMENT_INTERVAL = 2;
+    private static final int BASE_WFC_STEPS = 4096;
+    private static final long BASE_WFC_NANOS = 2_000_000L;
+    private static final int BASE_PATHFINDS = 4;
+    private static final int BASE_PATH_CACHE_TTL = 60;
+    private static final int BASE_MINING_SWING_INTERVAL = 5;
+
+    /**
+     * Settings as stored on disk. Missing fields keep these defaults.
+     */
+    public static final class Config {
+        public boolean adaptive = true;
+        public int sampleTicks = 20;
+        public double raiseBelowMspt = 30.0;
+        public double lowerAboveMspt = 45.0;
+        public int raiseAfterSamples = 3;
+        public int lowerAfterSamples = 1;
+        public double raiseStep = 0.1;
+        public double lowerFactor = 0.75;
+        public double minScale = 0.25;
+        public double maxScale = 2.0;
+        public double schedulerBudgetMillis = 2.0;
+        // Collect golem performance counters, see GolemMetrics
+        public boolean metrics = false;
+
+        private Config sanitized() {
+            sampleTicks = Math.max(1, sampleTicks);
+            raiseAfterSamples = Math.max(1, raiseAfterSamples);
+            lowerAfterSamples = Math.max(1, lowerAfterSamples);
+            minScale = Math.max(0.05, minScale);
+            maxScale = Math.max(minScale, maxScale);
+            lowerFactor = Math.clamp(lowerFactor, 0.05, 1.0);
+            raiseStep = Math.max(0.0, raiseStep);
+            if (lowerAboveMspt < raiseBelowMspt) {
+                lowerAboveMspt = raiseBelowMspt;
+            }
+            schedulerBudgetMillis = Math.max(0.0, schedulerBudgetMillis);
+            return this;
+        }
+    }
+
+    private static Config config = new Config();
+    private static double scale = 1.0;
+    private static double lastMspt = 0.0;
+    private static long tickStart = 0;
+    private static long windowNanos = 0;
+    private static int windowTicks = 0;
+    private static int overSamples = 0;
+    private static int underSamples = 0;
+
+    private GolemThroughput() {}
+
+    /**
+     * Load the config and time every server tick.
+     */
+    public static void register() {
+        reload();
+        ServerTickEvents.START_SERVER_TICK.register(server -> tickStart = System.nanoTime());
+        ServerTickEvents.END_SERVER_TICK.register(server -> endTick());
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> reset());
+    }
+
+    /**
+     * Re-read the config file, writing defaults if it is missing. A malformed file is
+     * reported and the defaults are used. The scale is kept, clamped to the new bounds.
+     */
+    public static void reload() {
+        Path path = FabricLoader.getInstance().getConfigDir().resolve(CONFIG_FILE);
+        Config loaded = null;
+        if (Files.isRegularFile(path)) {
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                loaded = GSON.fromJson(reader, Config.class);
+            } catch (IOException | JsonParseException e) {
+                LOGGER.warn("Failed to read {}, using defaults", path, e);
+            }
+        } else {
+            try {
+                Files.createDirectories(path.getParent());
+                Files.writeString(path, GSON.toJson(new Config()), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                LOGGER.warn("Failed to write default {}", path, e);
+            }
+        }
+        config = (loaded != null ? loaded : new Config()).sanitized();
+        scale = config.adaptive ? Math.clamp(scale, config.minScale, config.maxScale) : 1.0;
+        overSamples = 0;
+        underSamples = 0;
+    }
+
+    private static void endTick() {
+        windowNanos += System.nanoTime() - tickStart;
+        if (++windowTicks < config.sampleTicks) {
+            return;
+        }
+        lastMspt = windowNanos / (double) windowTicks / 1_000_000.0;
+        windowNanos = 0;
+        windowTicks = 0;
+        if (!config.adaptive) {
+            return;
+        }
+
+        if (lastMspt > config.lowerAboveMspt) {
+            underSamples = 0;
+            if (++overSamples >= config.lowerAfterSamples) {
+                overSamples = 0;
+                scale = Math.max(config.minScale, scale * config.lowerFactor);
+            }
+        } else if (lastMspt < config.raiseBelowMspt) {
+            overSamples = 0;
+            if (++underSamples >= config.raiseAfterSamples) {
+                underSamples = 0;
+                scale = Math.min(config.maxScale, scale + config.raiseStep);
+            }
+        } else {
+            // Dead band between the thresholds
+            overSamples = 0;
+            underSamples = 0;
+        }
+    }
+
+    private static void reset() {
+        scale = 1.0;
+        lastMspt = 0.0;
+        windowNanos = 0;
+        windowTicks = 0;
+        overSamples = 0;
+        underSamples = 0;
+    }
+
+    public static double scale() {
+        return scale;
+    }
+
+    /**
+     * Average tick time over the last completed sample window, in milliseconds.
+     */
+    public static double lastMspt() {
+        return lastMspt;
+    }
+
+    public static Config config() {
+        return config;
+    }
+
+    /**
+     * Ticks between single-block placements (2 at scale 1).
+     */
+    public static int placementInterval() {
+        return Math.max(1, (int) Math.round(BASE_PLACEMENT_INTERVAL / scale));
+    }
+
+    public static int wfcStepsPerTick() {
+        return Math.max(64, (int) (BASE_WFC_STEPS * scale));
+    }
+
+    public static long wfcTickBudgetNanos() {
+        return (long) (BASE_WFC_NANOS * scale);
+    }
+
+    public static int pathfindsPerTick() {
+        return Math.max(1, (int) Math.round(BASE_PATHFINDS * scale));
+    }
+
+    /**
+     * Lifetime of cached reachability checks; a loaded server keeps them longer.
+     */
+    public static int pathCacheTtlTicks() {
+        return Math.clamp(Math.round(BASE_PATH_CACHE_TTL / scale), BASE_PATH_CACHE_TTL / 2, BASE_PATH_CACHE_TTL * 4);
+    }
+
+    public static int miningSwingInterval() {
+        return Math.max(2, (int) Math.round(BASE_MINING_SWING_INTERVAL / scale));
+    }
+
+    /**
+     * Per-tick budget shared by all golem strategies, see {@link GolemTickScheduler}.
+     */
+    public static long schedulerBudgetNanos() {
+        return (long) (config.schedulerBudgetMillis * 1_000_000.0 * scale);
+    }
+}
@@ -0,0 +1,150 @@
+package ninja.trek.mc.goldgolem.world.entity;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Shares one per-tick time budget between the build strategies of every golem on the server.
+ * <p>
+ * Golems ask for a slot with {@link #acquire} before running their strategy and report the
+ * time they took with {@link #release}. At the start of each server tick the scheduler plans
+ * which golems run: golems that have been skipped too often come first, then golems near a
+ * player, then the rest in round-robin order (longest-waiting first). Player proximity is
+ * looked up once per golem while planning. Golems are granted
+ * while their recent average cost still fits in the budget. Golems that miss out keep moving
+ * and animating; only their strategy work waits, so the tick never stalls on them.
+ * <p>
+ * Budget left over at the end of a tick carries into the next one, and an overrun is paid
+ * back the same way; both are capped at one tick's budget. The budget itself follows server
+ * load through {@link GolemThroughput}. Runs on the server thread only.
+ */
+public final class GolemTickScheduler {
+    // A golem skipped this many ticks in a row runs regardless of the budget
+    private static final int MAX_SKIPPED_TICKS = 10;
+    private static final double PRIORITY_PLAYER_RANGE = 48.0;
+    // Weight of the newest sample in a golem's cost average
+    private static final double COST_SMOOTHING = 0.25;
+    // Slots whose golem has not asked for this many ticks are dropped
+    private static final int STALE_TICKS = 40;
+
+    private static final class Slot {
+        long lastRequestTick;
+        int skippedTicks;
+        double averageNanos;
+        boolean nearPlayer;
+        boolean granted;
+    }
+
+    private static final Comparator<Slot> PLAN_ORDER = Comparator
+            .comparing((Slot slot) -> slot.skippedTicks < MAX_SKIPPED_TICKS)
+            .thenComparing(slot -> !slot.nearPlayer)
+            .thenComparing(slot -> -slot.skippedTicks);
+
+    private static final Reference2ObjectOpenHashMap<GoldGolemEntity, Slot> slots = new Reference2ObjectOpenHashMap<>();
+    private static final List<Slot> planScratch = new ArrayList<>();
+    private static long tick = 0;
+    private static long carryNanos = 0;
+    private static long baseBudgetNanos = 0;
+    private static long tickBudgetNanos = 0;
+    private static long plannedNanos = 0;
+    private static long spentNanos = 0;
+
+    private GolemTickScheduler() {}
+
+    /**
+     * Plan each server tick at its start and settle the budget at its end.
+     */
+    public static void register() {
+        ServerTickEvents.START_SERVER_TICK.register(server -> beginTick());
+        ServerTickEvents.END_SERVER_TICK.register(server -> endTick());
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> reset());
+    }
+
+    /**
+     * Whether the golem may run its strategy this tick. Registers the golem on first use; a
+     * golem the plan has not seen yet runs if the planned work left room.
+     */
+    static boolean acquire(GoldGolemEntity golem) {
+        Slot slot = slots.get(golem);
+        if (slot == null) {
+            slot = new Slot();
+            slots.put(golem, slot);
+            slot.granted = plannedNanos < tickBudgetNanos;
+        }
+        slot.lastRequestTick = tick;
+        if (!slot.granted) {
+            slot.skippedTicks++;
+            return false;
+        }
+        slot.skippedTicks = 0;
+        return true;
+    }
+
+    /**
+     * Record the time a granted golem's strategy took.
+     */
+    static void release(GoldGolemEntity golem, long elapsed) {
+        spentNanos += elapsed;
+        Slot slot = slots.get(golem);
+        if (slot != null) {
+            slot.averageNanos += (elapsed - slot.averageNanos) * COST_SMOOTHING;
+            slot.granted = false;
+        }
+    }
+
+    private static void beginTick() {
+        tick++;
+        baseBudgetNanos = GolemThroughput.schedulerBudgetNanos();
+        tickBudgetNanos = baseBudgetNanos + carryNanos;
+        spentNanos = 0;
+        plannedNanos = 0;
+
+        planScratch.clear();
+        Iterator<Reference2ObjectMap.Entry<GoldGolemEntity, Slot>> it = slots.reference2ObjectEntrySet().fastIterator();
+        while (it.hasNext()) {
+            Reference2ObjectMap.Entry<GoldGolemEntity, Slot> entry = it.next();
+            GoldGolemEntity golem = entry.getKey();
+            Slot slot = entry.getValue();
+            if (tick - slot.lastRequestTick > STALE_TICKS || golem.isRemoved()) {
+                it.remove();
+                continue;
+            }
+            slot.granted = false;
+            slot.nearPlayer = golem.getEntityWorld().getClosestPlayer(golem, PRIORITY_PLAYER_RANGE) != null;
+            planScratch.add(slot);
+        }
+        planScratch.sort(PLAN_ORDER);
+
+        for (Slot slot : planScratch) {
+            boolean starving = slot.skippedTicks >= MAX_SKIPPED_TICKS;
+            long cost = (long) slot.averageNanos;
+            // The first golem always runs, so a tiny budget still makes progress
+            if (starving || plannedNanos == 0 || plannedNanos + cost <= tickBudgetNanos) {
+                slot.granted = true;
+                plannedNanos += cost;
+            }
+        }
+        planScratch.clear();
+    }
+
+    private static void endTick() {
+        carryNanos = Math.max(-baseBudgetNanos, Math.min(baseBudgetNanos, tickBudgetNanos - spentNanos));
+    }
+
+    private static void reset() {
+        slots.clear();
+        tick = 0;
+        carryNanos = 0;
+        baseBudgetNanos = 0;
+        tickBudgetNanos = 0;
+        plannedNanos = 0;
+        spentNanos = 0;
+    }
+}
@@ -0,0 +1,439 @@
+package ninja.trek.mc.goldgolem.world.entity;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtHelper;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.registry.Registries;
+import net.minecraft.state.property.Property;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import ninja.trek.mc.goldgolem.BuildMode;
+import ninja.trek.mc.goldgolem.tower.TowerModuleTemplate;
+import ninja.trek.mc.goldgolem.wall.WallModuleTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Binary golem snapshot format ({@value #EXTENSION}), replacing the JSON files for new saves.
+ * <p>
+ * Layout inside a gzip stream: magic, format version, {@code savedAt}, golem name and mode
+ * first (so the name index can stop reading there), then the golem NBT in binary, then the
+ * wall templates, the tower template and the tree modules. Each voxel group starts with its
+ * own block-state palette, followed by one entry per voxel: the zigzag-varint delta of its
+ * relative position from the previous voxel and a varint palette index. Everything decodes
+ * straight off the stream without building an intermediate tree.
+ * <p>
+ * Blocks that are not registered (a mod removed since the save) decode to a null palette
+ * entry and their voxels are dropped, as in the legacy JSON reader; only structurally broken
+ * data is an {@link IOException}.
+ */
+final class SnapshotCodec {
+    static final String EXTENSION = ".ggsnap";
+    private static final String LEGACY_EXTENSION = ".json";
+    private static final int MAGIC = 0x4747534E; // "GGSN"
+    private static final int FORMAT_VERSION = 1;
+
+    record Header(String golemName, String mode, long savedAt) {}
+
+    private SnapshotCodec() {}
+
+    static boolean isBinary(Path path) {
+        return path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(EXTENSION);
+    }
+
+    /**
+     * Whether the file is a snapshot in either format, by name.
+     */
+    static boolean isSnapshotFile(Path path) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(EXTENSION) || name.endsWith(LEGACY_EXTENSION);
+    }
+
+    /**
+     * File name without its snapshot extension, for display and pumpkin names.
+     */
+    static String stripExtension(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(EXTENSION)) return fileName.substring(0, fileName.length() - EXTENSION.length());
+        if (lower.endsWith(LEGACY_EXTENSION)) return fileName.substring(0, fileName.length() - LEGACY_EXTENSION.length());
+        return fileName;
+    }
+
+    // ==================== Encoding ====================
+
+    static byte[] encode(GoldGolemEntity.SnapshotData data, String golemName, String mode, long savedAt) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(bytes)))) {
+            out.writeInt(MAGIC);
+            writeVarInt(out, FORMAT_VERSION);
+            out.writeLong(savedAt);
+            out.writeUTF(golemName == null ? "" : golemName);
+            out.writeUTF(mode);
+            NbtIo.write(data.nbt(), out);
+
+            writeVarInt(out, data.wallTemplates().size());
+            for (WallModuleTemplate tpl : data.wallTemplates()) {
+                writePos(out, tpl.aMarker);
+                writePos(out, tpl.bMarker);
+                writeZigZag(out, tpl.minY);
+                writeVoxels(out, tpl.voxels, v -> v.rel, v -> v.state);
+            }
+
+            TowerModuleTemplate tower = data.towerTemplate();
+            out.writeBoolean(tower != null);
+            if (tower != null) {
+                writeZigZag(out, tower.minY);
+                writeZigZag(out, tower.maxY);
+                writeVoxels(out, tower.voxels, v -> v.rel, v -> v.state);
+            }
+
+            writeVarInt(out, data.treeModuleStates().size());
+            for (Map<BlockPos, BlockState> module : data.treeModuleStates()) {
+                writeVoxels(out, module.entrySet(), Map.Entry::getKey, Map.Entry::getValue);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static <T> void writeVoxels(DataOutputStream out, Collection<T> voxels,
+                                        Function<T, BlockPos> relOf, Function<T, BlockState> stateOf) throws IOException {
+        Reference2IntOpenHashMap<BlockState> paletteIndex = new Reference2IntOpenHashMap<>();
+        paletteIndex.defaultReturnValue(-1);
+        List<BlockState> palette = new ArrayList<>();
+        for (T voxel : voxels) {
+            BlockState state = stateOf.apply(voxel);
+            if (paletteIndex.putIfAbsent(state, palette.size()) == -1) {
+                palette.add(state);
+            }
+        }
+        writeVarInt(out, palette.size());
+        for (BlockState state : palette) {
+            writeState(out, state);
+        }
+
+        writeVarInt(out, voxels.size());
+        int px = 0, py = 0, pz = 0;
+        for (T voxel : voxels) {
+            BlockPos rel = relOf.apply(voxel);
+            writeZigZag(out, rel.getX() - px);
+            writeZigZag(out, rel.getY() - py);
+            writeZigZag(out, rel.getZ() - pz);
+            writeVarInt(out, paletteIndex.getInt(stateOf.apply(voxel)));
+            px = rel.getX();
+            py = rel.getY();
+            pz = rel.getZ();
+        }
+    }
+
+    private static void writeState(DataOutputStream out, BlockState state) throws IOException {
+        out.writeUTF(Registries.BLOCK.getId(state.getBlock()).toString());
+        var properties = state.getProperties();
+        writeVarInt(out, properties.size());
+        for (Property<?> prop : properties) {
+            @SuppressWarnings({"rawtypes", "unchecked"})
+            Property raw = (Property) prop;
+            out.writeUTF(prop.getName());
+            out.writeUTF(raw.name(state.get(prop)));
+        }
+    }
+
+    private static void writePos(DataOutputStream out, BlockPos pos) throws IOException {
+        writeZigZag(out, pos.getX());
+        writeZigZag(out, pos.getY());
+        writeZigZag(out, pos.getZ());
+    }
+
+    private static void writeZigZag(DataOutputStream out, int value) throws IOException {
+        writeVarInt(out, (value << 1) ^ (value >> 31));
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    // ==================== Decoding ====================
+
+    /**
+     * Read only the header, or null if the file is not a snapshot in this format.
+     */
+    static Header readHeader(Path path) throws IOException {
+        try (DataInputStream in = open(path)) {
+            return readHeader(in);
+        }
+    }
+
+    static GoldGolemEntity.SnapshotData read(Path path) throws IOException {
+        try (DataInputStream in = open(path)) {
+            return read(in);
+        }
+    }
+
+    /**
+     * Decode a snapshot from the bytes {@link #encode} produced.
+     */
+    static GoldGolemEntity.SnapshotData read(byte[] encoded) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new ByteArrayInputStream(encoded))))) {
+            return read(in);
+        }
+    }
+
+    private static GoldGolemEntity.SnapshotData read(DataInputStream in) throws IOException {
+        if (readHeader(in) == null) return null;
+        NbtCompound nbt = NbtIo.readCompound(in);
+
+        int wallCount = readVarInt(in);
+        List<WallModuleTemplate> walls = new ArrayList<>(wallCount);
+        for (int i = 0; i < wallCount; i++) {
+            BlockPos a = readPos(in);
+            BlockPos b = readPos(in);
+            int minY = readZigZag(in);
+            List<WallModuleTemplate.Voxel> voxels = new ArrayList<>();
+            readVoxels(in, (rel, state) -> voxels.add(new WallModuleTemplate.Voxel(rel, state)));
+            walls.add(new WallModuleTemplate(a, b, voxels, minY));
+        }
+
+        TowerModuleTemplate tower = null;
+        if (in.readBoolean()) {
+            int minY = readZigZag(in);
+            int maxY = readZigZag(in);
+            List<TowerModuleTemplate.Voxel> voxels = new ArrayList<>();
+            readVoxels(in, (rel, state) -> voxels.add(new TowerModuleTemplate.Voxel(rel, state)));
+            tower = new TowerModuleTemplate(voxels, minY, maxY);
+        }
+
+        int treeCount = readVarInt(in);
+        List<Map<BlockPos, BlockState>> trees = new ArrayList<>(treeCount);
+        for (int i = 0; i < treeCount; i++) {
+            Map<BlockPos, BlockState> module = new HashMap<>();
+            readVoxels(in, module::put);
+            trees.add(module);
+        }
+
+        return new GoldGolemEntity.SnapshotData(nbt, walls, tower, trees);
+    }
+
+    private interface VoxelSink {
+        void accept(BlockPos rel, BlockState state);
+    }
+
+    private static DataInputStream open(Path path) throws IOException {
+        InputStream raw = Files.newInputStream(path);
+        try {
+            return new DataInputStream(new BufferedInputStream(new GZIPInputStream(raw)));
+        } catch (IOException e) {
+            raw.close();
+            throw e;
+        }
+    }
+
+    private static Header readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) return null;
+        int version = readVarInt(in);
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot format version " + version);
+        }
+        long savedAt = in.readLong();
+        String golemName = in.readUTF();
+        String mode = in.readUTF();
+        try {
+            BuildMode.valueOf(mode);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unknown build mode " + mode);
+        }
+        return new Header(golemName, mode, savedAt);
+    }
+
+    private static void readVoxels(DataInputStream in, VoxelSink sink) throws IOException {
+        int paletteSize = readVarInt(in);
+        BlockState[] palette = new BlockState[paletteSize];
+        for (int i = 0; i < paletteSize; i++) {
+            palette[i] = readState(in);
+        }
+        int count = readVarInt(in);
+        int x = 0, y = 0, z = 0;
+        for (int i = 0; i < count; i++) {
+            x += readZigZag(in);
+            y += readZigZag(in);
+            z += readZigZag(in);
+            int index = readVarInt(in);
+            if (index < 0 || index >= paletteSize) {
+                throw new IOException("Palette index " + index + " out of range");
+            }
+            if (palette[index] != null) {
+                sink.accept(new BlockPos(x, y, z), palette[index]);
+            }
+        }
+    }
+
+    /**
+     * Block state of a palette entry, or null if its block is not registered. The entry is
+     * read in full either way so the stream stays aligned.
+     */
+    private static BlockState readState(DataInputStream in) throws IOException {
+        String blockId = in.readUTF();
+        Block block = lookupBlock(blockId);
+        BlockState state = block == null ? null : block.getDefaultState();
+        int propertyCount = readVarInt(in);
+        for (int i = 0; i < propertyCount; i++) {
+            String name = in.readUTF();
+            String value = in.readUTF();
+            if (state != null) {
+                state = withProperty(state, name, value);
+            }
+        }
+        return state;
+    }
+
+    private static Block lookupBlock(String blockId) {
+        if (blockId == null || blockId.isEmpty()) return null;
+        Identifier id = Identifier.tryParse(blockId);
+        if (id == null || !Registries.BLOCK.containsId(id)) return null;
+        return Registries.BLOCK.get(id);
+    }
+
+    private static BlockState withProperty(BlockState state, String name, String value) {
+        Property<?> prop = state.getBlock().getStateManager().getProperty(name);
+        if (prop == null) return state;
+        @SuppressWarnings({"rawtypes", "unchecked"})
+        Property raw = (Property) prop;
+        Optional parsed = raw.parse(value);
+        if (parsed.isPresent()) {
+            state = (BlockState) state.with(raw, (Comparable) parsed.get());
+        }
+        return state;
+    }
+
+    private static BlockPos readPos(DataInputStream in) throws IOException {
+        return new BlockPos(readZigZag(in), readZigZag(in), readZigZag(in));
+    }
+
+    private static int readZigZag(DataInputStream in) throws IOException {
+        int raw = readVarInt(in);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("VarInt too long");
+    }
+
+    // ==================== Legacy JSON ====================
+
+    /**
+     * Read a snapshot written as JSON before the binary format, or null if it has no golem NBT.
+     */
+    static GoldGolemEntity.SnapshotData readLegacy(Path path) throws IOException {
+        JsonElement parsed = JsonParser.parseString(Files.readString(path));
+        if (!parsed.isJsonObject()) return null;
+        JsonObject root = parsed.getAsJsonObject();
+        String nbtStr = root.has("nbt") ? root.get("nbt").getAsString() : "";
+        if (nbtStr.isEmpty()) return null;
+        NbtCompound nbt;
+        try {
+            nbt = NbtHelper.fromNbtProviderString(nbtStr);
+        } catch (Exception e) {
+            return null;
+        }
+
+        List<WallModuleTemplate> walls = new ArrayList<>();
+        if (root.has("wallTemplates") && root.get("wallTemplates").isJsonArray()) {
+            for (JsonElement el : root.getAsJsonArray("wallTemplates")) {
+                if (!el.isJsonObject()) continue;
+                JsonObject t = el.getAsJsonObject();
+                BlockPos a = legacyPos(t.getAsJsonArray("a"));
+                BlockPos b = legacyPos(t.getAsJsonArray("b"));
+                int minY = t.has("minY") ? t.get("minY").getAsInt() : 0;
+                List<WallModuleTemplate.Voxel> voxels = new ArrayList<>();
+                readLegacyVoxels(t.get("voxels"), (rel, state) -> voxels.add(new WallModuleTemplate.Voxel(rel, state)));
+                walls.add(new WallModuleTemplate(a, b, voxels, minY));
+            }
+        }
+
+        TowerModuleTemplate tower = null;
+        if (root.has("towerTemplate") && root.get("towerTemplate").isJsonObject()) {
+            JsonObject t = root.getAsJsonObject("towerTemplate");
+            int minY = t.has("minY") ? t.get("minY").getAsInt() : 0;
+            int maxY = t.has("maxY") ? t.get("maxY").getAsInt() : 0;
+            List<TowerModuleTemplate.Voxel> voxels = new ArrayList<>();
+            readLegacyVoxels(t.get("voxels"), (rel, state) -> voxels.add(new TowerModuleTemplate.Voxel(rel, state)));
+            tower = new TowerModuleTemplate(voxels, minY, maxY);
+        }
+
+        List<Map<BlockPos, BlockState>> trees = new ArrayList<>();
+        if (root.has("treeModuleStates") && root.get("treeModuleStates").isJsonArray()) {
+            for (JsonElement moduleEl : root.getAsJsonArray("treeModuleStates")) {
+                if (!moduleEl.isJsonArray()) continue;
+                Map<BlockPos, BlockState> module = new HashMap<>();
+                readLegacyVoxels(moduleEl, module::put);
+                trees.add(module);
+            }
+        }
+
+        return new GoldGolemEntity.SnapshotData(nbt, walls, tower, trees);
+    }
+
+    private static void readLegacyVoxels(JsonElement voxels, VoxelSink sink) {
+        if (voxels == null || !voxels.isJsonArray()) return;
+        for (JsonElement ve : voxels.getAsJsonArray()) {
+            if (!ve.isJsonObject()) continue;
+            JsonObject vj = ve.getAsJsonObject();
+            BlockState state = legacyState(vj.getAsJsonObject("state"));
+            if (state != null) {
+                sink.accept(legacyPos(vj.getAsJsonArray("rel")), state);
+            }
+        }
+    }
+
+    private static BlockState legacyState(JsonObject obj) {
+        if (obj == null) return null;
+        Block block = lookupBlock(obj.has("id") ? obj.get("id").getAsString() : "");
+        if (block == null) return null;
+        BlockState state = block.getDefaultState();
+        if (obj.has("props") && obj.get("props").isJsonObject()) {
+            for (var entry : obj.getAsJsonObject("props").entrySet()) {
+                state = withProperty(state, entry.getKey(), entry.getValue().getAsString());
+            }
+        }
+        return state;
+    }
+
+    private static BlockPos legacyPos(JsonArray arr) {
+        if (arr == null || arr.size() < 3) return BlockPos.ORIGIN;
+        return new BlockPos(arr.get(0).getAsInt(), arr.get(1).getAsInt(), arr.get(2).getAsInt());
+    }
+}
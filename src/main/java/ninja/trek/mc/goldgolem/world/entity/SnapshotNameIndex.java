@@ -0,0 +1,213 @@
+package ninja.trek.mc.goldgolem.world.entity;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * On-disk index of saved golem snapshots: sanitized golem name to the newest file saved
+ * under it.
+ * <p>
+ * Summoning looks names up here instead of parsing every snapshot. The index lives in a
+ * subfolder so that writing it does not touch the snapshot folder's modification time.
+ * That time is stored with the index, and a mismatch (files added or removed outside the
+ * game) triggers a rebuild. Everything else the mod writes (golem counters, scanner
+ * exports) goes into subfolders too, so only snapshot writes move the stamp. A rebuild reads only the {@code savedAt} and {@code golemName}
+ * header of each file (binary or legacy JSON), never the embedded NBT.
+ */
+final class SnapshotNameIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SnapshotNameIndex.class);
+    private static final String INDEX_FOLDER = "index";
+    private static final String INDEX_FILE = "names.json";
+    private static final int INDEX_VERSION = 1;
+
+    private record Entry(String file, long savedAt) {}
+
+    private static final Object LOCK = new Object();
+    private static Map<String, Entry> entries = null;
+    private static long folderStamp = Long.MIN_VALUE;
+
+    private SnapshotNameIndex() {}
+
+    /**
+     * Newest snapshot saved under a sanitized name, or null.
+     */
+    static Path find(Path folder, String baseName) {
+        synchronized (LOCK) {
+            ensureLoaded(folder);
+            Path path = resolve(folder, entries.get(baseName));
+            if (path == null && entries.containsKey(baseName)) {
+                // File vanished under an unchanged folder stamp; rescan once
+                rebuild(folder);
+                path = resolve(folder, entries.get(baseName));
+            }
+            return path;
+        }
+    }
+
+    /**
+     * Record a snapshot the game just wrote.
+     */
+    static void recordWrite(Path folder, Path file, String golemName, long savedAt) {
+        synchronized (LOCK) {
+            // The new file has already moved the folder stamp, so only load if nothing is cached
+            if (entries == null) {
+                ensureLoaded(folder);
+            }
+            String key = GoldGolemEntity.sanitizeJsonBaseName(golemName);
+            Entry current = entries.get(key);
+            if (current == null || savedAt >= current.savedAt()) {
+                entries.put(key, new Entry(file.getFileName().toString(), savedAt));
+            }
+            folderStamp = stamp(folder);
+            save(folder);
+        }
+    }
+
+    private static Path resolve(Path folder, Entry entry) {
+        if (entry == null) return null;
+        Path path = folder.resolve(entry.file());
+        return Files.exists(path) ? path : null;
+    }
+
+    private static void ensureLoaded(Path folder) {
+        long stamp = stamp(folder);
+        if (entries != null && stamp == folderStamp) return;
+        if (entries == null && load(folder, stamp)) return;
+        rebuild(folder);
+    }
+
+    private static long stamp(Path folder) {
+        try {
+            return Files.getLastModifiedTime(folder).toMillis();
+        } catch (IOException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private static boolean load(Path folder, long stamp) {
+        Path indexFile = folder.resolve(INDEX_FOLDER).resolve(INDEX_FILE);
+        if (!Files.exists(indexFile)) return false;
+        try {
+            JsonObject root = JsonParser.parseString(Files.readString(indexFile)).getAsJsonObject();
+            if (!root.has("version") || root.get("version").getAsInt() != INDEX_VERSION) return false;
+            if (!root.has("folderModified") || root.get("folderModified").getAsLong() != stamp) return false;
+            Map<String, Entry> loaded = new HashMap<>();
+            for (Map.Entry<String, JsonElement> e : root.getAsJsonObject("entries").entrySet()) {
+                JsonObject entry = e.getValue().getAsJsonObject();
+                loaded.put(e.getKey(), new Entry(entry.get("file").getAsString(), entry.get("savedAt").getAsLong()));
+            }
+            entries = loaded;
+            folderStamp = stamp;
+            return true;
+        } catch (Exception e) {
+            LOGGER.warn("Ignoring unreadable snapshot index {}: {}", indexFile, e.getMessage());
+            return false;
+        }
+    }
+
+    private static void rebuild(Path folder) {
+        Map<String, Entry> rebuilt = new HashMap<>();
+        if (Files.isDirectory(folder)) {
+            try (var stream = Files.list(folder)) {
+                for (Path p : stream.filter(SnapshotCodec::isSnapshotFile).toList()) {
+                    Header header = readHeader(p);
+                    if (header == null) continue;
+                    String key = GoldGolemEntity.sanitizeJsonBaseName(header.golemName());
+                    Entry current = rebuilt.get(key);
+                    if (current == null || header.savedAt() > current.savedAt()) {
+                        rebuilt.put(key, new Entry(p.getFileName().toString(), header.savedAt()));
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Failed to list snapshot folder {}: {}", folder, e.getMessage());
+            }
+        }
+        entries = rebuilt;
+        folderStamp = stamp(folder);
+        save(folder);
+    }
+
+    private record Header(String golemName, long savedAt) {}
+
+    /**
+     * Read {@code golemName} and {@code savedAt} from the top of a snapshot, stopping as soon
+     * as both are seen. Binary snapshots keep them in their fixed header. JSON files without a
+     * {@code golemName} (counters, foreign JSON) are skipped.
+     */
+    private static Header readHeader(Path file) {
+        if (SnapshotCodec.isBinary(file)) {
+            try {
+                SnapshotCodec.Header header = SnapshotCodec.readHeader(file);
+                return header == null ? null : new Header(header.golemName(), header.savedAt());
+            } catch (Exception e) {
+                LOGGER.warn("Failed to read snapshot header {}: {}", file, e.getMessage());
+                return null;
+            }
+        }
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             JsonReader reader = new JsonReader(in)) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) return null;
+            reader.beginObject();
+            String name = null;
+            long savedAt = 0L;
+            boolean hasSavedAt = false;
+            while (reader.hasNext() && (name == null || !hasSavedAt)) {
+                String key = reader.nextName();
+                if (key.equals("golemName") && reader.peek() == JsonToken.STRING) {
+                    name = reader.nextString();
+                } else if (key.equals("savedAt") && reader.peek() == JsonToken.NUMBER) {
+                    savedAt = reader.nextLong();
+                    hasSavedAt = true;
+                } else {
+                    reader.skipValue();
+                }
+            }
+            return name == null ? null : new Header(name, savedAt);
+        } catch (Exception e) {
+            LOGGER.warn("Failed to read snapshot header {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static void save(Path folder) {
+        if (!Files.isDirectory(folder)) return;
+        Path indexFolder = folder.resolve(INDEX_FOLDER);
+        try {
+            if (!Files.isDirectory(indexFolder)) {
+                Files.createDirectories(indexFolder);
+                // Creating the subfolder touched the snapshot folder itself
+                folderStamp = stamp(folder);
+            }
+            JsonObject root = new JsonObject();
+            root.addProperty("version", INDEX_VERSION);
+            root.addProperty("folderModified", folderStamp);
+            JsonObject list = new JsonObject();
+            for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                JsonObject entry = new JsonObject();
+                entry.addProperty("file", e.getValue().file());
+                entry.addProperty("savedAt", e.getValue().savedAt());
+                list.add(e.getKey(), entry);
+            }
+            root.add("entries", list);
+            Gson gson = new GsonBuilder().setPrettyPrinting().create();
+            Files.writeString(indexFolder.resolve(INDEX_FILE), gson.toJson(root));
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write snapshot index: {}", e.getMessage());
+        }
+    }
+}
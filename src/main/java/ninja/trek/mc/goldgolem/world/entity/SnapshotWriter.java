@@ -0,0 +1,226 @@
+package ninja.trek.mc.goldgolem.world.entity;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import ninja.trek.mc.goldgolem.util.GolemWorkers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes golem snapshots and counters on the {@link GolemWorkers#io()} thread.
+ * <p>
+ * The tick thread hands over a target path and a renderer that only closes over immutable
+ * data; rendering to text and the disk write both happen on the writer. Jobs are keyed by
+ * owner (a golem, or a shared file) and target path: a newer job replaces one for the same
+ * owner and path that has not started yet, so a burst of saves under one name writes once,
+ * while saves under different names are all written. Files are written to a temp sibling and
+ * moved into place, so readers never see a partial snapshot. Pending jobs are drained when
+ * the server stops.
+ * <p>
+ * A snapshot that is still queued can be found by name with {@link #pendingSnapshot} and its
+ * contents rendered on the caller's thread with {@link #pendingContent}, so a lookup right
+ * after a save never waits for the writer.
+ */
+public final class SnapshotWriter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SnapshotWriter.class);
+    private static final long FLUSH_TIMEOUT_SECONDS = 30;
+
+    private static final class Job {
+        final Path target;
+        final boolean reservedTarget;
+        final ContentSupplier content;
+        final Runnable onWritten;
+        boolean cancelled = false;
+        boolean started = false;
+
+        Job(Path target, boolean reservedTarget, ContentSupplier content, Runnable onWritten) {
+            this.target = target;
+            this.reservedTarget = reservedTarget;
+            this.content = content;
+            this.onWritten = onWritten;
+        }
+    }
+
+    /**
+     * Renders a job's file contents on the writer thread.
+     */
+    @FunctionalInterface
+    interface ContentSupplier {
+        byte[] get() throws IOException;
+    }
+
+    private record PendingKey(Object owner, Path target) {}
+
+    /**
+     * A snapshot path handed out but not yet on disk, and the newest job writing it.
+     */
+    private static final class Reservation {
+        final Object owner;
+        final String baseName;
+        final long order;
+        Job job;
+
+        Reservation(Object owner, String baseName, long order) {
+            this.owner = owner;
+            this.baseName = baseName;
+            this.order = order;
+        }
+    }
+
+    private static final Object LOCK = new Object();
+    private static final Map<PendingKey, Job> pending = new HashMap<>();
+    private static final Map<Path, Reservation> reserved = new HashMap<>();
+    private static long reservations = 0;
+
+    private SnapshotWriter() {}
+
+    /**
+     * Drain pending writes when a server stops.
+     */
+    public static void register() {
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> flush());
+    }
+
+    /**
+     * Path for a snapshot of {@code owner} saved as {@code baseName}. If the owner's last save
+     * under that name is still queued, its path is reused so the new save replaces it;
+     * otherwise a free {@code baseName[_n]extension} in the folder is picked, counting paths
+     * reserved by queued writes as taken. The caller must {@link #submit} a job with
+     * {@code reservedTarget}.
+     */
+    static Path reserve(Object owner, Path folder, String baseName, String extension) throws IOException {
+        synchronized (LOCK) {
+            for (Map.Entry<Path, Reservation> e : reserved.entrySet()) {
+                Reservation r = e.getValue();
+                if (r.owner.equals(owner) && r.baseName.equals(baseName) && r.job != null && !r.job.started
+                        && folder.equals(e.getKey().getParent())) {
+                    return e.getKey();
+                }
+            }
+            Files.createDirectories(folder);
+            Path targetPath = folder.resolve(baseName + extension);
+            int suffix = 2;
+            while (Files.exists(targetPath) || reserved.containsKey(targetPath)) {
+                targetPath = folder.resolve(baseName + "_" + suffix + extension);
+                suffix++;
+            }
+            reserved.put(targetPath, new Reservation(owner, baseName, reservations++));
+            return targetPath;
+        }
+    }
+
+    /**
+     * Queue a write, replacing any not-yet-started job of the same owner for the same path.
+     *
+     * @param onWritten run on the writer thread after the file is in place; may be null
+     */
+    static void submit(Object owner, Path target, boolean reservedTarget, ContentSupplier content, Runnable onWritten) {
+        Job job = new Job(target, reservedTarget, content, onWritten);
+        PendingKey key = new PendingKey(owner, target);
+        synchronized (LOCK) {
+            Job previous = pending.put(key, job);
+            if (previous != null) {
+                previous.cancelled = true;
+            }
+            if (reservedTarget) {
+                Reservation reservation = reserved.get(target);
+                if (reservation != null) {
+                    reservation.job = job;
+                }
+            }
+        }
+        GolemWorkers.io().execute(() -> run(key, job));
+    }
+
+    /**
+     * Block until every job queued so far has run, for at most {@value #FLUSH_TIMEOUT_SECONDS}
+     * seconds. Only for shutdown; lookups use {@link #pendingContent} instead.
+     */
+    static void flush() {
+        try {
+            GolemWorkers.io().submit(() -> {}).get(FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            LOGGER.warn("Timed out flushing golem snapshot writes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Newest queued snapshot in the folder reserved under a base name, or null if none is
+     * waiting to be written.
+     */
+    static Path pendingSnapshot(Path folder, String baseName) {
+        synchronized (LOCK) {
+            Path newest = null;
+            long newestOrder = Long.MIN_VALUE;
+            for (Map.Entry<Path, Reservation> e : reserved.entrySet()) {
+                Reservation r = e.getValue();
+                if (r.job != null && r.order > newestOrder && r.baseName.equals(baseName)
+                        && folder.equals(e.getKey().getParent())) {
+                    newest = e.getKey();
+                    newestOrder = r.order;
+                }
+            }
+            return newest;
+        }
+    }
+
+    /**
+     * Contents a queued snapshot write will put at {@code target}, rendered on the calling
+     * thread, or null if nothing is queued for it (the file is on disk, or was never saved).
+     */
+    static byte[] pendingContent(Path target) throws IOException {
+        Job job;
+        synchronized (LOCK) {
+            Reservation reservation = reserved.get(target);
+            job = reservation == null ? null : reservation.job;
+        }
+        return job == null ? null : job.content.get();
+    }
+
+    private static void run(PendingKey key, Job job) {
+        synchronized (LOCK) {
+            if (job.cancelled) return;
+            job.started = true;
+            pending.remove(key, job);
+        }
+        try {
+            writeAtomically(job.target, job.content.get());
+            if (job.onWritten != null) {
+                job.onWritten.run();
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to write {}: {}", job.target, e.getMessage());
+        } catch (Exception e) {
+            LOGGER.error("Unexpected error writing {}", job.target, e);
+        } finally {
+            if (job.reservedTarget) {
+                synchronized (LOCK) {
+                    // A newer job for the same path keeps the reservation
+                    Reservation reservation = reserved.get(job.target);
+                    if (reservation != null && reservation.job == job) {
+                        reserved.remove(job.target);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void writeAtomically(Path target, byte[] content) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, content);
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
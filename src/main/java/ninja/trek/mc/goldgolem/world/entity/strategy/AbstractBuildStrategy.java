@@ -13,6 +13,7 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.LightType;
 import ninja.trek.mc.goldgolem.world.entity.GoldGolemEntity;
+import ninja.trek.mc.goldgolem.world.entity.GolemThroughput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -93,11 +94,11 @@ public abstract class AbstractBuildStrategy implements BuildStrategy {
     }
 
     /**
-     * Increment the placement tick counter (2-tick cycle).
+     * Increment the placement tick counter (a 2-tick cycle at normal load).
      * @return true if a block should be placed this tick
      */
     protected boolean shouldPlaceThisTick() {
-        placementTickCounter = (placementTickCounter + 1) % 2;
+        placementTickCounter = (placementTickCounter + 1) % GolemThroughput.placementInterval();
         return placementTickCounter == 0;
     }
 
@@ -12,7 +12,10 @@ import net.minecraft.particle.ParticleTypes;
 import net.minecraft.registry.Registries;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
+import ninja.trek.mc.goldgolem.util.OreBlocks;
 import ninja.trek.mc.goldgolem.world.entity.GoldGolemEntity;
+import ninja.trek.mc.goldgolem.world.entity.GolemMetrics;
+import ninja.trek.mc.goldgolem.world.entity.GolemThroughput;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,14 +38,12 @@ public abstract class BaseMiningStrategy extends AbstractBuildStrategy {
     protected int rightSwingTick = 0;
     protected ItemStack leftTool = ItemStack.EMPTY;
     protected ItemStack rightTool = ItemStack.EMPTY;
-    protected static final int MINING_SWING_INTERVAL = 5; // ticks between swings
 
     // Building block type for floor placement
     protected String buildingBlockType = null;
 
-    // Tool cache for efficient inventory scanning
+    // Tool cache for efficient inventory scanning, keyed by the inventory index version
     protected final ToolCache toolCache = new ToolCache();
-    protected int inventoryVersion = 0;
 
     /**
      * Record for holding a pair of tools for dual-hand mining.
@@ -190,7 +191,7 @@ public abstract class BaseMiningStrategy extends AbstractBuildStrategy {
         }
 
         // Trigger arm swing animation - each hand points at its own target
-        if (swingTick >= MINING_SWING_INTERVAL) {
+        if (swingTick >= GolemThroughput.miningSwingInterval()) {
             if (isLeftHand) {
                 leftSwingTick = 0;
             } else {
@@ -219,6 +220,7 @@ public abstract class BaseMiningStrategy extends AbstractBuildStrategy {
             }
 
             entity.getEntityWorld().breakBlock(pos, false);
+            GolemMetrics.blockMined(entity);
 
             if (entity.getEntityWorld() instanceof ServerWorld sw) {
                 // Clear breaking overlay
@@ -287,7 +289,6 @@ public abstract class BaseMiningStrategy extends AbstractBuildStrategy {
      */
     public void onInventoryChanged() {
         toolCache.invalidate();
-        inventoryVersion++;
     }
 
     /**
@@ -303,7 +304,7 @@ public abstract class BaseMiningStrategy extends AbstractBuildStrategy {
         int firstSlot = -1;
 
         Inventory inventory = entity.getInventory();
-        int[] cachedToolSlots = toolCache.getToolSlots(inventory, inventoryVersion);
+        int[] cachedToolSlots = toolCache.getToolSlots(inventory, entity.getInventoryIndex().version());
 
         // First pass: find the best tool from cached tool slots
         for (int i : cachedToolSlots) {
@@ -344,7 +345,7 @@ public abstract class BaseMiningStrategy extends AbstractBuildStrategy {
         float bestSpeed = 1.0f;
 
         Inventory inventory = entity.getInventory();
-        int[] cachedToolSlots = toolCache.getToolSlots(inventory, inventoryVersion);
+        int[] cachedToolSlots = toolCache.getToolSlots(inventory, entity.getInventoryIndex().version());
 
         for (int i : cachedToolSlots) {
             ItemStack stack = inventory.getStack(i);
@@ -362,6 +363,13 @@ public abstract class BaseMiningStrategy extends AbstractBuildStrategy {
 
     // ==================== Inventory Operations ====================
 
+    /**
+     * Check if fewer than two slots are free for mined items.
+     */
+    protected boolean isInventoryFull() {
+        return entity.getInventoryIndex().emptySlotCount() < 2;
+    }
+
     /**
      * Add an item stack to the golem's inventory.
      * Tries to stack with existing items first, then uses empty slots.
@@ -545,8 +553,14 @@ public abstract class BaseMiningStrategy extends AbstractBuildStrategy {
      * Check if a block ID represents an ore block.
      */
     protected boolean isOreBlock(String blockId) {
-        return blockId.contains("_ore") || blockId.contains("ancient_debris") ||
-               blockId.equals("minecraft:gilded_blackstone");
+        return OreBlocks.matchesId(blockId);
+    }
+
+    /**
+     * Check if a block state is an ore, via the precomputed ore set.
+     */
+    protected boolean isOreBlock(BlockState state) {
+        return OreBlocks.isOre(state);
     }
 
     /**
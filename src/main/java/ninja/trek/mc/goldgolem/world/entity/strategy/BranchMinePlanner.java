@@ -0,0 +1,207 @@
+package ninja.trek.mc.goldgolem.world.entity.strategy;
+
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+
+import java.util.function.Predicate;
+
+/**
+ * Iterator over the cells of a branch mine, in mining order.
+ *
+ * The layout is numbered as one sequence of cells. Each primary tunnel step is a column of
+ * {@code tunnelHeight - 1} cells, mined bottom-up. Every {@code branchSpacing} steps (except
+ * step 0) a branch is mined before its primary column: first the left side, then the right,
+ * each {@code branchDepth} columns deep. Because a cell index maps straight to a position,
+ * the whole cursor is one {@code long}, and each cell is checked at most once on the way
+ * forward.
+ *
+ * Scanning is capped at {@link #SCAN_BUDGET} cells per call, so a long stretch of
+ * already-mined tunnel is crossed over several ticks instead of inside one. Up to
+ * {@link #PREFETCH_TARGETS} minable cells ahead of the cursor are queued so that both
+ * hands can pick targets without rescanning. Once a whole layout period (a branch pair and
+ * its primary stretch) in a row is already clear, the planner reports itself exhausted.
+ *
+ * The furthest cell ever scanned is kept as a high-water mark. Clear cells up to it were
+ * mined out earlier, so after a restart from cell 0 (stuck recovery, reload of an old save)
+ * they are skipped over without counting towards exhaustion.
+ */
+class BranchMinePlanner {
+    static final int SCAN_BUDGET = 64;
+    static final int PREFETCH_TARGETS = 4;
+
+    // Layout
+    private BlockPos start = BlockPos.ORIGIN;
+    private Direction direction = Direction.NORTH;
+    private Direction leftDir = Direction.WEST;
+    private Direction rightDir = Direction.EAST;
+    private int branchDepth = 1;
+    private int branchSpacing = 1;
+    private int layers = 1;
+
+    // First cell not yet known to be clear
+    private long cursor = 0;
+    // Furthest cell ever scanned under this layout; persisted with the cursor
+    private long frontier = 0;
+    // High-water mark as of the last reset; clear runs only count past it
+    private long resumeMark = 0;
+    // Next cell the lookahead will examine (>= cursor)
+    private long scanned = 0;
+    // Minable cells found ahead of the cursor, in order
+    private final LongArrayList queued = new LongArrayList();
+    // Index just past the last minable cell the scan found (or the reset point)
+    private long lastMinable = 0;
+
+    /**
+     * Set the branch layout. Cell numbering depends on it, so callers reset the cursor when
+     * any of these values change.
+     */
+    void setLayout(BlockPos start, Direction direction, Direction leftDir, Direction rightDir,
+                   int branchDepth, int branchSpacing, int tunnelHeight) {
+        this.start = start;
+        this.direction = direction;
+        this.leftDir = leftDir;
+        this.rightDir = rightDir;
+        this.branchDepth = Math.max(1, branchDepth);
+        this.branchSpacing = Math.max(1, branchSpacing);
+        this.layers = Math.max(1, tunnelHeight - 1);
+    }
+
+    long cursor() {
+        return cursor;
+    }
+
+    long frontier() {
+        return frontier;
+    }
+
+    /**
+     * Restart the scan at a cell index and drop the lookahead. The high-water mark is kept.
+     */
+    void reset(long cursor) {
+        this.cursor = Math.max(0, cursor);
+        this.scanned = this.cursor;
+        this.lastMinable = this.cursor;
+        this.frontier = Math.max(frontier, this.cursor);
+        this.resumeMark = frontier;
+        this.queued.clear();
+    }
+
+    /**
+     * Restore saved progress. Saves without a high-water mark pass the cursor.
+     */
+    void restore(long cursor, long frontier) {
+        this.frontier = Math.max(0, frontier);
+        reset(cursor);
+    }
+
+    /**
+     * Start over on a new layout: cursor and high-water mark back to cell 0.
+     */
+    void restart() {
+        restore(0, 0);
+    }
+
+    /**
+     * True when nothing is queued and the scan has crossed a full layout period of clear
+     * cells past both the last minable one and the high-water mark, so the mine is done.
+     */
+    boolean isExhausted() {
+        long period = (2L * branchDepth + branchSpacing) * layers;
+        return queued.isEmpty() && scanned - Math.max(lastMinable, resumeMark) >= period;
+    }
+
+    /**
+     * Next queued target the predicate still accepts, skipping {@code exclude}, or null if
+     * the scan budget ran out before one was found. Queued cells the predicate rejects are
+     * dropped for good.
+     */
+    BlockPos nextTarget(BlockPos exclude, Predicate<BlockPos> shouldMine) {
+        refill(shouldMine);
+        BlockPos found = null;
+        for (int i = 0; i < queued.size() && found == null; i++) {
+            BlockPos pos = positionOf(queued.getLong(i));
+            if (pos.equals(exclude)) continue;
+            if (shouldMine.test(pos)) {
+                found = pos;
+            } else {
+                queued.removeLong(i--);
+            }
+        }
+        cursor = queued.isEmpty() ? scanned : queued.getLong(0);
+        return found;
+    }
+
+    private void refill(Predicate<BlockPos> shouldMine) {
+        // Drop cleared cells at the head so the cursor can move past them
+        while (!queued.isEmpty() && !shouldMine.test(positionOf(queued.getLong(0)))) {
+            queued.removeLong(0);
+        }
+        int budget = SCAN_BUDGET;
+        while (queued.size() < PREFETCH_TARGETS && budget-- > 0) {
+            if (shouldMine.test(positionOf(scanned))) {
+                queued.add(scanned);
+                lastMinable = scanned + 1;
+            }
+            scanned++;
+        }
+        frontier = Math.max(frontier, scanned);
+    }
+
+    /**
+     * World position of a cell index.
+     */
+    BlockPos positionOf(long index) {
+        long column = layers;
+        long primaryCells = (long) branchSpacing * column;
+        long sideCells = (long) branchDepth * column;
+        long period = 2 * sideCells + primaryCells;
+
+        if (index < primaryCells) {
+            return primaryCell(index / column, (int) (index % column));
+        }
+        long j = index - primaryCells;
+        long branch = 1 + j / period;
+        long r = j % period;
+        if (r < 2 * sideCells) {
+            Direction side = r < sideCells ? leftDir : rightDir;
+            long rr = r % sideCells;
+            return start
+                .offset(direction, (int) (1 + branch * branchSpacing))
+                .offset(side, (int) (rr / column + 1))
+                .up((int) (rr % column));
+        }
+        r -= 2 * sideCells;
+        return primaryCell(branch * branchSpacing + r / column, (int) (r % column));
+    }
+
+    private BlockPos primaryCell(long step, int layer) {
+        return start.offset(direction, (int) (1 + step)).up(layer);
+    }
+
+    /**
+     * Cell index of the old (primaryProgress, currentBranch, branchLeft, branchProgress)
+     * progress fields, used to migrate saves written before the cursor existed.
+     */
+    long indexOf(int primaryProgress, int currentBranch, boolean branchLeft, int branchProgress) {
+        long column = layers;
+        long primaryCells = (long) branchSpacing * column;
+        long sideCells = (long) branchDepth * column;
+        long period = 2 * sideCells + primaryCells;
+
+        if (currentBranch >= 1) {
+            long branchStart = primaryCells + (currentBranch - 1) * period;
+            long progress = Math.max(0, Math.min(branchDepth - 1, branchProgress));
+            return branchStart + (branchLeft ? 0 : sideCells) + progress * column;
+        }
+        long step = Math.max(0, primaryProgress);
+        long branch = step / branchSpacing;
+        if (branch == 0) {
+            return step * column;
+        }
+        // A step on a branch boundary starts that branch, as it did before
+        long branchStart = primaryCells + (branch - 1) * period;
+        long offset = step - branch * branchSpacing;
+        return offset == 0 ? branchStart : branchStart + 2 * sideCells + offset * column;
+    }
+}
@@ -19,9 +19,6 @@ import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.enchantment.Enchantments;
 import net.minecraft.registry.RegistryKeys;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Strategy for Excavation mode.
  * Excavates an area in a spiral pattern and deposits materials in chests.
@@ -47,6 +44,8 @@ public class ExcavationBuildStrategy extends BaseMiningStrategy {
     private int ringProgress = 0;
     private boolean returningToChest = false;
     private boolean idleAtStart = false;
+    // Remaining minable cells of currentRing, built once per ring
+    private final ExcavationRingCursor ringCursor = new ExcavationRingCursor();
 
     // PlacementPlanner for smart movement (reused for mining)
     private PlacementPlanner planner;
@@ -175,6 +174,8 @@ public class ExcavationBuildStrategy extends BaseMiningStrategy {
         if (planner != null) {
             planner.clear();
         }
+        // The world may change while idle; rescan the ring on resume
+        ringCursor.invalidate();
     }
 
     public void startFromIdle() {
@@ -191,6 +192,7 @@ public class ExcavationBuildStrategy extends BaseMiningStrategy {
         // Clear current state
         currentRing = 0;
         ringProgress = 0;
+        ringCursor.invalidate();
         returningToChest = false;
         resetMiningState();
         ticksInAir = 0;
@@ -240,6 +242,7 @@ public class ExcavationBuildStrategy extends BaseMiningStrategy {
     public void clearState() {
         currentRing = 0;
         ringProgress = 0;
+        ringCursor.invalidate();
         returningToChest = false;
         idleAtStart = false;
         resetMiningState();
@@ -278,6 +281,10 @@ public class ExcavationBuildStrategy extends BaseMiningStrategy {
         nbt.putInt("OreMiningMode", oreMiningMode.ordinal());
         nbt.putInt("CurrentRing", currentRing);
         nbt.putInt("RingProgress", ringProgress);
+        if (ringCursor.covers(currentRing, height)) {
+            nbt.putInt("RingCursorRing", currentRing);
+            nbt.putIntArray("RingCursorBits", ringCursor.toWords());
+        }
         nbt.putBoolean("ReturningToChest", returningToChest);
         nbt.putBoolean("IdleAtStart", idleAtStart);
         writeBaseMiningNbt(nbt);
@@ -333,6 +340,11 @@ public class ExcavationBuildStrategy extends BaseMiningStrategy {
         oreMiningMode = OreMiningMode.fromOrdinal(nbt.getInt("OreMiningMode", 0));
         currentRing = nbt.getInt("CurrentRing", 0);
         ringProgress = nbt.getInt("RingProgress", 0);
+        if (nbt.getInt("RingCursorRing", -1) == currentRing) {
+            ringCursor.restore(currentRing, height, nbt.getIntArray("RingCursorBits").orElseGet(() -> new int[0]));
+        } else {
+            ringCursor.invalidate();
+        }
         returningToChest = nbt.getBoolean("ReturningToChest", false);
         idleAtStart = nbt.getBoolean("IdleAtStart", false);
         readBaseMiningNbt(nbt);
@@ -384,6 +396,10 @@ public class ExcavationBuildStrategy extends BaseMiningStrategy {
         view.putInt("ExcavOreMiningMode", oreMiningMode.ordinal());
         view.putInt("ExcavCurrentRing", currentRing);
         view.putInt("ExcavRingProgress", ringProgress);
+        if (ringCursor.covers(currentRing, height)) {
+            view.putInt("ExcavRingCursorRing", currentRing);
+            view.putIntArray("ExcavRingCursorBits", ringCursor.toWords());
+        }
         view.putBoolean("ExcavReturningToChest", returningToChest);
         view.putBoolean("ExcavIdleAtStart", idleAtStart);
         if (buildingBlockType != null) {
@@ -457,6 +473,11 @@ public class ExcavationBuildStrategy extends BaseMiningStrategy {
         oreMiningMode = OreMiningMode.fromOrdinal(view.getInt("ExcavOreMiningMode", 0));
         currentRing = view.getInt("ExcavCurrentRing", 0);
         ringProgress = view.getInt("ExcavRingProgress", 0);
+        if (view.getInt("ExcavRingCursorRing", -1) == currentRing) {
+            ringCursor.restore(currentRing, height, view.getOptionalIntArray("ExcavRingCursorBits").orElseGet(() -> new int[0]));
+        } else {
+            ringCursor.invalidate();
+        }
         returningToChest = view.getBoolean("ExcavReturningToChest", false);
         idleAtStart = view.getBoolean("ExcavIdleAtStart", false);
         String block = view.getString("ExcavBuildingBlock", null);
@@ -578,13 +599,39 @@ public class ExcavationBuildStrategy extends BaseMiningStrategy {
         // Try to place torches in dark areas
         tryPlaceTorchInDarkArea();
 
-        // Get blocks for current ring
-        List<BlockPos> ringBlocks = getBlocksForCurrentRing();
+        // Assign targets to each hand if needed
+        boolean leftStale = leftTarget == null || entity.getEntityWorld().getBlockState(leftTarget).isAir();
+        boolean rightStale = rightTarget == null || entity.getEntityWorld().getBlockState(rightTarget).isAir();
+        if (leftStale || rightStale) {
+            boolean rebuilt = !ringCursor.covers(currentRing, height);
+            if (rebuilt) {
+                rebuildRingCursor();
+            }
+            if (leftStale) {
+                leftTarget = nextRingTarget(null);
+                leftBreakProgress = 0;
+                leftSwingTick = 0;
+                leftTool = ItemStack.EMPTY;
+            }
+            if (rightStale) {
+                rightTarget = nextRingTarget(leftTarget);
+                rightBreakProgress = 0;
+                rightSwingTick = 0;
+                rightTool = ItemStack.EMPTY;
+            }
+            // Cursor drained: rescan once so blocks that fell or flowed into the ring are not missed
+            if (leftTarget == null && rightTarget == null && !rebuilt) {
+                rebuildRingCursor();
+                leftTarget = nextRingTarget(null);
+                rightTarget = nextRingTarget(leftTarget);
+            }
+        }
 
         // Check if ring is complete
-        if (ringBlocks.isEmpty() && leftTarget == null && rightTarget == null) {
+        if (leftTarget == null && rightTarget == null) {
             currentRing++;
             ringProgress = 0;
+            ringCursor.invalidate();
 
             // Check if excavation complete
             int maxRing = depth > 0 ? depth - 1 : 63;
@@ -614,20 +661,6 @@ public class ExcavationBuildStrategy extends BaseMiningStrategy {
             return;
         }
 
-        // Assign targets to each hand if needed
-        if (leftTarget == null || entity.getEntityWorld().getBlockState(leftTarget).isAir()) {
-            leftTarget = getNextBlockFromRing(ringBlocks, null);
-            leftBreakProgress = 0;
-            leftSwingTick = 0;
-            leftTool = ItemStack.EMPTY;
-        }
-        if (rightTarget == null || entity.getEntityWorld().getBlockState(rightTarget).isAir()) {
-            rightTarget = getNextBlockFromRing(ringBlocks, leftTarget);
-            rightBreakProgress = 0;
-            rightSwingTick = 0;
-            rightTool = ItemStack.EMPTY;
-        }
-
         // Navigate toward the closest target
         BlockPos navTarget = leftTarget != null ? leftTarget : rightTarget;
         if (navTarget == null) {
@@ -669,37 +702,55 @@ public class ExcavationBuildStrategy extends BaseMiningStrategy {
     }
 
     /**
-     * Get the next block to mine from the ring, excluding a specific block.
+     * Next block to mine from the ring cursor, excluding a specific block.
+     * Cells that no longer need mining are dropped from the cursor as they are passed, so each
+     * cell is rejected at most once per ring.
      */
-    private BlockPos getNextBlockFromRing(List<BlockPos> ringBlocks, BlockPos exclude) {
-        for (BlockPos pos : ringBlocks) {
-            if (pos.equals(exclude)) continue;
-            BlockState state = entity.getEntityWorld().getBlockState(pos);
-            if (!state.isAir() && shouldMineBlock(pos)) {
-                return pos;
-            }
-        }
-        return null;
+    private BlockPos nextRingTarget(BlockPos exclude) {
+        return ringCursor.nextTarget(p -> getExpandingSquarePosition(currentRing, p), exclude, this::shouldMineBlock);
     }
 
     /**
-     * Get all blocks to mine for the current ring.
-     * Returns blocks column-by-column (all Y levels for each XZ position).
+     * Scan the current ring once and record every block that needs mining.
      */
-    private List<BlockPos> getBlocksForCurrentRing() {
-        List<BlockPos> blocks = new ArrayList<>();
-        int blocksInRing = 2 * currentRing + 1;
+    private void rebuildRingCursor() {
+        ringCursor.rebuild(currentRing, height, p -> getExpandingSquarePosition(currentRing, p), this::shouldMineBlock);
+    }
 
-        for (int progress = 0; progress < blocksInRing; progress++) {
-            BlockPos basePos = getExpandingSquarePosition(currentRing, progress);
-            for (int dy = 0; dy < height; dy++) {
-                BlockPos pos = basePos.up(dy);
-                if (shouldMineBlock(pos)) {
-                    blocks.add(pos);
-                }
-            }
+    /**
+     * Cursor index of a position in the current ring, or -1 if it is not part of it.
+     */
+    private int ringCursorIndex(BlockPos pos) {
+        if (startPos == null || !ringCursor.covers(currentRing, height)) return -1;
+        Direction primary = primaryExcavDir != null ? primaryExcavDir : Direction.SOUTH;
+        Direction secondary = secondaryExcavDir != null ? secondaryExcavDir : Direction.EAST;
+
+        int dx = pos.getX() - startPos.getX();
+        int dy = pos.getY() - startPos.getY();
+        int dz = pos.getZ() - startPos.getZ();
+        if (dy < 0 || dy >= height) return -1;
+        int col = dx * primary.getOffsetX() + dz * primary.getOffsetZ();
+        int row = dx * secondary.getOffsetX() + dz * secondary.getOffsetZ();
+
+        int progress;
+        if (col == currentRing && row >= 0 && row < currentRing) {
+            progress = row;
+        } else if (row == currentRing && col >= 0 && col <= currentRing) {
+            progress = currentRing + col;
+        } else {
+            return -1;
         }
-        return blocks;
+        return ringCursor.index(progress, dy);
+    }
+
+    @Override
+    protected void onBlockAlreadyAir(BlockPos pos, boolean isLeftHand) {
+        ringCursor.remove(ringCursorIndex(pos));
+    }
+
+    @Override
+    protected void onBlockBroken(BlockPos pos, boolean isLeftHand, BlockState brokenState) {
+        ringCursor.remove(ringCursorIndex(pos));
     }
 
     /**
@@ -742,33 +793,13 @@ public class ExcavationBuildStrategy extends BaseMiningStrategy {
         return dist1 <= dist2 ? chestPos1 : chestPos2;
     }
 
-    private boolean isInventoryFull() {
-        Inventory inventory = entity.getInventory();
-        int emptySlots = 0;
-        for (int i = 0; i < inventory.size(); i++) {
-            ItemStack stack = inventory.getStack(i);
-            if (stack.isEmpty()) {
-                emptySlots++;
-            }
-        }
-        // Need at least 2 empty slots for mined items
-        return emptySlots < 2;
-    }
-
     /**
      * Check if inventory has no depositable items (ignoring tools and torches).
      * Used to skip returning to chest when there's nothing to dump.
      */
     private boolean isInventoryEmpty() {
-        Inventory inventory = entity.getInventory();
-        for (int i = 0; i < inventory.size(); i++) {
-            ItemStack stack = inventory.getStack(i);
-            if (!stack.isEmpty() && !isToolOrTorch(stack)) {
-                // Found a non-tool/torch item that can be deposited
-                return false;
-            }
-        }
-        return true; // Only empty slots or tools/torches
+        // Only empty slots or tools/torches
+        return !entity.getInventoryIndex().anyOccupied(stack -> !isToolOrTorch(stack));
     }
 
     private void placeFloorBlocks() {
@@ -833,20 +864,7 @@ public class ExcavationBuildStrategy extends BaseMiningStrategy {
         Direction primary = primaryExcavDir != null ? primaryExcavDir : Direction.SOUTH;
         Direction secondary = secondaryExcavDir != null ? secondaryExcavDir : Direction.EAST;
 
-        int col, row;
-        if (progress < ring) {
-            // Right edge: column = ring, row = progress
-            col = ring;
-            row = progress;
-        } else {
-            // Bottom edge: row = ring, column = progress - ring
-            col = progress - ring;
-            row = ring;
-        }
-
-        return startPos
-            .offset(primary, col)
-            .offset(secondary, row);
+        return ExcavationRingCursor.columnBase(startPos, primary, secondary, ring, progress);
     }
 
     private boolean shouldMineBlock(BlockPos pos) {
@@ -878,7 +896,7 @@ public class ExcavationBuildStrategy extends BaseMiningStrategy {
         }
 
         // Check ore mining mode
-        if (isOreBlock(blockId)) {
+        if (isOreBlock(state)) {
             switch (oreMiningMode) {
                 case NEVER:
                     return false;
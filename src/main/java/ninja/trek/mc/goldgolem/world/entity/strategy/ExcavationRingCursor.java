@@ -0,0 +1,175 @@
+package ninja.trek.mc.goldgolem.world.entity.strategy;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+
+import java.util.BitSet;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+
+/**
+ * Remaining minable cells of one excavation ring.
+ *
+ * A ring of index N has 2N+1 columns of {@code height} blocks; cell
+ * {@code progress * height + dy} is the block dy above column {@code progress}. The ring is
+ * scanned once when the cursor is built and bits are only cleared afterwards (as blocks break
+ * or turn out not to need mining), so picking the next target is a {@code nextSetBit} instead
+ * of a rescan of the whole ring.
+ * <p>
+ * Ring geometry and the scan itself only need a column lookup and a "needs mining" test, so
+ * the headless simulation drives the same cursor as the strategy.
+ */
+public class ExcavationRingCursor {
+    private int ring = -1;
+    private int height = 0;
+    private final BitSet remaining = new BitSet();
+
+    /**
+     * Whether the cursor was built for this ring and column height.
+     */
+    public boolean covers(int ring, int height) {
+        return this.ring == ring && this.height == height;
+    }
+
+    /**
+     * Start an empty cursor for a ring; fill it with {@link #add}.
+     */
+    void reset(int ring, int height) {
+        this.ring = ring;
+        this.height = height;
+        this.remaining.clear();
+    }
+
+    /**
+     * Forget the ring so the next tick rebuilds it.
+     */
+    void invalidate() {
+        reset(-1, 0);
+    }
+
+    int ring() {
+        return ring;
+    }
+
+    int cellCount() {
+        return ring < 0 ? 0 : (2 * ring + 1) * height;
+    }
+
+    int index(int progress, int dy) {
+        return progress * height + dy;
+    }
+
+    int progressOf(int index) {
+        return index / height;
+    }
+
+    int dyOf(int index) {
+        return index % height;
+    }
+
+    void add(int index) {
+        remaining.set(index);
+    }
+
+    void remove(int index) {
+        if (index < 0) return;
+        remaining.clear(index);
+    }
+
+    /**
+     * First remaining cell at or after {@code from}, or -1.
+     */
+    int next(int from) {
+        return remaining.nextSetBit(Math.max(0, from));
+    }
+
+    /**
+     * Bottom block of column {@code progress} in ring {@code ring} of an expanding square
+     * anchored at {@code start}: the right edge (column N, rows 0 to N-1) followed by the
+     * bottom edge (row N, columns 0 to N).
+     */
+    public static BlockPos columnBase(BlockPos start, Direction primary, Direction secondary, int ring, int progress) {
+        int col, row;
+        if (progress < ring) {
+            // Right edge: column = ring, row = progress
+            col = ring;
+            row = progress;
+        } else {
+            // Bottom edge: row = ring, column = progress - ring
+            col = progress - ring;
+            row = ring;
+        }
+        return start.offset(primary, col).offset(secondary, row);
+    }
+
+    /**
+     * Scan a ring once and record every block that needs mining.
+     * Cells are ordered column-by-column (all Y levels for each XZ position).
+     */
+    public void rebuild(int ring, int height, IntFunction<BlockPos> columnBase, Predicate<BlockPos> needsMining) {
+        reset(ring, height);
+        int blocksInRing = 2 * ring + 1;
+        for (int progress = 0; progress < blocksInRing; progress++) {
+            BlockPos basePos = columnBase.apply(progress);
+            for (int dy = 0; dy < height; dy++) {
+                if (needsMining.test(basePos.up(dy))) {
+                    add(index(progress, dy));
+                }
+            }
+        }
+    }
+
+    /**
+     * Next remaining block that still needs mining, skipping {@code exclude}, or null.
+     * Cells that no longer need mining are dropped as they are passed, so each cell is
+     * rejected at most once per ring.
+     */
+    public BlockPos nextTarget(IntFunction<BlockPos> columnBase, BlockPos exclude, Predicate<BlockPos> needsMining) {
+        for (int i = next(0); i >= 0; i = next(i + 1)) {
+            BlockPos pos = columnBase.apply(progressOf(i)).up(dyOf(i));
+            if (pos.equals(exclude)) continue;
+            if (needsMining.test(pos)) {
+                return pos;
+            }
+            remove(i);
+        }
+        return null;
+    }
+
+    public boolean isEmpty() {
+        return remaining.isEmpty();
+    }
+
+    /**
+     * Remaining bits as 32-bit words for NBT.
+     */
+    int[] toWords() {
+        long[] longs = remaining.toLongArray();
+        int[] words = new int[longs.length * 2];
+        for (int i = 0; i < longs.length; i++) {
+            words[2 * i] = (int) longs[i];
+            words[2 * i + 1] = (int) (longs[i] >>> 32);
+        }
+        return words;
+    }
+
+    /**
+     * Restore a cursor written by {@link #toWords}. Bits beyond the ring are dropped.
+     */
+    void restore(int ring, int height, int[] words) {
+        reset(ring, height);
+        if (ring < 0 || height <= 0) {
+            invalidate();
+            return;
+        }
+        long[] longs = new long[(words.length + 1) / 2];
+        for (int i = 0; i < words.length; i++) {
+            longs[i / 2] |= (words[i] & 0xFFFFFFFFL) << (32 * (i & 1));
+        }
+        remaining.or(BitSet.valueOf(longs));
+        int cells = cellCount();
+        if (remaining.length() > cells) {
+            remaining.clear(cells, remaining.length());
+        }
+    }
+}
@@ -9,6 +9,8 @@ import net.minecraft.particle.ParticleTypes;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import ninja.trek.mc.goldgolem.world.entity.GoldGolemEntity;
+import ninja.trek.mc.goldgolem.world.entity.GolemMetrics;
+import ninja.trek.mc.goldgolem.world.entity.GolemThroughput;
 
 /**
  * Single-hand mining helper for gradient-based build strategies.
@@ -18,8 +20,6 @@ import ninja.trek.mc.goldgolem.world.entity.GoldGolemEntity;
  */
 public class GradientMiningHelper {
 
-    private static final int MINING_SWING_INTERVAL = 5;
-
     private BlockPos target;
     private int breakProgress;
     private int swingTick;
@@ -98,7 +98,7 @@ public class GradientMiningHelper {
         }
 
         // Arm swing animation + particles
-        if (swingTick >= MINING_SWING_INTERVAL) {
+        if (swingTick >= GolemThroughput.miningSwingInterval()) {
             swingTick = 0;
             entity.beginHandAnimation(isLeftHand, target, null);
 
@@ -131,6 +131,7 @@ public class GradientMiningHelper {
             }
 
             entity.getEntityWorld().breakBlock(target, false);
+            GolemMetrics.blockMined(entity);
 
             // Damage tool
             if (!tool.isEmpty() && tool.isDamageable()) {
@@ -20,8 +20,6 @@ import net.minecraft.registry.RegistryKeys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashSet;
-import java.util.Set;
 
 /**
  * Strategy for Mining mode.
@@ -41,15 +39,12 @@ public class MiningBuildStrategy extends BaseMiningStrategy {
     private OreMiningMode oreMiningMode = OreMiningMode.SILK_TOUCH_FORTUNE;
 
     // Mining progress state
-    private int primaryProgress = 0;
-    private int currentBranch = -1;
-    private boolean branchLeft = true;
-    private int branchProgress = 0;
+    private final BranchMinePlanner branchPlanner = new BranchMinePlanner();
     private boolean returningToChest = false;
     private boolean idleAtChest = false;
 
-    // Mining runtime state (not persisted)
-    private final Set<BlockPos> pendingOres = new HashSet<>();
+    // Exposed ores still to mine, nearest first
+    private final OreFrontier pendingOres = new OreFrontier();
 
     @Override
     public BuildMode getMode() {
@@ -95,16 +90,13 @@ public class MiningBuildStrategy extends BaseMiningStrategy {
     @Override
     protected void onBlockAlreadyAir(BlockPos pos, boolean isLeftHand) {
         pendingOres.remove(pos);
+        scanExposedFaces(pos);
     }
 
     @Override
     protected void onBlockBroken(BlockPos pos, boolean isLeftHand, BlockState brokenState) {
         pendingOres.remove(pos);
-
-        String blockId = Registries.BLOCK.getId(brokenState.getBlock()).toString();
-        if (isOreBlock(blockId)) {
-            mineOreSurroundings(pos);
-        }
+        scanExposedFaces(pos);
     }
 
     // ==================== Configuration Methods ====================
@@ -114,12 +106,29 @@ public class MiningBuildStrategy extends BaseMiningStrategy {
         this.direction = miningDir;
         this.startPos = startPos;
         this.idleAtChest = true; // Start idle, waiting for gold nugget
+        syncBranchLayout();
+        branchPlanner.restart();
     }
 
     public void setSliders(int branchDepth, int branchSpacing, int tunnelHeight) {
-        this.branchDepth = Math.max(1, Math.min(512, branchDepth));
-        this.branchSpacing = Math.max(1, Math.min(16, branchSpacing));
-        this.tunnelHeight = Math.max(2, Math.min(6, tunnelHeight));
+        int newDepth = Math.max(1, Math.min(512, branchDepth));
+        int newSpacing = Math.max(1, Math.min(16, branchSpacing));
+        int newHeight = Math.max(2, Math.min(6, tunnelHeight));
+        boolean layoutChanged = newDepth != this.branchDepth || newSpacing != this.branchSpacing
+            || newHeight != this.tunnelHeight;
+        this.branchDepth = newDepth;
+        this.branchSpacing = newSpacing;
+        this.tunnelHeight = newHeight;
+        if (layoutChanged) {
+            // Cell numbering follows the layout; rescan from the start (cleared cells are skipped)
+            syncBranchLayout();
+            branchPlanner.restart();
+        }
+    }
+
+    private void syncBranchLayout() {
+        branchPlanner.setLayout(startPos, direction, getBranchDirection(true), getBranchDirection(false),
+            branchDepth, branchSpacing, tunnelHeight);
     }
 
     public int getBranchDepth() { return branchDepth; }
@@ -142,9 +151,7 @@ public class MiningBuildStrategy extends BaseMiningStrategy {
     }
 
     public void clearState() {
-        primaryProgress = 0;
-        currentBranch = -1;
-        branchProgress = 0;
+        branchPlanner.reset(0);
         returningToChest = false;
         idleAtChest = false;
         pendingOres.clear();
@@ -171,10 +178,9 @@ public class MiningBuildStrategy extends BaseMiningStrategy {
         nbt.putInt("BranchDepth", branchDepth);
         nbt.putInt("BranchSpacing", branchSpacing);
         nbt.putInt("TunnelHeight", tunnelHeight);
-        nbt.putInt("PrimaryProgress", primaryProgress);
-        nbt.putInt("CurrentBranch", currentBranch);
-        nbt.putBoolean("BranchLeft", branchLeft);
-        nbt.putInt("BranchProgress", branchProgress);
+        nbt.putLong("BranchCursor", branchPlanner.cursor());
+        nbt.putLong("BranchFrontier", branchPlanner.frontier());
+        nbt.putIntArray("PendingOres", pendingOres.encode());
         nbt.putBoolean("ReturningToChest", returningToChest);
         nbt.putBoolean("IdleAtChest", idleAtChest);
         nbt.putInt("OreMiningMode", oreMiningMode.ordinal());
@@ -203,10 +209,19 @@ public class MiningBuildStrategy extends BaseMiningStrategy {
         branchDepth = nbt.getInt("BranchDepth", 16);
         branchSpacing = nbt.getInt("BranchSpacing", 3);
         tunnelHeight = nbt.getInt("TunnelHeight", 2);
-        primaryProgress = nbt.getInt("PrimaryProgress", 0);
-        currentBranch = nbt.getInt("CurrentBranch", -1);
-        branchLeft = nbt.getBoolean("BranchLeft", true);
-        branchProgress = nbt.getInt("BranchProgress", 0);
+        syncBranchLayout();
+        if (nbt.contains("BranchCursor")) {
+            long cursor = nbt.getLong("BranchCursor", 0L);
+            branchPlanner.restore(cursor, nbt.getLong("BranchFrontier", cursor));
+        } else {
+            long cursor = branchPlanner.indexOf(
+                nbt.getInt("PrimaryProgress", 0),
+                nbt.getInt("CurrentBranch", -1),
+                nbt.getBoolean("BranchLeft", true),
+                nbt.getInt("BranchProgress", 0));
+            branchPlanner.restore(cursor, cursor);
+        }
+        pendingOres.decode(nbt.getIntArray("PendingOres").orElseGet(() -> new int[0]));
         returningToChest = nbt.getBoolean("ReturningToChest", false);
         idleAtChest = nbt.getBoolean("IdleAtChest", false);
         oreMiningMode = OreMiningMode.fromOrdinal(nbt.getInt("OreMiningMode", 0));
@@ -244,10 +259,9 @@ public class MiningBuildStrategy extends BaseMiningStrategy {
         view.putInt("MiningBranchDepth", branchDepth);
         view.putInt("MiningBranchSpacing", branchSpacing);
         view.putInt("MiningTunnelHeight", tunnelHeight);
-        view.putInt("MiningPrimaryProgress", primaryProgress);
-        view.putInt("MiningCurrentBranch", currentBranch);
-        view.putBoolean("MiningBranchLeft", branchLeft);
-        view.putInt("MiningBranchProgress", branchProgress);
+        view.putLong("MiningBranchCursor", branchPlanner.cursor());
+        view.putLong("MiningBranchFrontier", branchPlanner.frontier());
+        view.putIntArray("MiningPendingOres", pendingOres.encode());
         view.putBoolean("MiningReturningToChest", returningToChest);
         view.putBoolean("MiningIdleAtChest", idleAtChest);
         view.putInt("MiningOreMiningMode", oreMiningMode.ordinal());
@@ -287,10 +301,19 @@ public class MiningBuildStrategy extends BaseMiningStrategy {
         branchDepth = view.getInt("MiningBranchDepth", 16);
         branchSpacing = view.getInt("MiningBranchSpacing", 3);
         tunnelHeight = view.getInt("MiningTunnelHeight", 2);
-        primaryProgress = view.getInt("MiningPrimaryProgress", 0);
-        currentBranch = view.getInt("MiningCurrentBranch", -1);
-        branchLeft = view.getBoolean("MiningBranchLeft", true);
-        branchProgress = view.getInt("MiningBranchProgress", 0);
+        syncBranchLayout();
+        if (view.contains("MiningBranchCursor")) {
+            long cursor = view.getLong("MiningBranchCursor", 0L);
+            branchPlanner.restore(cursor, view.getLong("MiningBranchFrontier", cursor));
+        } else {
+            long cursor = branchPlanner.indexOf(
+                view.getInt("MiningPrimaryProgress", 0),
+                view.getInt("MiningCurrentBranch", -1),
+                view.getBoolean("MiningBranchLeft", true),
+                view.getInt("MiningBranchProgress", 0));
+            branchPlanner.restore(cursor, cursor);
+        }
+        pendingOres.decode(view.getOptionalIntArray("MiningPendingOres").orElseGet(() -> new int[0]));
         returningToChest = view.getBoolean("MiningReturningToChest", false);
         idleAtChest = view.getBoolean("MiningIdleAtChest", false);
         oreMiningMode = OreMiningMode.fromOrdinal(view.getInt("MiningOreMiningMode", 0));
@@ -395,24 +418,26 @@ public class MiningBuildStrategy extends BaseMiningStrategy {
 
     private void tickMiningActive() {
         placeBlocksUnderFeet();
-        scanForOres();
         tryPlaceTorchInDarkArea();
 
         // Get targets for each hand independently
         if (leftTarget == null || entity.getEntityWorld().getBlockState(leftTarget).isAir()) {
-            leftTarget = getNextMiningTarget();
+            leftTarget = getNextMiningTarget(rightTarget);
             leftBreakProgress = 0;
             leftSwingTick = 0;
         }
         if (rightTarget == null || entity.getEntityWorld().getBlockState(rightTarget).isAir()) {
-            rightTarget = getNextMiningTargetExcluding(leftTarget);
+            rightTarget = getNextMiningTarget(leftTarget);
             rightBreakProgress = 0;
             rightSwingTick = 0;
         }
 
-        // If no targets, we're done
+        // If no targets, we're done once the planner has run out of layout; otherwise it is
+        // still crossing mined-out tunnel and resumes next tick
         if (leftTarget == null && rightTarget == null) {
-            entity.setBuildingPaths(false);
+            if (branchPlanner.isExhausted()) {
+                entity.setBuildingPaths(false);
+            }
             return;
         }
 
@@ -466,9 +491,8 @@ public class MiningBuildStrategy extends BaseMiningStrategy {
                     rightTarget = null;
                     leftBreakProgress = 0;
                     rightBreakProgress = 0;
-                    primaryProgress = 0;
-                    currentBranch = -1;
-                    branchProgress = 0;
+                    // Rescan from the start; cells up to the high-water mark do not end the mine
+                    branchPlanner.reset(0);
                     pendingOres.clear();
                 }
             } else {
@@ -477,95 +501,32 @@ public class MiningBuildStrategy extends BaseMiningStrategy {
         }
     }
 
-    /**
-     * Get next mining target, excluding a specific position.
-     */
-    private BlockPos getNextMiningTargetExcluding(BlockPos exclude) {
-        BlockPos target = getNextMiningTarget();
-        if (target != null && target.equals(exclude)) {
-            // Get another target from pending ores or branch mining
-            if (!pendingOres.isEmpty()) {
-                for (BlockPos orePos : pendingOres) {
-                    if (!orePos.equals(exclude)) {
-                        BlockState state = entity.getEntityWorld().getBlockState(orePos);
-                        String blockId = Registries.BLOCK.getId(state.getBlock()).toString();
-                        if (isOreBlock(blockId) && !state.isAir()) {
-                            return orePos;
-                        }
-                    }
-                }
-            }
-            return null; // No second target available
-        }
-        return target;
-    }
-
     private void teleportToStart() {
         LOGGER.info("Mining Golem stuck detected! Teleporting to start pos: {}", startPos);
         entity.teleportWithParticles(startPos);
     }
 
-    private boolean isInventoryFull() {
-        Inventory inventory = entity.getInventory();
-        int emptySlots = 0;
-        for (int i = 0; i < inventory.size(); i++) {
-            ItemStack stack = inventory.getStack(i);
-            if (stack.isEmpty()) {
-                emptySlots++;
-            }
-        }
-        return emptySlots < 2;
-    }
-
-    private void scanForOres() {
-        if (entity.getEntityWorld().isClient()) return;
-
-        // Skip ore scanning entirely if mode is NEVER
-        if (oreMiningMode == OreMiningMode.NEVER) {
-            pendingOres.clear();
-            return;
-        }
-
-        BlockPos center = entity.getBlockPos();
-        for (int dx = -3; dx <= 3; dx++) {
-            for (int dy = -3; dy <= 3; dy++) {
-                for (int dz = -3; dz <= 3; dz++) {
-                    BlockPos pos = center.add(dx, dy, dz);
-                    BlockState state = entity.getEntityWorld().getBlockState(pos);
-                    String blockId = Registries.BLOCK.getId(state.getBlock()).toString();
-
-                    if (isOreBlock(blockId) && !pendingOres.contains(pos)) {
-                        pendingOres.add(pos);
-                    }
-                }
-            }
-        }
-    }
-
-    private BlockPos getNextMiningTarget() {
+    /**
+     * Next target for a hand: a pending ore if any, otherwise the next branch cell.
+     *
+     * @param exclude the other hand's target, never returned
+     */
+    private BlockPos getNextMiningTarget(BlockPos exclude) {
         if (!pendingOres.isEmpty()) {
-            // Check if we should skip ores based on mode
-            if (oreMiningMode == OreMiningMode.NEVER) {
+            // Skip ores entirely if the mode or tools don't allow mining them
+            if (oreMiningMode == OreMiningMode.NEVER
+                || (oreMiningMode == OreMiningMode.SILK_TOUCH_FORTUNE && !hasValidEnchantedTool())) {
                 pendingOres.clear();
-                return getNextBranchMiningTarget();
             }
 
-            // In SILK_TOUCH_FORTUNE mode, only mine if we have a valid tool
-            if (oreMiningMode == OreMiningMode.SILK_TOUCH_FORTUNE && !hasValidEnchantedTool()) {
-                pendingOres.clear();
-                return getNextBranchMiningTarget();
+            pendingOres.reanchor(entity.getBlockPos());
+            BlockPos orePos = pendingOres.nearest(exclude,
+                pos -> isOreBlock(entity.getEntityWorld().getBlockState(pos)));
+            if (orePos != null) {
+                return orePos;
             }
-
-            BlockPos orePos = pendingOres.iterator().next();
-            BlockState state = entity.getEntityWorld().getBlockState(orePos);
-            String blockId = Registries.BLOCK.getId(state.getBlock()).toString();
-            if (!isOreBlock(blockId) || state.isAir()) {
-                pendingOres.remove(orePos);
-                return getNextMiningTarget();
-            }
-            return orePos;
         }
-        return getNextBranchMiningTarget();
+        return branchPlanner.nextTarget(exclude, this::shouldMineBlock);
     }
 
     /**
@@ -601,55 +562,6 @@ public class MiningBuildStrategy extends BaseMiningStrategy {
         return false;
     }
 
-    private BlockPos getNextBranchMiningTarget() {
-        if (currentBranch == -1) {
-            BlockPos primaryStart = startPos.offset(direction, 1);
-            BlockPos target = primaryStart.offset(direction, primaryProgress);
-
-            if (primaryProgress > 0 && primaryProgress % branchSpacing == 0) {
-                currentBranch = primaryProgress / branchSpacing;
-                branchLeft = true;
-                branchProgress = 0;
-                return getNextBranchMiningTarget();
-            }
-
-            for (int y = 1; y < tunnelHeight; y++) {
-                BlockPos layerTarget = target.up(y - 1);
-                if (shouldMineBlock(layerTarget)) {
-                    return layerTarget;
-                }
-            }
-
-            primaryProgress++;
-            return getNextBranchMiningTarget();
-        } else {
-            Direction branchDir = getBranchDirection(branchLeft);
-            BlockPos branchStart = startPos.offset(direction, 1 + currentBranch * branchSpacing);
-            BlockPos target = branchStart.offset(branchDir, branchProgress + 1);
-
-            for (int y = 1; y < tunnelHeight; y++) {
-                BlockPos layerTarget = target.up(y - 1);
-                if (shouldMineBlock(layerTarget)) {
-                    return layerTarget;
-                }
-            }
-
-            branchProgress++;
-
-            if (branchProgress >= branchDepth) {
-                if (branchLeft) {
-                    branchLeft = false;
-                    branchProgress = 0;
-                } else {
-                    currentBranch = -1;
-                    branchProgress = 0;
-                }
-            }
-
-            return getNextBranchMiningTarget();
-        }
-    }
-
     private Direction getBranchDirection(boolean left) {
         if (direction == Direction.NORTH) {
             return left ? Direction.WEST : Direction.EAST;
@@ -688,15 +600,16 @@ public class MiningBuildStrategy extends BaseMiningStrategy {
         return true;
     }
 
-    private void mineOreSurroundings(BlockPos center) {
+    /**
+     * Queue ores among the neighbours of a block that just opened up. This is the only place
+     * ores are discovered, so each block in the mine is classified at most a few times.
+     */
+    private void scanExposedFaces(BlockPos opened) {
+        if (oreMiningMode == OreMiningMode.NEVER) return;
         for (Direction dir : Direction.values()) {
-            BlockPos adjacent = center.offset(dir);
-            BlockState state = entity.getEntityWorld().getBlockState(adjacent);
-
-            if (!state.isAir() && state.getHardness(entity.getEntityWorld(), adjacent) >= 0) {
-                if (!pendingOres.contains(adjacent)) {
-                    pendingOres.add(adjacent);
-                }
+            BlockPos adjacent = opened.offset(dir);
+            if (!pendingOres.contains(adjacent) && isOreBlock(entity.getEntityWorld().getBlockState(adjacent))) {
+                pendingOres.add(adjacent);
             }
         }
     }
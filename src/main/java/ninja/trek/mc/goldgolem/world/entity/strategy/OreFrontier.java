@@ -0,0 +1,197 @@
+package ninja.trek.mc.goldgolem.world.entity.strategy;
+
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.util.math.BlockPos;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * Exposed ore blocks waiting to be mined, nearest first.
+ *
+ * Positions are packed {@link BlockPos#asLong()} values in a binary min-heap keyed by squared
+ * distance to an anchor (the golem). The member set is the source of truth: removals only
+ * touch the set, and heap entries that are no longer members are dropped when they reach the
+ * top. The heap is re-keyed and compacted when the anchor moves more than
+ * {@link #REANCHOR_DISTANCE} blocks, so the order stays close to "nearest to the golem"
+ * without re-sorting every tick.
+ */
+class OreFrontier {
+    private static final int REANCHOR_DISTANCE = 4;
+
+    private final LongOpenHashSet members = new LongOpenHashSet();
+    private long[] heapPos = new long[16];
+    private long[] heapKey = new long[16];
+    private int heapSize = 0;
+    private BlockPos anchor = BlockPos.ORIGIN;
+
+    boolean isEmpty() {
+        return members.isEmpty();
+    }
+
+    int size() {
+        return members.size();
+    }
+
+    boolean contains(BlockPos pos) {
+        return members.contains(pos.asLong());
+    }
+
+    void add(BlockPos pos) {
+        long packed = pos.asLong();
+        if (members.add(packed)) {
+            push(packed, distanceSq(packed));
+            // Stale entries pile up when positions are removed and re-added without a pop
+            if (heapSize > 2 * members.size() + 16) {
+                rebuildHeap();
+            }
+        }
+    }
+
+    void remove(BlockPos pos) {
+        members.remove(pos.asLong());
+    }
+
+    void clear() {
+        members.clear();
+        heapSize = 0;
+    }
+
+    /**
+     * Move the distance anchor. Keys are only recomputed once it has moved far enough.
+     */
+    void reanchor(BlockPos pos) {
+        if (pos.getSquaredDistance(anchor) <= REANCHOR_DISTANCE * REANCHOR_DISTANCE) return;
+        anchor = pos.toImmutable();
+        rebuildHeap();
+    }
+
+    private void rebuildHeap() {
+        heapSize = 0;
+        LongIterator it = members.iterator();
+        while (it.hasNext()) {
+            long packed = it.nextLong();
+            ensureCapacity(heapSize + 1);
+            heapPos[heapSize] = packed;
+            heapKey[heapSize] = distanceSq(packed);
+            heapSize++;
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /**
+     * Nearest member that {@code valid} accepts, skipping {@code exclude}, or null.
+     * Members that {@code valid} rejects are removed.
+     */
+    BlockPos nearest(BlockPos exclude, Predicate<BlockPos> valid) {
+        long skipped = 0;
+        boolean hasSkipped = false;
+        BlockPos found = null;
+        while (heapSize > 0) {
+            long packed = heapPos[0];
+            if (!members.contains(packed)) {
+                pop();
+                continue;
+            }
+            BlockPos pos = BlockPos.fromLong(packed);
+            if (!valid.test(pos)) {
+                members.remove(packed);
+                pop();
+                continue;
+            }
+            if (pos.equals(exclude)) {
+                // Put back one copy afterwards; any duplicate entries are simply dropped
+                skipped = packed;
+                hasSkipped = true;
+                pop();
+                continue;
+            }
+            found = pos;
+            break;
+        }
+        if (hasSkipped) {
+            push(skipped, distanceSq(skipped));
+        }
+        return found;
+    }
+
+    /**
+     * Members as x, y, z triples for NBT.
+     */
+    int[] encode() {
+        int[] data = new int[members.size() * 3];
+        int i = 0;
+        LongIterator it = members.iterator();
+        while (it.hasNext()) {
+            long packed = it.nextLong();
+            data[i++] = BlockPos.unpackLongX(packed);
+            data[i++] = BlockPos.unpackLongY(packed);
+            data[i++] = BlockPos.unpackLongZ(packed);
+        }
+        return data;
+    }
+
+    void decode(int[] data) {
+        clear();
+        for (int i = 0; i + 2 < data.length; i += 3) {
+            add(new BlockPos(data[i], data[i + 1], data[i + 2]));
+        }
+    }
+
+    private long distanceSq(long packed) {
+        long dx = BlockPos.unpackLongX(packed) - anchor.getX();
+        long dy = BlockPos.unpackLongY(packed) - anchor.getY();
+        long dz = BlockPos.unpackLongZ(packed) - anchor.getZ();
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private void push(long packed, long key) {
+        ensureCapacity(heapSize + 1);
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heapKey[parent] <= key) break;
+            heapPos[i] = heapPos[parent];
+            heapKey[i] = heapKey[parent];
+            i = parent;
+        }
+        heapPos[i] = packed;
+        heapKey[i] = key;
+    }
+
+    private void pop() {
+        heapSize--;
+        if (heapSize > 0) {
+            heapPos[0] = heapPos[heapSize];
+            heapKey[0] = heapKey[heapSize];
+            siftDown(0);
+        }
+    }
+
+    private void siftDown(int i) {
+        long pos = heapPos[i];
+        long key = heapKey[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && heapKey[child + 1] < heapKey[child]) child++;
+            if (heapKey[child] >= key) break;
+            heapPos[i] = heapPos[child];
+            heapKey[i] = heapKey[child];
+            i = child;
+        }
+        heapPos[i] = pos;
+        heapKey[i] = key;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > heapPos.length) {
+            int size = Math.max(capacity, heapPos.length * 2);
+            heapPos = Arrays.copyOf(heapPos, size);
+            heapKey = Arrays.copyOf(heapKey, size);
+        }
+    }
+}
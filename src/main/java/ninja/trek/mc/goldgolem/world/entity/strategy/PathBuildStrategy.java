@@ -9,6 +9,7 @@ import net.minecraft.storage.WriteView;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 import ninja.trek.mc.goldgolem.BuildMode;
+import ninja.trek.mc.goldgolem.util.PackedNbt;
 import ninja.trek.mc.goldgolem.world.entity.GoldGolemEntity;
 import ninja.trek.mc.goldgolem.world.entity.strategy.path.LineSeg;
 
@@ -71,19 +72,8 @@ public class PathBuildStrategy extends AbstractBuildStrategy {
             nbt.putDouble("TrackStartZ", trackStart.z);
         }
 
-        // Save pending lines count and data (flat format to avoid NbtList API issues)
-        var pendingLines = entity.getPendingLines();
-        nbt.putInt("PendingLinesCount", pendingLines.size());
-        int idx = 0;
-        for (LineSeg seg : pendingLines) {
-            nbt.putDouble("PL" + idx + "AX", seg.a.x);
-            nbt.putDouble("PL" + idx + "AY", seg.a.y);
-            nbt.putDouble("PL" + idx + "AZ", seg.a.z);
-            nbt.putDouble("PL" + idx + "BX", seg.b.x);
-            nbt.putDouble("PL" + idx + "BY", seg.b.y);
-            nbt.putDouble("PL" + idx + "BZ", seg.b.z);
-            idx++;
-        }
+        // Save pending lines as packed endpoint coordinates (ax, ay, az, bx, by, bz per line)
+        nbt.putIntArray("PendingLines", packLines(entity.getPendingLines()));
 
         // Save current line
         LineSeg currentLine = entity.getCurrentLine();
@@ -110,9 +100,14 @@ public class PathBuildStrategy extends AbstractBuildStrategy {
             entity.setTrackStart(new Vec3d(x, y, z));
         }
 
-        // Load pending lines (flat format)
+        // Load pending lines (packed, or the keyed layout from older saves)
         int count = nbt.getInt("PendingLinesCount", 0);
         entity.getPendingLines().clear();
+        int[] packedLines = nbt.getIntArray("PendingLines").orElse(null);
+        if (packedLines != null) {
+            unpackLines(packedLines, entity.getPendingLines());
+            count = 0;
+        }
         for (int i = 0; i < count; i++) {
             if (nbt.contains("PL" + i + "AX")) {
                 Vec3d a = new Vec3d(
@@ -170,19 +165,8 @@ public class PathBuildStrategy extends AbstractBuildStrategy {
             view.putDouble("PathTrackStartZ", trackStart.z);
         }
 
-        // Save pending lines count and data (flat format)
-        var pendingLines = entity.getPendingLines();
-        view.putInt("PathPendingLinesCount", pendingLines.size());
-        int idx = 0;
-        for (LineSeg seg : pendingLines) {
-            view.putDouble("PathPL" + idx + "AX", seg.a.x);
-            view.putDouble("PathPL" + idx + "AY", seg.a.y);
-            view.putDouble("PathPL" + idx + "AZ", seg.a.z);
-            view.putDouble("PathPL" + idx + "BX", seg.b.x);
-            view.putDouble("PathPL" + idx + "BY", seg.b.y);
-            view.putDouble("PathPL" + idx + "BZ", seg.b.z);
-            idx++;
-        }
+        // Save pending lines as packed endpoint coordinates (ax, ay, az, bx, by, bz per line)
+        view.putIntArray("PathPendingLines", packLines(entity.getPendingLines()));
 
         // Save current line
         LineSeg currentLine = entity.getCurrentLine();
@@ -209,9 +193,14 @@ public class PathBuildStrategy extends AbstractBuildStrategy {
             entity.setTrackStart(new Vec3d(x, y, z));
         }
 
-        // Load pending lines (flat format)
+        // Load pending lines (packed, or the keyed layout from older saves)
         int count = view.getInt("PathPendingLinesCount", 0);
         entity.getPendingLines().clear();
+        int[] packedLines = view.getOptionalIntArray("PathPendingLines").orElse(null);
+        if (packedLines != null) {
+            unpackLines(packedLines, entity.getPendingLines());
+            count = 0;
+        }
         for (int i = 0; i < count; i++) {
             if (view.contains("PathPL" + i + "AX")) {
                 Vec3d a = new Vec3d(
@@ -247,6 +236,28 @@ public class PathBuildStrategy extends AbstractBuildStrategy {
         }
     }
 
+    private static int[] packLines(java.util.Collection<LineSeg> lines) {
+        double[] coords = new double[lines.size() * 6];
+        int i = 0;
+        for (LineSeg seg : lines) {
+            coords[i++] = seg.a.x;
+            coords[i++] = seg.a.y;
+            coords[i++] = seg.a.z;
+            coords[i++] = seg.b.x;
+            coords[i++] = seg.b.y;
+            coords[i++] = seg.b.z;
+        }
+        return PackedNbt.packDoubles(coords);
+    }
+
+    private static void unpackLines(int[] packed, java.util.ArrayDeque<LineSeg> out) {
+        double[] coords = PackedNbt.unpackDoubles(packed);
+        for (int i = 0; i + 5 < coords.length; i += 6) {
+            out.addLast(new LineSeg(new Vec3d(coords[i], coords[i + 1], coords[i + 2]),
+                new Vec3d(coords[i + 3], coords[i + 4], coords[i + 5])));
+        }
+    }
+
     /**
      * Clear all path mode state.
      */
@@ -0,0 +1,377 @@
+package ninja.trek.mc.goldgolem.world.entity.strategy;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.ints.IntComparator;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * Spatial index of the blocks a {@link PlacementPlanner} still has to place.
+ *
+ * Positions are stored as packed {@link BlockPos#asLong()} values, bucketed by
+ * 16x16x16 chunk section. Reach queries only visit the handful of sections around
+ * the golem, nearest-block queries visit sections in order of their distance and
+ * stop early, and per-Y counts answer "lowest pending layer" without walking the queue.
+ * Every block and section remembers its slot in its list, so removal is a constant-time
+ * swap with the last entry.
+ */
+class PendingBlockIndex {
+    /** Returned by queries when no position matched. Not a reachable world coordinate. */
+    static final long NONE = Long.MIN_VALUE;
+
+    // Pending block -> its slot in its section's bucket
+    private final Long2IntOpenHashMap members = new Long2IntOpenHashMap();
+    private final Long2ObjectOpenHashMap<LongArrayList> sections = new Long2ObjectOpenHashMap<>();
+    // Keys of non-empty sections, kept alongside the map so scans can use indexed loops
+    private final LongArrayList activeSections = new LongArrayList();
+    // Section key -> its slot in activeSections
+    private final Long2IntOpenHashMap sectionSlots = new Long2IntOpenHashMap();
+    private final LayerCounts layers = new LayerCounts();
+
+    // Scratch buffers for nearest-block queries, grown on demand and reused
+    private long[] sectionKeys = new long[16];
+    private double[] sectionBounds = new double[16];
+    private int[] sectionOrder = new int[16];
+    private double[] nearestDist = new double[8];
+    private final IntComparator boundComparator = (a, b) -> Double.compare(sectionBounds[a], sectionBounds[b]);
+
+    PendingBlockIndex() {
+        members.defaultReturnValue(-1);
+        sectionSlots.defaultReturnValue(-1);
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    public boolean isEmpty() {
+        return members.isEmpty();
+    }
+
+    public void clear() {
+        members.clear();
+        sections.clear();
+        activeSections.clear();
+        sectionSlots.clear();
+        layers.clear();
+    }
+
+    public boolean add(BlockPos pos) {
+        return add(pos.asLong());
+    }
+
+    public boolean add(long packed) {
+        if (members.containsKey(packed)) {
+            return false;
+        }
+        long key = sectionKey(packed);
+        LongArrayList bucket = sections.get(key);
+        if (bucket == null) {
+            bucket = new LongArrayList();
+            sections.put(key, bucket);
+            sectionSlots.put(key, activeSections.size());
+            activeSections.add(key);
+        }
+        members.put(packed, bucket.size());
+        bucket.add(packed);
+        layers.increment(BlockPos.unpackLongY(packed));
+        return true;
+    }
+
+    public boolean remove(BlockPos pos) {
+        return remove(pos.asLong());
+    }
+
+    public boolean remove(long packed) {
+        int idx = members.remove(packed);
+        if (idx < 0) {
+            return false;
+        }
+        long key = sectionKey(packed);
+        LongArrayList bucket = sections.get(key);
+        // Swap-remove: order inside a section carries no meaning
+        swapRemove(bucket, idx, members);
+        if (bucket.isEmpty()) {
+            sections.remove(key);
+            swapRemove(activeSections, sectionSlots.remove(key), sectionSlots);
+        }
+        layers.decrement(BlockPos.unpackLongY(packed));
+        return true;
+    }
+
+    /**
+     * Move the last entry of {@code list} into slot {@code idx} and record its new slot.
+     */
+    private static void swapRemove(LongArrayList list, int idx, Long2IntOpenHashMap slots) {
+        int last = list.size() - 1;
+        long moved = list.removeLong(last);
+        if (idx != last) {
+            list.set(idx, moved);
+            slots.put(moved, idx);
+        }
+    }
+
+    public boolean contains(long packed) {
+        return members.containsKey(packed);
+    }
+
+    /**
+     * Lowest Y of any pending block, or Integer.MAX_VALUE when empty.
+     */
+    public int getMinY() {
+        return layers.getMin();
+    }
+
+    public boolean hasBlocksAtY(int y) {
+        return layers.has(y);
+    }
+
+    public void forEach(LongConsumer consumer) {
+        for (int s = 0; s < activeSections.size(); s++) {
+            LongArrayList bucket = sections.get(activeSections.getLong(s));
+            for (int i = 0; i < bucket.size(); i++) {
+                consumer.accept(bucket.getLong(i));
+            }
+        }
+    }
+
+    /**
+     * Any block on the lowest pending layer, or {@link #NONE} when empty.
+     */
+    public long peekLowest() {
+        int minY = layers.getMin();
+        if (minY == Integer.MAX_VALUE) {
+            return NONE;
+        }
+        int sectionY = ChunkSectionPos.getSectionCoord(minY);
+        for (int s = 0; s < activeSections.size(); s++) {
+            long key = activeSections.getLong(s);
+            if (ChunkSectionPos.unpackY(key) != sectionY) {
+                continue;
+            }
+            LongArrayList bucket = sections.get(key);
+            for (int i = 0; i < bucket.size(); i++) {
+                long packed = bucket.getLong(i);
+                if (BlockPos.unpackLongY(packed) == minY) {
+                    return packed;
+                }
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Find the best block within reach of an eye position: lowest Y first, then closest.
+     * Uses the same reach test as the planner (center distance, separate vertical limit).
+     * The predicate is only consulted for blocks that would beat the current best.
+     *
+     * @return the packed position, or {@link #NONE}
+     */
+    public long findBestWithinReach(double eyeX, double eyeY, double eyeZ, double maxReach, double maxVertical,
+                                    LongPredicate accept) {
+        if (members.isEmpty()) {
+            return NONE;
+        }
+        double vertical = Math.min(maxReach, maxVertical);
+        int minSX = ChunkSectionPos.getSectionCoord((int) Math.ceil(eyeX - 0.5 - maxReach));
+        int maxSX = ChunkSectionPos.getSectionCoord((int) Math.floor(eyeX - 0.5 + maxReach));
+        int minSY = ChunkSectionPos.getSectionCoord((int) Math.ceil(eyeY - 0.5 - vertical));
+        int maxSY = ChunkSectionPos.getSectionCoord((int) Math.floor(eyeY - 0.5 + vertical));
+        int minSZ = ChunkSectionPos.getSectionCoord((int) Math.ceil(eyeZ - 0.5 - maxReach));
+        int maxSZ = ChunkSectionPos.getSectionCoord((int) Math.floor(eyeZ - 0.5 + maxReach));
+        double reachSq = maxReach * maxReach;
+
+        long best = NONE;
+        int bestY = Integer.MAX_VALUE;
+        double bestDist = Double.MAX_VALUE;
+        for (int sx = minSX; sx <= maxSX; sx++) {
+            for (int sy = minSY; sy <= maxSY; sy++) {
+                for (int sz = minSZ; sz <= maxSZ; sz++) {
+                    LongArrayList bucket = sections.get(ChunkSectionPos.asLong(sx, sy, sz));
+                    if (bucket == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < bucket.size(); i++) {
+                        long packed = bucket.getLong(i);
+                        int y = BlockPos.unpackLongY(packed);
+                        if (y > bestY) {
+                            continue;
+                        }
+                        double dx = eyeX - (BlockPos.unpackLongX(packed) + 0.5);
+                        double dy = eyeY - (y + 0.5);
+                        double dz = eyeZ - (BlockPos.unpackLongZ(packed) + 0.5);
+                        if (Math.abs(dy) > maxVertical) {
+                            continue;
+                        }
+                        double distSq = dx * dx + dy * dy + dz * dz;
+                        if (distSq > reachSq) {
+                            continue;
+                        }
+                        if (y == bestY && distSq >= bestDist) {
+                            continue;
+                        }
+                        if (accept != null && !accept.test(packed)) {
+                            continue;
+                        }
+                        best = packed;
+                        bestY = y;
+                        bestDist = distSq;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Collect up to {@code limit} accepted blocks nearest to a point (by block center),
+     * closest first. Sections are visited in order of their lower-bound distance and the
+     * scan stops once no remaining section can beat the current results.
+     *
+     * @param out receives packed positions; must hold at least {@code limit} entries
+     * @return the number of positions written
+     */
+    public int collectNearest(double x, double y, double z, int limit, LongPredicate accept, long[] out) {
+        if (members.isEmpty() || limit <= 0) {
+            return 0;
+        }
+        int n = activeSections.size();
+        ensureSectionScratch(n);
+        if (nearestDist.length < limit) {
+            nearestDist = new double[limit];
+        }
+
+        for (int s = 0; s < n; s++) {
+            long key = activeSections.getLong(s);
+            sectionKeys[s] = key;
+            sectionBounds[s] = sectionLowerBoundSq(key, x, y, z);
+            sectionOrder[s] = s;
+        }
+        IntArrays.quickSort(sectionOrder, 0, n, boundComparator);
+
+        int found = 0;
+        for (int i = 0; i < n; i++) {
+            int idx = sectionOrder[i];
+            if (found == limit && sectionBounds[idx] > nearestDist[found - 1]) {
+                break;
+            }
+            LongArrayList bucket = sections.get(sectionKeys[idx]);
+            for (int j = 0; j < bucket.size(); j++) {
+                long packed = bucket.getLong(j);
+                double dx = x - (BlockPos.unpackLongX(packed) + 0.5);
+                double dy = y - (BlockPos.unpackLongY(packed) + 0.5);
+                double dz = z - (BlockPos.unpackLongZ(packed) + 0.5);
+                double distSq = dx * dx + dy * dy + dz * dz;
+                if (found == limit && distSq >= nearestDist[found - 1]) {
+                    continue;
+                }
+                if (accept != null && !accept.test(packed)) {
+                    continue;
+                }
+                // Insertion into the sorted result window
+                int slot = found < limit ? found++ : limit - 1;
+                while (slot > 0 && nearestDist[slot - 1] > distSq) {
+                    nearestDist[slot] = nearestDist[slot - 1];
+                    out[slot] = out[slot - 1];
+                    slot--;
+                }
+                nearestDist[slot] = distSq;
+                out[slot] = packed;
+            }
+        }
+        return found;
+    }
+
+    private void ensureSectionScratch(int count) {
+        if (sectionKeys.length >= count) {
+            return;
+        }
+        int capacity = Math.max(count, sectionKeys.length * 2);
+        sectionKeys = new long[capacity];
+        sectionBounds = new double[capacity];
+        sectionOrder = new int[capacity];
+    }
+
+    private static double sectionLowerBoundSq(long key, double x, double y, double z) {
+        double dx = axisGap(ChunkSectionPos.unpackX(key), x);
+        double dy = axisGap(ChunkSectionPos.unpackY(key), y);
+        double dz = axisGap(ChunkSectionPos.unpackZ(key), z);
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /** Distance along one axis from a point to the nearest block center inside a section. */
+    private static double axisGap(int sectionCoord, double v) {
+        double lo = ChunkSectionPos.getBlockCoord(sectionCoord) + 0.5;
+        double hi = lo + 15.0;
+        if (v < lo) return lo - v;
+        if (v > hi) return v - hi;
+        return 0.0;
+    }
+
+    private static long sectionKey(long packed) {
+        return ChunkSectionPos.asLong(
+                ChunkSectionPos.getSectionCoord(BlockPos.unpackLongX(packed)),
+                ChunkSectionPos.getSectionCoord(BlockPos.unpackLongY(packed)),
+                ChunkSectionPos.getSectionCoord(BlockPos.unpackLongZ(packed)));
+    }
+
+    /**
+     * Per-Y population counts with a lazily recomputed minimum.
+     * The number of distinct layers is small, so recomputing the minimum only
+     * when the lowest layer empties is cheap.
+     */
+    static class LayerCounts {
+        private final Int2IntOpenHashMap counts = new Int2IntOpenHashMap();
+        private int min = Integer.MAX_VALUE;
+        private boolean minDirty = false;
+
+        void increment(int y) {
+            counts.addTo(y, 1);
+            if (!minDirty && y < min) {
+                min = y;
+            }
+        }
+
+        void decrement(int y) {
+            int previous = counts.addTo(y, -1);
+            if (previous <= 1) {
+                counts.remove(y);
+                if (y == min) {
+                    minDirty = true;
+                }
+            }
+        }
+
+        boolean has(int y) {
+            return counts.containsKey(y);
+        }
+
+        int getMin() {
+            if (minDirty) {
+                int m = Integer.MAX_VALUE;
+                IntIterator it = counts.keySet().iterator();
+                while (it.hasNext()) {
+                    int y = it.nextInt();
+                    if (y < m) m = y;
+                }
+                min = m;
+                minDirty = false;
+            }
+            return min;
+        }
+
+        void clear() {
+            counts.clear();
+            min = Integer.MAX_VALUE;
+            minDirty = false;
+        }
+    }
+}
@@ -1,25 +1,40 @@
 package ninja.trek.mc.goldgolem.world.entity.strategy;
 
+import it.unimi.dsi.fastutil.ints.IntArrays;
+import it.unimi.dsi.fastutil.ints.IntComparator;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntMaps;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMaps;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
 import net.minecraft.block.BlockState;
 import net.minecraft.entity.ai.pathing.Path;
-import net.minecraft.particle.ParticleTypes;
-import net.minecraft.server.world.ServerWorld;
 import net.minecraft.storage.ReadView;
 import net.minecraft.storage.WriteView;
 import net.minecraft.util.hit.HitResult;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.RaycastContext;
+import ninja.trek.mc.goldgolem.world.BlockAccess;
 import ninja.trek.mc.goldgolem.world.entity.GoldGolemEntity;
+import ninja.trek.mc.goldgolem.world.entity.GolemMetrics;
+import ninja.trek.mc.goldgolem.world.entity.GolemThroughput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.function.LongPredicate;
 
 /**
  * Utility class for reach-aware block placement.
  * Ensures the golem moves within reach of blocks before placing them,
  * handles deferred blocks, and teleportation as last resort.
+ * <p>
+ * The golem is reached through an {@link Agent} and blocks are read through its
+ * {@link BlockAccess}, so the planner also runs against an in-memory world.
  */
 public class PlacementPlanner {
     private static final Logger LOGGER = LoggerFactory.getLogger(PlacementPlanner.class);
@@ -36,17 +51,19 @@ public class PlacementPlanner {
     private static final int MAX_CANDIDATES_PER_TICK = 3;
     private static final int SKIP_RETRY_TICKS = 12;
     private static final int NEIGHBOR_CANDIDATE_COUNT = 8;  // Score top-N nearest candidates by neighbor count
-    private static final int MAX_PATHFINDS_PER_TICK = 4;
-    private static final int PATH_CACHE_TTL_TICKS = 60;
+    private static final int STAND_CACHE_TTL_TICKS = 20;  // Pick up world changes we weren't told about
     private static final int MIN_NAV_FAILURES_FOR_TELEPORT = 2;
     private static final int PATH_FAILURE_WINDOW_TICKS = 20;
-    private static final boolean DEBUG_COUNTERS = false;
     private static final int MAX_CONSECUTIVE_OVERLAP_DEFERRALS = 3;  // Teleport if we defer this many blocks in a row due to overlap
+    private static final double NAVIGATION_SPEED = 1.1;
 
     // Callback interfaces for organic placement
     @FunctionalInterface
     public interface BlockFilter {
-        /** Return true if this block should be SKIPPED (excluded) right now. */
+        /**
+         * Return true if this block should be SKIPPED (excluded) right now.
+         * The position may be a reused mutable instance; do not keep a reference to it.
+         */
         boolean shouldExclude(BlockPos pos);
     }
 
@@ -56,15 +73,74 @@ public class PlacementPlanner {
         int score(BlockPos pos);
     }
 
-    // Reference to golem
-    private final GoldGolemEntity golem;
+    /**
+     * What the planner needs from the golem it drives. In game this wraps the golem itself
+     * (see {@link #PlacementPlanner(GoldGolemEntity)}); headless runs supply their own.
+     */
+    public interface Agent {
+        /** Block reads for stand, reach and neighbour checks. */
+        BlockAccess blocks();
+
+        /** Whether a block gives the golem footing: solid, or with a solid top face. */
+        boolean isSolidGround(BlockState state, BlockPos pos);
+
+        /** World time in ticks. */
+        long getTime();
+
+        double getX();
+
+        double getY();
+
+        double getZ();
+
+        double getEyeY();
+
+        float getEyeHeight();
+
+        float getHeight();
+
+        BlockPos getBlockPos();
+
+        Box getBoundingBox();
+
+        /** Whether the golem is inside a block and has to be moved out before anything else. */
+        boolean isSuffocating();
+
+        /** Whether nothing solid lies between the golem's eyes and the top of {@code pos}. */
+        boolean hasLineOfSight(BlockPos pos);
+
+        /** Whether a full path to {@code pos} exists. Expensive; the planner budgets these. */
+        boolean hasPathTo(BlockPos pos);
+
+        /** Start or continue walking to the centre of {@code pos}; false if no path could be started. */
+        boolean startMovingTo(BlockPos pos, double speed);
+
+        void stopMoving();
+
+        boolean isNavigationIdle();
+
+        void teleport(BlockPos pos);
+
+        // Reported to GolemMetrics in game
+        default void onStandSearch() {}
+
+        default void onPathCacheLookup(boolean hit) {}
+
+        default void onPathfind() {}
+    }
+
+    // The golem being driven, and its block reads
+    private final Agent agent;
+    private final BlockAccess blocks;
 
     // Block queues
-    private final Deque<BlockPos> remainingBlocks = new ArrayDeque<>();
+    private final PendingBlockIndex remainingBlocks = new PendingBlockIndex();
     private final Deque<DeferredBlock> deferredBlocks = new ArrayDeque<>();
-    private final Map<BlockPos, Integer> deferAttempts = new HashMap<>();
-    private final Map<BlockPos, Long> skipUntilTick = new HashMap<>();
-    private final Map<BlockPos, PathCheck> pathCache = new HashMap<>();
+    private final PendingBlockIndex.LayerCounts deferredLayers = new PendingBlockIndex.LayerCounts();
+    // Per-position state keyed by BlockPos.asLong(); pathCache values are packed by packPathCheck
+    private final Long2IntOpenHashMap deferAttempts = new Long2IntOpenHashMap();
+    private final Long2LongOpenHashMap skipUntilTick = new Long2LongOpenHashMap();
+    private final Long2LongOpenHashMap pathCache = new Long2LongOpenHashMap();
 
     // Current state
     private BlockPos currentTarget = null;
@@ -78,16 +154,29 @@ public class PlacementPlanner {
     private int navigationFailures = 0;
     private long lastPathFailureTick = Long.MIN_VALUE;
     private long lastPathBudgetTick = Long.MIN_VALUE;
-    private int remainingPathfindBudget = MAX_PATHFINDS_PER_TICK;
+    private int remainingPathfindBudget = GolemThroughput.pathfindsPerTick();
     private int consecutiveOverlapDeferrals = 0;  // Track when golem is trapped by its own builds
 
     // Optional filter and scorer for organic placement
     private BlockFilter blockFilter = null;
     private BlockScorer blockScorer = null;
 
-    private long debugLastTick = Long.MIN_VALUE;
-    private int debugPathfindCalls = 0;
-    private int debugCacheHits = 0;
+    // Scratch state for index queries
+    private final BlockPos.Mutable scratchPos = new BlockPos.Mutable();
+    private final long[] nearestScratch = new long[NEIGHBOR_CANDIDATE_COUNT];
+    private final int[] scoreScratch = new int[NEIGHBOR_CANDIDATE_COUNT];
+    private final double[] distScratch = new double[NEIGHBOR_CANDIDATE_COUNT];
+    private final LongPredicate selectable = this::isSelectable;
+    private long selectionTick = 0L;
+    private long lastSkipPruneTick = Long.MIN_VALUE;
+
+    // Standability cache and scratch buffers for stand-position searches
+    private final StandabilityCache standCache = new StandabilityCache(STAND_CACHE_TTL_TICKS);
+    private final BlockPos.Mutable standProbe = new BlockPos.Mutable();
+    private int[] layerOffsets = new int[0];
+    private double[] layerDist = new double[0];
+    private int[] layerOrder = new int[0];
+    private final IntComparator layerDistComparator = (a, b) -> Double.compare(layerDist[a], layerDist[b]);
 
     /**
      * Represents a block that was deferred because it couldn't be reached.
@@ -102,7 +191,7 @@ public class PlacementPlanner {
         }
     }
 
-    private static class PlacementSearchResult {
+    static class PlacementSearchResult {
         final BlockPos standPosition;
         final boolean budgetLimited;
         final boolean hasValidStand;
@@ -114,16 +203,6 @@ public class PlacementPlanner {
         }
     }
 
-    private static class PathCheck {
-        final boolean canPath;
-        final long expiresAt;
-
-        private PathCheck(boolean canPath, long expiresAt) {
-            this.canPath = canPath;
-            this.expiresAt = expiresAt;
-        }
-    }
-
     private enum PathCheckStatus {
         PATHABLE,
         NOT_PATHABLE,
@@ -142,27 +221,60 @@ public class PlacementPlanner {
     }
 
     public PlacementPlanner(GoldGolemEntity golem) {
-        this.golem = golem;
+        this(new GolemAgent(golem));
+    }
+
+    public PlacementPlanner(Agent agent) {
+        this.agent = agent;
+        this.blocks = agent.blocks();
+        this.skipUntilTick.defaultReturnValue(Long.MIN_VALUE);
+        this.pathCache.defaultReturnValue(-1L);
     }
 
     public void setBlockFilter(BlockFilter filter) { this.blockFilter = filter; }
     public void setBlockScorer(BlockScorer scorer) { this.blockScorer = scorer; }
 
+    /**
+     * Organic build order used by the layered strategies: skip blocks in the inverted pyramid
+     * above the golem's feet (at height H, within Chebyshev distance H), so it does not wall
+     * itself in, and place blocks with more non-air neighbours first.
+     */
+    public void useOrganicPlacement() {
+        this.blockFilter = pos -> {
+            BlockPos golemFeet = agent.getBlockPos();
+            int dy = pos.getY() - golemFeet.getY();
+            if (dy <= 0) return false; // Only exclude above
+            int dxAbs = Math.abs(pos.getX() - golemFeet.getX());
+            int dzAbs = Math.abs(pos.getZ() - golemFeet.getZ());
+            return Math.max(dxAbs, dzAbs) <= dy;
+        };
+        this.blockScorer = pos -> {
+            int neighbors = 0;
+            if (!blocks.getBlockState(pos.north()).isAir()) neighbors++;
+            if (!blocks.getBlockState(pos.south()).isAir()) neighbors++;
+            if (!blocks.getBlockState(pos.east()).isAir()) neighbors++;
+            if (!blocks.getBlockState(pos.west()).isAir()) neighbors++;
+            if (!blocks.getBlockState(pos.down()).isAir()) neighbors++;
+            return neighbors;
+        };
+    }
+
+    /**
+     * Block reads of the world the golem is in.
+     */
+    public BlockAccess blocks() {
+        return blocks;
+    }
+
     /**
      * Return the lowest Y among remaining + deferred + currentTarget.
      * Used by strategies to know when to feed the next layer.
      */
     public int getLowestPendingY() {
-        int minY = Integer.MAX_VALUE;
+        int minY = Math.min(remainingBlocks.getMinY(), deferredLayers.getMin());
         if (currentTarget != null) {
             minY = Math.min(minY, currentTarget.getY());
         }
-        for (BlockPos pos : remainingBlocks) {
-            minY = Math.min(minY, pos.getY());
-        }
-        for (DeferredBlock db : deferredBlocks) {
-            minY = Math.min(minY, db.pos.getY());
-        }
         return minY;
     }
 
@@ -172,18 +284,12 @@ public class PlacementPlanner {
      */
     public boolean hasBlocksAtY(int y) {
         if (currentTarget != null && currentTarget.getY() == y) return true;
-        for (BlockPos pos : remainingBlocks) {
-            if (pos.getY() == y) return true;
-        }
-        for (DeferredBlock db : deferredBlocks) {
-            if (db.pos.getY() == y) return true;
-        }
-        return false;
+        return remainingBlocks.hasBlocksAtY(y) || deferredLayers.has(y);
     }
 
     /**
      * Set the blocks to place. Clears any existing state.
-     * Blocks are sorted by Y (bottom-up) for proper build order.
+     * Blocks are selected by Y (bottom-up) for proper build order.
      */
     public void setBlocks(List<BlockPos> blocks) {
         setBlocks(blocks, null);
@@ -191,16 +297,18 @@ public class PlacementPlanner {
 
     /**
      * Set the blocks to place with a checker to skip already-correct blocks.
-     * Clears any existing state. Blocks are sorted by Y (bottom-up) for proper build order.
+     * Clears any existing state. Blocks are selected by Y (bottom-up) for proper build order.
      * @param blocks The blocks to place
      * @param checker Optional checker to skip blocks that are already correctly placed
      */
     public void setBlocks(List<BlockPos> blocks, BlockChecker checker) {
         remainingBlocks.clear();
         deferredBlocks.clear();
+        deferredLayers.clear();
         deferAttempts.clear();
         skipUntilTick.clear();
         pathCache.clear();
+        standCache.clear();
         currentTarget = null;
         currentStandPos = null;
         stuckTicks = 0;
@@ -212,7 +320,7 @@ public class PlacementPlanner {
         navigationFailures = 0;
         lastPathFailureTick = Long.MIN_VALUE;
         lastPathBudgetTick = Long.MIN_VALUE;
-        remainingPathfindBudget = MAX_PATHFINDS_PER_TICK;
+        remainingPathfindBudget = GolemThroughput.pathfindsPerTick();
         consecutiveOverlapDeferrals = 0;
 
         // Filter out blocks that are already correctly placed
@@ -228,17 +336,14 @@ public class PlacementPlanner {
                 }
             }
             if (skipped > 0) {
-                LOGGER.info("Skipped {} already-correct blocks, {} remaining to place", skipped, toPlace.size());
+                LOGGER.debug("Skipped {} already-correct blocks, {} remaining to place", skipped, toPlace.size());
             }
         }
 
-        // Sort blocks by Y level (bottom to top), then by distance from golem
-        List<BlockPos> sorted = new ArrayList<>(toPlace);
-        Vec3d golemPos = new Vec3d(golem.getX(), golem.getY(), golem.getZ());
-        sorted.sort(Comparator
-                .comparingInt(BlockPos::getY)
-                .thenComparingDouble(b -> golemPos.squaredDistanceTo(b.getX(), b.getY(), b.getZ())));
-        remainingBlocks.addAll(sorted);
+        // Y-then-distance ordering is applied at selection time by the index
+        for (BlockPos pos : toPlace) {
+            remainingBlocks.add(pos);
+        }
     }
 
     /**
@@ -271,43 +376,12 @@ public class PlacementPlanner {
                 }
             }
             if (skipped > 0) {
-                LOGGER.info("Skipped {} already-correct blocks when adding, {} remaining to add", skipped, toAdd.size());
+                LOGGER.debug("Skipped {} already-correct blocks when adding, {} remaining to add", skipped, toAdd.size());
             }
         }
 
-        if (toAdd.isEmpty()) {
-            return;
-        }
-
-        Vec3d golemPos = new Vec3d(golem.getX(), golem.getY(), golem.getZ());
-        Comparator<BlockPos> comparator = Comparator
-                .comparingInt(BlockPos::getY)
-                .thenComparingDouble(b -> golemPos.squaredDistanceTo(b.getX(), b.getY(), b.getZ()));
-
-        List<BlockPos> existing = new ArrayList<>(remainingBlocks);
-        List<BlockPos> incoming = new ArrayList<>(toAdd);
-        existing.sort(comparator);
-        incoming.sort(comparator);
-
-        remainingBlocks.clear();
-        int i = 0;
-        int j = 0;
-        while (i < existing.size() && j < incoming.size()) {
-            BlockPos a = existing.get(i);
-            BlockPos b = incoming.get(j);
-            if (comparator.compare(a, b) <= 0) {
-                remainingBlocks.addLast(a);
-                i++;
-            } else {
-                remainingBlocks.addLast(b);
-                j++;
-            }
-        }
-        while (i < existing.size()) {
-            remainingBlocks.addLast(existing.get(i++));
-        }
-        while (j < incoming.size()) {
-            remainingBlocks.addLast(incoming.get(j++));
+        for (BlockPos pos : toAdd) {
+            remainingBlocks.add(pos);
         }
     }
 
@@ -338,15 +412,6 @@ public class PlacementPlanner {
      * @return The result of this tick
      */
     public TickResult tick(BlockPlacer blockPlacer) {
-        if (DEBUG_COUNTERS) {
-            long now = golem.getEntityWorld().getTime();
-            if (now != debugLastTick) {
-                debugLastTick = now;
-                debugPathfindCalls = 0;
-                debugCacheHits = 0;
-            }
-        }
-
         if (tryTeleportIfSuffocating()) {
             return TickResult.WORKING;
         }
@@ -360,14 +425,14 @@ public class PlacementPlanner {
                         selectionBlockedByBudget, remainingBlocks.size(), deferredBlocks.size());
                     return TickResult.WORKING;
                 }
-                LOGGER.info("All blocks placed, returning COMPLETED");
+                LOGGER.debug("All blocks placed, returning COMPLETED");
                 return TickResult.COMPLETED;
             }
 
             // If already in reach, place without moving.
-            Vec3d golemPos = new Vec3d(golem.getX(), golem.getEyeY(), golem.getZ());
+            Vec3d golemPos = new Vec3d(agent.getX(), agent.getEyeY(), agent.getZ());
             if (isWithinReach(golemPos, currentTarget, MAX_REACH)) {
-                currentStandPos = golem.getBlockPos();
+                currentStandPos = agent.getBlockPos();
                 navigatingToStandPos = false;
                 stuckTicks = 0;
                 lastNavPos = null;
@@ -390,7 +455,7 @@ public class PlacementPlanner {
                     // Pathfinding failed - use aggressive fallback: find ANY position and teleport
                     BlockPos fallbackPos = findAnyStandPosition(currentTarget);
                     if (fallbackPos != null) {
-                        LOGGER.info("Using fallback teleport: target={} fallback={}", currentTarget, fallbackPos);
+                        LOGGER.debug("Using fallback teleport: target={} fallback={}", currentTarget, fallbackPos);
                         teleportToStandPosition(fallbackPos);
                         currentStandPos = fallbackPos;
                         navigatingToStandPos = false;
@@ -399,8 +464,8 @@ public class PlacementPlanner {
                         navigationFailures = 0;
                     } else {
                         // No valid position at all - force place from current position
-                        LOGGER.info("No valid stand position, force placing: target={}", currentTarget);
-                        currentStandPos = golem.getBlockPos();
+                        LOGGER.debug("No valid stand position, force placing: target={}", currentTarget);
+                        currentStandPos = agent.getBlockPos();
                         navigatingToStandPos = false;
                         stuckTicks = 0;
                         lastNavPos = null;
@@ -413,36 +478,35 @@ public class PlacementPlanner {
                     stuckTicks = 0;
                     lastNavPos = null;
                     navigationFailures = 0;
-                    LOGGER.info("Selected standPos={} for target={}", currentStandPos, currentTarget);
+                    LOGGER.debug("Selected standPos={} for target={}", currentStandPos, currentTarget);
                 }
             }
         }
 
         // Navigate to stand position
         if (navigatingToStandPos && currentStandPos != null) {
-            double dx = golem.getX() - (currentStandPos.getX() + 0.5);
-            double dy = golem.getY() - currentStandPos.getY();
-            double dz = golem.getZ() - (currentStandPos.getZ() + 0.5);
+            double dx = agent.getX() - (currentStandPos.getX() + 0.5);
+            double dy = agent.getY() - currentStandPos.getY();
+            double dz = agent.getZ() - (currentStandPos.getZ() + 0.5);
             double distSq = dx * dx + dz * dz;
             double distY = Math.abs(dy);
 
             // Check if we're close enough to place
-            Vec3d golemPos = new Vec3d(golem.getX(), golem.getEyeY(), golem.getZ());
+            Vec3d golemPos = new Vec3d(agent.getX(), agent.getEyeY(), agent.getZ());
             boolean inReach = currentTarget != null && isWithinReach(golemPos, currentTarget, MAX_REACH);
             if (inReach) {
                 navigatingToStandPos = false;
                 stuckTicks = 0;
-                golem.getNavigation().stop();
+                agent.stopMoving();
             } else {
                 // Keep navigating
-                boolean started = golem.getNavigation().startMovingTo(
-                        currentStandPos.getX() + 0.5, currentStandPos.getY(), currentStandPos.getZ() + 0.5, 1.1);
+                boolean started = agent.startMovingTo(currentStandPos, NAVIGATION_SPEED);
                 if (!started) {
                     navigationFailures++;
                     // Give navigation a few attempts before teleporting
                     if (navigationFailures >= 3) {
-                        if (currentStandPos != null && !currentStandPos.equals(golem.getBlockPos())) {
-                            LOGGER.info("Navigation failed {} times, teleporting: standPos={} target={}",
+                        if (currentStandPos != null && !currentStandPos.equals(agent.getBlockPos())) {
+                            LOGGER.debug("Navigation failed {} times, teleporting: standPos={} target={}",
                                     navigationFailures, currentStandPos, currentTarget);
                             teleportToStandPosition(currentStandPos);
                         }
@@ -458,21 +522,20 @@ public class PlacementPlanner {
                 navigationFailures = 0;
 
                 // Check if stuck
-                Vec3d now = new Vec3d(golem.getX(), golem.getY(), golem.getZ());
+                Vec3d now = new Vec3d(agent.getX(), agent.getY(), agent.getZ());
                 double movedSq = lastNavPos == null ? Double.POSITIVE_INFINITY : now.squaredDistanceTo(lastNavPos);
-                boolean idle = golem.getNavigation().isIdle();
+                boolean idle = agent.isNavigationIdle();
                 if ((!started || idle || movedSq < MIN_MOVE_DIST_SQ) && !inReach) {
                     stuckTicks++;
                     // At half the threshold, try to re-calculate the path
                     if (stuckTicks == STUCK_THRESHOLD_TICKS / 2) {
                         LOGGER.debug("Stuck halfway, attempting re-path: standPos={}", currentStandPos);
-                        golem.getNavigation().stop();
-                        golem.getNavigation().startMovingTo(
-                                currentStandPos.getX() + 0.5, currentStandPos.getY(), currentStandPos.getZ() + 0.5, 1.1);
+                        agent.stopMoving();
+                        agent.startMovingTo(currentStandPos, NAVIGATION_SPEED);
                     }
                     if (stuckTicks >= STUCK_THRESHOLD_TICKS) {
                         // Stuck - teleport as last resort
-                        LOGGER.info("Stuck, teleporting: standPos={} target={}", currentStandPos, currentTarget);
+                        LOGGER.debug("Stuck, teleporting: standPos={} target={}", currentStandPos, currentTarget);
                         teleportToStandPosition(currentStandPos);
                         stuckTicks = 0;
                         navigatingToStandPos = false;
@@ -489,29 +552,29 @@ public class PlacementPlanner {
 
         // We're at the stand position, place the block
         if (currentTarget != null) {
-            Vec3d golemPos = new Vec3d(golem.getX(), golem.getEyeY(), golem.getZ());
+            Vec3d golemPos = new Vec3d(agent.getX(), agent.getEyeY(), agent.getZ());
             boolean inReach = isWithinReach(golemPos, currentTarget, MAX_REACH);
 
             if (!inReach) {
                 // Not in reach - try to find a better position and teleport
                 BlockPos betterPos = findAnyStandPosition(currentTarget);
-                if (betterPos != null && !betterPos.equals(golem.getBlockPos())) {
-                    LOGGER.info("Teleporting to better position: target={} pos={}", currentTarget, betterPos);
+                if (betterPos != null && !betterPos.equals(agent.getBlockPos())) {
+                    LOGGER.debug("Teleporting to better position: target={} pos={}", currentTarget, betterPos);
                     teleportToStandPosition(betterPos);
                     return TickResult.WORKING;
                 }
                 // No better position - force place anyway
-                LOGGER.info("Force placing out of range: target={}", currentTarget);
+                LOGGER.debug("Force placing out of range: target={}", currentTarget);
             }
 
             // Check if placing would cause golem to overlap with the block (suffocation)
             if (wouldOverlapGolem(currentTarget)) {
                 consecutiveOverlapDeferrals++;
-                LOGGER.info("Target {} overlaps golem, deferring (consecutive: {})", currentTarget, consecutiveOverlapDeferrals);
+                LOGGER.debug("Target {} overlaps golem, deferring (consecutive: {})", currentTarget, consecutiveOverlapDeferrals);
 
                 // If we've been deferring due to overlap repeatedly, we're trapped - teleport out
                 if (consecutiveOverlapDeferrals >= MAX_CONSECUTIVE_OVERLAP_DEFERRALS) {
-                    LOGGER.info("Golem trapped by own builds after {} deferrals, teleporting out", consecutiveOverlapDeferrals);
+                    LOGGER.debug("Golem trapped by own builds after {} deferrals, teleporting out", consecutiveOverlapDeferrals);
                     BlockPos escapePos = findEscapePosition();
                     if (escapePos != null) {
                         teleportToStandPosition(escapePos);
@@ -529,14 +592,15 @@ public class PlacementPlanner {
 
             // Place the block (even if slightly out of range)
             BlockPos nextTarget = peekNextTarget();
-            LOGGER.info("Attempting to place block at target={} golemPos={} nextTarget={}",
-                currentTarget, golem.getBlockPos(), nextTarget);
+            LOGGER.debug("Attempting to place block at target={} golemPos={} nextTarget={}",
+                currentTarget, agent.getBlockPos(), nextTarget);
             boolean placed = blockPlacer.placeBlock(currentTarget, nextTarget);
             if (placed) {
-                LOGGER.info("Successfully placed block at {} remaining={} deferred={}",
+                standCache.invalidate(currentTarget);
+                LOGGER.debug("Successfully placed block at {} remaining={} deferred={}",
                     currentTarget, remainingBlocks.size(), deferredBlocks.size());
                 remainingBlocks.remove(currentTarget);
-                deferAttempts.remove(currentTarget);
+                deferAttempts.remove(currentTarget.asLong());
                 currentTarget = null;
                 currentStandPos = null;
                 navigationFailures = 0;
@@ -581,12 +645,43 @@ public class PlacementPlanner {
         boolean isAlreadyCorrect(BlockPos pos);
     }
 
+    /**
+     * Checker for a set of expected states plus positions to mine: mine positions are done once
+     * they are air, the others once they hold the expected block.
+     */
+    public static BlockChecker expectedOrMined(BlockAccess blocks, Map<BlockPos, BlockState> expected, Set<BlockPos> mines) {
+        return pos -> {
+            if (mines.contains(pos)) {
+                return blocks.getBlockState(pos).isAir(); // already mined
+            }
+            BlockState state = expected.get(pos);
+            if (state == null) return true; // Skip if no expected state
+            return blocks.getBlockState(pos).getBlock() == state.getBlock();
+        };
+    }
+
     // ========== Private Methods ==========
 
-    private BlockPos selectNextBlock() {
+    /**
+     * Take the next target out of the queue, see {@link #selectNext()}.
+     * @return the target, or null if none can be selected now
+     */
+    BlockPos selectNextBlock() {
+        long packed = selectNext();
+        return packed == PendingBlockIndex.NONE ? null : BlockPos.fromLong(packed);
+    }
+
+    /**
+     * Take the next target out of the queue: a deferred block when one is due, else the best
+     * block within reach, else the nearest candidate with a reachable stand position.
+     * Works on packed positions, so picking a block in reach allocates nothing.
+     * Package-private so benchmarks and tests can drive it directly.
+     * @return the packed target, or {@link PendingBlockIndex#NONE}
+     */
+    long selectNext() {
         selectionBlockedByBudget = false;
         preselectedStandPos = null;
-        long now = golem.getEntityWorld().getTime();
+        long now = agent.getTime();
         pruneSkipMap(now);
 
         if (!deferredBlocks.isEmpty()) {
@@ -607,112 +702,82 @@ public class PlacementPlanner {
                     break;
                 }
                 if (deferred != null) {
+                    deferredLayers.decrement(deferred.pos.getY());
                     deferredRetryCountdown = DEFERRED_RETRY_INTERVAL;
-                    return deferred.pos;
+                    return deferred.pos.asLong();
                 }
             } else {
                 deferredRetryCountdown--;
             }
         }
 
-        Vec3d golemEyePos = new Vec3d(golem.getX(), golem.getEyeY(), golem.getZ());
+        double eyeX = agent.getX();
+        double eyeY = agent.getEyeY();
+        double eyeZ = agent.getZ();
 
         // PHASE 1: Prioritize blocks within reach to avoid unnecessary teleporting
         // This ensures we place ALL reachable blocks before moving elsewhere
-        BlockPos inReachBlock = findBlockWithinReach(golemEyePos, now);
-        if (inReachBlock != null) {
+        long inReachBlock = findBlockWithinReach(eyeX, eyeY, eyeZ, now);
+        if (inReachBlock != PendingBlockIndex.NONE) {
             return inReachBlock;
         }
 
-        // PHASE 2: No blocks in reach - re-sort by distance to current golem position
-        // This ensures when we do teleport/pathfind, it's to the nearest cluster
-        resortByDistanceToGolem();
-
-        // PHASE 3: Collect up to NEIGHBOR_CANDIDATE_COUNT non-excluded candidates for scoring
-        List<BlockPos> scoringCandidates = new ArrayList<>();
-        int scanned = 0;
-        while (scoringCandidates.size() < NEIGHBOR_CANDIDATE_COUNT && scanned < remainingBlocks.size()) {
-            BlockPos pos = remainingBlocks.pollFirst();
-            if (pos == null) break;
-            scanned++;
-            Long skipUntil = skipUntilTick.get(pos);
-            if (skipUntil != null && skipUntil > now) {
-                remainingBlocks.addLast(pos);
-                continue;
-            }
-            if (blockFilter != null && blockFilter.shouldExclude(pos)) {
-                remainingBlocks.addLast(pos);
-                continue;
-            }
-            scoringCandidates.add(pos);
-        }
+        // PHASE 2: No blocks in reach - collect up to NEIGHBOR_CANDIDATE_COUNT non-excluded
+        // candidates nearest to the golem, so when we do teleport/pathfind it's to the nearest cluster
+        selectionTick = now;
+        int found = remainingBlocks.collectNearest(agent.getX(), agent.getY(), agent.getZ(),
+                NEIGHBOR_CANDIDATE_COUNT, selectable, nearestScratch);
 
-        // Sort candidates by scorer if set (descending score, distance as tiebreak)
-        if (blockScorer != null && scoringCandidates.size() > 1) {
-            Vec3d golemPos = new Vec3d(golem.getX(), golem.getY(), golem.getZ());
-            scoringCandidates.sort((a, b) -> {
-                int sa = blockScorer.score(a);
-                int sb = blockScorer.score(b);
-                if (sa != sb) return Integer.compare(sb, sa); // descending
-                double da = golemPos.squaredDistanceTo(a.getX() + 0.5, a.getY() + 0.5, a.getZ() + 0.5);
-                double db = golemPos.squaredDistanceTo(b.getX() + 0.5, b.getY() + 0.5, b.getZ() + 0.5);
-                return Double.compare(da, db);
-            });
+        // Sort candidates by scorer if set (descending score, distance as tiebreak).
+        // Scores are computed once per candidate into scratch arrays, then insertion-sorted.
+        if (blockScorer != null && found > 1) {
+            sortCandidatesByScore(found);
         }
 
-        // Try candidates with pathfinding, tracking which have been consumed
+        // Try candidates with pathfinding. Candidates stay in the index until selected;
+        // unreachable ones get a skip timer instead of being rotated to the back of a queue.
         int attempts = 0;
-        BlockPos fallback = null;
-        Set<BlockPos> consumed = new HashSet<>();
-        BlockPos selected = null;
-        for (BlockPos pos : scoringCandidates) {
+        long fallback = PendingBlockIndex.NONE;
+        long selected = PendingBlockIndex.NONE;
+        for (int i = 0; i < found; i++) {
             if (attempts >= MAX_CANDIDATES_PER_TICK) {
-                break; // Will be put back below
+                break;
             }
-            if (fallback == null) {
-                fallback = pos;
+            long packed = nearestScratch[i];
+            if (fallback == PendingBlockIndex.NONE) {
+                fallback = packed;
             }
 
             // Double-check reach (golem might have moved slightly)
-            if (isWithinReach(golemEyePos, pos, MAX_REACH)) {
-                consumed.add(pos);
-                selected = pos;
+            if (isWithinReach(eyeX, eyeY, eyeZ, packed, MAX_REACH)) {
+                selected = packed;
                 break;
             }
 
+            BlockPos pos = BlockPos.fromLong(packed);
             PlacementSearchResult placement = findPlacementResult(pos);
             if (placement.budgetLimited && placement.standPosition == null) {
                 selectionBlockedByBudget = true;
+                remainingBlocks.remove(packed);
                 defer(pos);
-                consumed.add(pos);
                 break;
             }
             if (placement.standPosition != null) {
                 preselectedStandPos = placement.standPosition;
-                consumed.add(pos);
-                selected = pos;
+                selected = packed;
                 break;
             }
 
-            skipUntilTick.put(pos, now + SKIP_RETRY_TICKS);
-            remainingBlocks.addLast(pos);
-            consumed.add(pos);
+            skipUntilTick.put(packed, now + SKIP_RETRY_TICKS);
             attempts++;
         }
 
-        // Put unconsumed candidates back at the front of the queue
-        for (int i = scoringCandidates.size() - 1; i >= 0; i--) {
-            BlockPos pos = scoringCandidates.get(i);
-            if (!consumed.contains(pos)) {
-                remainingBlocks.addFirst(pos);
-            }
-        }
-
-        if (selected != null) {
+        if (selected != PendingBlockIndex.NONE) {
+            remainingBlocks.remove(selected);
             return selected;
         }
 
-        if (!selectionBlockedByBudget && fallback != null) {
+        if (!selectionBlockedByBudget && fallback != PendingBlockIndex.NONE) {
             remainingBlocks.remove(fallback);
             return fallback;
         }
@@ -722,54 +787,93 @@ public class PlacementPlanner {
                  remainingBlocks.size(), deferredBlocks.size(), selectionBlockedByBudget);
         }
 
-        return null;
+        return PendingBlockIndex.NONE;
     }
 
     /**
-     * Find any block within reach of the golem, respecting skip timers.
-     * Scans the queue and returns the first reachable block found.
-     * @return A block position within reach, or null if none found
+     * Put a block taken by {@link #selectNextBlock()} back into the pending index.
      */
-    private BlockPos findBlockWithinReach(Vec3d golemEyePos, long now) {
-        for (Iterator<BlockPos> it = remainingBlocks.iterator(); it.hasNext(); ) {
-            BlockPos pos = it.next();
-            Long skipUntil = skipUntilTick.get(pos);
-            if (skipUntil != null && skipUntil > now) {
-                continue;
-            }
-            if (blockFilter != null && blockFilter.shouldExclude(pos)) {
-                continue; // Don't remove — may become valid when golem moves
-            }
-            if (isWithinReach(golemEyePos, pos, MAX_REACH)) {
-                it.remove();
-                return pos;
-            }
-        }
-        return null;
+    void requeue(BlockPos pos) {
+        requeue(pos.asLong());
+    }
+
+    void requeue(long packed) {
+        remainingBlocks.add(packed);
     }
 
     /**
-     * Re-sort remaining blocks by distance to golem's current position.
-     * Uses Java's TimSort which is O(n) on nearly-sorted data.
-     * Called when no blocks are within reach, before teleporting to nearest cluster.
+     * Find the best block within reach of the golem (lowest Y, then closest), respecting
+     * skip timers and the block filter. Only the index sections around the golem are visited.
+     * @return The packed position of a block within reach, or {@link PendingBlockIndex#NONE}
      */
-    private void resortByDistanceToGolem() {
-        if (remainingBlocks.size() <= 1) return;
+    private long findBlockWithinReach(double eyeX, double eyeY, double eyeZ, long now) {
+        selectionTick = now;
+        long packed = remainingBlocks.findBestWithinReach(eyeX, eyeY, eyeZ,
+                MAX_REACH, MAX_VERTICAL_REACH, selectable);
+        if (packed != PendingBlockIndex.NONE) {
+            remainingBlocks.remove(packed);
+        }
+        return packed;
+    }
 
-        Vec3d golemPos = new Vec3d(golem.getX(), golem.getY(), golem.getZ());
-        List<BlockPos> blocks = new ArrayList<>(remainingBlocks);
-        blocks.sort(Comparator.comparingDouble(b ->
-            golemPos.squaredDistanceTo(b.getX() + 0.5, b.getY() + 0.5, b.getZ() + 0.5)));
-        remainingBlocks.clear();
-        remainingBlocks.addAll(blocks);
+    /**
+     * Order the first {@code count} entries of nearestScratch by descending score, then by
+     * distance to the golem. The candidate window is tiny, so insertion sort is enough.
+     */
+    private void sortCandidatesByScore(int count) {
+        double gx = agent.getX();
+        double gy = agent.getY();
+        double gz = agent.getZ();
+        for (int i = 0; i < count; i++) {
+            long packed = nearestScratch[i];
+            scratchPos.set(BlockPos.unpackLongX(packed), BlockPos.unpackLongY(packed), BlockPos.unpackLongZ(packed));
+            scoreScratch[i] = blockScorer.score(scratchPos);
+            double dx = gx - (scratchPos.getX() + 0.5);
+            double dy = gy - (scratchPos.getY() + 0.5);
+            double dz = gz - (scratchPos.getZ() + 0.5);
+            distScratch[i] = dx * dx + dy * dy + dz * dz;
+        }
+        for (int i = 1; i < count; i++) {
+            long packed = nearestScratch[i];
+            int score = scoreScratch[i];
+            double dist = distScratch[i];
+            int j = i - 1;
+            while (j >= 0 && (scoreScratch[j] < score || (scoreScratch[j] == score && distScratch[j] > dist))) {
+                nearestScratch[j + 1] = nearestScratch[j];
+                scoreScratch[j + 1] = scoreScratch[j];
+                distScratch[j + 1] = distScratch[j];
+                j--;
+            }
+            nearestScratch[j + 1] = packed;
+            scoreScratch[j + 1] = score;
+            distScratch[j + 1] = dist;
+        }
+    }
 
-        LOGGER.debug("Re-sorted {} blocks by distance to golem at {}", blocks.size(), golem.getBlockPos());
+    /**
+     * Index predicate: skip blocks on a retry timer and blocks the filter excludes right now.
+     * Excluded blocks stay in the index - they may become valid when the golem moves.
+     */
+    private boolean isSelectable(long packed) {
+        if (skipUntilTick.get(packed) > selectionTick) {
+            return false;
+        }
+        if (blockFilter == null) {
+            return true;
+        }
+        scratchPos.set(BlockPos.unpackLongX(packed), BlockPos.unpackLongY(packed), BlockPos.unpackLongZ(packed));
+        return !blockFilter.shouldExclude(scratchPos);
     }
 
     private BlockPos peekNextTarget() {
         // Peek at what the next target will be (for animation)
         if (!remainingBlocks.isEmpty()) {
-            return remainingBlocks.peek();
+            long packed = remainingBlocks.findBestWithinReach(agent.getX(), agent.getEyeY(), agent.getZ(),
+                    MAX_REACH, MAX_VERTICAL_REACH, null);
+            if (packed == PendingBlockIndex.NONE) {
+                packed = remainingBlocks.peekLowest();
+            }
+            return BlockPos.fromLong(packed);
         }
         if (!deferredBlocks.isEmpty()) {
             return deferredBlocks.peek().pos;
@@ -781,8 +885,8 @@ public class PlacementPlanner {
      * Check if placing a block at the given position would overlap with the golem's bounding box.
      */
     private boolean wouldOverlapGolem(BlockPos pos) {
-        var golemBox = golem.getBoundingBox();
-        var blockBox = new net.minecraft.util.math.Box(
+        var golemBox = agent.getBoundingBox();
+        var blockBox = new Box(
             pos.getX(), pos.getY(), pos.getZ(),
             pos.getX() + 1.0, pos.getY() + 1.0, pos.getZ() + 1.0
         );
@@ -790,7 +894,8 @@ public class PlacementPlanner {
     }
 
     private void defer(BlockPos pos) {
-        int attempts = deferAttempts.merge(pos, 1, Integer::sum);
+        deferredLayers.increment(pos.getY());
+        int attempts = deferAttempts.addTo(pos.asLong(), 1) + 1;
         if (attempts < MAX_DEFER_ATTEMPTS) {
             deferredBlocks.addLast(new DeferredBlock(pos));
         } else {
@@ -801,11 +906,7 @@ public class PlacementPlanner {
     }
 
     private boolean tryTeleportIfSuffocating() {
-        var world = golem.getEntityWorld();
-        if (world.isClient()) {
-            return false;
-        }
-        if (!golem.isInsideWall() && world.isSpaceEmpty(golem)) {
+        if (!agent.isSuffocating()) {
             return false;
         }
 
@@ -820,7 +921,7 @@ public class PlacementPlanner {
         }
 
         if (safePos == null) {
-            safePos = findNearestSafeStandPosition(golem.getBlockPos(), SUFFOCATION_TELEPORT_RADIUS);
+            safePos = findNearestSafeStandPosition(agent.getBlockPos(), SUFFOCATION_TELEPORT_RADIUS);
         }
 
         if (safePos == null) {
@@ -833,7 +934,7 @@ public class PlacementPlanner {
         currentStandPos = null;
         lastNavPos = null;
         if (currentTarget != null) {
-            remainingBlocks.addFirst(currentTarget);
+            requeue(currentTarget);
             currentTarget = null;
         }
         return true;
@@ -846,94 +947,85 @@ public class PlacementPlanner {
      * Find a valid stand position, preferring pathable spots and early exit.
      * For tower building, prioritizes positions closer to the target's Y level (higher up).
      */
-    private PlacementSearchResult findPlacementResult(BlockPos target) {
-        int reach = (int) Math.ceil(MAX_REACH);
-        Vec3d golemPos = new Vec3d(golem.getX(), golem.getY(), golem.getZ());
-        int targetY = target.getY();
-
-        // Collect all valid stand positions, then sort by preference
-        List<BlockPos> candidates = new ArrayList<>();
-
-        for (int dx = -reach; dx <= reach; dx++) {
-            for (int dy = -reach; dy <= reach; dy++) {
-                for (int dz = -reach; dz <= reach; dz++) {
-                    BlockPos standPos = target.add(dx, dy, dz);
-
-                    // Skip positions that would place the block inside the golem
-                    // (target at feet level or head level)
-                    if (standPos.equals(target) || standPos.up().equals(target)) {
-                        continue;
-                    }
-
-                    Vec3d standEye = new Vec3d(standPos.getX() + 0.5, standPos.getY() + golem.getEyeHeight(golem.getPose()), standPos.getZ() + 0.5);
+    PlacementSearchResult findPlacementResult(BlockPos target) {
+        agent.onStandSearch();
+        float eyeHeight = agent.getEyeHeight();
+        StandOffsetTable table = StandOffsetTable.get(MAX_REACH, MAX_VERTICAL_REACH, eyeHeight);
+        ensureLayerScratch(table.maxGroupSize);
+        double gx = agent.getX();
+        double gy = agent.getY();
+        double gz = agent.getZ();
+        int tx = target.getX();
+        int ty = target.getY();
+        int tz = target.getZ();
+        int targetY = ty;
+
+        // Offset groups come pre-ordered: at or below target Y first (ground is guaranteed from
+        // previous layers in tower building), then by Y distance. Within a group, candidates are
+        // ordered by distance to the golem, and the scan stops at the first pathable one.
+        BlockPos fallback = null;
+        int candidateCount = 0;
+        boolean budgetLimited = false;
+        int notPathableCount = 0;
 
-                    if (isWithinReach(standEye, target, MAX_REACH) && canStandAt(standPos)) {
-                        candidates.add(standPos);
-                    }
+        for (int[] group : table.placementGroups) {
+            int count = 0;
+            for (int i = 0; i < group.length; i += 3) {
+                int sx = tx + group[i];
+                int sy = ty + group[i + 1];
+                int sz = tz + group[i + 2];
+                if (!canStandAt(sx, sy, sz)) {
+                    continue;
                 }
+                double dx = gx - (sx + 0.5);
+                double dy = gy - sy;
+                double dz = gz - (sz + 0.5);
+                layerOffsets[count] = i;
+                layerDist[count] = dx * dx + dy * dy + dz * dz;
+                layerOrder[count] = count;
+                count++;
             }
-        }
-
-        if (candidates.isEmpty()) {
-            LOGGER.warn("No valid stand candidates found for target={}", target);
-            return new PlacementSearchResult(null, false, false);
-        }
-
-        // Sort candidates: prefer positions at or below target Y (for tower building - ground is more reliable below)
-        // then by Y distance, then by distance to golem
-        candidates.sort((a, b) -> {
-            // First, prefer positions at or below target Y (ground is guaranteed from previous layers)
-            boolean aBelow = a.getY() <= targetY;
-            boolean bBelow = b.getY() <= targetY;
-            if (aBelow != bBelow) {
-                return aBelow ? -1 : 1;  // Below/at target comes first
-            }
-            // Then prefer positions closer to target Y level
-            int aYDist = Math.abs(a.getY() - targetY);
-            int bYDist = Math.abs(b.getY() - targetY);
-            if (aYDist != bYDist) {
-                return Integer.compare(aYDist, bYDist);
+            if (count == 0) {
+                continue;
             }
-            // Then sort by distance to golem
-            double distA = golemPos.squaredDistanceTo(a.getX() + 0.5, a.getY(), a.getZ() + 0.5);
-            double distB = golemPos.squaredDistanceTo(b.getX() + 0.5, b.getY(), b.getZ() + 0.5);
-            return Double.compare(distA, distB);
-        });
-
-        BlockPos fallback = candidates.get(0); // Best candidate (closest to target Y)
-        boolean budgetLimited = false;
-        int notPathableCount = 0;
-
-        // Debug: log candidate selection
-        if (candidates.size() <= 5) {
-            LOGGER.info("Stand candidates for target={}: {}", target, candidates);
-        } else {
-            LOGGER.info("Stand candidates for target={}: top5={}, total={}", target,
-                candidates.subList(0, 5), candidates.size());
-        }
+            IntArrays.quickSort(layerOrder, 0, count, layerDistComparator);
+            candidateCount += count;
+
+            for (int k = 0; k < count; k++) {
+                int i = layerOffsets[layerOrder[k]];
+                int sx = tx + group[i];
+                int sy = ty + group[i + 1];
+                int sz = tz + group[i + 2];
+                if (fallback == null) {
+                    fallback = new BlockPos(sx, sy, sz); // Best candidate (closest to target Y)
+                }
 
-        // Check pathability for candidates (in sorted order)
-        for (BlockPos standPos : candidates) {
-            Vec3d standEye = new Vec3d(standPos.getX() + 0.5, standPos.getY() + golem.getEyeHeight(golem.getPose()), standPos.getZ() + 0.5);
+                // Only consider pathing to spots that are comfortably within reach
+                if (!isWithinReach(sx + 0.5, sy + eyeHeight, sz + 0.5, tx, ty, tz, MAX_REACH - PLANNING_REACH_BUFFER)) {
+                    continue;
+                }
 
-            // Only consider pathing to spots that are comfortably within reach
-            if (!isWithinReach(standEye, target, MAX_REACH - PLANNING_REACH_BUFFER)) {
-                continue;
+                BlockPos standPos = new BlockPos(sx, sy, sz);
+                PathCheckStatus status = canPathTo(standPos);
+                if (status == PathCheckStatus.PATHABLE) {
+                    return new PlacementSearchResult(standPos, false, true);
+                }
+                if (status == PathCheckStatus.UNKNOWN) {
+                    budgetLimited = true;
+                } else if (status == PathCheckStatus.NOT_PATHABLE) {
+                    notPathableCount++;
+                }
             }
+        }
 
-            PathCheckStatus status = canPathTo(standPos);
-            if (status == PathCheckStatus.PATHABLE) {
-                return new PlacementSearchResult(standPos, false, true);
-            }
-            if (status == PathCheckStatus.UNKNOWN) {
-                budgetLimited = true;
-            } else if (status == PathCheckStatus.NOT_PATHABLE) {
-                notPathableCount++;
-            }
+        if (fallback == null) {
+            LOGGER.warn("No valid stand candidates found for target={}", target);
+            return new PlacementSearchResult(null, false, false);
         }
+        LOGGER.debug("Stand candidates for target={}: fallback={}, total={}", target, fallback, candidateCount);
 
-        int attempts = deferAttempts.getOrDefault(target, 0);
-        int golemY = golem.getBlockPos().getY();
+        int attempts = deferAttempts.get(target.asLong());
+        int golemY = agent.getBlockPos().getY();
 
         // For tower building: if we found positions close to target Y but can't path to them,
         // use the fallback (teleport) after just 1 defer attempt, not 2
@@ -944,7 +1036,7 @@ public class PlacementPlanner {
         // because entities can't walk up without stairs/ladders. Teleport immediately.
         int fallbackAboveGolem = fallback.getY() - golemY;
         if (fallbackAboveGolem >= 1) {
-            LOGGER.info("Fallback above golem, teleporting up: fallback={} golemY={} target={}",
+            LOGGER.debug("Fallback above golem, teleporting up: fallback={} golemY={} target={}",
                 fallback, golemY, target);
             return new PlacementSearchResult(fallback, false, true);
         }
@@ -952,20 +1044,20 @@ public class PlacementPlanner {
         // If target is above the golem, we're likely in tower mode - teleport immediately
         int targetAboveGolem = targetY - golemY;
         if (targetAboveGolem >= 2) {
-            LOGGER.info("Target above golem (tower mode), using fallback: fallback={} golemY={} target={}",
+            LOGGER.debug("Target above golem (tower mode), using fallback: fallback={} golemY={} target={}",
                 fallback, golemY, target);
             return new PlacementSearchResult(fallback, false, true);
         }
 
         if (attempts >= MAX_DEFER_ATTEMPTS - 1) {
-            LOGGER.info("Using fallback after max attempts: fallback={} target={}", fallback, target);
+            LOGGER.debug("Using fallback after max attempts: fallback={} target={}", fallback, target);
             return new PlacementSearchResult(fallback, false, true);
         }
 
         // If we have a good fallback (close to target Y) and many positions weren't pathable,
         // use it sooner - this helps with tower building where golem needs to teleport up
         if (fallbackIsCloseToTarget && notPathableCount >= 3) {
-            LOGGER.info("Using close fallback for tower: fallback={} target={} notPathable={}",
+            LOGGER.debug("Using close fallback for tower: fallback={} target={} notPathable={}",
                 fallback, target, notPathableCount);
             return new PlacementSearchResult(fallback, false, true);
         }
@@ -973,7 +1065,7 @@ public class PlacementPlanner {
         // If we checked several positions and none were pathable, just use the fallback
         // This prevents getting stuck when pathfinding is unreliable
         if (notPathableCount >= 5) {
-            LOGGER.info("Many unpathable positions, using fallback: fallback={} target={} notPathable={}",
+            LOGGER.debug("Many unpathable positions, using fallback: fallback={} target={} notPathable={}",
                 fallback, target, notPathableCount);
             return new PlacementSearchResult(fallback, false, true);
         }
@@ -984,32 +1076,23 @@ public class PlacementPlanner {
 
         // Final fallback: if we have valid candidates but couldn't path to any,
         // just return the best one and let the caller teleport
-        LOGGER.info("No pathable positions found, using fallback anyway: fallback={} target={}",
+        LOGGER.debug("No pathable positions found, using fallback anyway: fallback={} target={}",
             fallback, target);
         return new PlacementSearchResult(fallback, false, true);
     }
 
     private BlockPos findNearestSafeStandPosition(BlockPos origin, int radius) {
-        BlockPos best = null;
-        double bestDist = Double.MAX_VALUE;
-
-        for (int dx = -radius; dx <= radius; dx++) {
-            for (int dy = -radius; dy <= radius; dy++) {
-                for (int dz = -radius; dz <= radius; dz++) {
-                    BlockPos pos = origin.add(dx, dy, dz);
-                    if (!canStandAt(pos)) {
-                        continue;
-                    }
-                    double dist = dx * dx + dy * dy + dz * dz;
-                    if (dist < bestDist) {
-                        bestDist = dist;
-                        best = pos;
-                    }
-                }
+        // Offsets are pre-sorted by distance, so the first standable one is the nearest
+        int[] order = StandOffsetTable.nearestOrder(radius);
+        for (int i = 0; i < order.length; i += 3) {
+            int x = origin.getX() + order[i];
+            int y = origin.getY() + order[i + 1];
+            int z = origin.getZ() + order[i + 2];
+            if (canStandAt(x, y, z)) {
+                return new BlockPos(x, y, z);
             }
         }
-
-        return best;
+        return null;
     }
 
     /**
@@ -1020,12 +1103,12 @@ public class PlacementPlanner {
      * 3. Prefers positions further from the build area
      */
     private BlockPos findEscapePosition() {
-        BlockPos golemPos = golem.getBlockPos();
+        BlockPos golemPos = agent.getBlockPos();
         int searchRadius = 8;
 
         // Collect all pending block positions for overlap checking
         Set<BlockPos> pendingBlocks = new HashSet<>();
-        pendingBlocks.addAll(remainingBlocks);
+        remainingBlocks.forEach(packed -> pendingBlocks.add(BlockPos.fromLong(packed)));
         for (DeferredBlock db : deferredBlocks) {
             pendingBlocks.add(db.pos);
         }
@@ -1075,19 +1158,38 @@ public class PlacementPlanner {
         }
 
         if (bestEscape != null) {
-            LOGGER.info("Found escape position: {} (score: {})", bestEscape, bestScore);
+            LOGGER.debug("Found escape position: {} (score: {})", bestEscape, bestScore);
         }
 
         return bestEscape;
     }
 
+    // Grow the per-layer scratch arrays to hold the largest offset group
+    private void ensureLayerScratch(int size) {
+        if (layerOffsets.length >= size) {
+            return;
+        }
+        layerOffsets = new int[size];
+        layerDist = new double[size];
+        layerOrder = new int[size];
+    }
+
     /**
      * Check if a position is within reach to place a block.
      */
     private boolean isWithinReach(Vec3d from, BlockPos target, double maxReach) {
-        double dx = from.x - (target.getX() + 0.5);
-        double dy = from.y - (target.getY() + 0.5);
-        double dz = from.z - (target.getZ() + 0.5);
+        return isWithinReach(from.x, from.y, from.z, target.getX(), target.getY(), target.getZ(), maxReach);
+    }
+
+    private boolean isWithinReach(double fromX, double fromY, double fromZ, long packedTarget, double maxReach) {
+        return isWithinReach(fromX, fromY, fromZ, BlockPos.unpackLongX(packedTarget),
+                BlockPos.unpackLongY(packedTarget), BlockPos.unpackLongZ(packedTarget), maxReach);
+    }
+
+    private boolean isWithinReach(double fromX, double fromY, double fromZ, int x, int y, int z, double maxReach) {
+        double dx = fromX - (x + 0.5);
+        double dy = fromY - (y + 0.5);
+        double dz = fromZ - (z + 0.5);
         double dist = Math.sqrt(dx * dx + dy * dy + dz * dz);
         // Check both overall reach and vertical reach separately
         return dist <= maxReach && Math.abs(dy) <= MAX_VERTICAL_REACH;
@@ -1097,24 +1199,37 @@ public class PlacementPlanner {
      * Check if the golem can stand at a position.
      */
     private boolean canStandAt(BlockPos pos) {
-        var world = golem.getEntityWorld();
+        return canStandAt(pos.getX(), pos.getY(), pos.getZ());
+    }
+
+    private boolean canStandAt(int x, int y, int z) {
+        standCache.refresh(agent.getTime());
+        int cached = standCache.get(x, y, z);
+        if (cached != StandabilityCache.UNKNOWN) {
+            return cached == 1;
+        }
+        boolean standable = computeCanStandAt(x, y, z);
+        standCache.put(x, y, z, standable);
+        return standable;
+    }
 
+    private boolean computeCanStandAt(int x, int y, int z) {
         // Check for solid ground below
-        BlockPos groundPos = pos.down();
-        BlockState groundState = world.getBlockState(groundPos);
-        if (!groundState.isSolidBlock(world, groundPos) && !groundState.hasSolidTopSurface(world, groundPos, golem)) {
+        BlockPos.Mutable probe = standProbe.set(x, y - 1, z);
+        BlockState groundState = blocks.getBlockState(probe);
+        if (!agent.isSolidGround(groundState, probe)) {
             return false;
         }
 
         // Check for air at feet
-        BlockState feetState = world.getBlockState(pos);
+        BlockState feetState = blocks.getBlockState(probe.set(x, y, z));
         if (!feetState.isAir()) {
             return false;
         }
 
         // Check for air at head level only if golem is tall enough
-        if (golem.getHeight() > 1.0) {
-            BlockState headState = world.getBlockState(pos.up());
+        if (agent.getHeight() > 1.0) {
+            BlockState headState = blocks.getBlockState(probe.set(x, y + 1, z));
             if (!headState.isAir()) {
                 return false;
             }
@@ -1129,70 +1244,32 @@ public class PlacementPlanner {
      * Returns null only if no empty space exists within reach at all.
      */
     private BlockPos findAnyStandPosition(BlockPos target) {
-        int reach = (int) Math.ceil(MAX_REACH);
-        var world = golem.getEntityWorld();
+        agent.onStandSearch();
+        StandOffsetTable table = StandOffsetTable.get(MAX_REACH, MAX_VERTICAL_REACH, agent.getEyeHeight());
 
-        BlockPos bestGround = null;
-        double bestGroundDist = Double.MAX_VALUE;
+        // Offsets are pre-sorted by preference: at or below target Y (ground is more reliable),
+        // then closer to target Y and horizontally. The first ground position wins outright;
+        // the first air position (golem will fall) is kept as a fallback.
+        int[] order = table.anyStandOrder;
         BlockPos bestAir = null;
-        double bestAirDist = Double.MAX_VALUE;
-        int targetY = target.getY();
-
-        for (int dx = -reach; dx <= reach; dx++) {
-            for (int dy = -reach; dy <= reach; dy++) {
-                for (int dz = -reach; dz <= reach; dz++) {
-                    BlockPos pos = target.add(dx, dy, dz);
-
-                    // Skip positions that would place the block inside the golem
-                    if (pos.equals(target) || pos.up().equals(target)) {
-                        continue;
-                    }
-
-                    Vec3d standEye = new Vec3d(pos.getX() + 0.5, pos.getY() + golem.getEyeHeight(golem.getPose()), pos.getZ() + 0.5);
-
-                    if (!isWithinReach(standEye, target, MAX_REACH)) {
-                        continue;
-                    }
-
-                    BlockState feetState = world.getBlockState(pos);
-                    if (!feetState.isAir()) {
-                        continue;
-                    }
-
-                    // Check head clearance
-                    if (golem.getHeight() > 1.0) {
-                        BlockState headState = world.getBlockState(pos.up());
-                        if (!headState.isAir()) {
-                            continue;
-                        }
-                    }
-
-                    // Prefer positions at or below target Y (ground is more reliable), then closer to target Y
-                    // Positions above target get a penalty since ground may not exist yet
-                    int yDiff = pos.getY() - targetY;
-                    double yPenalty = yDiff > 0 ? yDiff * 20 : Math.abs(yDiff) * 10;  // Above target = larger penalty
-                    double dist = yPenalty + Math.abs(dx) + Math.abs(dz);
-
-                    // Check if this is a ground position
-                    if (canStandAt(pos)) {
-                        if (dist < bestGroundDist) {
-                            bestGroundDist = dist;
-                            bestGround = pos;
-                        }
-                    } else {
-                        // Air position (no solid ground) - golem will fall
-                        if (dist < bestAirDist) {
-                            bestAirDist = dist;
-                            bestAir = pos;
-                        }
-                    }
-                }
+        for (int i = 0; i < order.length; i += 3) {
+            int x = target.getX() + order[i];
+            int y = target.getY() + order[i + 1];
+            int z = target.getZ() + order[i + 2];
+            if (canStandAt(x, y, z)) {
+                return new BlockPos(x, y, z);
             }
-        }
-
-        // Prefer ground positions, fall back to air
-        if (bestGround != null) {
-            return bestGround;
+            if (bestAir != null) {
+                continue;
+            }
+            if (!blocks.getBlockState(standProbe.set(x, y, z)).isAir()) {
+                continue;
+            }
+            // Check head clearance
+            if (agent.getHeight() > 1.0 && !blocks.getBlockState(standProbe.set(x, y + 1, z)).isAir()) {
+                continue;
+            }
+            bestAir = new BlockPos(x, y, z);
         }
         return bestAir;
     }
@@ -1206,19 +1283,19 @@ public class PlacementPlanner {
             return PathCheckStatus.NOT_PATHABLE;
         }
 
-        long now = golem.getEntityWorld().getTime();
+        long now = agent.getTime();
         refreshPathBudget(now);
 
-        PathCheck cached = pathCache.get(pos);
-        if (cached != null && cached.expiresAt >= now) {
-            if (DEBUG_COUNTERS) {
-                debugCacheHits++;
-            }
-            return cached.canPath ? PathCheckStatus.PATHABLE : PathCheckStatus.NOT_PATHABLE;
+        long key = pos.asLong();
+        long cached = pathCache.get(key);
+        boolean cacheHit = cached >= 0 && pathCheckExpiry(cached) >= now;
+        agent.onPathCacheLookup(cacheHit);
+        if (cacheHit) {
+            return pathCheckCanPath(cached) ? PathCheckStatus.PATHABLE : PathCheckStatus.NOT_PATHABLE;
         }
 
-        if (hasDirectLine(pos)) {
-            pathCache.put(pos, new PathCheck(true, now + PATH_CACHE_TTL_TICKS));
+        if (agent.hasLineOfSight(pos)) {
+            pathCache.put(key, packPathCheck(true, now + GolemThroughput.pathCacheTtlTicks()));
             return PathCheckStatus.PATHABLE;
         }
 
@@ -1227,25 +1304,38 @@ public class PlacementPlanner {
         }
 
         remainingPathfindBudget--;
-        if (DEBUG_COUNTERS) {
-            debugPathfindCalls++;
-        }
+        agent.onPathfind();
 
-        Path path = golem.getNavigation().findPathTo(pos, 0);
-        boolean canPath = path != null && path.reachesTarget();
+        boolean canPath = agent.hasPathTo(pos);
         if (!canPath) {
             lastPathFailureTick = now;
         }
-        pathCache.put(pos, new PathCheck(canPath, now + PATH_CACHE_TTL_TICKS));
+        pathCache.put(key, packPathCheck(canPath, now + GolemThroughput.pathCacheTtlTicks()));
         return canPath ? PathCheckStatus.PATHABLE : PathCheckStatus.NOT_PATHABLE;
     }
 
+    /**
+     * Path cache entries are packed as (expiresAt << 1) | canPath so the cache can live in a
+     * primitive map. World time is non-negative, so -1 (the map default) means "no entry".
+     */
+    private static long packPathCheck(boolean canPath, long expiresAt) {
+        return (expiresAt << 1) | (canPath ? 1L : 0L);
+    }
+
+    private static long pathCheckExpiry(long packed) {
+        return packed >>> 1;
+    }
+
+    private static boolean pathCheckCanPath(long packed) {
+        return (packed & 1L) != 0;
+    }
+
     /**
      * Teleport the golem to a stand position.
-     * Delegates to the golem's teleportWithParticles method for consistent behavior.
+     * In game this is the golem's teleportWithParticles, for consistent behavior.
      */
     private void teleportToStandPosition(BlockPos standPos) {
-        golem.teleportWithParticles(standPos);
+        agent.teleport(standPos);
     }
 
     /**
@@ -1254,9 +1344,11 @@ public class PlacementPlanner {
     public void clear() {
         remainingBlocks.clear();
         deferredBlocks.clear();
+        deferredLayers.clear();
         deferAttempts.clear();
         skipUntilTick.clear();
         pathCache.clear();
+        standCache.clear();
         currentTarget = null;
         currentStandPos = null;
         stuckTicks = 0;
@@ -1268,7 +1360,7 @@ public class PlacementPlanner {
         navigationFailures = 0;
         lastPathFailureTick = Long.MIN_VALUE;
         lastPathBudgetTick = Long.MIN_VALUE;
-        remainingPathfindBudget = MAX_PATHFINDS_PER_TICK;
+        remainingPathfindBudget = GolemThroughput.pathfindsPerTick();
         consecutiveOverlapDeferrals = 0;
         blockFilter = null;
         blockScorer = null;
@@ -1305,9 +1397,11 @@ public class PlacementPlanner {
     public void readNbt(net.minecraft.nbt.NbtCompound nbt) {
         remainingBlocks.clear();
         deferredBlocks.clear();
+        deferredLayers.clear();
         deferAttempts.clear();
         skipUntilTick.clear();
         pathCache.clear();
+        standCache.clear();
 
         // Load current target
         if (nbt.contains("CurrentTargetX")) {
@@ -1335,7 +1429,7 @@ public class PlacementPlanner {
         navigationFailures = 0;
         lastPathFailureTick = Long.MIN_VALUE;
         lastPathBudgetTick = Long.MIN_VALUE;
-        remainingPathfindBudget = MAX_PATHFINDS_PER_TICK;
+        remainingPathfindBudget = GolemThroughput.pathfindsPerTick();
         consecutiveOverlapDeferrals = 0;
 
         int[] remaining = nbt.getIntArray("RemainingBlocks").orElseGet(() -> new int[0]);
@@ -1370,9 +1464,11 @@ public class PlacementPlanner {
     public void readView(ReadView view) {
         remainingBlocks.clear();
         deferredBlocks.clear();
+        deferredLayers.clear();
         deferAttempts.clear();
         skipUntilTick.clear();
         pathCache.clear();
+        standCache.clear();
 
         if (view.contains("CurrentTargetX")) {
             currentTarget = new BlockPos(
@@ -1400,7 +1496,7 @@ public class PlacementPlanner {
         navigationFailures = 0;
         lastPathFailureTick = Long.MIN_VALUE;
         lastPathBudgetTick = Long.MIN_VALUE;
-        remainingPathfindBudget = MAX_PATHFINDS_PER_TICK;
+        remainingPathfindBudget = GolemThroughput.pathfindsPerTick();
         consecutiveOverlapDeferrals = 0;
 
         int[] remaining = view.getOptionalIntArray("RemainingBlocks").orElseGet(() -> new int[0]);
@@ -1414,23 +1510,23 @@ public class PlacementPlanner {
         }
     }
 
-    private static int[] encodePositions(Collection<BlockPos> positions) {
+    private static int[] encodePositions(PendingBlockIndex positions) {
         int[] data = new int[positions.size() * 3];
-        int i = 0;
-        for (BlockPos pos : positions) {
-            data[i++] = pos.getX();
-            data[i++] = pos.getY();
-            data[i++] = pos.getZ();
-        }
+        int[] i = {0};
+        positions.forEach(packed -> {
+            data[i[0]++] = BlockPos.unpackLongX(packed);
+            data[i[0]++] = BlockPos.unpackLongY(packed);
+            data[i[0]++] = BlockPos.unpackLongZ(packed);
+        });
         return data;
     }
 
-    private static void decodePositions(int[] data, Deque<BlockPos> out) {
+    private static void decodePositions(int[] data, PendingBlockIndex out) {
         if (data == null || data.length < 3) {
             return;
         }
         for (int i = 0; i + 2 < data.length; i += 3) {
-            out.addLast(new BlockPos(data[i], data[i + 1], data[i + 2]));
+            out.add(BlockPos.asLong(data[i], data[i + 1], data[i + 2]));
         }
     }
 
@@ -1451,6 +1547,7 @@ public class PlacementPlanner {
         }
         for (int i = 0; i + 2 < data.length; i += 3) {
             deferredBlocks.addLast(new DeferredBlock(new BlockPos(data[i], data[i + 1], data[i + 2])));
+            deferredLayers.increment(data[i + 1]);
         }
     }
 
@@ -1458,15 +1555,7 @@ public class PlacementPlanner {
         int size = deferAttempts.size();
         int[] posData = new int[size * 3];
         int[] counts = new int[size];
-        int i = 0;
-        for (var entry : deferAttempts.entrySet()) {
-            BlockPos pos = entry.getKey();
-            posData[i * 3] = pos.getX();
-            posData[i * 3 + 1] = pos.getY();
-            posData[i * 3 + 2] = pos.getZ();
-            counts[i] = entry.getValue();
-            i++;
-        }
+        packDeferAttempts(posData, counts);
         nbt.putIntArray("DeferAttemptPos", posData);
         nbt.putIntArray("DeferAttemptCounts", counts);
     }
@@ -1475,17 +1564,21 @@ public class PlacementPlanner {
         int size = deferAttempts.size();
         int[] posData = new int[size * 3];
         int[] counts = new int[size];
+        packDeferAttempts(posData, counts);
+        view.putIntArray("DeferAttemptPos", posData);
+        view.putIntArray("DeferAttemptCounts", counts);
+    }
+
+    private void packDeferAttempts(int[] posData, int[] counts) {
         int i = 0;
-        for (var entry : deferAttempts.entrySet()) {
-            BlockPos pos = entry.getKey();
-            posData[i * 3] = pos.getX();
-            posData[i * 3 + 1] = pos.getY();
-            posData[i * 3 + 2] = pos.getZ();
-            counts[i] = entry.getValue();
+        for (Long2IntMap.Entry entry : Long2IntMaps.fastIterable(deferAttempts)) {
+            long pos = entry.getLongKey();
+            posData[i * 3] = BlockPos.unpackLongX(pos);
+            posData[i * 3 + 1] = BlockPos.unpackLongY(pos);
+            posData[i * 3 + 2] = BlockPos.unpackLongZ(pos);
+            counts[i] = entry.getIntValue();
             i++;
         }
-        view.putIntArray("DeferAttemptPos", posData);
-        view.putIntArray("DeferAttemptCounts", counts);
     }
 
     private void readDeferAttempts(net.minecraft.nbt.NbtCompound nbt) {
@@ -1507,8 +1600,7 @@ public class PlacementPlanner {
         int entries = Math.min(counts.length, posData.length / 3);
         for (int i = 0; i < entries; i++) {
             int idx = i * 3;
-            BlockPos pos = new BlockPos(posData[idx], posData[idx + 1], posData[idx + 2]);
-            deferAttempts.put(pos, counts[i]);
+            deferAttempts.put(BlockPos.asLong(posData[idx], posData[idx + 1], posData[idx + 2]), counts[i]);
         }
     }
 
@@ -1517,49 +1609,179 @@ public class PlacementPlanner {
             return;
         }
         for (DeferredBlock block : deferredBlocks) {
-            Integer attempts = deferAttempts.get(block.pos);
-            if (attempts != null) {
-                block.attempts = attempts;
+            long key = block.pos.asLong();
+            if (deferAttempts.containsKey(key)) {
+                block.attempts = deferAttempts.get(key);
             }
         }
     }
 
+    /**
+     * Expired skip entries are ignored by lookups anyway, so only sweep them once per retry window.
+     */
     private void pruneSkipMap(long now) {
-        if (skipUntilTick.isEmpty()) {
+        if (skipUntilTick.isEmpty() || now - lastSkipPruneTick < SKIP_RETRY_TICKS) {
             return;
         }
-        skipUntilTick.entrySet().removeIf(entry -> entry.getValue() <= now);
+        lastSkipPruneTick = now;
+        ObjectIterator<Long2LongMap.Entry> it = Long2LongMaps.fastIterator(skipUntilTick);
+        while (it.hasNext()) {
+            if (it.next().getLongValue() <= now) {
+                it.remove();
+            }
+        }
     }
 
     private void refreshPathBudget(long now) {
         if (now != lastPathBudgetTick) {
             lastPathBudgetTick = now;
-            remainingPathfindBudget = MAX_PATHFINDS_PER_TICK;
+            remainingPathfindBudget = GolemThroughput.pathfindsPerTick();
             if (!pathCache.isEmpty()) {
-                pathCache.entrySet().removeIf(entry -> entry.getValue().expiresAt < now);
+                ObjectIterator<Long2LongMap.Entry> it = Long2LongMaps.fastIterator(pathCache);
+                while (it.hasNext()) {
+                    if (pathCheckExpiry(it.next().getLongValue()) < now) {
+                        it.remove();
+                    }
+                }
             }
         }
     }
 
-    private boolean hasDirectLine(BlockPos pos) {
-        var world = golem.getEntityWorld();
-        Vec3d start = new Vec3d(golem.getX(), golem.getEyeY(), golem.getZ());
-        Vec3d end = new Vec3d(pos.getX() + 0.5, pos.getY() + 1.0, pos.getZ() + 0.5);
-        HitResult hit = world.raycast(new RaycastContext(
-                start,
-                end,
-                RaycastContext.ShapeType.COLLIDER,
-                RaycastContext.FluidHandling.NONE,
-                golem
-        ));
-        return hit.getType() == HitResult.Type.MISS;
-    }
-
     private boolean shouldTeleport() {
-        long now = golem.getEntityWorld().getTime();
+        long now = agent.getTime();
         if (navigationFailures < MIN_NAV_FAILURES_FOR_TELEPORT) {
             return false;
         }
         return now - lastPathFailureTick <= PATH_FAILURE_WINDOW_TICKS;
     }
+
+    /**
+     * The in-game agent: the golem, its navigation and the world it is in.
+     */
+    private static final class GolemAgent implements Agent {
+        private final GoldGolemEntity golem;
+        private final BlockAccess blocks;
+
+        GolemAgent(GoldGolemEntity golem) {
+            this.golem = golem;
+            this.blocks = pos -> golem.getEntityWorld().getBlockState(pos);
+        }
+
+        @Override
+        public BlockAccess blocks() {
+            return blocks;
+        }
+
+        @Override
+        public boolean isSolidGround(BlockState state, BlockPos pos) {
+            var world = golem.getEntityWorld();
+            return state.isSolidBlock(world, pos) || state.hasSolidTopSurface(world, pos, golem);
+        }
+
+        @Override
+        public long getTime() {
+            return golem.getEntityWorld().getTime();
+        }
+
+        @Override
+        public double getX() {
+            return golem.getX();
+        }
+
+        @Override
+        public double getY() {
+            return golem.getY();
+        }
+
+        @Override
+        public double getZ() {
+            return golem.getZ();
+        }
+
+        @Override
+        public double getEyeY() {
+            return golem.getEyeY();
+        }
+
+        @Override
+        public float getEyeHeight() {
+            return golem.getEyeHeight(golem.getPose());
+        }
+
+        @Override
+        public float getHeight() {
+            return golem.getHeight();
+        }
+
+        @Override
+        public BlockPos getBlockPos() {
+            return golem.getBlockPos();
+        }
+
+        @Override
+        public Box getBoundingBox() {
+            return golem.getBoundingBox();
+        }
+
+        @Override
+        public boolean isSuffocating() {
+            var world = golem.getEntityWorld();
+            return !world.isClient() && (golem.isInsideWall() || !world.isSpaceEmpty(golem));
+        }
+
+        @Override
+        public boolean hasLineOfSight(BlockPos pos) {
+            Vec3d start = new Vec3d(golem.getX(), golem.getEyeY(), golem.getZ());
+            Vec3d end = new Vec3d(pos.getX() + 0.5, pos.getY() + 1.0, pos.getZ() + 0.5);
+            HitResult hit = golem.getEntityWorld().raycast(new RaycastContext(
+                    start,
+                    end,
+                    RaycastContext.ShapeType.COLLIDER,
+                    RaycastContext.FluidHandling.NONE,
+                    golem
+            ));
+            return hit.getType() == HitResult.Type.MISS;
+        }
+
+        @Override
+        public boolean hasPathTo(BlockPos pos) {
+            Path path = golem.getNavigation().findPathTo(pos, 0);
+            return path != null && path.reachesTarget();
+        }
+
+        @Override
+        public boolean startMovingTo(BlockPos pos, double speed) {
+            return golem.getNavigation().startMovingTo(pos.getX() + 0.5, pos.getY(), pos.getZ() + 0.5, speed);
+        }
+
+        @Override
+        public void stopMoving() {
+            golem.getNavigation().stop();
+        }
+
+        @Override
+        public boolean isNavigationIdle() {
+            return golem.getNavigation().isIdle();
+        }
+
+        @Override
+        public void teleport(BlockPos pos) {
+            golem.teleportWithParticles(pos);
+        }
+
+        @Override
+        public void onStandSearch() {
+            GolemMetrics.standSearch(golem);
+        }
+
+        @Override
+        public void onPathCacheLookup(boolean hit) {
+            GolemMetrics.pathCacheLookup(golem, hit);
+        }
+
+        @Override
+        public void onPathfind() {
+            GolemMetrics.pathfind(golem);
+        }
+    }
 }
@@ -0,0 +1,137 @@
+package ninja.trek.mc.goldgolem.world.entity.strategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed stand-position offsets (stand - target) for the placement planner's searches.
+ *
+ * Offsets are stored as flattened (dx, dy, dz) triplets, already filtered to those within
+ * reach and already ordered by the planner's preference, so a search can walk the table and
+ * stop at the first standable hit instead of collecting and sorting a whole cube.
+ * Tables depend only on the reach limits and the golem's eye height and are shared.
+ */
+final class StandOffsetTable {
+    private record Key(double maxReach, double maxVertical, float eyeHeight) {}
+
+    private static final Map<Key, StandOffsetTable> TABLES = new ConcurrentHashMap<>();
+    private static final Map<Integer, int[]> NEAREST = new ConcurrentHashMap<>();
+
+    /**
+     * Reach-valid offsets grouped by dy, groups in preference order: at or below the target
+     * first (dy = 0, -1, -2, ...), then above it (dy = 1, 2, ...). Within a group the order
+     * depends on the golem's position and is decided by the caller.
+     */
+    final int[][] placementGroups;
+
+    /**
+     * Reach-valid offsets ordered by the any-position fallback score: a Y penalty that is
+     * larger above the target, plus horizontal Manhattan distance. Ties keep cube order.
+     */
+    final int[] anyStandOrder;
+
+    /** Largest number of offsets in any placement group. */
+    final int maxGroupSize;
+
+    private StandOffsetTable(int[][] placementGroups, int[] anyStandOrder) {
+        this.placementGroups = placementGroups;
+        this.anyStandOrder = anyStandOrder;
+        int max = 0;
+        for (int[] group : placementGroups) {
+            max = Math.max(max, group.length / 3);
+        }
+        this.maxGroupSize = max;
+    }
+
+    static StandOffsetTable get(double maxReach, double maxVertical, float eyeHeight) {
+        return TABLES.computeIfAbsent(new Key(maxReach, maxVertical, eyeHeight), StandOffsetTable::build);
+    }
+
+    /**
+     * Every offset in the cube of the given radius, ordered by squared distance from the
+     * origin. Ties keep cube (dx, dy, dz) iteration order.
+     */
+    static int[] nearestOrder(int radius) {
+        return NEAREST.computeIfAbsent(radius, r -> {
+            List<int[]> offsets = new ArrayList<>();
+            for (int dx = -r; dx <= r; dx++) {
+                for (int dy = -r; dy <= r; dy++) {
+                    for (int dz = -r; dz <= r; dz++) {
+                        offsets.add(new int[]{dx, dy, dz});
+                    }
+                }
+            }
+            // List.sort is stable, which keeps the original strict-less-than tie breaking
+            offsets.sort((a, b) -> Integer.compare(
+                    a[0] * a[0] + a[1] * a[1] + a[2] * a[2],
+                    b[0] * b[0] + b[1] * b[1] + b[2] * b[2]));
+            return flatten(offsets);
+        });
+    }
+
+    private static StandOffsetTable build(Key key) {
+        int reach = (int) Math.ceil(key.maxReach());
+        List<int[]> valid = new ArrayList<>();
+        for (int dx = -reach; dx <= reach; dx++) {
+            for (int dy = -reach; dy <= reach; dy++) {
+                for (int dz = -reach; dz <= reach; dz++) {
+                    // Skip positions that would place the block inside the golem (feet or head level)
+                    if (dx == 0 && dz == 0 && (dy == 0 || dy == -1)) {
+                        continue;
+                    }
+                    // Eye at (stand + 0.5, stand.y + eyeHeight, stand + 0.5), target at its center
+                    double ey = dy + key.eyeHeight() - 0.5;
+                    double dist = Math.sqrt(dx * dx + ey * ey + dz * dz);
+                    if (dist <= key.maxReach() && Math.abs(ey) <= key.maxVertical()) {
+                        valid.add(new int[]{dx, dy, dz});
+                    }
+                }
+            }
+        }
+
+        List<int[][]> groups = new ArrayList<>();
+        for (int dy = 0; dy >= -reach; dy--) {
+            groups.add(groupAt(valid, dy));
+        }
+        for (int dy = 1; dy <= reach; dy++) {
+            groups.add(groupAt(valid, dy));
+        }
+        int[][] placementGroups = new int[groups.size()][];
+        for (int i = 0; i < groups.size(); i++) {
+            placementGroups[i] = flatten(List.of(groups.get(i)));
+        }
+
+        List<int[]> anyOrder = new ArrayList<>(valid);
+        anyOrder.sort((a, b) -> Double.compare(anyStandScore(a), anyStandScore(b)));
+        return new StandOffsetTable(placementGroups, flatten(anyOrder));
+    }
+
+    private static int[][] groupAt(List<int[]> valid, int dy) {
+        List<int[]> group = new ArrayList<>();
+        for (int[] offset : valid) {
+            if (offset[1] == dy) {
+                group.add(offset);
+            }
+        }
+        return group.toArray(new int[0][]);
+    }
+
+    private static double anyStandScore(int[] offset) {
+        int yDiff = offset[1];
+        double yPenalty = yDiff > 0 ? yDiff * 20 : Math.abs(yDiff) * 10;  // Above target = larger penalty
+        return yPenalty + Math.abs(offset[0]) + Math.abs(offset[2]);
+    }
+
+    private static int[] flatten(List<int[]> offsets) {
+        int[] data = new int[offsets.size() * 3];
+        int i = 0;
+        for (int[] offset : offsets) {
+            data[i++] = offset[0];
+            data[i++] = offset[1];
+            data[i++] = offset[2];
+        }
+        return data;
+    }
+}
@@ -0,0 +1,108 @@
+package ninja.trek.mc.goldgolem.world.entity.strategy;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
+
+/**
+ * Per-planner cache of "can the golem stand here" answers.
+ *
+ * Each 16x16x16 chunk section gets two 4096-bit sets packed into one long[128]:
+ * the first 64 words mark which positions are known, the last 64 hold the answer.
+ * Entries are dropped when a block at or next to them changes, and the whole cache
+ * is dropped when it gets older than its time-to-live so changes made by other
+ * players are eventually picked up.
+ */
+class StandabilityCache {
+    static final int UNKNOWN = -1;
+
+    private static final int WORDS = 64;
+
+    private final Long2ObjectOpenHashMap<long[]> sections = new Long2ObjectOpenHashMap<>();
+    private final int ttlTicks;
+    private long createdTick = Long.MIN_VALUE;
+
+    StandabilityCache(int ttlTicks) {
+        this.ttlTicks = ttlTicks;
+    }
+
+    /**
+     * Drop everything if the cache has outlived its TTL.
+     */
+    void refresh(long now) {
+        if (createdTick == Long.MIN_VALUE || now - createdTick >= ttlTicks || now < createdTick) {
+            sections.clear();
+            createdTick = now;
+        }
+    }
+
+    /**
+     * @return 1 if standable, 0 if not, {@link #UNKNOWN} if not cached
+     */
+    int get(int x, int y, int z) {
+        long[] bits = sections.get(sectionKey(x, y, z));
+        if (bits == null) {
+            return UNKNOWN;
+        }
+        int idx = localIndex(x, y, z);
+        int word = idx >>> 6;
+        long mask = 1L << (idx & 63);
+        if ((bits[word] & mask) == 0) {
+            return UNKNOWN;
+        }
+        return (bits[WORDS + word] & mask) != 0 ? 1 : 0;
+    }
+
+    void put(int x, int y, int z, boolean standable) {
+        long key = sectionKey(x, y, z);
+        long[] bits = sections.get(key);
+        if (bits == null) {
+            bits = new long[WORDS * 2];
+            sections.put(key, bits);
+        }
+        int idx = localIndex(x, y, z);
+        int word = idx >>> 6;
+        long mask = 1L << (idx & 63);
+        bits[word] |= mask;
+        if (standable) {
+            bits[WORDS + word] |= mask;
+        } else {
+            bits[WORDS + word] &= ~mask;
+        }
+    }
+
+    /**
+     * A block changed at {@code pos}. Standing there (feet), directly above (ground)
+     * and directly below (head clearance) may have changed.
+     */
+    void invalidate(BlockPos pos) {
+        forget(pos.getX(), pos.getY(), pos.getZ());
+        forget(pos.getX(), pos.getY() + 1, pos.getZ());
+        forget(pos.getX(), pos.getY() - 1, pos.getZ());
+    }
+
+    void clear() {
+        sections.clear();
+        createdTick = Long.MIN_VALUE;
+    }
+
+    private void forget(int x, int y, int z) {
+        long[] bits = sections.get(sectionKey(x, y, z));
+        if (bits == null) {
+            return;
+        }
+        int idx = localIndex(x, y, z);
+        bits[idx >>> 6] &= ~(1L << (idx & 63));
+    }
+
+    private static long sectionKey(int x, int y, int z) {
+        return ChunkSectionPos.asLong(
+                ChunkSectionPos.getSectionCoord(x),
+                ChunkSectionPos.getSectionCoord(y),
+                ChunkSectionPos.getSectionCoord(z));
+    }
+
+    private static int localIndex(int x, int y, int z) {
+        return ((y & 15) << 8) | ((z & 15) << 4) | (x & 15);
+    }
+}
@@ -10,8 +10,12 @@ import net.minecraft.storage.ReadView;
 import net.minecraft.storage.WriteView;
 import net.minecraft.util.math.BlockPos;
 import ninja.trek.mc.goldgolem.BuildMode;
-import ninja.trek.mc.goldgolem.util.GradientSlotUtil;
+import ninja.trek.mc.goldgolem.terraforming.ShellGeneration;
+import ninja.trek.mc.goldgolem.util.GolemWorkers;
+import ninja.trek.mc.goldgolem.util.GradientPalette;
+import ninja.trek.mc.goldgolem.util.PackedNbt;
 import ninja.trek.mc.goldgolem.world.entity.GoldGolemEntity;
+import ninja.trek.mc.goldgolem.world.entity.GolemMetrics;
 
 import java.util.*;
 
@@ -27,6 +31,9 @@ public class TerraformingBuildStrategy extends AbstractBuildStrategy {
     private List<BlockPos> skeletonBlocks = null;
     private Set<Block> skeletonTypes = null;
     private Map<Integer, List<BlockPos>> shellByLayer = null;
+    // Background shell generation; layers and their occupancy fill in as jobs finish
+    private ShellGeneration shellGeneration = null;
+    private final int[] neighbourCounts = new int[2];
     private int currentY = 0;
     private BlockPos startPos = null;
     private int minY = 0;
@@ -79,7 +86,7 @@ public class TerraformingBuildStrategy extends AbstractBuildStrategy {
 
     @Override
     public boolean isComplete() {
-        if (shellByLayer == null) return false;
+        if (shellGeneration == null) return false;
         return currentY > maxY;
     }
 
@@ -109,15 +116,7 @@ public class TerraformingBuildStrategy extends AbstractBuildStrategy {
 
         // Save skeleton blocks
         if (skeletonBlocks != null && !skeletonBlocks.isEmpty()) {
-            nbt.putInt("SkeletonCount", skeletonBlocks.size());
-            for (int i = 0; i < skeletonBlocks.size(); i++) {
-                BlockPos pos = skeletonBlocks.get(i);
-                nbt.putInt("Skel" + i + "X", pos.getX());
-                nbt.putInt("Skel" + i + "Y", pos.getY());
-                nbt.putInt("Skel" + i + "Z", pos.getZ());
-            }
-        } else {
-            nbt.putInt("SkeletonCount", 0);
+            nbt.putIntArray("Skeleton", PackedNbt.packPositions(skeletonBlocks));
         }
 
         // Save skeleton types
@@ -174,8 +173,12 @@ public class TerraformingBuildStrategy extends AbstractBuildStrategy {
         highestLoadedY = nbt.getInt("HighestLoadedY", -1);
 
         // Load skeleton blocks
+        int[] packedSkeleton = nbt.getIntArray("Skeleton").orElse(null);
         int skelCount = nbt.getInt("SkeletonCount", 0);
-        if (skelCount > 0) {
+        if (packedSkeleton != null && packedSkeleton.length > 0) {
+            skeletonBlocks = PackedNbt.unpackPositions(packedSkeleton);
+        } else if (skelCount > 0) {
+            // Keyed layout from older saves
             skeletonBlocks = new ArrayList<>();
             for (int i = 0; i < skelCount; i++) {
                 int x = nbt.getInt("Skel" + i + "X", 0);
@@ -243,33 +246,29 @@ public class TerraformingBuildStrategy extends AbstractBuildStrategy {
 
     /**
      * Rebuild the shell layers after alpha parameter change.
+     * Layers are generated in parallel off the tick thread; the build waits for a
+     * layer (and its slope-sampling neighbours) only when it is about to load it.
      */
     public void rebuildShell() {
         if (skeletonBlocks == null || skeletonBlocks.isEmpty() || entity == null) return;
 
-        int alpha = entity.getTerraformingAlpha();
-        shellByLayer = new HashMap<>();
-
-        for (int y = minY; y <= maxY; y++) {
-            List<BlockPos> skeletonAtY = new ArrayList<>();
-            for (BlockPos pos : skeletonBlocks) {
-                if (pos.getY() == y) {
-                    skeletonAtY.add(pos);
-                }
-            }
-
-            if (!skeletonAtY.isEmpty()) {
-                Set<BlockPos> shellSet = ninja.trek.mc.goldgolem.terraforming.AlphaShape.generateShell(
-                        skeletonAtY, alpha, y);
-                shellByLayer.put(y, new ArrayList<>(shellSet));
-            }
+        if (shellGeneration != null) {
+            shellGeneration.cancel();
         }
+        shellGeneration = ShellGeneration.start(skeletonBlocks, entity.getTerraformingAlpha(), GolemWorkers.compute());
+        shellByLayer = shellGeneration.layers();
     }
 
     /**
      * Clear all state.
      */
     public void clearState() {
+        // A generation still running would otherwise finish into the reset state
+        if (shellGeneration != null) {
+            shellGeneration.cancel();
+            shellGeneration = null;
+        }
+        shellByLayer = null;
         currentY = 0;
         layerLoaded = false;
         lowestLoadedY = 0;
@@ -311,15 +310,7 @@ public class TerraformingBuildStrategy extends AbstractBuildStrategy {
 
         // Skeleton blocks
         if (skeletonBlocks != null && !skeletonBlocks.isEmpty()) {
-            view.putInt("TFormSkeletonCount", skeletonBlocks.size());
-            for (int i = 0; i < skeletonBlocks.size(); i++) {
-                BlockPos pos = skeletonBlocks.get(i);
-                view.putInt("TFormSkel" + i + "X", pos.getX());
-                view.putInt("TFormSkel" + i + "Y", pos.getY());
-                view.putInt("TFormSkel" + i + "Z", pos.getZ());
-            }
-        } else {
-            view.putInt("TFormSkeletonCount", 0);
+            view.putIntArray("TFormSkeleton", PackedNbt.packPositions(skeletonBlocks));
         }
 
         // Skeleton types
@@ -369,8 +360,12 @@ public class TerraformingBuildStrategy extends AbstractBuildStrategy {
         currentY = view.getInt("TFormCurrentY", 0);
 
         // Load skeleton blocks
+        int[] packedSkeleton = view.getOptionalIntArray("TFormSkeleton").orElse(null);
         int skelCount = view.getInt("TFormSkeletonCount", 0);
-        if (skelCount > 0) {
+        if (packedSkeleton != null && packedSkeleton.length > 0) {
+            skeletonBlocks = PackedNbt.unpackPositions(packedSkeleton);
+        } else if (skelCount > 0) {
+            // Keyed layout from older saves
             skeletonBlocks = new ArrayList<>();
             for (int i = 0; i < skelCount; i++) {
                 int x = view.getInt("TFormSkel" + i + "X", 0);
@@ -427,8 +422,13 @@ public class TerraformingBuildStrategy extends AbstractBuildStrategy {
     // ========== Main tick logic ==========
 
     private void tickTerraformingMode(GoldGolemEntity golem) {
+        // A reset dropped the shell; regenerate it from the kept skeleton
+        if (shellGeneration == null && skeletonBlocks != null && !skeletonBlocks.isEmpty()) {
+            rebuildShell();
+        }
+
         // Invalid state check
-        if (shellByLayer == null || origin == null) {
+        if (shellGeneration == null || origin == null) {
             golem.setBuildingPaths(false);
             return;
         }
@@ -461,9 +461,10 @@ public class TerraformingBuildStrategy extends AbstractBuildStrategy {
             layerBlockStates.clear();
             minePositions.clear();
 
-            // Find first non-empty layer
+            // Find first non-empty layer, waiting for any layer still being generated
             int startY = currentY;
             while (startY <= maxY) {
+                if (!shellGeneration.isLayerReady(startY)) return;
                 List<BlockPos> layer = shellByLayer.get(startY);
                 if (layer != null && !layer.isEmpty()) break;
                 startY++;
@@ -472,6 +473,10 @@ public class TerraformingBuildStrategy extends AbstractBuildStrategy {
                 golem.setBuildingPaths(false);
                 return;
             }
+            int scanRadius = golem.getTerraformingScanRadius();
+            if (!shellGeneration.areLayersReady(startY - scanRadius, startY + scanRadius)) {
+                return; // Slope sampling needs the neighbouring layers too
+            }
 
             // Collect blocks for up to LAYER_WINDOW_SIZE layers
             lowestLoadedY = startY;
@@ -479,6 +484,8 @@ public class TerraformingBuildStrategy extends AbstractBuildStrategy {
             for (int i = 0; i < LAYER_WINDOW_SIZE; i++) {
                 int y = startY + i;
                 if (y > maxY) break;
+                // Stop the window at the first layer whose neighbourhood is not generated yet
+                if (!shellGeneration.areLayersReady(y - scanRadius, y + scanRadius)) break;
                 List<BlockPos> layer = shellByLayer.get(y);
                 if (layer == null || layer.isEmpty()) {
                     highestLoadedY = y;
@@ -515,38 +522,10 @@ public class TerraformingBuildStrategy extends AbstractBuildStrategy {
                 return;
             }
 
-            planner.setBlocks(allPositions, pos -> {
-                if (minePositions.contains(pos)) {
-                    return golem.getEntityWorld().getBlockState(pos).isAir();
-                }
-                BlockState expected = layerBlockStates.get(pos);
-                if (expected == null) return true;
-                BlockState current = golem.getEntityWorld().getBlockState(pos);
-                return current.getBlock() == expected.getBlock();
-            });
-
-            // Set up exclusion zone filter
-            planner.setBlockFilter(pos -> {
-                BlockPos golemFeet = golem.getBlockPos();
-                int dy = pos.getY() - golemFeet.getY();
-                if (dy <= 0) return false;
-                int dxAbs = Math.abs(pos.getX() - golemFeet.getX());
-                int dzAbs = Math.abs(pos.getZ() - golemFeet.getZ());
-                int chebyshev = Math.max(dxAbs, dzAbs);
-                return chebyshev <= dy;
-            });
-
-            // Set up neighbor scorer
-            planner.setBlockScorer(pos -> {
-                var world = golem.getEntityWorld();
-                int neighbors = 0;
-                if (!world.getBlockState(pos.north()).isAir()) neighbors++;
-                if (!world.getBlockState(pos.south()).isAir()) neighbors++;
-                if (!world.getBlockState(pos.east()).isAir()) neighbors++;
-                if (!world.getBlockState(pos.west()).isAir()) neighbors++;
-                if (!world.getBlockState(pos.down()).isAir()) neighbors++;
-                return neighbors;
-            });
+            planner.setBlocks(allPositions, PlacementPlanner.expectedOrMined(planner.blocks(), layerBlockStates, minePositions));
+
+            // Exclusion zone above the golem, neighbour-first order
+            planner.useOrganicPlacement();
 
             currentY = lowestLoadedY;
             layerLoaded = true;
@@ -614,9 +593,10 @@ public class TerraformingBuildStrategy extends AbstractBuildStrategy {
         if (toPlace == null) return false;
 
         // Remove skeleton block if present
-        BlockState currentState = golem.getEntityWorld().getBlockState(pos);
+        BlockState currentState = planner.blocks().getBlockState(pos);
         if (skeletonTypes != null && skeletonTypes.contains(currentState.getBlock())) {
             golem.getEntityWorld().breakBlock(pos, false);
+            GolemMetrics.blockMined(golem);
         }
 
         boolean placed = golem.placeBlockFromInventory(pos, toPlace, nextPos, isLeftHandActive());
@@ -627,92 +607,54 @@ public class TerraformingBuildStrategy extends AbstractBuildStrategy {
         return true;
     }
 
+    private static final int SURFACE_HORIZONTAL = 0;
+    private static final int SURFACE_VERTICAL = 1;
+    private static final int SURFACE_SLOPED = 2;
+
     /**
-     * Samples the appropriate terraforming gradient based on local surface slope.
+     * Classify the local surface slope at pos from the shell/skeleton blocks within the scan radius.
+     * Each neighbour counts as vertical when its Y offset dominates, horizontal otherwise.
      */
-    private BlockState sampleTerraformingGradient(GoldGolemEntity golem, BlockPos pos) {
-        int scanRadius = golem.getTerraformingScanRadius();
-
-        // Count surrounding shell blocks in scan radius to determine slope
-        int vertical = 0;
-        int horizontal = 0;
-
-        for (BlockPos nearPos : BlockPos.iterate(
-                pos.add(-scanRadius, -scanRadius, -scanRadius),
-                pos.add(scanRadius, scanRadius, scanRadius))) {
-
-            if (nearPos.equals(pos)) continue;
-
-            // Check if this position is part of the shell or skeleton
-            boolean isShellOrSkeleton = false;
-            if (skeletonBlocks != null && skeletonBlocks.contains(nearPos)) {
-                isShellOrSkeleton = true;
-            } else {
-                // Check if it's in any shell layer
-                int nearY = nearPos.getY();
-                if (shellByLayer.containsKey(nearY)) {
-                    List<BlockPos> layer = shellByLayer.get(nearY);
-                    if (layer != null && layer.contains(nearPos)) {
-                        isShellOrSkeleton = true;
-                    }
-                }
-            }
-
-            if (!isShellOrSkeleton) continue;
-
-            int dx = Math.abs(nearPos.getX() - pos.getX());
-            int dy = Math.abs(nearPos.getY() - pos.getY());
-            int dz = Math.abs(nearPos.getZ() - pos.getZ());
+    private int classifySurface(GoldGolemEntity golem, BlockPos pos) {
+        shellGeneration.volume().countNeighbours(pos, golem.getTerraformingScanRadius(), neighbourCounts);
+        int vertical = neighbourCounts[0];
+        int horizontal = neighbourCounts[1];
 
-            // Classify as vertical or horizontal based on dominant axis
-            if (dy > dx && dy > dz) {
-                vertical++;
-            } else {
-                horizontal++;
-            }
-        }
-
-        // Calculate slope ratio
         float total = vertical + horizontal;
         if (total == 0) {
             // No nearby blocks, default to horizontal
-            return sampleGradientArray(golem.getTerraformingGradientHorizontalCopy(),
-                    golem.getTerraformingGradientHorizontalWindow(), golem.getTerraformingGradientHorizontalScale(), pos);
+            return SURFACE_HORIZONTAL;
         }
-
         float ratio = vertical / total;
-
-        // Classify and sample appropriate gradient
         if (ratio > 0.7f) {
-            // Steep/vertical surface (cliffs, walls)
-            return sampleGradientArray(golem.getTerraformingGradientVerticalCopy(),
-                    golem.getTerraformingGradientVerticalWindow(), golem.getTerraformingGradientVerticalScale(), pos);
+            return SURFACE_VERTICAL;   // Steep/vertical surface (cliffs, walls)
         } else if (ratio < 0.3f) {
-            // Flat/horizontal surface (floors, tops)
-            return sampleGradientArray(golem.getTerraformingGradientHorizontalCopy(),
-                    golem.getTerraformingGradientHorizontalWindow(), golem.getTerraformingGradientHorizontalScale(), pos);
-        } else {
-            // Sloped/diagonal surface
-            return sampleGradientArray(golem.getTerraformingGradientSlopedCopy(),
-                    golem.getTerraformingGradientSlopedWindow(), golem.getTerraformingGradientSlopedScale(), pos);
+            return SURFACE_HORIZONTAL; // Flat/horizontal surface (floors, tops)
         }
+        return SURFACE_SLOPED;         // Sloped/diagonal surface
+    }
+
+    /**
+     * Samples the appropriate terraforming gradient based on local surface slope.
+     */
+    private BlockState sampleTerraformingGradient(GoldGolemEntity golem, BlockPos pos) {
+        return switch (classifySurface(golem, pos)) {
+            case SURFACE_VERTICAL -> sampleGradientArray(golem.getTerraformingGradientVerticalPalette(),
+                    golem.getTerraformingGradientVerticalWindow(), golem.getTerraformingGradientVerticalScale(), pos);
+            case SURFACE_SLOPED -> sampleGradientArray(golem.getTerraformingGradientSlopedPalette(),
+                    golem.getTerraformingGradientSlopedWindow(), golem.getTerraformingGradientSlopedScale(), pos);
+            default -> sampleGradientArray(golem.getTerraformingGradientHorizontalPalette(),
+                    golem.getTerraformingGradientHorizontalWindow(), golem.getTerraformingGradientHorizontalScale(), pos);
+        };
     }
 
     /**
      * Samples from a gradient array using positional hashing.
      */
-    private BlockState sampleGradientArray(String[] gradientArray, int window, int noiseScale, BlockPos pos) {
-        if (gradientArray == null || window <= 0) return null;
-
-        // Count non-empty entries
-        int g = 0;
-        for (int i = gradientArray.length - 1; i >= 0; i--) {
-            if (gradientArray[i] != null && !gradientArray[i].isEmpty()) {
-                g = i + 1;
-                break;
-            }
-        }
+    private BlockState sampleGradientArray(GradientPalette palette, int window, int noiseScale, BlockPos pos) {
+        if (palette == null || window <= 0) return null;
 
+        int g = palette.length();
         if (g == 0) return null;
 
         // Clamp window
@@ -725,30 +667,20 @@ public class TerraformingBuildStrategy extends AbstractBuildStrategy {
         int idx = (int) Math.floor(u01 * (double) w);
         if (idx >= w) idx = w - 1;
 
-        String blockId = gradientArray[idx];
-        if (blockId == null || blockId.isEmpty()) return null;
+        if (palette.isEmpty(idx)) return null;
 
         // Mine actions handled separately
-        if (GradientSlotUtil.isMineAction(blockId)) return null;
-
-        var ident = net.minecraft.util.Identifier.tryParse(blockId);
-        if (ident == null) return null;
-
-        var block = net.minecraft.registry.Registries.BLOCK.get(ident);
-        if (block == null) return null;
+        if (palette.isMineAction(idx)) return null;
 
-        return block.getDefaultState();
+        return palette.state(idx);
     }
 
     /**
      * Check if a gradient array samples to a mine action at the given position.
      */
-    private boolean isGradientArrayMineAction(String[] gradientArray, int window, int noiseScale, BlockPos pos) {
-        if (gradientArray == null || window <= 0) return false;
-        int g = 0;
-        for (int i = gradientArray.length - 1; i >= 0; i--) {
-            if (gradientArray[i] != null && !gradientArray[i].isEmpty()) { g = i + 1; break; }
-        }
+    private boolean isGradientArrayMineAction(GradientPalette palette, int window, int noiseScale, BlockPos pos) {
+        if (palette == null || window <= 0) return false;
+        int g = palette.length();
         if (g == 0) return false;
         int w = Math.max(0, Math.min(g, window));
         if (w == 0) return false;
@@ -756,51 +688,20 @@ public class TerraformingBuildStrategy extends AbstractBuildStrategy {
         double u01 = golem != null ? golem.sampleGradientNoise01(pos, noiseScale) : 0.0;
         int idx = (int) Math.floor(u01 * (double) w);
         if (idx >= w) idx = w - 1;
-        String blockId = gradientArray[idx];
-        return blockId != null && GradientSlotUtil.isMineAction(blockId);
+        return palette.isMineAction(idx);
     }
 
     /**
      * Check if the terraforming gradient samples to a mine action at the given position.
      */
     private boolean isTerraformingGradientMineAction(GoldGolemEntity golem, BlockPos pos) {
-        int scanRadius = golem.getTerraformingScanRadius();
-        int vertical = 0, horizontal = 0;
-        for (BlockPos nearPos : BlockPos.iterate(
-                pos.add(-scanRadius, -scanRadius, -scanRadius),
-                pos.add(scanRadius, scanRadius, scanRadius))) {
-            if (nearPos.equals(pos)) continue;
-            boolean isShellOrSkeleton = false;
-            if (skeletonBlocks != null && skeletonBlocks.contains(nearPos)) {
-                isShellOrSkeleton = true;
-            } else {
-                int nearY = nearPos.getY();
-                if (shellByLayer.containsKey(nearY)) {
-                    List<BlockPos> layer = shellByLayer.get(nearY);
-                    if (layer != null && layer.contains(nearPos)) isShellOrSkeleton = true;
-                }
-            }
-            if (!isShellOrSkeleton) continue;
-            int dx = Math.abs(nearPos.getX() - pos.getX());
-            int dy = Math.abs(nearPos.getY() - pos.getY());
-            int dz = Math.abs(nearPos.getZ() - pos.getZ());
-            if (dy > dx && dy > dz) vertical++; else horizontal++;
-        }
-        float total = vertical + horizontal;
-        if (total == 0) {
-            return isGradientArrayMineAction(golem.getTerraformingGradientHorizontalCopy(),
-                    golem.getTerraformingGradientHorizontalWindow(), golem.getTerraformingGradientHorizontalScale(), pos);
-        }
-        float ratio = vertical / total;
-        if (ratio > 0.7f) {
-            return isGradientArrayMineAction(golem.getTerraformingGradientVerticalCopy(),
+        return switch (classifySurface(golem, pos)) {
+            case SURFACE_VERTICAL -> isGradientArrayMineAction(golem.getTerraformingGradientVerticalPalette(),
                     golem.getTerraformingGradientVerticalWindow(), golem.getTerraformingGradientVerticalScale(), pos);
-        } else if (ratio < 0.3f) {
-            return isGradientArrayMineAction(golem.getTerraformingGradientHorizontalCopy(),
-                    golem.getTerraformingGradientHorizontalWindow(), golem.getTerraformingGradientHorizontalScale(), pos);
-        } else {
-            return isGradientArrayMineAction(golem.getTerraformingGradientSlopedCopy(),
+            case SURFACE_SLOPED -> isGradientArrayMineAction(golem.getTerraformingGradientSlopedPalette(),
                     golem.getTerraformingGradientSlopedWindow(), golem.getTerraformingGradientSlopedScale(), pos);
-        }
+            default -> isGradientArrayMineAction(golem.getTerraformingGradientHorizontalPalette(),
+                    golem.getTerraformingGradientHorizontalWindow(), golem.getTerraformingGradientHorizontalScale(), pos);
+        };
     }
 }
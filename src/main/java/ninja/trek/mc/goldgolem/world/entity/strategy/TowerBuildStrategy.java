@@ -9,7 +9,8 @@ import net.minecraft.util.math.BlockPos;
 import ninja.trek.mc.goldgolem.BuildMode;
 import ninja.trek.mc.goldgolem.tower.TowerModuleTemplate;
 import ninja.trek.mc.goldgolem.util.GradientGroupManager;
-import ninja.trek.mc.goldgolem.util.GradientSlotUtil;
+import ninja.trek.mc.goldgolem.util.GradientGroupPalettes;
+import ninja.trek.mc.goldgolem.util.GradientPalette;
 import ninja.trek.mc.goldgolem.world.entity.GoldGolemEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -263,28 +264,8 @@ public class TowerBuildStrategy extends AbstractBuildStrategy {
                 highestLoadedY = nextY;
             }
 
-            // Set up exclusion zone filter (inverted pyramid above golem)
-            planner.setBlockFilter(pos -> {
-                BlockPos golemFeet = golem.getBlockPos();
-                int dy = pos.getY() - golemFeet.getY();
-                if (dy <= 0) return false; // Only exclude above
-                int dxAbs = Math.abs(pos.getX() - golemFeet.getX());
-                int dzAbs = Math.abs(pos.getZ() - golemFeet.getZ());
-                int chebyshev = Math.max(dxAbs, dzAbs);
-                return chebyshev <= dy; // Inverted pyramid: at height H, exclude within Chebyshev H
-            });
-
-            // Set up neighbor scorer
-            planner.setBlockScorer(pos -> {
-                var world = golem.getEntityWorld();
-                int neighbors = 0;
-                if (!world.getBlockState(pos.north()).isAir()) neighbors++;
-                if (!world.getBlockState(pos.south()).isAir()) neighbors++;
-                if (!world.getBlockState(pos.east()).isAir()) neighbors++;
-                if (!world.getBlockState(pos.west()).isAir()) neighbors++;
-                if (!world.getBlockState(pos.down()).isAir()) neighbors++;
-                return neighbors;
-            });
+            // Exclusion zone above the golem, neighbour-first order
+            planner.useOrganicPlacement();
 
             currentLayerY = lowestLoadedY;
             layerInitialized = true;
@@ -373,31 +354,7 @@ public class TowerBuildStrategy extends AbstractBuildStrategy {
     private List<BlockPos> getLayerVoxels(GoldGolemEntity golem, TowerModuleTemplate template, BlockPos origin, int layerY) {
         if (template == null) return List.of();
 
-        List<BlockPos> layerVoxels = new ArrayList<>();
-        int moduleHeight = template.moduleHeight;
-        if (moduleHeight == 0) return layerVoxels;
-
-        // Determine which module repetition we're in and the Y offset within that module
-        int moduleIndex = layerY / moduleHeight;
-        int yWithinModule = layerY % moduleHeight;
-        int relYTarget = template.minY + yWithinModule;
-
-        // Collect all voxels at this Y level within the current module
-        for (var voxel : template.voxels) {
-            int relY = voxel.rel.getY();
-            if (relY == relYTarget) {
-                // Calculate absolute position: origin + module offset + voxel relative position
-                int absoluteY = origin.getY() + (moduleIndex * moduleHeight) + relY;
-                BlockPos absPos = new BlockPos(
-                        origin.getX() + voxel.rel.getX(),
-                        absoluteY,
-                        origin.getZ() + voxel.rel.getZ()
-                );
-                layerVoxels.add(absPos);
-            }
-        }
-
-        return layerVoxels;
+        return template.layerPositions(origin, layerY);
     }
 
     /**
@@ -415,28 +372,27 @@ public class TowerBuildStrategy extends AbstractBuildStrategy {
         }
 
         // Use gradient sampling to potentially replace with a different block
-        String blockId = net.minecraft.registry.Registries.BLOCK.getId(templateState.getBlock()).toString();
-        Integer groupIdx = golem.getTowerBlockGroup().get(blockId);
-        if (groupIdx == null || groupIdx < 0 || groupIdx >= golem.getTowerGroupSlots().size()) {
+        GradientGroupPalettes groupPalettes = golem.getTowerGroupPalettes();
+        int groupIdx = groupPalettes.groupOf(templateState.getBlock());
+        if (groupIdx < 0) {
             // No group mapping, place original block
             return golem.placeBlockFromInventoryWithTemplate(pos, templateState, templateState, nextPos, isLeftHandActive());
         }
 
         // Sample gradient based on Y position in total tower (not module)
-        String[] slots = golem.getTowerGroupSlots().get(groupIdx);
-        float window = (groupIdx < golem.getTowerGroupWindows().size()) ? golem.getTowerGroupWindows().get(groupIdx) : 1.0f;
-        int noiseScale = (groupIdx < golem.getTowerGroupNoiseScales().size()) ? golem.getTowerGroupNoiseScales().get(groupIdx) : 1;
-        int sampledIndex = sampleTowerGradient(golem, slots, window, noiseScale, pos);
+        GradientPalette palette = groupPalettes.palette(groupIdx);
+        float window = golem.getTowerGroupWindow(groupIdx);
+        int noiseScale = golem.getTowerGroupNoiseScale(groupIdx);
+        int sampledIndex = sampleTowerGradient(golem, palette, window, noiseScale, pos);
 
         if (sampledIndex >= 0 && sampledIndex < 9) {
-            String sampledId = slots[sampledIndex];
-            if (sampledId != null && !sampledId.isEmpty()) {
+            if (!palette.isEmpty(sampledIndex)) {
                 // Check for mine action
-                if (GradientSlotUtil.isMineAction(sampledId)) {
+                if (palette.isMineAction(sampledIndex)) {
                     gradientMiner.startMining(pos);
                     return false; // will mine over subsequent ticks
                 }
-                BlockState sampledState = golem.getBlockStateFromId(sampledId);
+                BlockState sampledState = palette.state(sampledIndex);
                 if (sampledState != null) {
                     // Pass both template state and sampled state for proper block state preservation
                     return golem.placeBlockFromInventoryWithTemplate(pos, templateState, sampledState, nextPos, isLeftHandActive());
@@ -452,26 +408,7 @@ public class TowerBuildStrategy extends AbstractBuildStrategy {
 
     private BlockState getTowerBlockStateAt(TowerModuleTemplate template, BlockPos origin, BlockPos pos) {
         if (template == null || origin == null) return null;
-
-        int moduleHeight = template.moduleHeight;
-        if (moduleHeight == 0) return null;
-
-        // Calculate relative position from tower origin
-        int relX = pos.getX() - origin.getX();
-        int relY = pos.getY() - origin.getY();
-        int relZ = pos.getZ() - origin.getZ();
-
-        // Determine Y within module
-        int yWithinModule = Math.floorMod(relY - template.minY, moduleHeight) + template.minY;
-
-        // Find matching voxel in template
-        for (var voxel : template.voxels) {
-            if (voxel.rel.getX() == relX && voxel.rel.getY() == yWithinModule && voxel.rel.getZ() == relZ) {
-                return voxel.state;
-            }
-        }
-
-        return null;
+        return template.stateAt(origin, pos);
     }
 
     /**
@@ -501,23 +438,22 @@ public class TowerBuildStrategy extends AbstractBuildStrategy {
         }
 
         // Check if gradient sampling applies
-        String blockId = net.minecraft.registry.Registries.BLOCK.getId(targetState.getBlock()).toString();
-        Integer groupIdx = golem.getTowerBlockGroup().get(blockId);
-        if (groupIdx == null || groupIdx < 0 || groupIdx >= golem.getTowerGroupSlots().size()) {
+        GradientGroupPalettes groupPalettes = golem.getTowerGroupPalettes();
+        int groupIdx = groupPalettes.groupOf(targetState.getBlock());
+        if (groupIdx < 0) {
             // No group mapping, use original block
             return targetState;
         }
 
         // Sample gradient based on Y position in total tower
-        String[] slots = golem.getTowerGroupSlots().get(groupIdx);
-        float window = (groupIdx < golem.getTowerGroupWindows().size()) ? golem.getTowerGroupWindows().get(groupIdx) : 1.0f;
-        int noiseScale = (groupIdx < golem.getTowerGroupNoiseScales().size()) ? golem.getTowerGroupNoiseScales().get(groupIdx) : 1;
-        int sampledIndex = sampleTowerGradient(golem, slots, window, noiseScale, pos);
+        GradientPalette palette = groupPalettes.palette(groupIdx);
+        float window = golem.getTowerGroupWindow(groupIdx);
+        int noiseScale = golem.getTowerGroupNoiseScale(groupIdx);
+        int sampledIndex = sampleTowerGradient(golem, palette, window, noiseScale, pos);
 
         if (sampledIndex >= 0 && sampledIndex < 9) {
-            String sampledId = slots[sampledIndex];
-            if (sampledId != null && !sampledId.isEmpty()) {
-                BlockState sampledState = golem.getBlockStateFromId(sampledId);
+            if (!palette.isEmpty(sampledIndex)) {
+                BlockState sampledState = palette.state(sampledIndex);
                 if (sampledState != null) {
                     return sampledState;
                 }
@@ -530,18 +466,11 @@ public class TowerBuildStrategy extends AbstractBuildStrategy {
         return null;
     }
 
-    private int sampleTowerGradient(GoldGolemEntity golem, String[] slots, float window, int noiseScale, BlockPos pos) {
+    private int sampleTowerGradient(GoldGolemEntity golem, GradientPalette palette, float window, int noiseScale, BlockPos pos) {
         int height = golem.getTowerHeight();
         if (height == 0) return -1;
 
-        // Count non-empty gradient slots
-        int G = 0;
-        for (int i = 8; i >= 0; i--) {
-            if (slots[i] != null && !slots[i].isEmpty()) {
-                G = i + 1;
-                break;
-            }
-        }
+        int G = palette.length();
         if (G == 0) return -1;
 
         // Map Y position in tower to gradient space [0, G-1]
@@ -8,11 +8,11 @@ import net.minecraft.particle.ParticleTypes;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.storage.ReadView;
 import net.minecraft.storage.WriteView;
-import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.registry.Registries;
 import ninja.trek.mc.goldgolem.BuildMode;
+import ninja.trek.mc.goldgolem.tree.TileMemoryBudget;
 import ninja.trek.mc.goldgolem.tree.TreeDefinition;
 import ninja.trek.mc.goldgolem.tree.TreeModule;
 import ninja.trek.mc.goldgolem.tree.TreeTile;
@@ -20,13 +20,21 @@ import ninja.trek.mc.goldgolem.tree.TreeTileCache;
 import ninja.trek.mc.goldgolem.tree.TreeTileExtractor;
 import ninja.trek.mc.goldgolem.tree.TreeWFCBuilder;
 import ninja.trek.mc.goldgolem.tree.TilingPreset;
+import ninja.trek.mc.goldgolem.util.GolemWorkers;
 import ninja.trek.mc.goldgolem.util.GradientGroupManager;
-import ninja.trek.mc.goldgolem.util.GradientSlotUtil;
+import ninja.trek.mc.goldgolem.util.GradientGroupPalettes;
+import ninja.trek.mc.goldgolem.util.GradientPalette;
+import ninja.trek.mc.goldgolem.world.BlockAccess;
 import ninja.trek.mc.goldgolem.world.entity.GoldGolemEntity;
+import ninja.trek.mc.goldgolem.world.entity.GolemMetrics;
+import ninja.trek.mc.goldgolem.world.entity.GolemThroughput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Strategy for Tree building mode.
@@ -54,6 +62,9 @@ public class TreeBuildStrategy extends AbstractBuildStrategy {
     // Tree building state
     private TreeTileCache treeTileCache = null;
     private TreeWFCBuilder treeWFCBuilder = null;
+    // Background tile extraction, polled each tick while cacheState is CACHING
+    private CompletableFuture<TreeTileCache> tileExtraction = null;
+    private Set<net.minecraft.block.Block> pendingStopBlocks = null;
     // E4: Replace boolean flag with explicit state enum
     private CacheState cacheState = CacheState.NOT_STARTED;
     private boolean treeWaitingForInventory = false;
@@ -192,6 +203,11 @@ public class TreeBuildStrategy extends AbstractBuildStrategy {
      * Clear building state.
      */
     public void clearState() {
+        if (tileExtraction != null) {
+            tileExtraction.cancel(false);
+            tileExtraction = null;
+        }
+        pendingStopBlocks = null;
         treeWFCBuilder = null;
         // E4: Reset cache state to NOT_STARTED
         cacheState = CacheState.NOT_STARTED;
@@ -324,72 +340,28 @@ public class TreeBuildStrategy extends AbstractBuildStrategy {
             return;
         }
 
-        // Cache tiles if not already done
+        // Cache tiles if not already done; extraction runs on a worker and is polled each tick
         if (cacheState != CacheState.CACHED || treeTileCache == null) {
-            try {
-                // Build stop blocks set (air, gold, ground types)
-                Set<net.minecraft.block.Block> stopBlocks = new HashSet<>();
-                stopBlocks.add(Blocks.GOLD_BLOCK);
-                if (owner != null) {
-                    BlockPos playerGround = owner.getBlockPos().down();
-                    BlockState gs = golem.getEntityWorld().getBlockState(playerGround);
-                    net.minecraft.block.Block groundType = gs.getBlock();
-                    if (groundType == Blocks.GRASS_BLOCK ||
-                        groundType == Blocks.DIRT ||
-                        groundType == Blocks.DIRT_PATH) {
-                        stopBlocks.add(Blocks.GRASS_BLOCK);
-                        stopBlocks.add(Blocks.DIRT);
-                        stopBlocks.add(Blocks.DIRT_PATH);
-                    }
-                }
-
-                // Extract tiles using current preset
-                TreeDefinition def = new TreeDefinition(treeOrigin, treeModules, treeUniqueBlockIds);
-                var stored = golem.getTreeModuleBlockStates();
-                treeTileCache = TreeTileExtractor.extract(
-                    golem.getEntityWorld(), def, treeTilingPreset, treeOrigin,
-                    (stored != null && !stored.isEmpty()) ? stored : null);
-                cacheState = CacheState.CACHED;
-
-                if (treeTileCache.isEmpty()) {
-                    // No tiles extracted, stop building permanently
-                    golem.setBuildingPaths(false);
-                    return;
-                }
-
-                // Initialize WFC builder at golem's current position (only if new)
-                if (treeWFCBuilder == null) {
-                    Random random = new Random(golem.getUuid().getMostSignificantBits());
-                    treeWFCBuilder = new TreeWFCBuilder(
-                        treeTileCache, golem.getEntityWorld(), golem.getBlockPos(), stopBlocks, random);
-                }
-
-            } catch (OutOfMemoryError e) {
-                LOGGER.error("Out of memory extracting tree tiles - tree may be too complex", e);
-                cacheState = CacheState.FAILED;
-                treeTileCache = null;
-                golem.setBuildingPaths(false);
-                return;
-            } catch (IllegalArgumentException e) {
-                LOGGER.error("Invalid tree definition: {}", e.getMessage());
-                cacheState = CacheState.FAILED;
-                treeTileCache = null;
-                golem.setBuildingPaths(false);
+            if (tileExtraction == null) {
+                startTileExtraction(golem, owner, treeModules, treeOrigin, treeUniqueBlockIds, treeTilingPreset);
                 return;
-            } catch (Exception e) {
-                LOGGER.error("Failed to cache tree tiles", e);
-                cacheState = CacheState.FAILED;
-                treeTileCache = null;
-                golem.setBuildingPaths(false);
+            }
+            if (!tileExtraction.isDone()) {
+                return; // Still extracting
+            }
+            if (!finishTileExtraction(golem)) {
                 return;
             }
         }
 
-        // Run WFC algorithm steps (run multiple steps per tick for faster generation)
+        // Run WFC algorithm steps (run multiple steps per tick for faster generation; the step
+        // count and wall-clock budget follow server load)
         if (treeWFCBuilder != null && !treeWFCBuilder.isFinished()) {
-            // Run a few WFC steps per tick
-            for (int i = 0; i < 5 && !treeWFCBuilder.isFinished(); i++) {
-                treeWFCBuilder.step();
+            long deadline = System.nanoTime() + GolemThroughput.wfcTickBudgetNanos();
+            int steps = GolemThroughput.wfcStepsPerTick();
+            for (int i = 0; i < steps && treeWFCBuilder.step(); i++) {
+                // Steps are cheap but each probes the world, so also stop on the time budget
+                if ((i & 63) == 63 && System.nanoTime() > deadline) break;
             }
         }
 
@@ -412,38 +384,10 @@ public class TreeBuildStrategy extends AbstractBuildStrategy {
             List<BlockPos> allPositions = new ArrayList<>(currentTileBlocks.keySet());
             allPositions.addAll(minePositions);
             // Use block checker to skip already-correct blocks
-            planner.setBlocks(allPositions, pos -> {
-                if (minePositions.contains(pos)) {
-                    return golem.getEntityWorld().getBlockState(pos).isAir(); // already mined
-                }
-                BlockState expected = currentTileBlocks.get(pos);
-                if (expected == null) return true; // Skip if no expected state
-                BlockState current = golem.getEntityWorld().getBlockState(pos);
-                return current.getBlock() == expected.getBlock();
-            });
-
-            // Set up exclusion zone filter (inverted pyramid above golem)
-            planner.setBlockFilter(pos -> {
-                BlockPos golemFeet = golem.getBlockPos();
-                int dy = pos.getY() - golemFeet.getY();
-                if (dy <= 0) return false;
-                int dxAbs = Math.abs(pos.getX() - golemFeet.getX());
-                int dzAbs = Math.abs(pos.getZ() - golemFeet.getZ());
-                int chebyshev = Math.max(dxAbs, dzAbs);
-                return chebyshev <= dy;
-            });
-
-            // Set up neighbor scorer
-            planner.setBlockScorer(pos -> {
-                var world = golem.getEntityWorld();
-                int neighbors = 0;
-                if (!world.getBlockState(pos.north()).isAir()) neighbors++;
-                if (!world.getBlockState(pos.south()).isAir()) neighbors++;
-                if (!world.getBlockState(pos.east()).isAir()) neighbors++;
-                if (!world.getBlockState(pos.west()).isAir()) neighbors++;
-                if (!world.getBlockState(pos.down()).isAir()) neighbors++;
-                return neighbors;
-            });
+            planner.setBlocks(allPositions, PlacementPlanner.expectedOrMined(planner.blocks(), currentTileBlocks, minePositions));
+
+            // Exclusion zone above the golem, neighbour-first order
+            planner.useOrganicPlacement();
 
             tileBlocksLoaded = true;
         }
@@ -499,6 +443,91 @@ public class TreeBuildStrategy extends AbstractBuildStrategy {
         }
     }
 
+    /**
+     * Snapshot the module block states on the server thread and hand extraction to a worker.
+     */
+    private void startTileExtraction(GoldGolemEntity golem, PlayerEntity owner, List<TreeModule> treeModules,
+                                     BlockPos treeOrigin, List<String> treeUniqueBlockIds, TilingPreset treeTilingPreset) {
+        // Build stop blocks set (air, gold, ground types)
+        Set<net.minecraft.block.Block> stopBlocks = new HashSet<>();
+        stopBlocks.add(Blocks.GOLD_BLOCK);
+        if (owner != null) {
+            BlockPos playerGround = owner.getBlockPos().down();
+            BlockState gs = golem.getEntityWorld().getBlockState(playerGround);
+            net.minecraft.block.Block groundType = gs.getBlock();
+            if (groundType == Blocks.GRASS_BLOCK ||
+                groundType == Blocks.DIRT ||
+                groundType == Blocks.DIRT_PATH) {
+                stopBlocks.add(Blocks.GRASS_BLOCK);
+                stopBlocks.add(Blocks.DIRT);
+                stopBlocks.add(Blocks.DIRT_PATH);
+            }
+        }
+
+        try {
+            TreeDefinition def = new TreeDefinition(treeOrigin, treeModules, treeUniqueBlockIds);
+            var stored = golem.getTreeModuleBlockStates();
+            List<Map<BlockPos, BlockState>> snapshot = TreeTileExtractor.snapshotModules(
+                BlockAccess.of(golem.getEntityWorld()), def, treeOrigin,
+                (stored != null && !stored.isEmpty()) ? stored : null);
+            pendingStopBlocks = stopBlocks;
+            tileExtraction = TreeTileExtractor.extractAsync(def, treeTilingPreset, snapshot, GolemWorkers.compute());
+            cacheState = CacheState.CACHING;
+        } catch (IllegalArgumentException e) {
+            LOGGER.error("Invalid tree definition: {}", e.getMessage());
+            failTileExtraction(golem);
+        }
+    }
+
+    /**
+     * Collect a finished extraction.
+     * @return true if tiles are cached and building can continue
+     */
+    private boolean finishTileExtraction(GoldGolemEntity golem) {
+        CompletableFuture<TreeTileCache> finished = tileExtraction;
+        tileExtraction = null;
+        try {
+            treeTileCache = finished.join();
+        } catch (CancellationException e) {
+            cacheState = CacheState.NOT_STARTED;
+            return false;
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof TileMemoryBudget.ExceededException) {
+                LOGGER.warn("Not building tree: {}", cause.getMessage());
+            } else if (cause instanceof IllegalArgumentException) {
+                LOGGER.error("Invalid tree definition: {}", cause.getMessage());
+            } else {
+                LOGGER.error("Failed to cache tree tiles", cause);
+            }
+            failTileExtraction(golem);
+            return false;
+        }
+        cacheState = CacheState.CACHED;
+
+        if (treeTileCache.isEmpty()) {
+            // No tiles extracted, stop building permanently
+            golem.setBuildingPaths(false);
+            return false;
+        }
+
+        // Initialize WFC builder at golem's current position (only if new)
+        if (treeWFCBuilder == null) {
+            Random random = new Random(golem.getUuid().getMostSignificantBits());
+            treeWFCBuilder = new TreeWFCBuilder(
+                treeTileCache, BlockAccess.of(golem.getEntityWorld()), golem.getBlockPos(), pendingStopBlocks, random);
+        }
+        pendingStopBlocks = null;
+        return true;
+    }
+
+    private void failTileExtraction(GoldGolemEntity golem) {
+        cacheState = CacheState.FAILED;
+        treeTileCache = null;
+        pendingStopBlocks = null;
+        golem.setBuildingPaths(false);
+    }
+
     /**
      * Load all blocks for a tile into the currentTileBlocks map.
      */
@@ -560,8 +589,7 @@ public class TreeBuildStrategy extends AbstractBuildStrategy {
         if (stateToPlace == null) return false;
 
         // Consume from inventory
-        String blockIdToConsume = Registries.BLOCK.getId(stateToPlace.getBlock()).toString();
-        if (!golem.consumeBlockFromInventory(blockIdToConsume)) {
+        if (!golem.consumeBlockFromInventory(stateToPlace.getBlock())) {
             // No blocks in inventory - mark as depleted and waiting
             golem.handleMissingBuildingBlock();
             return false;
@@ -569,6 +597,7 @@ public class TreeBuildStrategy extends AbstractBuildStrategy {
 
         // Place the block
         golem.getEntityWorld().setBlockState(pos, stateToPlace, 3);
+        GolemMetrics.blockPlaced(golem);
         currentTileBlocks.remove(pos);
 
         // Spawn particles
@@ -585,28 +614,20 @@ public class TreeBuildStrategy extends AbstractBuildStrategy {
     }
 
     private BlockState sampleTreeGradient(GoldGolemEntity golem, BlockState originalState, BlockPos pos) {
-        // Get block ID
-        String blockId = Registries.BLOCK.getId(originalState.getBlock()).toString();
-
         // Find the gradient group for this block
-        Integer groupIdx = golem.getTreeBlockGroup().get(blockId);
-        if (groupIdx == null || groupIdx >= golem.getTreeGroupSlots().size()) {
+        GradientGroupPalettes groupPalettes = golem.getTreeGroupPalettes();
+        int groupIdx = groupPalettes.groupOf(originalState.getBlock());
+        if (groupIdx < 0) {
             // No gradient assigned, use original
             return originalState;
         }
 
-        String[] gradientSlots = golem.getTreeGroupSlots().get(groupIdx);
-        float window = golem.getTreeGroupWindows().get(groupIdx);
-        int noiseScale = (groupIdx < golem.getTreeGroupNoiseScales().size()) ? golem.getTreeGroupNoiseScales().get(groupIdx) : 1;
+        GradientPalette palette = groupPalettes.palette(groupIdx);
+        float window = golem.getTreeGroupWindow(groupIdx);
+        int noiseScale = golem.getTreeGroupNoiseScale(groupIdx);
 
         // Sample from gradient using position hash
-        int lastNonEmpty = -1;
-        for (int i = gradientSlots.length - 1; i >= 0; i--) {
-            if (gradientSlots[i] != null && !gradientSlots[i].isEmpty()) {
-                lastNonEmpty = i;
-                break;
-            }
-        }
+        int lastNonEmpty = palette.length() - 1;
 
         if (lastNonEmpty < 0) {
             // All gradient slots empty - skip this block entirely
@@ -619,19 +640,15 @@ public class TreeBuildStrategy extends AbstractBuildStrategy {
         if (idx >= w) idx = w - 1;
         if (idx > lastNonEmpty) idx = lastNonEmpty;
 
-        String sampledBlockId = gradientSlots[idx];
-        if (sampledBlockId == null || sampledBlockId.isEmpty()) {
+        if (palette.isEmpty(idx)) {
             // Sampled slot is empty - skip this block entirely
             return null;
         }
 
         // Mine actions are handled by isTreeGradientMineAction, not here
-        if (GradientSlotUtil.isMineAction(sampledBlockId)) return null;
+        if (palette.isMineAction(idx)) return null;
 
-        Identifier id = Identifier.tryParse(sampledBlockId);
-        if (id == null) return null;
-        net.minecraft.block.Block sampledBlock = Registries.BLOCK.get(id);
-        return sampledBlock.getDefaultState();
+        return palette.state(idx);
     }
 
     /**
@@ -639,18 +656,15 @@ public class TreeBuildStrategy extends AbstractBuildStrategy {
      * Uses the same sampling logic as sampleTreeGradient but only checks the result.
      */
     private boolean isTreeGradientMineAction(GoldGolemEntity golem, BlockState originalState, BlockPos pos) {
-        String blockId = Registries.BLOCK.getId(originalState.getBlock()).toString();
-        Integer groupIdx = golem.getTreeBlockGroup().get(blockId);
-        if (groupIdx == null || groupIdx >= golem.getTreeGroupSlots().size()) return false;
+        GradientGroupPalettes groupPalettes = golem.getTreeGroupPalettes();
+        int groupIdx = groupPalettes.groupOf(originalState.getBlock());
+        if (groupIdx < 0) return false;
 
-        String[] gradientSlots = golem.getTreeGroupSlots().get(groupIdx);
-        float window = golem.getTreeGroupWindows().get(groupIdx);
-        int noiseScale = (groupIdx < golem.getTreeGroupNoiseScales().size()) ? golem.getTreeGroupNoiseScales().get(groupIdx) : 1;
+        GradientPalette palette = groupPalettes.palette(groupIdx);
+        float window = golem.getTreeGroupWindow(groupIdx);
+        int noiseScale = golem.getTreeGroupNoiseScale(groupIdx);
 
-        int lastNonEmpty = -1;
-        for (int i = gradientSlots.length - 1; i >= 0; i--) {
-            if (gradientSlots[i] != null && !gradientSlots[i].isEmpty()) { lastNonEmpty = i; break; }
-        }
+        int lastNonEmpty = palette.length() - 1;
         if (lastNonEmpty < 0) return false;
 
         int w = (int) Math.max(1, Math.round(window));
@@ -659,8 +673,7 @@ public class TreeBuildStrategy extends AbstractBuildStrategy {
         if (idx >= w) idx = w - 1;
         if (idx > lastNonEmpty) idx = lastNonEmpty;
 
-        String sampledBlockId = gradientSlots[idx];
-        return sampledBlockId != null && GradientSlotUtil.isMineAction(sampledBlockId);
+        return palette.isMineAction(idx);
     }
 
     /**
@@ -449,26 +449,13 @@ public class TunnelBuildStrategy extends BaseMiningStrategy {
             returningToChest = false;
             noMovementTicks = 0;
             if (isInventoryFull()) {
-                // Still full after depositing -> try next chest or go idle
-                if (isInventoryFullAfterDeposit()) {
-                    idleAtStart = true;
-                    entity.setBuildingPaths(false);
-                } else {
-                    returningToChest = true;
-                }
+                // Still full after depositing -> go idle
+                idleAtStart = true;
+                entity.setBuildingPaths(false);
             }
         }
     }
 
-    private boolean isInventoryFullAfterDeposit() {
-        Inventory inventory = entity.getInventory();
-        int emptySlots = 0;
-        for (int i = 0; i < inventory.size(); i++) {
-            if (inventory.getStack(i).isEmpty()) emptySlots++;
-        }
-        return emptySlots < 2;
-    }
-
     private void tickTunnelActive() {
         // Reactive floor building
         if (needsFloorSupport()) {
@@ -620,22 +607,8 @@ public class TunnelBuildStrategy extends BaseMiningStrategy {
             && entity.getEntityWorld().getBlockState(twoBelow).isAir();
     }
 
-    private boolean isInventoryFull() {
-        Inventory inventory = entity.getInventory();
-        int emptySlots = 0;
-        for (int i = 0; i < inventory.size(); i++) {
-            if (inventory.getStack(i).isEmpty()) emptySlots++;
-        }
-        return emptySlots < 2;
-    }
-
     private boolean isInventoryEmpty() {
-        Inventory inventory = entity.getInventory();
-        for (int i = 0; i < inventory.size(); i++) {
-            ItemStack stack = inventory.getStack(i);
-            if (!stack.isEmpty() && !isToolOrTorch(stack)) return false;
-        }
-        return true;
+        return !entity.getInventoryIndex().anyOccupied(stack -> !isToolOrTorch(stack));
     }
 
     private void placeFloorBlocks() {
@@ -689,7 +662,7 @@ public class TunnelBuildStrategy extends BaseMiningStrategy {
         }
 
         // Check ore mining mode
-        if (isOreBlock(blockId)) {
+        if (isOreBlock(state)) {
             switch (oreMiningMode) {
                 case NEVER: return false;
                 case SILK_TOUCH_FORTUNE:
@@ -8,9 +8,11 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 import ninja.trek.mc.goldgolem.BuildMode;
 import ninja.trek.mc.goldgolem.util.GradientGroupManager;
+import ninja.trek.mc.goldgolem.util.GradientGroupPalettes;
 import ninja.trek.mc.goldgolem.wall.WallJoinSlice;
 import ninja.trek.mc.goldgolem.wall.WallModuleTemplate;
 import ninja.trek.mc.goldgolem.world.entity.GoldGolemEntity;
+import ninja.trek.mc.goldgolem.world.entity.GolemMetrics;
 import ninja.trek.mc.goldgolem.world.entity.strategy.wall.GapPlacement;
 import ninja.trek.mc.goldgolem.world.entity.strategy.wall.JoinEntry;
 import ninja.trek.mc.goldgolem.world.entity.strategy.wall.ModulePlacement;
@@ -118,13 +120,23 @@ public class WallBuildStrategy extends AbstractBuildStrategy {
         nbt.putInt("ModCount", wallModuleCount);
         nbt.putInt("ModLongest", wallLongestModule);
 
-        // Save join template
-        nbt.putInt("JoinTplCount", wallJoinTemplate.size());
+        // Save join template as (dy, du, palette index) triples plus an id palette
+        List<String> joinPalette = new ArrayList<>();
+        Map<String, Integer> joinPaletteIndex = new HashMap<>();
+        int[] joinPacked = new int[wallJoinTemplate.size() * 3];
         for (int i = 0; i < wallJoinTemplate.size(); i++) {
             JoinEntry e = wallJoinTemplate.get(i);
-            nbt.putInt("JT_dy" + i, e.dy);
-            nbt.putInt("JT_du" + i, e.du);
-            nbt.putString("JT_id" + i, e.id);
+            joinPacked[3 * i] = e.dy;
+            joinPacked[3 * i + 1] = e.du;
+            joinPacked[3 * i + 2] = joinPaletteIndex.computeIfAbsent(e.id, id -> {
+                joinPalette.add(id);
+                return joinPalette.size() - 1;
+            });
+        }
+        nbt.putIntArray("JoinTpl", joinPacked);
+        nbt.putInt("JoinTplPalCount", joinPalette.size());
+        for (int i = 0; i < joinPalette.size(); i++) {
+            nbt.putString("JoinTplPal" + i, joinPalette.get(i));
         }
 
         // Save direction
@@ -187,8 +199,21 @@ public class WallBuildStrategy extends AbstractBuildStrategy {
         wallLongestModule = nbt.getInt("ModLongest", 0);
 
         // Load join template
+        int[] joinPacked = nbt.getIntArray("JoinTpl").orElse(null);
         int joinTplCount = nbt.getInt("JoinTplCount", 0);
-        if (joinTplCount > 0) {
+        if (joinPacked != null) {
+            String[] palette = new String[nbt.getInt("JoinTplPalCount", 0)];
+            for (int i = 0; i < palette.length; i++) {
+                palette[i] = nbt.getString("JoinTplPal" + i, "");
+            }
+            List<JoinEntry> list = new ArrayList<>(joinPacked.length / 3);
+            for (int i = 0; i + 2 < joinPacked.length; i += 3) {
+                int pal = joinPacked[i + 2];
+                list.add(new JoinEntry(joinPacked[i], joinPacked[i + 1], pal >= 0 && pal < palette.length ? palette[pal] : ""));
+            }
+            wallJoinTemplate = list.isEmpty() ? Collections.emptyList() : list;
+        } else if (joinTplCount > 0) {
+            // Keyed layout from older saves
             List<JoinEntry> list = new ArrayList<>(joinTplCount);
             for (int i = 0; i < joinTplCount; i++) {
                 int dy = nbt.getInt("JT_dy" + i, 0);
@@ -329,6 +354,18 @@ public class WallBuildStrategy extends AbstractBuildStrategy {
         return entity != null ? entity.getWallBlockGroup() : Collections.emptyMap();
     }
 
+    public GradientGroupPalettes getWallGroupPalettes() {
+        return entity != null ? entity.getWallGroupPalettes() : GradientGroupPalettes.EMPTY;
+    }
+
+    public float getWallGroupWindow(int group) {
+        return entity != null ? entity.getWallGroupWindow(group) : 1.0f;
+    }
+
+    public int getWallGroupNoiseScale(int group) {
+        return entity != null ? entity.getWallGroupNoiseScale(group) : 1;
+    }
+
     // ========== Polymorphic Dispatch Methods ==========
 
     @Override
@@ -407,28 +444,8 @@ public class WallBuildStrategy extends AbstractBuildStrategy {
                     // Use block checker to skip already-correct blocks
                     planner.setBlocks(moduleBlocks, pos -> currentModulePlacement.isBlockAlreadyCorrect(golem, pos));
 
-                    // Set up exclusion zone filter (inverted pyramid above golem)
-                    planner.setBlockFilter(pos -> {
-                        BlockPos golemFeet = golem.getBlockPos();
-                        int dy = pos.getY() - golemFeet.getY();
-                        if (dy <= 0) return false;
-                        int dxAbs = Math.abs(pos.getX() - golemFeet.getX());
-                        int dzAbs = Math.abs(pos.getZ() - golemFeet.getZ());
-                        int chebyshev = Math.max(dxAbs, dzAbs);
-                        return chebyshev <= dy;
-                    });
-
-                    // Set up neighbor scorer
-                    planner.setBlockScorer(pos -> {
-                        var world = golem.getEntityWorld();
-                        int neighbors = 0;
-                        if (!world.getBlockState(pos.north()).isAir()) neighbors++;
-                        if (!world.getBlockState(pos.south()).isAir()) neighbors++;
-                        if (!world.getBlockState(pos.east()).isAir()) neighbors++;
-                        if (!world.getBlockState(pos.west()).isAir()) neighbors++;
-                        if (!world.getBlockState(pos.down()).isAir()) neighbors++;
-                        return neighbors;
-                    });
+                    // Exclusion zone above the golem, neighbour-first order
+                    planner.useOrganicPlacement();
                 }
                 moduleBlocksLoaded = true;
             }
@@ -597,6 +614,7 @@ public class WallBuildStrategy extends AbstractBuildStrategy {
         } catch (Throwable ignored) {}
 
         world.setBlockState(pos, place, 3);
+        GolemMetrics.blockPlaced(golem);
         golem.decrementInventorySlot(invSlot);
         golem.beginHandAnimation(isLeftHandActive(), pos, nextPos);
         return true;
@@ -5,7 +5,8 @@ import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import ninja.trek.mc.goldgolem.wall.WallModuleTemplate;
-import ninja.trek.mc.goldgolem.util.GradientSlotUtil;
+import ninja.trek.mc.goldgolem.util.GradientGroupPalettes;
+import ninja.trek.mc.goldgolem.util.GradientPalette;
 import ninja.trek.mc.goldgolem.world.entity.GoldGolemEntity;
 import ninja.trek.mc.goldgolem.world.entity.strategy.WallBuildStrategy;
 
@@ -118,6 +119,7 @@ public class ModulePlacement {
         }
 
         // Add voxel blocks
+        GradientGroupPalettes groupPalettes = strategy.getWallGroupPalettes();
         for (var v : voxels) {
             int rx = v.rel.getX();
             int ry = v.rel.getY();
@@ -129,25 +131,23 @@ public class ModulePlacement {
 
             // Apply gradient sampling
             BlockState stateToPlace = v.state;
-            String blockId = net.minecraft.registry.Registries.BLOCK.getId(v.state.getBlock()).toString();
-            Integer groupIdx = strategy.getWallBlockGroup().get(blockId);
-            boolean hasGradientGroup = groupIdx != null && groupIdx >= 0 && groupIdx < strategy.getWallGroupSlots().size();
+            int groupIdx = groupPalettes.groupOf(v.state.getBlock());
+            boolean hasGradientGroup = groupIdx >= 0;
             boolean skipBlock = false;
             if (hasGradientGroup) {
-                String[] slots = strategy.getWallGroupSlots().get(groupIdx);
-                float window = (groupIdx < strategy.getWallGroupWindows().size()) ? strategy.getWallGroupWindows().get(groupIdx) : 1.0f;
-                int noiseScale = (groupIdx < strategy.getWallGroupNoiseScales().size()) ? strategy.getWallGroupNoiseScales().get(groupIdx) : 1;
+                GradientPalette palette = groupPalettes.palette(groupIdx);
+                float window = strategy.getWallGroupWindow(groupIdx);
+                int noiseScale = strategy.getWallGroupNoiseScale(groupIdx);
                 int relY = ry - moduleMinY;
-                int sampledIndex = golem.sampleWallGradient(slots, window, noiseScale, moduleHeight, relY, new BlockPos(wx, wy, wz));
+                int sampledIndex = golem.sampleWallGradient(palette, window, noiseScale, moduleHeight, relY, new BlockPos(wx, wy, wz));
                 if (sampledIndex >= 0 && sampledIndex < 9) {
-                    String sampledId = slots[sampledIndex];
-                    if (sampledId != null && !sampledId.isEmpty()) {
-                        if (GradientSlotUtil.isMineAction(sampledId)) {
+                    if (!palette.isEmpty(sampledIndex)) {
+                        if (palette.isMineAction(sampledIndex)) {
                             // Mine action - record for mining instead of placing
                             minePositions.add(new BlockPos(wx, wy, wz));
                             skipBlock = true;
                         } else {
-                            BlockState sampledState = golem.getBlockStateFromId(sampledId);
+                            BlockState sampledState = palette.state(sampledIndex);
                             if (sampledState != null) {
                                 stateToPlace = sampledState;
                             } else {
@@ -249,6 +249,7 @@ public class ModulePlacement {
 
         var tpl = templates.get(tplIndex);
         int ops = 0;
+        GradientGroupPalettes groupPalettes = strategy.getWallGroupPalettes();
 
         while (cursor < voxels.size() && ops < maxOps) {
             var v = voxels.get(cursor++);
@@ -262,21 +263,19 @@ public class ModulePlacement {
 
             // Apply gradient sampling for wall mode
             BlockState stateToPlace = v.state;
-            String blockId = net.minecraft.registry.Registries.BLOCK.getId(v.state.getBlock()).toString();
-            Integer groupIdx = strategy.getWallBlockGroup().get(blockId);
-            boolean hasGradientGroup = groupIdx != null && groupIdx >= 0 && groupIdx < strategy.getWallGroupSlots().size();
+            int groupIdx = groupPalettes.groupOf(v.state.getBlock());
+            boolean hasGradientGroup = groupIdx >= 0;
             boolean skipBlock = false;
             if (hasGradientGroup) {
-                String[] slots = strategy.getWallGroupSlots().get(groupIdx);
-                float window = (groupIdx < strategy.getWallGroupWindows().size()) ? strategy.getWallGroupWindows().get(groupIdx) : 1.0f;
-                int noiseScale = (groupIdx < strategy.getWallGroupNoiseScales().size()) ? strategy.getWallGroupNoiseScales().get(groupIdx) : 1;
+                GradientPalette palette = groupPalettes.palette(groupIdx);
+                float window = strategy.getWallGroupWindow(groupIdx);
+                int noiseScale = strategy.getWallGroupNoiseScale(groupIdx);
                 // Calculate relative Y position within module (0 at bottom)
                 int relY = ry - moduleMinY;
-                int sampledIndex = golem.sampleWallGradient(slots, window, noiseScale, moduleHeight, relY, new BlockPos(wx, wy, wz));
+                int sampledIndex = golem.sampleWallGradient(palette, window, noiseScale, moduleHeight, relY, new BlockPos(wx, wy, wz));
                 if (sampledIndex >= 0 && sampledIndex < 9) {
-                    String sampledId = slots[sampledIndex];
-                    if (sampledId != null && !sampledId.isEmpty()) {
-                        BlockState sampledState = golem.getBlockStateFromId(sampledId);
+                    if (!palette.isEmpty(sampledIndex)) {
+                        BlockState sampledState = palette.state(sampledIndex);
                         if (sampledState != null) {
                             stateToPlace = sampledState;
                         } else {
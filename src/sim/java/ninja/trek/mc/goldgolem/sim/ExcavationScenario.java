@@ -0,0 +1,78 @@
+package ninja.trek.mc.goldgolem.sim;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import ninja.trek.mc.goldgolem.world.entity.strategy.ExcavationRingCursor;
+
+/**
+ * A solid stone block (with scattered iron ore) above a bedrock floor, cleared ring by ring
+ * from the corner through the same {@link ExcavationRingCursor} the excavation strategy uses.
+ */
+final class ExcavationScenario implements SimulationScenario {
+    private static final BlockPos START = new BlockPos(0, 64, 0);
+    private static final Direction PRIMARY = Direction.SOUTH;
+    private static final Direction SECONDARY = Direction.EAST;
+
+    private final int size;
+    private final int height;
+    private final ExcavationRingCursor cursor = new ExcavationRingCursor();
+    private VoxelWorld world;
+    private int ring = 0;
+
+    ExcavationScenario(int size, int height) {
+        this.size = size;
+        this.height = height;
+    }
+
+    @Override
+    public String name() {
+        return "excavation";
+    }
+
+    @Override
+    public void setUp(VoxelWorld world) {
+        this.world = world;
+        BlockPos far = START.add(size - 1, height - 1, size - 1);
+        world.fill(START.down(), far.withY(START.getY() - 1), Blocks.BEDROCK.getDefaultState());
+        BlockState stone = Blocks.STONE.getDefaultState();
+        BlockState ore = Blocks.IRON_ORE.getDefaultState();
+        for (BlockPos pos : BlockPos.iterate(START, far)) {
+            boolean isOre = Math.floorMod(pos.getX() * 31 + pos.getY() * 17 + pos.getZ() * 13, 23) == 0;
+            world.setBlockState(pos, isOre ? ore : stone);
+        }
+    }
+
+    @Override
+    public int tick(VoxelWorld world, int blockBudget) {
+        int mined = 0;
+        while (mined < blockBudget && ring < size) {
+            if (!cursor.covers(ring, height)) {
+                cursor.rebuild(ring, height, this::columnBase, this::shouldMine);
+            }
+            BlockPos target = cursor.nextTarget(this::columnBase, null, this::shouldMine);
+            if (target == null) {
+                ring++;
+                continue;
+            }
+            world.setBlockState(target, Blocks.AIR.getDefaultState());
+            mined++;
+        }
+        return mined;
+    }
+
+    @Override
+    public boolean isComplete() {
+        return ring >= size;
+    }
+
+    private BlockPos columnBase(int progress) {
+        return ExcavationRingCursor.columnBase(START, PRIMARY, SECONDARY, ring, progress);
+    }
+
+    private boolean shouldMine(BlockPos pos) {
+        BlockState state = world.getBlockState(pos);
+        return !state.isAir() && state.getHardness(world, pos) >= 0 && !state.isOf(Blocks.GOLD_BLOCK);
+    }
+}
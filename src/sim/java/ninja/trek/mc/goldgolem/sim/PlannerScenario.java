@@ -0,0 +1,87 @@
+package ninja.trek.mc.goldgolem.sim;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import ninja.trek.mc.goldgolem.world.entity.strategy.PlacementPlanner;
+
+/**
+ * A scenario whose blocks are placed by the real {@link PlacementPlanner}, driving a
+ * {@link SimGolem}, with the organic build order the layered strategies use. Subclasses feed
+ * the planner batch by batch, as their strategy does, and place the blocks it picks.
+ * <p>
+ * Each tick advances the golem once, then ticks the planner until it has placed
+ * {@code blockBudget} blocks or has to walk, wait or defer.
+ */
+abstract class PlannerScenario implements SimulationScenario {
+    protected VoxelWorld world;
+    protected SimGolem golem;
+    protected PlacementPlanner planner;
+    private final PlacementPlanner.BlockPlacer placer = (pos, nextPos) -> place(pos);
+
+    /**
+     * Spawn the golem and its planner; call at the end of {@link #setUp}.
+     */
+    protected final void startPlanner(VoxelWorld world, BlockPos spawn) {
+        this.world = world;
+        this.golem = new SimGolem(world, spawn);
+        this.planner = new PlacementPlanner(golem);
+        planner.useOrganicPlacement();
+    }
+
+    /**
+     * Fill the layer below {@code from}..{@code to}, grown by {@code margin}, with stone where
+     * it is air, so the golem has somewhere to stand around the build.
+     */
+    protected static void ground(VoxelWorld world, BlockPos from, BlockPos to, int margin) {
+        BlockState stone = Blocks.STONE.getDefaultState();
+        int y = Math.min(from.getY(), to.getY()) - 1;
+        BlockPos min = new BlockPos(Math.min(from.getX(), to.getX()) - margin, y, Math.min(from.getZ(), to.getZ()) - margin);
+        BlockPos max = new BlockPos(Math.max(from.getX(), to.getX()) + margin, y, Math.max(from.getZ(), to.getZ()) + margin);
+        for (BlockPos pos : BlockPos.iterate(min, max)) {
+            if (world.getBlockState(pos).isAir()) {
+                world.setBlockState(pos, stone);
+            }
+        }
+    }
+
+    /**
+     * Give the planner its next batch once the last one is placed.
+     * @return false if nothing was loaded, because the build is done or its input is not ready
+     */
+    protected abstract boolean loadNext();
+
+    /**
+     * Whether every batch has been handed to the planner.
+     */
+    protected abstract boolean allLoaded();
+
+    /**
+     * Place the block the planner picked.
+     * @return true if placed; false stops placement for this tick
+     */
+    protected abstract boolean place(BlockPos pos);
+
+    @Override
+    public int tick(VoxelWorld world, int blockBudget) {
+        golem.tick();
+        int placed = 0;
+        while (placed < blockBudget) {
+            if (planner.isComplete() && !loadNext()) {
+                break;
+            }
+            PlacementPlanner.TickResult result = planner.tick(placer);
+            if (result == PlacementPlanner.TickResult.PLACED_BLOCK) {
+                placed++;
+            } else if (result != PlacementPlanner.TickResult.COMPLETED) {
+                break;
+            }
+        }
+        return placed;
+    }
+
+    @Override
+    public boolean isComplete() {
+        return allLoaded() && planner.isComplete();
+    }
+}
@@ -0,0 +1,196 @@
+package ninja.trek.mc.goldgolem.sim;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.MathHelper;
+import ninja.trek.mc.goldgolem.world.BlockAccess;
+import ninja.trek.mc.goldgolem.world.entity.strategy.PlacementPlanner;
+
+/**
+ * A golem for {@link PlacementPlanner} over a {@link VoxelWorld}: golem-sized, walks in a
+ * straight line to its navigation target at golem speed, ignoring collisions, and treats every
+ * target as reachable. Line of sight is sampled through the voxels. Call {@link #tick()} once
+ * per simulated server tick to advance the clock and the walk.
+ */
+public final class SimGolem implements PlacementPlanner.Agent {
+    // Same as the entity type's dimensions and the vanilla eye height ratio
+    private static final float SIZE = 13f / 16f;
+    private static final float EYE_HEIGHT = SIZE * 0.85f;
+    // Movement speed attribute of the golem; the planner's speed multiplies it
+    private static final double BLOCKS_PER_TICK = 0.28;
+    private static final double SIGHT_STEP = 0.25;
+
+    private final VoxelWorld world;
+    private final BlockPos.Mutable sightProbe = new BlockPos.Mutable();
+    private double x;
+    private double y;
+    private double z;
+    private BlockPos blockPos;
+    private long time = 0;
+    private boolean moving = false;
+    private double targetX;
+    private double targetY;
+    private double targetZ;
+    private double speed;
+    private int teleports = 0;
+
+    public SimGolem(VoxelWorld world, BlockPos feet) {
+        this.world = world;
+        setPosition(feet.getX() + 0.5, feet.getY(), feet.getZ() + 0.5);
+    }
+
+    /**
+     * Advance one tick: the clock, and the walk toward the navigation target.
+     */
+    public void tick() {
+        time++;
+        if (!moving) {
+            return;
+        }
+        double dx = targetX - x;
+        double dy = targetY - y;
+        double dz = targetZ - z;
+        double dist = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        double step = BLOCKS_PER_TICK * speed;
+        if (dist <= step) {
+            setPosition(targetX, targetY, targetZ);
+            moving = false;
+        } else {
+            double f = step / dist;
+            setPosition(x + dx * f, y + dy * f, z + dz * f);
+        }
+    }
+
+    public void setPosition(double x, double y, double z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        int bx = MathHelper.floor(x);
+        int by = MathHelper.floor(y);
+        int bz = MathHelper.floor(z);
+        if (blockPos == null || blockPos.getX() != bx || blockPos.getY() != by || blockPos.getZ() != bz) {
+            blockPos = new BlockPos(bx, by, bz);
+        }
+    }
+
+    public int teleports() {
+        return teleports;
+    }
+
+    @Override
+    public BlockAccess blocks() {
+        return world;
+    }
+
+    @Override
+    public boolean isSolidGround(BlockState state, BlockPos pos) {
+        return state.isSolidBlock(world, pos) || state.isSideSolidFullSquare(world, pos, Direction.UP);
+    }
+
+    @Override
+    public long getTime() {
+        return time;
+    }
+
+    @Override
+    public double getX() {
+        return x;
+    }
+
+    @Override
+    public double getY() {
+        return y;
+    }
+
+    @Override
+    public double getZ() {
+        return z;
+    }
+
+    @Override
+    public double getEyeY() {
+        return y + EYE_HEIGHT;
+    }
+
+    @Override
+    public float getEyeHeight() {
+        return EYE_HEIGHT;
+    }
+
+    @Override
+    public float getHeight() {
+        return SIZE;
+    }
+
+    @Override
+    public BlockPos getBlockPos() {
+        return blockPos;
+    }
+
+    @Override
+    public Box getBoundingBox() {
+        double half = SIZE / 2.0;
+        return new Box(x - half, y, z - half, x + half, y + SIZE, z + half);
+    }
+
+    @Override
+    public boolean isSuffocating() {
+        BlockState feet = world.getBlockState(blockPos);
+        return !feet.getCollisionShape(world, blockPos).isEmpty();
+    }
+
+    @Override
+    public boolean hasLineOfSight(BlockPos pos) {
+        double sx = x;
+        double sy = getEyeY();
+        double sz = z;
+        double dx = pos.getX() + 0.5 - sx;
+        double dy = pos.getY() + 1.0 - sy;
+        double dz = pos.getZ() + 0.5 - sz;
+        int steps = (int) Math.ceil(Math.sqrt(dx * dx + dy * dy + dz * dz) / SIGHT_STEP);
+        // The end point lies on the target's top face; stop short of it
+        for (int i = 1; i < steps; i++) {
+            double t = (double) i / steps;
+            sightProbe.set(sx + dx * t, sy + dy * t, sz + dz * t);
+            BlockState state = world.getBlockState(sightProbe);
+            if (!state.isAir() && !state.getCollisionShape(world, sightProbe).isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean hasPathTo(BlockPos pos) {
+        return true;
+    }
+
+    @Override
+    public boolean startMovingTo(BlockPos pos, double speed) {
+        this.targetX = pos.getX() + 0.5;
+        this.targetY = pos.getY();
+        this.targetZ = pos.getZ() + 0.5;
+        this.speed = speed;
+        this.moving = true;
+        return true;
+    }
+
+    @Override
+    public void stopMoving() {
+        moving = false;
+    }
+
+    @Override
+    public boolean isNavigationIdle() {
+        return !moving;
+    }
+
+    @Override
+    public void teleport(BlockPos pos) {
+        setPosition(pos.getX() + 0.5, pos.getY(), pos.getZ() + 0.5);
+        moving = false;
+        teleports++;
+    }
+}
@@ -0,0 +1,93 @@
+package ninja.trek.mc.goldgolem.sim;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+/**
+ * Runs {@link SimulationScenario}s headless, one tick at a time, and records blocks changed,
+ * wall time and bytes allocated by the calling thread per tick.
+ * <p>
+ * Work a scenario hands to {@code GolemWorkers} (shell generation) is not counted in the
+ * allocation figures, matching what the server tick thread would pay. Outside the game the
+ * block registries must be set up first with {@link #bootstrap()}.
+ */
+public final class SimulationHarness {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimulationHarness.class);
+    public static final int DEFAULT_BLOCK_BUDGET = 8;
+    public static final int DEFAULT_MAX_TICKS = 200_000;
+
+    private static final com.sun.management.ThreadMXBean ALLOCATION = allocationBean();
+
+    private SimulationHarness() {}
+
+    /**
+     * Initialize the vanilla registries for a plain JVM. Harmless in game.
+     */
+    public static void bootstrap() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+    }
+
+    public static SimulationReport run(SimulationScenario scenario) {
+        return run(scenario, DEFAULT_BLOCK_BUDGET, DEFAULT_MAX_TICKS);
+    }
+
+    public static SimulationReport run(SimulationScenario scenario, int blockBudget, int maxTicks) {
+        VoxelWorld world = new VoxelWorld();
+        scenario.setUp(world);
+
+        int[] blocks = new int[Math.min(maxTicks, 1024)];
+        long[] nanos = new long[blocks.length];
+        long[] allocated = new long[blocks.length];
+        int ticks = 0;
+        while (ticks < maxTicks && !scenario.isComplete()) {
+            if (ticks == blocks.length) {
+                int capacity = Math.min(maxTicks, blocks.length * 2);
+                blocks = Arrays.copyOf(blocks, capacity);
+                nanos = Arrays.copyOf(nanos, capacity);
+                allocated = Arrays.copyOf(allocated, capacity);
+            }
+            long allocBefore = allocatedBytes();
+            long start = System.nanoTime();
+            blocks[ticks] = scenario.tick(world, blockBudget);
+            nanos[ticks] = System.nanoTime() - start;
+            long allocAfter = allocatedBytes();
+            allocated[ticks] = allocBefore < 0 ? -1 : allocAfter - allocBefore;
+            ticks++;
+        }
+        return new SimulationReport(scenario.name(), scenario.isComplete(), blockBudget,
+                Arrays.copyOf(blocks, ticks), Arrays.copyOf(nanos, ticks), Arrays.copyOf(allocated, ticks));
+    }
+
+    private static long allocatedBytes() {
+        return ALLOCATION != null ? ALLOCATION.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean sunBean && sunBean.isThreadAllocatedMemorySupported()) {
+            sunBean.setThreadAllocatedMemoryEnabled(true);
+            return sunBean;
+        }
+        return null;
+    }
+
+    /**
+     * Run every canned scenario and log one summary line each ({@code ./gradlew simulate}).
+     * Optional arguments: block budget per tick, max ticks.
+     */
+    public static void main(String[] args) {
+        int budget = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BLOCK_BUDGET;
+        int maxTicks = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_TICKS;
+        bootstrap();
+        for (SimulationScenario scenario : SimulationScenarios.all()) {
+            LOGGER.info("{}", run(scenario, budget, maxTicks).summary());
+        }
+    }
+}
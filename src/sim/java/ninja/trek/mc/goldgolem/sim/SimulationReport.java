@@ -0,0 +1,65 @@
+package ninja.trek.mc.goldgolem.sim;
+
+import java.util.Locale;
+
+/**
+ * Per-tick results of one scenario run. Arrays are indexed by tick and sized to
+ * {@link #ticks()}; allocation is -1 when the JVM cannot measure it.
+ */
+public record SimulationReport(String scenario, boolean completed, int blockBudget,
+                               int[] blocksPerTick, long[] nanosPerTick, long[] allocatedBytesPerTick) {
+
+    public int ticks() {
+        return blocksPerTick.length;
+    }
+
+    public long totalBlocks() {
+        long total = 0;
+        for (int blocks : blocksPerTick) total += blocks;
+        return total;
+    }
+
+    public double meanBlocksPerTick() {
+        return ticks() == 0 ? 0.0 : (double) totalBlocks() / ticks();
+    }
+
+    public double meanNanosPerTick() {
+        return mean(nanosPerTick);
+    }
+
+    public long maxNanosPerTick() {
+        return max(nanosPerTick);
+    }
+
+    public double meanAllocatedBytesPerTick() {
+        return mean(allocatedBytesPerTick);
+    }
+
+    public long maxAllocatedBytesPerTick() {
+        return max(allocatedBytesPerTick);
+    }
+
+    private static double mean(long[] values) {
+        if (values.length == 0) return 0.0;
+        double sum = 0;
+        for (long v : values) sum += v;
+        return sum / values.length;
+    }
+
+    private static long max(long[] values) {
+        long max = 0;
+        for (long v : values) max = Math.max(max, v);
+        return max;
+    }
+
+    /**
+     * One-line summary for logs and the command line.
+     */
+    public String summary() {
+        return String.format(Locale.ROOT,
+                "%-16s %s ticks=%d blocks=%d (%.2f/tick, budget %d) time=%.1fus/tick (max %.1fus) alloc=%.0fB/tick (max %dB)",
+                scenario, completed ? "done" : "TIMEOUT", ticks(), totalBlocks(), meanBlocksPerTick(), blockBudget,
+                meanNanosPerTick() / 1000.0, maxNanosPerTick() / 1000.0,
+                meanAllocatedBytesPerTick(), maxAllocatedBytesPerTick());
+    }
+}
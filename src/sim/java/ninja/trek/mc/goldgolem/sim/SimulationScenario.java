@@ -0,0 +1,21 @@
+package ninja.trek.mc.goldgolem.sim;
+
+/**
+ * A canned build driven tick by tick against a {@link VoxelWorld}.
+ * <p>
+ * {@link #setUp} builds the input structure and runs the summon-time scan; it is not
+ * measured. Each {@link #tick} does one server tick's worth of work within a block budget.
+ */
+public interface SimulationScenario {
+    String name();
+
+    void setUp(VoxelWorld world);
+
+    /**
+     * Run one tick, changing at most {@code blockBudget} blocks.
+     * @return number of blocks placed or removed this tick
+     */
+    int tick(VoxelWorld world, int blockBudget);
+
+    boolean isComplete();
+}
@@ -0,0 +1,50 @@
+package ninja.trek.mc.goldgolem.sim;
+
+import java.util.List;
+
+/**
+ * Canned scenarios for benchmarking the build cores. Each call returns fresh instances; a
+ * scenario is good for one run.
+ */
+public final class SimulationScenarios {
+    private SimulationScenarios() {}
+
+    /**
+     * 16 stacked copies of a four-layer module (64 layers).
+     */
+    public static SimulationScenario tower() {
+        return new TowerScenario(64);
+    }
+
+    /**
+     * 32 wall segments.
+     */
+    public static SimulationScenario wall() {
+        return new WallScenario(32);
+    }
+
+    /**
+     * A 24x24 footprint, 8 blocks deep, cleared ring by ring.
+     */
+    public static SimulationScenario excavationRing() {
+        return new ExcavationScenario(24, 8);
+    }
+
+    /**
+     * A 16-layer skeleton with radius 8.
+     */
+    public static SimulationScenario terraformShell() {
+        return new TerraformScenario(8, 16);
+    }
+
+    /**
+     * A 24-high sketch with three branch tiers.
+     */
+    public static SimulationScenario tree() {
+        return new TreeScenario(24);
+    }
+
+    public static List<SimulationScenario> all() {
+        return List.of(tower(), wall(), excavationRing(), terraformShell(), tree());
+    }
+}
@@ -0,0 +1,100 @@
+package ninja.trek.mc.goldgolem.sim;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import ninja.trek.mc.goldgolem.terraforming.ShellGeneration;
+import ninja.trek.mc.goldgolem.terraforming.TerraformingScanner;
+import ninja.trek.mc.goldgolem.util.GolemWorkers;
+import ninja.trek.mc.goldgolem.world.entity.strategy.PlacementPlanner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A 3x3 gold platform with four spokes out to a stack of square skeleton rings. The shell is
+ * generated on {@link GolemWorkers#compute()} as in game and filled bottom-up by the placement
+ * planner, one layer per batch, with the terraforming strategy's checker: skeleton blocks in
+ * the shell are replaced. Ticks where the next layer is not ready yet place nothing.
+ */
+final class TerraformScenario extends PlannerScenario {
+    private static final BlockPos PLATFORM = new BlockPos(0, 64, 0);
+    private static final int ALPHA = 3;
+
+    private final int radius;
+    private final int height;
+    private final Map<BlockPos, BlockState> layerStates = new HashMap<>();
+    private ShellGeneration shell;
+    private int layerY;
+    private int maxY;
+
+    TerraformScenario(int radius, int height) {
+        this.radius = radius;
+        this.height = height;
+    }
+
+    @Override
+    public String name() {
+        return "terraform-shell";
+    }
+
+    @Override
+    public void setUp(VoxelWorld world) {
+        world.fill(PLATFORM.add(-1, 0, -1), PLATFORM.add(1, 0, 1), Blocks.GOLD_BLOCK.getDefaultState());
+        BlockState skeleton = Blocks.STONE_BRICKS.getDefaultState();
+        for (int r = 2; r <= radius; r++) {
+            world.setBlockState(PLATFORM.add(r, 0, 0), skeleton);
+            world.setBlockState(PLATFORM.add(-r, 0, 0), skeleton);
+            world.setBlockState(PLATFORM.add(0, 0, r), skeleton);
+            world.setBlockState(PLATFORM.add(0, 0, -r), skeleton);
+        }
+        for (int dy = 0; dy < height; dy++) {
+            for (int i = -radius; i <= radius; i++) {
+                world.setBlockState(PLATFORM.add(i, dy, -radius), skeleton);
+                world.setBlockState(PLATFORM.add(i, dy, radius), skeleton);
+                world.setBlockState(PLATFORM.add(-radius, dy, i), skeleton);
+                world.setBlockState(PLATFORM.add(radius, dy, i), skeleton);
+            }
+        }
+
+        var res = TerraformingScanner.scan(world, PLATFORM, null);
+        if (!res.ok()) {
+            throw new IllegalStateException("Terraforming scan failed: " + res.error());
+        }
+        shell = ShellGeneration.start(res.def().skeletonBlocks(), ALPHA, GolemWorkers.compute());
+        layerY = res.def().minBound().getY();
+        maxY = res.def().maxBound().getY();
+
+        ground(world, PLATFORM.add(-radius, 0, -radius), PLATFORM.add(radius, 0, radius), 6);
+        startPlanner(world, PLATFORM.add(radius + 3, 0, 0));
+    }
+
+    @Override
+    protected boolean loadNext() {
+        if (layerY > maxY || !shell.isLayerReady(layerY)) {
+            return false;
+        }
+        BlockState fill = Blocks.STONE.getDefaultState();
+        layerStates.clear();
+        for (BlockPos pos : shell.layers().getOrDefault(layerY++, List.of())) {
+            layerStates.put(pos, fill);
+        }
+        planner.setBlocks(new ArrayList<>(layerStates.keySet()),
+                PlacementPlanner.expectedOrMined(world, layerStates, Set.of()));
+        return true;
+    }
+
+    @Override
+    protected boolean allLoaded() {
+        return layerY > maxY;
+    }
+
+    @Override
+    protected boolean place(BlockPos pos) {
+        BlockState state = layerStates.get(pos);
+        return state != null && world.setBlockState(pos, state);
+    }
+}
@@ -0,0 +1,96 @@
+package ninja.trek.mc.goldgolem.sim;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import ninja.trek.mc.goldgolem.tower.TowerModuleTemplate;
+import ninja.trek.mc.goldgolem.tower.TowerScanner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A 5x5 hollow module (cobblestone floor, three rings of stone bricks) scanned from a two-high
+ * gold column, then stacked at a second origin by the placement planner, one layer per batch.
+ * Positions that already hold the right block are skipped, as in the tower strategy.
+ */
+final class TowerScenario extends PlannerScenario {
+    private static final BlockPos INPUT = new BlockPos(0, 64, 0);
+    private static final BlockPos BUILD = new BlockPos(32, 64, 0);
+
+    private final int layers;
+    private TowerModuleTemplate template;
+    private int layerY = 0;
+
+    TowerScenario(int layers) {
+        this.layers = layers;
+    }
+
+    @Override
+    public String name() {
+        return "tower";
+    }
+
+    @Override
+    public void setUp(VoxelWorld world) {
+        BlockState floor = Blocks.COBBLESTONE.getDefaultState();
+        BlockState wall = Blocks.STONE_BRICKS.getDefaultState();
+        for (int dx = -2; dx <= 2; dx++) {
+            for (int dz = -2; dz <= 2; dz++) {
+                if (dx == 0 && dz == 0) continue;
+                world.setBlockState(INPUT.add(dx, 0, dz), floor);
+                if (Math.abs(dx) == 2 || Math.abs(dz) == 2) {
+                    for (int dy = 1; dy <= 3; dy++) {
+                        world.setBlockState(INPUT.add(dx, dy, dz), wall);
+                    }
+                }
+            }
+        }
+        List<BlockPos> gold = List.of(INPUT, INPUT.up());
+        for (BlockPos pos : gold) {
+            world.setBlockState(pos, Blocks.GOLD_BLOCK.getDefaultState());
+        }
+
+        var res = TowerScanner.scan(world, gold, INPUT, null);
+        if (!res.ok()) {
+            throw new IllegalStateException("Tower scan failed: " + res.error());
+        }
+        List<TowerModuleTemplate.Voxel> voxels = new ArrayList<>();
+        int minY = Integer.MAX_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        for (BlockPos rel : res.def().voxels) {
+            voxels.add(new TowerModuleTemplate.Voxel(rel, world.getBlockState(INPUT.add(rel))));
+            minY = Math.min(minY, rel.getY());
+            maxY = Math.max(maxY, rel.getY());
+        }
+        template = new TowerModuleTemplate(voxels, minY, maxY);
+
+        ground(world, BUILD.add(-2, 0, -2), BUILD.add(2, 0, 2), 8);
+        startPlanner(world, BUILD.add(4, 0, 0));
+    }
+
+    @Override
+    protected boolean loadNext() {
+        if (layerY >= layers) {
+            return false;
+        }
+        planner.setBlocks(template.layerPositions(BUILD, layerY++), this::isAlreadyCorrect);
+        return true;
+    }
+
+    private boolean isAlreadyCorrect(BlockPos pos) {
+        BlockState target = template.stateAt(BUILD, pos);
+        return target == null || world.getBlockState(pos).getBlock() == target.getBlock();
+    }
+
+    @Override
+    protected boolean allLoaded() {
+        return layerY >= layers;
+    }
+
+    @Override
+    protected boolean place(BlockPos pos) {
+        BlockState target = template.stateAt(BUILD, pos);
+        return target != null && world.setBlockState(pos, target);
+    }
+}
@@ -0,0 +1,134 @@
+package ninja.trek.mc.goldgolem.sim;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import ninja.trek.mc.goldgolem.tree.TilingPreset;
+import ninja.trek.mc.goldgolem.tree.TreeScanner;
+import ninja.trek.mc.goldgolem.tree.TreeTile;
+import ninja.trek.mc.goldgolem.tree.TreeTileCache;
+import ninja.trek.mc.goldgolem.tree.TreeTileExtractor;
+import ninja.trek.mc.goldgolem.tree.TreeWFCBuilder;
+import ninja.trek.mc.goldgolem.world.entity.strategy.PlacementPlanner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * A small oak tree module on a gold block, tiled and grown by the WFC builder over
+ * a wool sketch (a trunk with three tiers of branches). Each tick runs a bounded number of WFC
+ * steps, then the placement planner places collapsed tiles one per batch, into air only, with
+ * the tree strategy's checker.
+ */
+final class TreeScenario extends PlannerScenario {
+    private static final BlockPos MODULE_GOLD = new BlockPos(0, 64, 0);
+    private static final BlockPos SKETCH = new BlockPos(48, 64, 0);
+    private static final int WFC_STEPS_PER_TICK = 4096;
+    private static final long SEED = 0x601D601DL;
+
+    private final int trunkHeight;
+    private final Map<BlockPos, BlockState> tileStates = new HashMap<>();
+    private TreeWFCBuilder builder;
+
+    TreeScenario(int trunkHeight) {
+        this.trunkHeight = trunkHeight;
+    }
+
+    @Override
+    public String name() {
+        return "tree";
+    }
+
+    @Override
+    public void setUp(VoxelWorld world) {
+        BlockState log = Blocks.OAK_LOG.getDefaultState();
+        BlockState leaves = Blocks.OAK_LEAVES.getDefaultState();
+        world.setBlockState(MODULE_GOLD, Blocks.GOLD_BLOCK.getDefaultState());
+        for (int dy = 1; dy <= 4; dy++) {
+            world.setBlockState(MODULE_GOLD.up(dy), log);
+        }
+        for (int dy = 3; dy <= 5; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    BlockPos pos = MODULE_GOLD.add(dx, dy, dz);
+                    if (world.getBlockState(pos).isAir()) world.setBlockState(pos, leaves);
+                }
+            }
+        }
+
+        BlockState sketch = Blocks.WHITE_WOOL.getDefaultState();
+        for (int dy = 0; dy < trunkHeight; dy++) {
+            world.setBlockState(SKETCH.up(dy), sketch);
+        }
+        for (int tier = 1; tier <= 3; tier++) {
+            BlockPos branchBase = SKETCH.up(trunkHeight * tier / 4);
+            for (Direction dir : Direction.Type.HORIZONTAL) {
+                for (int i = 1; i <= trunkHeight / 4; i++) {
+                    world.setBlockState(branchBase.offset(dir, i), sketch);
+                }
+            }
+        }
+
+        var res = TreeScanner.scan(world, MODULE_GOLD, null);
+        if (!res.ok()) {
+            throw new IllegalStateException("Tree scan failed: " + res.error());
+        }
+        TreeTileCache cache = TreeTileExtractor.extract(world, res.def(), TilingPreset.SMALL_3x3, MODULE_GOLD);
+        Set<Block> stopBlocks = Set.of(Blocks.GOLD_BLOCK);
+        builder = new TreeWFCBuilder(cache, world, SKETCH, stopBlocks, new Random(SEED));
+
+        int reach = trunkHeight / 4 + TilingPreset.SMALL_3x3.getSize();
+        ground(world, SKETCH.add(-reach, 0, -reach), SKETCH.add(reach, 0, reach), 4);
+        startPlanner(world, SKETCH.add(reach, 0, reach));
+    }
+
+    @Override
+    public int tick(VoxelWorld world, int blockBudget) {
+        builder.runUntilComplete(WFC_STEPS_PER_TICK);
+        return super.tick(world, blockBudget);
+    }
+
+    @Override
+    protected boolean loadNext() {
+        BlockPos tileOrigin = builder.getNextBuildPosition();
+        if (tileOrigin == null) {
+            return false;
+        }
+        tileStates.clear();
+        String tileId = builder.getCollapsedTile(tileOrigin);
+        TreeTile tile = tileId != null ? builder.getTile(tileId) : null;
+        if (tile != null) {
+            for (int dx = 0; dx < tile.size; dx++) {
+                for (int dy = 0; dy < tile.size; dy++) {
+                    for (int dz = 0; dz < tile.size; dz++) {
+                        BlockState state = tile.getBlock(dx, dy, dz);
+                        if (state.isAir()) continue;
+                        BlockPos pos = tileOrigin.add(dx, dy, dz);
+                        // Never overwrite existing blocks
+                        if (!world.getBlockState(pos).isAir()) continue;
+                        tileStates.put(pos, state);
+                    }
+                }
+            }
+        }
+        planner.setBlocks(new ArrayList<>(tileStates.keySet()),
+                PlacementPlanner.expectedOrMined(world, tileStates, Set.of()));
+        return true;
+    }
+
+    @Override
+    protected boolean allLoaded() {
+        return builder.isFinished() && !builder.hasPendingBlocks();
+    }
+
+    @Override
+    protected boolean place(BlockPos pos) {
+        BlockState state = tileStates.get(pos);
+        return state != null && world.setBlockState(pos, state);
+    }
+}
@@ -0,0 +1,97 @@
+package ninja.trek.mc.goldgolem.sim;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.fluid.FluidState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.BlockView;
+import ninja.trek.mc.goldgolem.world.BlockAccess;
+
+/**
+ * In-memory block store for headless simulation: packed position to state, air everywhere
+ * else. No block entities, lighting, neighbour updates or chunk loading.
+ * <p>
+ * Also a {@link BlockView}, so state queries that need one (hardness, collision shapes) work
+ * against it unchanged. Counts writes so scenarios can report how much they changed.
+ */
+public final class VoxelWorld implements BlockAccess, BlockView {
+    private final Long2ObjectOpenHashMap<BlockState> states = new Long2ObjectOpenHashMap<>();
+    private final int bottomY;
+    private final int height;
+    private long writes = 0;
+
+    public VoxelWorld() {
+        this(-64, 384);
+    }
+
+    public VoxelWorld(int bottomY, int height) {
+        this.bottomY = bottomY;
+        this.height = height;
+        this.states.defaultReturnValue(Blocks.AIR.getDefaultState());
+    }
+
+    @Override
+    public BlockState getBlockState(BlockPos pos) {
+        return states.get(pos.asLong());
+    }
+
+    /**
+     * Set a block; air removes the entry.
+     * @return true if the state changed
+     */
+    public boolean setBlockState(BlockPos pos, BlockState state) {
+        long key = pos.asLong();
+        BlockState previous = state.isAir() ? states.remove(key) : states.put(key, state);
+        // Missing entries come back as the air default
+        if (previous == state || (previous.isAir() && state.isAir())) {
+            return false;
+        }
+        writes++;
+        return true;
+    }
+
+    /**
+     * Fill the box between two corners (inclusive).
+     */
+    public void fill(BlockPos from, BlockPos to, BlockState state) {
+        for (BlockPos pos : BlockPos.iterate(from, to)) {
+            setBlockState(pos, state);
+        }
+    }
+
+    /**
+     * Number of non-air blocks.
+     */
+    public int size() {
+        return states.size();
+    }
+
+    /**
+     * Number of state changes since creation.
+     */
+    public long writes() {
+        return writes;
+    }
+
+    @Override
+    public BlockEntity getBlockEntity(BlockPos pos) {
+        return null;
+    }
+
+    @Override
+    public FluidState getFluidState(BlockPos pos) {
+        return getBlockState(pos).getFluidState();
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getBottomY() {
+        return bottomY;
+    }
+}
@@ -0,0 +1,110 @@
+package ninja.trek.mc.goldgolem.sim;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import ninja.trek.mc.goldgolem.wall.WallModuleExtractor;
+import ninja.trek.mc.goldgolem.wall.WallModuleTemplate;
+import ninja.trek.mc.goldgolem.wall.WallScanner;
+import ninja.trek.mc.goldgolem.world.entity.strategy.PlacementPlanner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A straight three-high wall between two gold markers, scanned and split into a module by
+ * the summon-time extractor, then repeated end to end along the marker axis by the placement
+ * planner, one segment per batch. Gold marker voxels are not placed.
+ */
+final class WallScenario extends PlannerScenario {
+    private static final BlockPos INPUT = new BlockPos(0, 64, 0);
+    private static final BlockPos BUILD = new BlockPos(0, 64, 16);
+    private static final int INPUT_LENGTH = 8;
+
+    private final int segments;
+    private final Map<BlockPos, BlockState> segmentStates = new HashMap<>();
+    private List<WallModuleTemplate.Voxel> voxels;
+    private BlockPos step;
+    private int segment = 0;
+
+    WallScenario(int segments) {
+        this.segments = segments;
+    }
+
+    @Override
+    public String name() {
+        return "wall";
+    }
+
+    @Override
+    public void setUp(VoxelWorld world) {
+        BlockState body = Blocks.STONE_BRICKS.getDefaultState();
+        BlockState cap = Blocks.MOSSY_STONE_BRICKS.getDefaultState();
+        for (int x = 0; x < INPUT_LENGTH; x++) {
+            for (int y = 0; y < 3; y++) {
+                world.setBlockState(INPUT.add(x, y, 0), y == 2 ? cap : body);
+            }
+        }
+        world.setBlockState(INPUT, Blocks.GOLD_BLOCK.getDefaultState());
+        world.setBlockState(INPUT.add(INPUT_LENGTH - 1, 0, 0), Blocks.GOLD_BLOCK.getDefaultState());
+
+        var res = WallScanner.scan(world, INPUT, null);
+        if (!res.ok()) {
+            throw new IllegalStateException("Wall scan failed: " + res.error());
+        }
+        var def = res.def();
+        var extraction = WallModuleExtractor.extract(world, def.origin, def.voxels, def.goldMarkers, null);
+        if (!extraction.ok()) {
+            throw new IllegalStateException("Wall module extraction failed: " + extraction.error());
+        }
+
+        // Template relative to the module's A marker, as built at summon time
+        var mod = extraction.modules().get(0);
+        List<WallModuleTemplate.Voxel> vox = new ArrayList<>();
+        int minY = Integer.MAX_VALUE;
+        for (BlockPos r : mod.voxels()) {
+            BlockPos relToA = r.subtract(mod.aMarker());
+            vox.add(new WallModuleTemplate.Voxel(relToA, world.getBlockState(def.origin.add(r))));
+            minY = Math.min(minY, relToA.getY());
+        }
+        WallModuleTemplate template = new WallModuleTemplate(mod.aMarker(), mod.bMarker(), vox, minY == Integer.MAX_VALUE ? 0 : minY);
+
+        voxels = new ArrayList<>();
+        for (var v : template.voxels) {
+            if (!v.state.isOf(Blocks.GOLD_BLOCK)) voxels.add(v);
+        }
+        step = template.bMarker.subtract(template.aMarker);
+
+        ground(world, BUILD, BUILD.add(step.multiply(segments)), 4);
+        startPlanner(world, BUILD.add(0, 0, -3));
+    }
+
+    @Override
+    protected boolean loadNext() {
+        if (segment >= segments) {
+            return false;
+        }
+        BlockPos segmentOrigin = BUILD.add(step.multiply(segment++));
+        segmentStates.clear();
+        for (var voxel : voxels) {
+            segmentStates.put(segmentOrigin.add(voxel.rel), voxel.state);
+        }
+        planner.setBlocks(new ArrayList<>(segmentStates.keySet()),
+                PlacementPlanner.expectedOrMined(world, segmentStates, Set.of()));
+        return true;
+    }
+
+    @Override
+    protected boolean allLoaded() {
+        return segment >= segments;
+    }
+
+    @Override
+    protected boolean place(BlockPos pos) {
+        BlockState state = segmentStates.get(pos);
+        return state != null && world.setBlockState(pos, state);
+    }
+}
@@ -0,0 +1,121 @@
+package ninja.trek.mc.goldgolem.tree;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import ninja.trek.mc.goldgolem.sim.SimulationHarness;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class TreeTileExtractorTest {
+    private static final int N = 3;
+
+    @BeforeAll
+    static void bootstrap() {
+        SimulationHarness.bootstrap();
+    }
+
+    @Test
+    void collidingHashesKeepDistinctPatternsApart() {
+        TilePatternTable table = new TilePatternTable();
+        short[] a = {1, 2, 3};
+        short[] b = {3, 2, 1};
+        short[] c = {0, 0, 7};
+        // Every pattern under the same hash, as a collision would put them
+        table.put(42L, a, 0);
+        table.put(42L, b, 1);
+        table.put(42L, c, 2);
+
+        assertEquals(0, table.find(42L, a.clone()));
+        assertEquals(1, table.find(42L, b.clone()));
+        assertEquals(2, table.find(42L, c.clone()));
+        assertEquals(-1, table.find(42L, new short[]{1, 2, 4}));
+        assertEquals(-1, table.find(43L, a.clone()));
+    }
+
+    @Test
+    void identicalPatternsMerge() {
+        TilePatternTable table = new TilePatternTable();
+        short[] a = {1, 2, 3};
+        table.put(42L, a, 0);
+        table.put(42L, new short[]{9, 9, 9}, 1);
+        // A second put of an equal pattern replaces its tile instead of chaining a copy
+        table.put(42L, a.clone(), 5);
+        assertEquals(5, table.find(42L, a));
+        assertEquals(1, table.find(42L, new short[]{9, 9, 9}));
+    }
+
+    @Test
+    void rollingHashesMatchPatternHashes() {
+        Random random = new Random(7);
+        BlockState[] states = {Blocks.AIR.getDefaultState(), Blocks.OAK_LOG.getDefaultState(),
+                Blocks.OAK_LEAVES.getDefaultState(), Blocks.STONE.getDefaultState()};
+        Map<BlockPos, BlockState> blocks = new HashMap<>();
+        for (BlockPos pos : BlockPos.iterate(0, 0, 0, 6, 5, 7)) {
+            blocks.put(pos.toImmutable(), states[random.nextInt(states.length)]);
+        }
+        ModuleGrid.Palette palette = new ModuleGrid.Palette();
+        ModuleGrid grid = ModuleGrid.build(blocks.keySet(), blocks, palette);
+
+        long[] hashes = grid.windowHashes(N);
+        short[] window = new short[N * N * N];
+        int wy = grid.windowsY(N), wz = grid.windowsZ(N);
+        for (int x = 0; x < grid.windowsX(N); x++) {
+            for (int y = 0; y < wy; y++) {
+                for (int z = 0; z < wz; z++) {
+                    grid.copyWindow(x, y, z, N, window);
+                    assertEquals(ModuleGrid.patternHash(window, N), hashes[(x * wy + y) * wz + z]);
+                }
+            }
+        }
+    }
+
+    @Test
+    void repeatedWindowsShareOneTile() {
+        // A solid 3x3x6 bar: all four windows along z are the same pattern
+        TreeTileCache cache = extract(List.of(bar(6, null)));
+        assertEquals(1, cache.tiles.size());
+    }
+
+    @Test
+    void distinctWindowsStayDistinct() {
+        // Logs on the z = 0 face: the first window differs from the solid ones behind it,
+        // and its four rotations all differ from each other
+        TreeTileCache cache = extract(List.of(bar(4, Blocks.OAK_LOG.getDefaultState())));
+        assertEquals(2, cache.tiles.stream().filter(t -> t.rotation == 0).count());
+        assertEquals(5, cache.tiles.size());
+        assertNotEquals(cache.tiles.get(0).getBlock(0, 0, 0), cache.tiles.get(cache.tiles.size() - 1).getBlock(0, 0, 0));
+    }
+
+    @Test
+    void identicalModulesShareTiles() {
+        Map<BlockPos, BlockState> module = bar(4, Blocks.OAK_LOG.getDefaultState());
+        assertEquals(extract(List.of(module)).tiles.size(), extract(List.of(module, module)).tiles.size());
+    }
+
+    /**
+     * A 3x3 bar of stone {@code length} long along z, with its z = 0 face made of
+     * {@code face} if given.
+     */
+    private static Map<BlockPos, BlockState> bar(int length, BlockState face) {
+        Map<BlockPos, BlockState> blocks = new HashMap<>();
+        for (BlockPos pos : BlockPos.iterate(0, 0, 0, N - 1, N - 1, length - 1)) {
+            blocks.put(pos.toImmutable(), face != null && pos.getZ() == 0 ? face : Blocks.STONE.getDefaultState());
+        }
+        return blocks;
+    }
+
+    private static TreeTileCache extract(List<Map<BlockPos, BlockState>> modules) {
+        List<TreeModule> defs = modules.stream().map(m -> new TreeModule(m.keySet())).toList();
+        TreeDefinition def = new TreeDefinition(BlockPos.ORIGIN, defs, List.of("minecraft:stone", "minecraft:oak_log"));
+        return TreeTileExtractor.extract(def, TilingPreset.SMALL_3x3, modules, TileMemoryBudget.unlimited());
+    }
+}
@@ -0,0 +1,76 @@
+package ninja.trek.mc.goldgolem.util;
+
+import net.minecraft.nbt.NbtCompound;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GradientGroupManagerTest {
+    private static final String PREFIX = "Wall";
+
+    private static GradientGroupManager sample() {
+        GradientGroupManager groups = new GradientGroupManager();
+        groups.initializeFromUniqueBlocks(List.of("minecraft:stone", "minecraft:gold_block", "minecraft:oak_log"));
+        groups.setGroupWindow(0, 2.5f);
+        groups.setGroupWindow(2, 0.0f);
+        groups.setGroupNoiseScale(1, 16);
+        groups.setGroupSlot(0, 4, "minecraft:cobblestone");
+        return groups;
+    }
+
+    private static void assertSameGroups(GradientGroupManager expected, GradientGroupManager actual) {
+        assertEquals(expected.getGroupCount(), actual.getGroupCount());
+        assertEquals(expected.getGroupWindows(), actual.getGroupWindows());
+        assertEquals(expected.getGroupNoiseScales(), actual.getGroupNoiseScales());
+        for (int g = 0; g < expected.getGroupCount(); g++) {
+            // Unset slots are saved as empty ids
+            String[] slots = expected.getGroupSlotArray(g).clone();
+            for (int s = 0; s < slots.length; s++) {
+                if (slots[s] == null) slots[s] = "";
+            }
+            assertArrayEquals(slots, actual.getGroupSlotArray(g));
+        }
+        assertEquals(expected.getBlockGroupMap(), actual.getBlockGroupMap());
+    }
+
+    @Test
+    void packedRoundTrip() {
+        GradientGroupManager groups = sample();
+        NbtCompound nbt = new NbtCompound();
+        groups.writeToNbt(nbt, PREFIX);
+
+        GradientGroupManager read = new GradientGroupManager();
+        read.readFromNbt(nbt, PREFIX);
+        assertSameGroups(groups, read);
+    }
+
+    @Test
+    void readsTheKeyedLayout() {
+        GradientGroupManager groups = sample();
+        NbtCompound nbt = new NbtCompound();
+        groups.writeToNbt(nbt, PREFIX);
+
+        // Rewrite the packed arrays as the one-key-per-entry layout of older saves
+        nbt.remove(PREFIX + "GroupWindows");
+        nbt.remove(PREFIX + "GroupNoiseScales");
+        nbt.remove(PREFIX + "BlockMapVals");
+        for (int g = 0; g < groups.getGroupCount(); g++) {
+            nbt.putFloat(PREFIX + "Group" + g + "Window", groups.getGroupWindow(g));
+            nbt.putInt(PREFIX + "Group" + g + "NoiseScale", groups.getGroupNoiseScale(g));
+        }
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : groups.getBlockGroupMap().entrySet()) {
+            nbt.putString(PREFIX + "BlockMapKey" + i, entry.getKey());
+            nbt.putInt(PREFIX + "BlockMapVal" + i, entry.getValue());
+            i++;
+        }
+
+        GradientGroupManager read = new GradientGroupManager();
+        read.readFromNbt(nbt, PREFIX);
+        assertSameGroups(groups, read);
+    }
+}
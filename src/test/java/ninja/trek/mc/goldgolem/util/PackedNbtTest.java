@@ -0,0 +1,57 @@
+package ninja.trek.mc.goldgolem.util;
+
+import net.minecraft.util.math.BlockPos;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PackedNbtTest {
+
+    @Test
+    void positionsRoundTrip() {
+        List<BlockPos> positions = List.of(BlockPos.ORIGIN, new BlockPos(-30_000_000, -64, 29_999_999),
+                new BlockPos(1, 320, -1), new BlockPos(1, 320, -1));
+        int[] packed = PackedNbt.packPositions(positions);
+        assertEquals(12, packed.length);
+        assertEquals(positions, PackedNbt.unpackPositions(packed));
+    }
+
+    @Test
+    void trailingPartialPositionIsIgnored() {
+        assertEquals(List.of(new BlockPos(1, 2, 3)), PackedNbt.unpackPositions(new int[]{1, 2, 3, 4, 5}));
+    }
+
+    @Test
+    void floatsKeepTheirBits() {
+        List<Float> values = List.of(0.0f, -0.0f, 1.5f, Float.MIN_VALUE, Float.MAX_VALUE, Float.NaN, Float.NEGATIVE_INFINITY);
+        int[] packed = PackedNbt.packFloats(values);
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(Float.floatToRawIntBits(values.get(i)), Float.floatToRawIntBits(PackedNbt.unpackFloat(packed, i, 7f)));
+        }
+    }
+
+    @Test
+    void doublesKeepTheirBits() {
+        double[] values = {0.0, -0.0, Math.PI, -1e300, Double.MIN_VALUE, Double.NaN, Double.longBitsToDouble(0x80000001_7FFFFFFFL)};
+        int[] packed = PackedNbt.packDoubles(values);
+        assertEquals(values.length * 2, packed.length);
+        double[] unpacked = PackedNbt.unpackDoubles(packed);
+        assertEquals(values.length, unpacked.length);
+        for (int i = 0; i < values.length; i++) {
+            assertEquals(Double.doubleToRawLongBits(values[i]), Double.doubleToRawLongBits(unpacked[i]));
+        }
+    }
+
+    @Test
+    void shortArraysFallBack() {
+        int[] data = {Float.floatToRawIntBits(2.5f), 9};
+        assertEquals(2.5f, PackedNbt.unpackFloat(data, 0, 1f));
+        assertEquals(1f, PackedNbt.unpackFloat(data, 2, 1f));
+        assertEquals(9, PackedNbt.intAt(data, 1, -1));
+        assertEquals(-1, PackedNbt.intAt(data, 2, -1));
+        assertArrayEquals(new double[0], PackedNbt.unpackDoubles(new int[]{1}));
+    }
+}
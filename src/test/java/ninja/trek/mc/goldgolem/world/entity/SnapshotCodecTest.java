@@ -0,0 +1,267 @@
+package ninja.trek.mc.goldgolem.world.entity;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtHelper;
+import net.minecraft.registry.Registries;
+import net.minecraft.state.property.Properties;
+import net.minecraft.state.property.Property;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import ninja.trek.mc.goldgolem.sim.SimulationHarness;
+import ninja.trek.mc.goldgolem.tower.TowerModuleTemplate;
+import ninja.trek.mc.goldgolem.wall.WallModuleTemplate;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SnapshotCodecTest {
+    private static final long SAVED_AT = 1_700_000_000_000L;
+
+    @TempDir
+    Path dir;
+
+    @BeforeAll
+    static void bootstrap() {
+        SimulationHarness.bootstrap();
+    }
+
+    private static BlockState stairs() {
+        return Blocks.OAK_STAIRS.getDefaultState().with(Properties.HORIZONTAL_FACING, Direction.EAST);
+    }
+
+    private static GoldGolemEntity.SnapshotData sample() {
+        NbtCompound nbt = new NbtCompound();
+        nbt.putString("Mode", "WALL");
+        nbt.putInt("WallModuleCount", 2);
+
+        WallModuleTemplate wall = new WallModuleTemplate(new BlockPos(0, 0, 0), new BlockPos(4, 0, -3), List.of(
+                new WallModuleTemplate.Voxel(new BlockPos(0, 0, 0), Blocks.STONE.getDefaultState()),
+                new WallModuleTemplate.Voxel(new BlockPos(-2, 5, 300), stairs()),
+                new WallModuleTemplate.Voxel(new BlockPos(1, -1, 0), Blocks.STONE.getDefaultState())), -1);
+        TowerModuleTemplate tower = new TowerModuleTemplate(List.of(
+                new TowerModuleTemplate.Voxel(new BlockPos(0, 0, 0), Blocks.GOLD_BLOCK.getDefaultState()),
+                new TowerModuleTemplate.Voxel(new BlockPos(0, 1, 0), stairs())), 0, 1);
+        Map<BlockPos, BlockState> tree = new HashMap<>();
+        tree.put(new BlockPos(0, 0, 0), Blocks.OAK_LOG.getDefaultState());
+        tree.put(new BlockPos(0, 1, 0), Blocks.OAK_LEAVES.getDefaultState());
+        return new GoldGolemEntity.SnapshotData(nbt, List.of(wall), tower, List.of(tree));
+    }
+
+    private Path write(String name, byte[] bytes) throws IOException {
+        Path path = dir.resolve(name);
+        Files.write(path, bytes);
+        return path;
+    }
+
+    private static void assertSameContent(GoldGolemEntity.SnapshotData expected, GoldGolemEntity.SnapshotData actual) {
+        assertEquals(expected.nbt(), actual.nbt());
+        assertEquals(expected.wallTemplates().size(), actual.wallTemplates().size());
+        for (int i = 0; i < expected.wallTemplates().size(); i++) {
+            WallModuleTemplate e = expected.wallTemplates().get(i);
+            WallModuleTemplate a = actual.wallTemplates().get(i);
+            assertEquals(e.aMarker, a.aMarker);
+            assertEquals(e.bMarker, a.bMarker);
+            assertEquals(e.minY, a.minY);
+            assertEquals(e.voxels.size(), a.voxels.size());
+            for (int v = 0; v < e.voxels.size(); v++) {
+                assertEquals(e.voxels.get(v).rel, a.voxels.get(v).rel);
+                assertEquals(e.voxels.get(v).state, a.voxels.get(v).state);
+            }
+        }
+        TowerModuleTemplate et = expected.towerTemplate();
+        TowerModuleTemplate at = actual.towerTemplate();
+        assertEquals(et.minY, at.minY);
+        assertEquals(et.maxY, at.maxY);
+        assertEquals(et.voxels.size(), at.voxels.size());
+        for (int v = 0; v < et.voxels.size(); v++) {
+            assertEquals(et.voxels.get(v).rel, at.voxels.get(v).rel);
+            assertEquals(et.voxels.get(v).state, at.voxels.get(v).state);
+        }
+        assertEquals(expected.treeModuleStates(), actual.treeModuleStates());
+    }
+
+    @Test
+    void binaryRoundTrip() throws IOException {
+        GoldGolemEntity.SnapshotData data = sample();
+        byte[] encoded = SnapshotCodec.encode(data, "Goldie", "WALL", SAVED_AT);
+        Path path = write("golem" + SnapshotCodec.EXTENSION, encoded);
+
+        SnapshotCodec.Header header = SnapshotCodec.readHeader(path);
+        assertEquals(new SnapshotCodec.Header("Goldie", "WALL", SAVED_AT), header);
+        assertSameContent(data, SnapshotCodec.read(path));
+        // A snapshot still queued for writing decodes the same from memory
+        assertSameContent(data, SnapshotCodec.read(encoded));
+    }
+
+    @Test
+    void unknownBlockDropsItsVoxels() throws IOException {
+        byte[] encoded = SnapshotCodec.encode(sample(), "Goldie", "WALL", SAVED_AT);
+        // Same length, so the UTF length prefix still matches
+        byte[] renamed = replace(gunzip(encoded), "minecraft:stone", "minecraft:stonx");
+        Path path = write("removed" + SnapshotCodec.EXTENSION, gzip(renamed));
+
+        GoldGolemEntity.SnapshotData data = SnapshotCodec.read(path);
+        assertNotNull(data);
+        List<WallModuleTemplate.Voxel> voxels = data.wallTemplates().get(0).voxels;
+        assertEquals(1, voxels.size());
+        assertEquals(stairs(), voxels.get(0).state);
+        assertEquals(2, data.towerTemplate().voxels.size());
+    }
+
+    @Test
+    void truncatedSnapshotIsAnError() throws IOException {
+        byte[] raw = gunzip(SnapshotCodec.encode(sample(), "Goldie", "WALL", SAVED_AT));
+        byte[] truncated = Arrays.copyOf(raw, raw.length - 3);
+        Path path = write("truncated" + SnapshotCodec.EXTENSION, gzip(truncated));
+        assertThrows(IOException.class, () -> SnapshotCodec.read(path));
+    }
+
+    @Test
+    void otherFilesHaveNoHeader() throws IOException {
+        Path path = write("other" + SnapshotCodec.EXTENSION, gzip("not a snapshot".getBytes(StandardCharsets.UTF_8)));
+        assertNull(SnapshotCodec.readHeader(path));
+    }
+
+    @Test
+    void legacyJsonReadsTheSameContent() throws IOException {
+        GoldGolemEntity.SnapshotData data = sample();
+        JsonObject root = legacyJson(data);
+        // A block from a removed mod is skipped, as it always was
+        root.getAsJsonArray("treeModuleStates").get(0).getAsJsonArray()
+                .add(legacyVoxel(new BlockPos(0, 2, 0), "othermod:gone", new JsonObject()));
+        Path path = write("legacy.json", root.toString().getBytes(StandardCharsets.UTF_8));
+
+        assertSameContent(data, SnapshotCodec.readLegacy(path));
+    }
+
+    @Test
+    void legacyJsonWithoutNbtIsSkipped() throws IOException {
+        Path path = write("empty.json", "{\"golemName\":\"x\"}".getBytes(StandardCharsets.UTF_8));
+        assertNull(SnapshotCodec.readLegacy(path));
+    }
+
+    /**
+     * The JSON the golem wrote before the binary format.
+     */
+    private static JsonObject legacyJson(GoldGolemEntity.SnapshotData data) {
+        JsonObject root = new JsonObject();
+        root.addProperty("savedAt", SAVED_AT);
+        root.addProperty("golemName", "Goldie");
+        root.addProperty("mode", "WALL");
+        root.addProperty("nbt", NbtHelper.toNbtProviderString(data.nbt()));
+
+        JsonArray walls = new JsonArray();
+        for (WallModuleTemplate tpl : data.wallTemplates()) {
+            JsonObject t = new JsonObject();
+            t.add("a", vec(tpl.aMarker));
+            t.add("b", vec(tpl.bMarker));
+            t.addProperty("minY", tpl.minY);
+            JsonArray voxels = new JsonArray();
+            for (WallModuleTemplate.Voxel v : tpl.voxels) {
+                voxels.add(legacyVoxel(v.rel, v.state));
+            }
+            t.add("voxels", voxels);
+            walls.add(t);
+        }
+        root.add("wallTemplates", walls);
+
+        JsonObject tower = new JsonObject();
+        tower.addProperty("minY", data.towerTemplate().minY);
+        tower.addProperty("maxY", data.towerTemplate().maxY);
+        JsonArray towerVoxels = new JsonArray();
+        for (TowerModuleTemplate.Voxel v : data.towerTemplate().voxels) {
+            towerVoxels.add(legacyVoxel(v.rel, v.state));
+        }
+        tower.add("voxels", towerVoxels);
+        root.add("towerTemplate", tower);
+
+        JsonArray trees = new JsonArray();
+        for (Map<BlockPos, BlockState> module : data.treeModuleStates()) {
+            JsonArray voxels = new JsonArray();
+            module.forEach((rel, state) -> voxels.add(legacyVoxel(rel, state)));
+            trees.add(voxels);
+        }
+        root.add("treeModuleStates", trees);
+        return root;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static JsonObject legacyVoxel(BlockPos rel, BlockState state) {
+        JsonObject props = new JsonObject();
+        for (Property prop : state.getProperties()) {
+            props.addProperty(prop.getName(), prop.name(state.get(prop)));
+        }
+        return legacyVoxel(rel, Registries.BLOCK.getId(state.getBlock()).toString(), props);
+    }
+
+    private static JsonObject legacyVoxel(BlockPos rel, String id, JsonObject props) {
+        JsonObject state = new JsonObject();
+        state.addProperty("id", id);
+        state.add("props", props);
+        JsonObject voxel = new JsonObject();
+        voxel.add("rel", vec(rel));
+        voxel.add("state", state);
+        return voxel;
+    }
+
+    private static JsonArray vec(BlockPos pos) {
+        JsonArray arr = new JsonArray();
+        arr.add(pos.getX());
+        arr.add(pos.getY());
+        arr.add(pos.getZ());
+        return arr;
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] replace(byte[] data, String from, String to) {
+        byte[] a = from.getBytes(StandardCharsets.UTF_8);
+        byte[] b = to.getBytes(StandardCharsets.UTF_8);
+        byte[] out = data.clone();
+        int hits = 0;
+        for (int i = 0; i + a.length <= out.length; i++) {
+            if (Arrays.equals(out, i, i + a.length, a, 0, a.length)) {
+                System.arraycopy(b, 0, out, i, b.length);
+                hits++;
+            }
+        }
+        assertEquals(1, hits, "palette entries for " + from);
+        return out;
+    }
+}
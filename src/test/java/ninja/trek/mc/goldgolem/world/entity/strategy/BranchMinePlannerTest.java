@@ -0,0 +1,124 @@
+package ninja.trek.mc.goldgolem.world.entity.strategy;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BranchMinePlannerTest {
+    private static final int DEPTH = 2;
+    private static final int SPACING = 2;
+    private static final int HEIGHT = 3;
+    private static final int LAYERS = HEIGHT - 1;
+    private static final int PRIMARY_CELLS = SPACING * LAYERS;
+    private static final int SIDE_CELLS = DEPTH * LAYERS;
+    private static final int PERIOD = 2 * SIDE_CELLS + PRIMARY_CELLS;
+    private static final int MAX_CALLS = 100_000;
+
+    private BranchMinePlanner planner;
+    private Set<BlockPos> solid;
+
+    @BeforeEach
+    void setUp() {
+        planner = new BranchMinePlanner();
+        planner.setLayout(BlockPos.ORIGIN, Direction.NORTH, Direction.WEST, Direction.EAST, DEPTH, SPACING, HEIGHT);
+        planner.reset(0);
+        solid = new HashSet<>();
+    }
+
+    private void fill(long from, long to) {
+        for (long i = from; i < to; i++) {
+            solid.add(planner.positionOf(i));
+        }
+    }
+
+    /**
+     * Mine targets until the planner reports exhaustion or the cursor passes {@code stopAt}.
+     */
+    private void mine(long stopAt) {
+        for (int calls = 0; calls < MAX_CALLS; calls++) {
+            if (planner.cursor() >= stopAt) return;
+            BlockPos target = planner.nextTarget(null, solid::contains);
+            if (target != null) {
+                solid.remove(target);
+            } else if (planner.isExhausted()) {
+                return;
+            }
+        }
+        throw new AssertionError("planner neither finished nor stopped");
+    }
+
+    @Test
+    void cellsFollowTheLayout() {
+        // Primary column bottom-up, then branch 1: left side, right side, then its primary stretch
+        assertEquals(BlockPos.ORIGIN.north(1), planner.positionOf(0));
+        assertEquals(BlockPos.ORIGIN.north(1).up(), planner.positionOf(1));
+        assertEquals(BlockPos.ORIGIN.north(1 + SPACING).west(1), planner.positionOf(PRIMARY_CELLS));
+        assertEquals(BlockPos.ORIGIN.north(1 + SPACING).west(2).up(), planner.positionOf(PRIMARY_CELLS + 3));
+        assertEquals(BlockPos.ORIGIN.north(1 + SPACING).east(1), planner.positionOf(PRIMARY_CELLS + SIDE_CELLS));
+        assertEquals(BlockPos.ORIGIN.north(1 + SPACING), planner.positionOf(PRIMARY_CELLS + 2 * SIDE_CELLS));
+    }
+
+    @Test
+    void legacyProgressMapsOntoTheSameCells() {
+        assertEquals(LAYERS, planner.indexOf(1, -1, true, 0));
+        // A primary step on a branch boundary starts that branch
+        assertEquals(PRIMARY_CELLS, planner.indexOf(SPACING, -1, true, 0));
+        assertEquals(PRIMARY_CELLS + 2 * SIDE_CELLS + LAYERS, planner.indexOf(SPACING + 1, -1, true, 0));
+        assertEquals(PRIMARY_CELLS, planner.indexOf(0, 1, true, 0));
+        assertEquals(PRIMARY_CELLS + SIDE_CELLS + LAYERS, planner.indexOf(0, 1, false, 1));
+        assertEquals(PRIMARY_CELLS + PERIOD, planner.indexOf(0, 2, true, 0));
+        // Out-of-range branch progress is clamped to the branch
+        assertEquals(PRIMARY_CELLS + LAYERS * (DEPTH - 1), planner.indexOf(0, 1, true, DEPTH + 5));
+    }
+
+    @Test
+    void minesEveryCellThenStops() {
+        fill(0, 5L * PERIOD);
+        mine(Long.MAX_VALUE);
+        assertTrue(solid.isEmpty());
+        assertTrue(planner.isExhausted());
+    }
+
+    @Test
+    void restartFromZeroSkipsMinedOutStretch() {
+        fill(0, 8L * PERIOD);
+        mine(4L * PERIOD);
+        assertFalse(solid.isEmpty());
+
+        // Stuck recovery: back to cell 0 over four mined-out periods
+        planner.reset(0);
+        mine(Long.MAX_VALUE);
+        assertTrue(solid.isEmpty(), "stopped inside the mined-out stretch");
+        assertTrue(planner.isExhausted());
+    }
+
+    @Test
+    void savedHighWaterMarkSurvivesReload() {
+        fill(3L * PERIOD, 4L * PERIOD);
+        BranchMinePlanner reloaded = new BranchMinePlanner();
+        reloaded.setLayout(BlockPos.ORIGIN, Direction.NORTH, Direction.WEST, Direction.EAST, DEPTH, SPACING, HEIGHT);
+        reloaded.restore(0, 3L * PERIOD);
+        planner = reloaded;
+        mine(Long.MAX_VALUE);
+        assertTrue(solid.isEmpty());
+        assertTrue(planner.frontier() >= 4L * PERIOD);
+    }
+
+    @Test
+    void restartDropsTheHighWaterMark() {
+        fill(0, 2L * PERIOD);
+        mine(Long.MAX_VALUE);
+        assertTrue(planner.frontier() > 0);
+        planner.restart();
+        assertEquals(0, planner.frontier());
+        assertEquals(0, planner.cursor());
+    }
+}
@@ -0,0 +1,133 @@
+package ninja.trek.mc.goldgolem.world.entity.strategy;
+
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExcavationRingCursorTest {
+    private static final BlockPos START = new BlockPos(10, 64, -10);
+    private static final int HEIGHT = 3;
+
+    private static IntFunction<BlockPos> columns(int ring) {
+        return progress -> ExcavationRingCursor.columnBase(START, Direction.EAST, Direction.SOUTH, ring, progress);
+    }
+
+    @Test
+    void ringRunsDownTheRightEdgeThenAlongTheBottom() {
+        IntFunction<BlockPos> ring2 = columns(2);
+        assertEquals(START.east(2), ring2.apply(0));
+        assertEquals(START.east(2).south(1), ring2.apply(1));
+        assertEquals(START.south(2), ring2.apply(2));
+        assertEquals(START.east(1).south(2), ring2.apply(3));
+        assertEquals(START.east(2).south(2), ring2.apply(4));
+    }
+
+    @Test
+    void ringsTileTheSquareOnce() {
+        Set<BlockPos> seen = new HashSet<>();
+        for (int ring = 0; ring < 5; ring++) {
+            for (int progress = 0; progress < 2 * ring + 1; progress++) {
+                assertTrue(seen.add(columns(ring).apply(progress)), "column visited twice");
+            }
+        }
+        assertEquals(25, seen.size());
+        for (BlockPos pos : seen) {
+            assertTrue(pos.getX() >= START.getX() && pos.getX() < START.getX() + 5);
+            assertTrue(pos.getZ() >= START.getZ() && pos.getZ() < START.getZ() + 5);
+        }
+    }
+
+    @Test
+    void targetsComeColumnByColumnBottomUp() {
+        int ring = 2;
+        Set<BlockPos> solid = new HashSet<>();
+        List<BlockPos> expected = new ArrayList<>();
+        for (int progress = 0; progress < 2 * ring + 1; progress++) {
+            for (int dy = 0; dy < HEIGHT; dy++) {
+                BlockPos pos = columns(ring).apply(progress).up(dy);
+                solid.add(pos);
+                expected.add(pos);
+            }
+        }
+        ExcavationRingCursor cursor = new ExcavationRingCursor();
+        cursor.rebuild(ring, HEIGHT, columns(ring), solid::contains);
+        assertTrue(cursor.covers(ring, HEIGHT));
+
+        List<BlockPos> mined = new ArrayList<>();
+        for (BlockPos target; (target = cursor.nextTarget(columns(ring), null, solid::contains)) != null; ) {
+            solid.remove(target);
+            mined.add(target);
+        }
+        assertEquals(expected, mined);
+    }
+
+    @Test
+    void skipsExcludedAndDropsClearedCells() {
+        int ring = 1;
+        Set<BlockPos> solid = new HashSet<>();
+        BlockPos first = columns(ring).apply(0);
+        BlockPos second = first.up();
+        BlockPos last = columns(ring).apply(2).up(2);
+        solid.add(first);
+        solid.add(second);
+        solid.add(last);
+        ExcavationRingCursor cursor = new ExcavationRingCursor();
+        cursor.rebuild(ring, HEIGHT, columns(ring), solid::contains);
+
+        // The other hand is already on the first block
+        assertEquals(second, cursor.nextTarget(columns(ring), first, solid::contains));
+        // Both broken by something else: passed over and forgotten
+        solid.remove(first);
+        solid.remove(second);
+        assertEquals(last, cursor.nextTarget(columns(ring), null, solid::contains));
+        solid.add(first);
+        assertEquals(last, cursor.nextTarget(columns(ring), null, solid::contains));
+        solid.remove(last);
+        assertNull(cursor.nextTarget(columns(ring), null, solid::contains));
+        assertTrue(cursor.isEmpty());
+    }
+
+    @Test
+    void savedWordsRestoreTheSameCells() {
+        int ring = 20;
+        ExcavationRingCursor cursor = new ExcavationRingCursor();
+        cursor.reset(ring, HEIGHT);
+        int[] cells = {0, 31, 32, 63, 64, 100, cursor.cellCount() - 1};
+        for (int cell : cells) {
+            cursor.add(cell);
+        }
+
+        ExcavationRingCursor restored = new ExcavationRingCursor();
+        restored.restore(ring, HEIGHT, cursor.toWords());
+        assertTrue(restored.covers(ring, HEIGHT));
+        int found = 0;
+        for (int i = restored.next(0); i >= 0; i = restored.next(i + 1)) {
+            assertEquals(cells[found++], i);
+        }
+        assertEquals(cells.length, found);
+    }
+
+    @Test
+    void restoreDropsCellsBeyondTheRing() {
+        ExcavationRingCursor cursor = new ExcavationRingCursor();
+        // Ring 1 of height 3 has 9 cells; bits 9 and 40 cannot belong to it
+        cursor.restore(1, HEIGHT, new int[]{(1 << 8) | (1 << 9), 1 << 8});
+        assertEquals(8, cursor.next(0));
+        assertEquals(-1, cursor.next(9));
+
+        cursor.restore(-1, HEIGHT, new int[]{1});
+        assertFalse(cursor.covers(-1, HEIGHT));
+        assertTrue(cursor.isEmpty());
+    }
+}
@@ -0,0 +1,73 @@
+package ninja.trek.mc.goldgolem.world.entity.strategy;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.minecraft.util.math.BlockPos;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PendingBlockIndexTest {
+
+    @Test
+    void matchesASetUnderRandomAddsAndRemoves() {
+        Random random = new Random(11);
+        PendingBlockIndex index = new PendingBlockIndex();
+        LongOpenHashSet expected = new LongOpenHashSet();
+        for (int step = 0; step < 50_000; step++) {
+            // A small volume spanning a few sections, so buckets and sections empty and refill
+            long packed = BlockPos.asLong(random.nextInt(40) - 20, 60 + random.nextInt(20), random.nextInt(40) - 20);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(packed), index.remove(packed));
+            } else {
+                assertEquals(expected.add(packed), index.add(packed));
+            }
+            if (step % 5_000 == 0) {
+                assertSameContent(expected, index);
+            }
+        }
+        assertSameContent(expected, index);
+
+        for (long packed : expected.toLongArray()) {
+            assertTrue(index.remove(packed));
+        }
+        assertTrue(index.isEmpty());
+        assertEquals(Integer.MAX_VALUE, index.getMinY());
+        assertEquals(PendingBlockIndex.NONE, index.peekLowest());
+    }
+
+    @Test
+    void removeKeepsTheOtherBlocksOfASection() {
+        PendingBlockIndex index = new PendingBlockIndex();
+        BlockPos a = new BlockPos(1, 64, 1);
+        BlockPos b = new BlockPos(2, 64, 1);
+        BlockPos c = new BlockPos(3, 65, 1);
+        index.add(a);
+        index.add(b);
+        index.add(c);
+
+        // Removing the first entry moves the last one into its slot
+        assertTrue(index.remove(a));
+        assertFalse(index.remove(a));
+        assertTrue(index.remove(c));
+        assertTrue(index.contains(b.asLong()));
+        assertEquals(64, index.getMinY());
+        assertEquals(b.asLong(), index.peekLowest());
+    }
+
+    private static void assertSameContent(LongOpenHashSet expected, PendingBlockIndex index) {
+        assertEquals(expected.size(), index.size());
+        LongOpenHashSet seen = new LongOpenHashSet();
+        index.forEach(packed -> assertTrue(seen.add(packed), "visited twice"));
+        assertEquals(expected, seen);
+        int minY = Integer.MAX_VALUE;
+        for (long packed : expected.toLongArray()) {
+            assertTrue(index.contains(packed));
+            minY = Math.min(minY, BlockPos.unpackLongY(packed));
+        }
+        assertEquals(minY, index.getMinY());
+    }
+}
@@ -0,0 +1,81 @@
+package ninja.trek.mc.goldgolem.world.entity.strategy;
+
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import ninja.trek.mc.goldgolem.sim.SimGolem;
+import ninja.trek.mc.goldgolem.sim.SimulationHarness;
+import ninja.trek.mc.goldgolem.sim.VoxelWorld;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The planner's steady-state selection (a golem surrounded by pending blocks in reach, with
+ * the organic filter on) must not allocate: skip timers, defer counts and the path cache are
+ * primitive maps, and candidates live in reused scratch buffers.
+ */
+class PlacementPlannerAllocationTest {
+    private static final BlockPos FEET = new BlockPos(0, 64, 0);
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 10_000;
+
+    @BeforeAll
+    static void bootstrap() {
+        SimulationHarness.bootstrap();
+    }
+
+    @Test
+    void selectionInReachAllocatesNothing() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(threads.isThreadAllocatedMemorySupported(), "JVM cannot measure thread allocation");
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        VoxelWorld world = new VoxelWorld();
+        world.fill(FEET.add(-8, -1, -8), FEET.add(8, -1, 8), Blocks.STONE.getDefaultState());
+        SimGolem golem = new SimGolem(world, FEET);
+        PlacementPlanner planner = new PlacementPlanner(golem);
+        planner.useOrganicPlacement();
+
+        // A 9x9 layer at foot level and one above, all within reach
+        List<BlockPos> pending = new ArrayList<>();
+        for (BlockPos pos : BlockPos.iterate(FEET.add(-4, 0, -4), FEET.add(4, 1, 4))) {
+            pending.add(pos.toImmutable());
+        }
+        planner.setBlocks(pending);
+
+        assertEquals(WARMUP, selectAndRequeue(planner, golem, WARMUP));
+
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        int selected = selectAndRequeue(planner, golem, ITERATIONS);
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(ITERATIONS, selected);
+        // Any per-selection allocation would cost at least 16 bytes per iteration
+        assertEquals(0, allocated / ITERATIONS, "bytes allocated per selection (" + allocated + " in total)");
+        assertEquals(pending.size(), planner.getRemainingCount());
+    }
+
+    /**
+     * One selection per simulated tick, putting each block back.
+     * @return how many selections found a block
+     */
+    private static int selectAndRequeue(PlacementPlanner planner, SimGolem golem, int ticks) {
+        int selected = 0;
+        for (int i = 0; i < ticks; i++) {
+            golem.tick();
+            long packed = planner.selectNext();
+            if (packed != PendingBlockIndex.NONE) {
+                planner.requeue(packed);
+                selected++;
+            }
+        }
+        return selected;
+    }
+}